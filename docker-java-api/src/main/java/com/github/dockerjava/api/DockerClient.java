@@ -22,14 +22,18 @@ import com.github.dockerjava.api.command.ExecCreateCmd;
 import com.github.dockerjava.api.command.ExecStartCmd;
 import com.github.dockerjava.api.command.InfoCmd;
 import com.github.dockerjava.api.command.InitializeSwarmCmd;
+import com.github.dockerjava.api.command.InspectBatchCmd;
 import com.github.dockerjava.api.command.InspectConfigCmd;
 import com.github.dockerjava.api.command.InspectContainerCmd;
+import com.github.dockerjava.api.command.InspectContainerResponse;
 import com.github.dockerjava.api.command.InspectExecCmd;
 import com.github.dockerjava.api.command.InspectImageCmd;
+import com.github.dockerjava.api.command.InspectImageResponse;
 import com.github.dockerjava.api.command.InspectNetworkCmd;
 import com.github.dockerjava.api.command.InspectServiceCmd;
 import com.github.dockerjava.api.command.InspectSwarmCmd;
 import com.github.dockerjava.api.command.InspectVolumeCmd;
+import com.github.dockerjava.api.command.InspectVolumeResponse;
 import com.github.dockerjava.api.command.JoinSwarmCmd;
 import com.github.dockerjava.api.command.KillContainerCmd;
 import com.github.dockerjava.api.command.LeaveSwarmCmd;
@@ -80,6 +84,7 @@ import com.github.dockerjava.api.command.WaitContainerCmd;
 import com.github.dockerjava.api.exception.DockerException;
 import com.github.dockerjava.api.model.AuthConfig;
 import com.github.dockerjava.api.model.Identifier;
+import com.github.dockerjava.api.model.Network;
 import com.github.dockerjava.api.model.PruneType;
 import com.github.dockerjava.api.model.SecretSpec;
 import com.github.dockerjava.api.model.ServiceSpec;
@@ -90,6 +95,7 @@ import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collection;
 
 // https://godoc.org/github.com/fsouza/go-dockerclient
 public interface DockerClient extends Closeable {
@@ -139,6 +145,8 @@ public interface DockerClient extends Closeable {
 
     InspectImageCmd inspectImageCmd(@Nonnull String imageId);
 
+    InspectBatchCmd<InspectImageResponse> inspectImagesCmd(@Nonnull Collection<String> imageIds);
+
     /**
      * @param name
      *            The name, e.g. "alexec/busybox" or just "busybox" if you want to default. Not null.
@@ -176,6 +184,8 @@ public interface DockerClient extends Closeable {
 
     InspectContainerCmd inspectContainerCmd(@Nonnull String containerId);
 
+    InspectBatchCmd<InspectContainerResponse> inspectContainersCmd(@Nonnull Collection<String> containerIds);
+
     RemoveContainerCmd removeContainerCmd(@Nonnull String containerId);
 
     WaitContainerCmd waitContainerCmd(@Nonnull String containerId);
@@ -277,6 +287,8 @@ public interface DockerClient extends Closeable {
 
     InspectVolumeCmd inspectVolumeCmd(String name);
 
+    InspectBatchCmd<InspectVolumeResponse> inspectVolumesCmd(@Nonnull Collection<String> names);
+
     RemoveVolumeCmd removeVolumeCmd(String name);
 
     ListVolumesCmd listVolumesCmd();
@@ -285,6 +297,8 @@ public interface DockerClient extends Closeable {
 
     InspectNetworkCmd inspectNetworkCmd();
 
+    InspectBatchCmd<Network> inspectNetworksCmd(@Nonnull Collection<String> networkIds);
+
     CreateNetworkCmd createNetworkCmd();
 
     RemoveNetworkCmd removeNetworkCmd(@Nonnull String networkId);
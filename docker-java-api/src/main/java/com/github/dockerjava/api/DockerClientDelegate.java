@@ -22,14 +22,18 @@ import com.github.dockerjava.api.command.ExecCreateCmd;
 import com.github.dockerjava.api.command.ExecStartCmd;
 import com.github.dockerjava.api.command.InfoCmd;
 import com.github.dockerjava.api.command.InitializeSwarmCmd;
+import com.github.dockerjava.api.command.InspectBatchCmd;
 import com.github.dockerjava.api.command.InspectConfigCmd;
 import com.github.dockerjava.api.command.InspectContainerCmd;
+import com.github.dockerjava.api.command.InspectContainerResponse;
 import com.github.dockerjava.api.command.InspectExecCmd;
 import com.github.dockerjava.api.command.InspectImageCmd;
+import com.github.dockerjava.api.command.InspectImageResponse;
 import com.github.dockerjava.api.command.InspectNetworkCmd;
 import com.github.dockerjava.api.command.InspectServiceCmd;
 import com.github.dockerjava.api.command.InspectSwarmCmd;
 import com.github.dockerjava.api.command.InspectVolumeCmd;
+import com.github.dockerjava.api.command.InspectVolumeResponse;
 import com.github.dockerjava.api.command.JoinSwarmCmd;
 import com.github.dockerjava.api.command.KillContainerCmd;
 import com.github.dockerjava.api.command.LeaveSwarmCmd;
@@ -80,6 +84,7 @@ import com.github.dockerjava.api.command.WaitContainerCmd;
 import com.github.dockerjava.api.exception.DockerException;
 import com.github.dockerjava.api.model.AuthConfig;
 import com.github.dockerjava.api.model.Identifier;
+import com.github.dockerjava.api.model.Network;
 import com.github.dockerjava.api.model.PruneType;
 import com.github.dockerjava.api.model.SecretSpec;
 import com.github.dockerjava.api.model.ServiceSpec;
@@ -89,6 +94,7 @@ import javax.annotation.Nonnull;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collection;
 
 /**
  * @apiNote implementations MUST override {{@link #getDockerClient()}}
@@ -173,6 +179,11 @@ public class DockerClientDelegate implements DockerClient {
         return getDockerClient().inspectImageCmd(imageId);
     }
 
+    @Override
+    public InspectBatchCmd<InspectImageResponse> inspectImagesCmd(@Nonnull Collection<String> imageIds) {
+        return getDockerClient().inspectImagesCmd(imageIds);
+    }
+
     @Override
     public SaveImageCmd saveImageCmd(@Nonnull String name) {
         return getDockerClient().saveImageCmd(name);
@@ -213,6 +224,11 @@ public class DockerClientDelegate implements DockerClient {
         return getDockerClient().inspectContainerCmd(containerId);
     }
 
+    @Override
+    public InspectBatchCmd<InspectContainerResponse> inspectContainersCmd(@Nonnull Collection<String> containerIds) {
+        return getDockerClient().inspectContainersCmd(containerIds);
+    }
+
     @Override
     public RemoveContainerCmd removeContainerCmd(@Nonnull String containerId) {
         return getDockerClient().removeContainerCmd(containerId);
@@ -354,6 +370,11 @@ public class DockerClientDelegate implements DockerClient {
         return getDockerClient().inspectVolumeCmd(name);
     }
 
+    @Override
+    public InspectBatchCmd<InspectVolumeResponse> inspectVolumesCmd(@Nonnull Collection<String> names) {
+        return getDockerClient().inspectVolumesCmd(names);
+    }
+
     @Override
     public RemoveVolumeCmd removeVolumeCmd(String name) {
         return getDockerClient().removeVolumeCmd(name);
@@ -374,6 +395,11 @@ public class DockerClientDelegate implements DockerClient {
         return getDockerClient().inspectNetworkCmd();
     }
 
+    @Override
+    public InspectBatchCmd<Network> inspectNetworksCmd(@Nonnull Collection<String> networkIds) {
+        return getDockerClient().inspectNetworksCmd(networkIds);
+    }
+
     @Override
     public CreateNetworkCmd createNetworkCmd() {
         return getDockerClient().createNetworkCmd();
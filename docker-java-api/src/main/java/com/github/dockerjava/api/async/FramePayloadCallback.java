@@ -0,0 +1,32 @@
+package com.github.dockerjava.api.async;
+
+import com.github.dockerjava.api.model.Frame;
+import com.github.dockerjava.api.model.StreamType;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@link ResultCallback} for multiplexed streams (logs, attach, exec) that receives the payload of every frame as a
+ * {@link ByteBuffer} instead of a {@link Frame}, so that no object has to be allocated and no byte has to be copied per frame.
+ *
+ * The passed buffer is a view of a buffer that is reused for the following frames: it is only valid during the call of
+ * {@link #onFrame(StreamType, ByteBuffer)} and must be copied if it needs to be kept.
+ */
+public interface FramePayloadCallback extends ResultCallback<Frame> {
+
+    /**
+     * Called for every chunk of a frame. The readable bytes of {@code payload} are only valid until this method returns.
+     */
+    void onFrame(StreamType streamType, ByteBuffer payload);
+
+    /**
+     * Used by transports that can only produce {@link Frame} objects.
+     */
+    @Override
+    default void onNext(Frame frame) {
+        onFrame(frame.getStreamType(), ByteBuffer.wrap(frame.getPayload()));
+    }
+
+    abstract class Adapter extends ResultCallbackTemplate<Adapter, Frame> implements FramePayloadCallback {
+    }
+}
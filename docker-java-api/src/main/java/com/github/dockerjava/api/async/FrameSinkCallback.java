@@ -0,0 +1,95 @@
+package com.github.dockerjava.api.async;
+
+import com.github.dockerjava.api.model.StreamType;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * {@link FramePayloadCallback} that demultiplexes a logs/attach/exec stream by writing stdout and stderr payloads to a channel or
+ * stream each, without creating a {@link com.github.dockerjava.api.model.Frame} per chunk.
+ *
+ * Output of containers without multiplexing (TTY) is written to stdout. A {@code null} stderr sink discards stderr output.
+ * Sinks are not closed when the stream completes.
+ */
+public class FrameSinkCallback extends FramePayloadCallback.Adapter {
+
+    private final Sink stdout;
+
+    @CheckForNull
+    private final Sink stderr;
+
+    public FrameSinkCallback(@Nonnull WritableByteChannel stdout, @CheckForNull WritableByteChannel stderr) {
+        this(channelSink(requireNonNull(stdout, "stdout was not specified")), stderr != null ? channelSink(stderr) : null);
+    }
+
+    private FrameSinkCallback(Sink stdout, @CheckForNull Sink stderr) {
+        this.stdout = stdout;
+        this.stderr = stderr;
+    }
+
+    public static FrameSinkCallback toStreams(@Nonnull OutputStream stdout, @CheckForNull OutputStream stderr) {
+        return new FrameSinkCallback(
+            streamSink(requireNonNull(stdout, "stdout was not specified")),
+            stderr != null ? streamSink(stderr) : null
+        );
+    }
+
+    @Override
+    public void onFrame(StreamType streamType, ByteBuffer payload) {
+        Sink sink;
+        switch (streamType) {
+            case STDOUT:
+            case RAW:
+                sink = stdout;
+                break;
+            case STDERR:
+                sink = stderr;
+                break;
+            default:
+                sink = null;
+        }
+
+        if (sink == null) {
+            return;
+        }
+
+        try {
+            sink.write(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Sink channelSink(WritableByteChannel channel) {
+        return payload -> {
+            while (payload.hasRemaining()) {
+                channel.write(payload);
+            }
+        };
+    }
+
+    private static Sink streamSink(OutputStream outputStream) {
+        return payload -> {
+            if (payload.hasArray()) {
+                outputStream.write(payload.array(), payload.arrayOffset() + payload.position(), payload.remaining());
+            } else {
+                byte[] bytes = new byte[payload.remaining()];
+                payload.get(bytes);
+                outputStream.write(bytes);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    private interface Sink {
+        void write(ByteBuffer payload) throws IOException;
+    }
+}
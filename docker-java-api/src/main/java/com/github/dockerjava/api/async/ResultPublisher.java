@@ -0,0 +1,352 @@
+package com.github.dockerjava.api.async;
+
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Publishes the items of a streaming command (events, logs, stats, attach, pull or build progress) only as fast as they are
+ * requested by the subscriber.
+ *
+ * The interfaces follow the contract of {@code java.util.concurrent.Flow} and Reactive Streams, which are not available on Java 8,
+ * so bridges to those or to Reactor and RxJava only need to forward each method. A publisher executes its command once, for its
+ * single subscriber, further subscribers receive {@link Subscriber#onError(Throwable)} right after
+ * {@link Subscriber#onSubscribe(Subscription)}.
+ *
+ * While the subscriber has no outstanding demand, the response is not read any further. As nothing is read from the connection
+ * meanwhile, the daemon is slowed down by the flow control of TCP or the unix socket instead of the items piling up in memory.
+ * Transports that read on a thread of their own, like the ones based on {@code DockerHttpClient}, wait on that thread before
+ * they pass on the next item. Transports that read on shared I/O threads pass a {@link SuspendableStream} to
+ * {@link ResultCallback#onStart(Closeable)} instead, which is suspended until the subscriber requests more items. Errors of
+ * the stream are passed right away, its end once the received items were requested.
+ */
+public final class ResultPublisher<T> {
+
+    private static final Subscription NO_SUBSCRIPTION = new Subscription() {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    };
+
+    private final Consumer<ResultCallback<T>> execution;
+
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    /**
+     * @param execution
+     *            starts the command with the given callback, like {@code callback -> eventsCmd.exec(callback)}
+     */
+    public ResultPublisher(@Nonnull Consumer<ResultCallback<T>> execution) {
+        this.execution = requireNonNull(execution, "execution was not specified");
+    }
+
+    public void subscribe(@Nonnull Subscriber<? super T> subscriber) {
+        requireNonNull(subscriber, "subscriber was not specified");
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(NO_SUBSCRIPTION);
+            subscriber.onError(new IllegalStateException("ResultPublisher allows only a single subscriber"));
+            return;
+        }
+        DemandCallback<T> callback = new DemandCallback<>(subscriber);
+        subscriber.onSubscribe(callback);
+        try {
+            execution.accept(callback);
+        } catch (RuntimeException e) {
+            callback.onError(e);
+        }
+    }
+
+    /**
+     * Receives the items of a {@link ResultPublisher}, see {@code java.util.concurrent.Flow.Subscriber}.
+     */
+    public interface Subscriber<T> {
+
+        /**
+         * Called before any other method, no items are passed until {@link Subscription#request(long)} was called.
+         */
+        void onSubscribe(Subscription subscription);
+
+        void onNext(T item);
+
+        void onError(Throwable throwable);
+
+        void onComplete();
+    }
+
+    /**
+     * Link between a {@link ResultPublisher} and a {@link Subscriber}, see {@code java.util.concurrent.Flow.Subscription}.
+     */
+    public interface Subscription {
+
+        /**
+         * Adds <code>n</code> items to the demand, {@link Long#MAX_VALUE} disables flow control.
+         */
+        void request(long n);
+
+        /**
+         * Closes the stream, the subscriber receives no more signals afterwards.
+         */
+        void cancel();
+    }
+
+    /**
+     * Stream passed to {@link ResultCallback#onStart(Closeable)} by transports that read on shared I/O threads, which must not
+     * wait for demand. Items that were already decoded when reading was suspended are still passed and kept until requested.
+     */
+    public interface SuspendableStream extends Closeable {
+
+        /**
+         * Stops reading from the connection. Must not pass items to the callback before it returns.
+         */
+        void suspendReading();
+
+        /**
+         * Continues reading from the connection. Must not pass items to the callback before it returns.
+         */
+        void resumeReading();
+    }
+
+    private static final class DemandCallback<T> implements ResultCallback<T>, Subscription {
+
+        private final Subscriber<? super T> subscriber;
+
+        // guarded by this, items that were received but not requested yet
+        private final Queue<T> buffer = new ArrayDeque<>();
+
+        // guarded by this
+        private long demand;
+
+        // guarded by this, whether the stream ended or failed, so that no more items are accepted
+        private boolean done;
+
+        // guarded by this, passed to the subscriber before any buffered item
+        private Throwable error;
+
+        // guarded by this
+        private boolean cancelled;
+
+        // guarded by this, whether the stream has to be closed once it started
+        private boolean closing;
+
+        // guarded by this, whether a thread passes signals to the subscriber, which is never done concurrently
+        private boolean draining;
+
+        // guarded by this, whether the terminal signal was passed
+        private boolean terminated;
+
+        // guarded by this, whether reading of a suspendable stream was suspended
+        private boolean suspended;
+
+        // guarded by this
+        private Closeable stream;
+
+        DemandCallback(Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void onStart(Closeable closeable) {
+            boolean close;
+            synchronized (this) {
+                stream = closeable;
+                close = closing;
+            }
+            if (close) {
+                closeQuietly(closeable);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            synchronized (this) {
+                if (done || cancelled) {
+                    return;
+                }
+                buffer.add(item);
+            }
+            drain();
+            try {
+                awaitDemand();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                abort(new InterruptedIOException("thread reading the stream was interrupted"));
+            }
+        }
+
+        /**
+         * Suspends a suspendable stream or blocks the reading thread while there are received items that were not requested
+         * yet. The thread is released by {@link #drain()}, {@link #cancel()} and {@link #abort(Throwable)}.
+         */
+        private synchronized void awaitDemand() throws InterruptedException {
+            if (stream instanceof SuspendableStream) {
+                if (!buffer.isEmpty() && !suspended && !done && !cancelled) {
+                    suspended = true;
+                    ((SuspendableStream) stream).suspendReading();
+                }
+                return;
+            }
+            while (!buffer.isEmpty() && !done && !cancelled) {
+                wait();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            synchronized (this) {
+                if (done || cancelled) {
+                    return;
+                }
+                done = true;
+                error = throwable;
+                buffer.clear();
+            }
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (this) {
+                if (done || cancelled) {
+                    return;
+                }
+                done = true;
+            }
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                abort(new IllegalArgumentException("non-positive request: " + n));
+                return;
+            }
+            synchronized (this) {
+                demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            Closeable closeable;
+            synchronized (this) {
+                if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+                closing = true;
+                buffer.clear();
+                closeable = stream;
+                notifyAll();
+            }
+            if (closeable != null) {
+                closeQuietly(closeable);
+            }
+        }
+
+        @Override
+        public void close() {
+            cancel();
+        }
+
+        /**
+         * Closes the stream and passes the error to the subscriber, unless it already ended.
+         */
+        private void abort(Throwable throwable) {
+            Closeable closeable;
+            synchronized (this) {
+                if (done || cancelled) {
+                    return;
+                }
+                done = true;
+                error = throwable;
+                buffer.clear();
+                closing = true;
+                closeable = stream;
+                notifyAll();
+            }
+            if (closeable != null) {
+                closeQuietly(closeable);
+            }
+            drain();
+        }
+
+        /**
+         * Passes the requested items and the terminal signal to the subscriber. Only one thread does so at a time, the others
+         * just leave their changes to it, which also keeps {@link #request(long)} from recursing when called by
+         * {@link Subscriber#onNext(Object)}.
+         */
+        private void drain() {
+            synchronized (this) {
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            while (true) {
+                T item = null;
+                Throwable failure = null;
+                synchronized (this) {
+                    if (cancelled || terminated) {
+                        draining = false;
+                        return;
+                    } else if (error != null) {
+                        terminated = true;
+                        failure = error;
+                    } else if (demand > 0 && !buffer.isEmpty()) {
+                        item = buffer.poll();
+                        if (demand != Long.MAX_VALUE) {
+                            demand--;
+                        }
+                        if (buffer.isEmpty()) {
+                            resumeReading();
+                        }
+                    } else if (done && buffer.isEmpty()) {
+                        terminated = true;
+                    } else {
+                        draining = false;
+                        return;
+                    }
+                }
+                if (failure != null) {
+                    subscriber.onError(failure);
+                } else if (item == null) {
+                    subscriber.onComplete();
+                } else {
+                    subscriber.onNext(item);
+                }
+            }
+        }
+
+        /**
+         * Lets the stream continue once the received items were requested.
+         */
+        private void resumeReading() {
+            if (suspended) {
+                suspended = false;
+                ((SuspendableStream) stream).resumeReading();
+            } else {
+                notifyAll();
+            }
+        }
+
+        private static void closeQuietly(Closeable closeable) {
+            try {
+                closeable.close();
+            } catch (IOException ignored) {
+                // the stream is abandoned anyway
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@ package com.github.dockerjava.api.command;
 
 import com.github.dockerjava.api.async.ResultCallback;
 import com.github.dockerjava.api.async.ResultCallbackTemplate;
+import com.github.dockerjava.api.async.ResultPublisher;
 
 /**
  *
@@ -19,4 +20,12 @@ public interface AsyncDockerCmd<CMD_T extends AsyncDockerCmd<CMD_T, A_RES_T>, A_
     default ResultCallbackTemplate<?, A_RES_T> start() {
         return exec(new ResultCallback.Adapter<>());
     }
+
+    /**
+     * @return publisher that executes this command with {@link #exec(ResultCallback)} for its single subscriber and passes the
+     *         items only as they are requested
+     */
+    default ResultPublisher<A_RES_T> toPublisher() {
+        return new ResultPublisher<>(this::exec);
+    }
 }
@@ -1,11 +1,14 @@
 package com.github.dockerjava.api.command;
 
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 
 import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.FrameSinkCallback;
 import com.github.dockerjava.api.model.Frame;
 
 /**
@@ -64,6 +67,24 @@ public interface AttachContainerCmd extends AsyncDockerCmd<AttachContainerCmd, F
 
     AttachContainerCmd withLogs(Boolean logs);
 
+    /**
+     * Writes stdout and stderr of the stream to the given channels as they arrive, see {@link FrameSinkCallback}.
+     *
+     * @return the callback, e.g. to {@link FrameSinkCallback#awaitCompletion() await completion}
+     */
+    default FrameSinkCallback execToChannels(@Nonnull WritableByteChannel stdout, @CheckForNull WritableByteChannel stderr) {
+        return exec(new FrameSinkCallback(stdout, stderr));
+    }
+
+    /**
+     * Writes stdout and stderr of the stream to the given output streams as they arrive, see {@link FrameSinkCallback}.
+     *
+     * @return the callback, e.g. to {@link FrameSinkCallback#awaitCompletion() await completion}
+     */
+    default FrameSinkCallback execToStreams(@Nonnull OutputStream stdout, @CheckForNull OutputStream stderr) {
+        return exec(FrameSinkCallback.toStreams(stdout, stderr));
+    }
+
     interface Exec extends DockerCmdAsyncExec<AttachContainerCmd, Frame> {
     }
 
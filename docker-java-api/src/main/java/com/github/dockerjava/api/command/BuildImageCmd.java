@@ -8,6 +8,7 @@ import javax.annotation.Nonnull;
 import java.io.File;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.Set;
 
@@ -203,6 +204,24 @@ public interface BuildImageCmd extends AsyncDockerCmd<BuildImageCmd, BuildRespon
 
     BuildImageCmd withTarInputStream(@Nonnull InputStream tarInputStream);
 
+    /**
+     * Whether the build context created from {@link #withDockerfile(File)} is archived while it is sent instead of being staged in
+     * a temporary file first. Defaults to {@code false}.
+     */
+    BuildImageCmd withContextStreaming(Boolean contextStreaming);
+
+    /**
+     * Gzip level of the build context created from {@link #withDockerfile(File)}, as defined by {@link java.util.zip.Deflater}.
+     * {@link java.util.zip.Deflater#NO_COMPRESSION} sends a plain tar, which is usually faster over unix sockets.
+     */
+    BuildImageCmd withContextCompressionLevel(Integer contextCompressionLevel);
+
+    /**
+     * Directory of an on-disk cache for the entries of the build context created from {@link #withDockerfile(File)}, so that
+     * unchanged files are neither read nor compressed again by later builds using the same directory.
+     */
+    BuildImageCmd withContextCache(Path contextCacheDirectory);
+
     /**
      * @since {@link RemoteApiVersion#VERSION_1_22}
      */
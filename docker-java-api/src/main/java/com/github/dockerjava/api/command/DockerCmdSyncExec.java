@@ -1,7 +1,24 @@
 package com.github.dockerjava.api.command;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface DockerCmdSyncExec<CMD_T extends DockerCmd<RES_T>, RES_T> {
 
     RES_T exec(CMD_T command);
 
+    /**
+     * This default has no executor to run on, so it executes the command on the calling thread.
+     *
+     * @see SyncDockerCmd#execAsync()
+     */
+    default CompletableFuture<RES_T> execAsync(CMD_T command) {
+        CompletableFuture<RES_T> result = new CompletableFuture<>();
+        try {
+            result.complete(exec(command));
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
 }
@@ -0,0 +1,15 @@
+package com.github.dockerjava.api.command;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface DockerCmdSyncListExec<CMD_T extends DockerCmd<List<ITEM_T>>, ITEM_T> extends DockerCmdSyncExec<CMD_T, List<ITEM_T>> {
+
+    /**
+     * @see ListDockerCmd#execStream()
+     */
+    default Stream<ITEM_T> execStream(CMD_T command) {
+        return exec(command).stream();
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.github.dockerjava.api.command;
+
+import com.github.dockerjava.api.async.ResultCallback;
+
+import java.util.Collection;
+
+/**
+ * Inspects several objects with concurrent requests. An object that can not be inspected, for instance because it was removed
+ * meanwhile, is reported as an error of its id and does not fail the other ones.
+ *
+ * @param <RES_T>
+ *            response of a single inspection
+ */
+public interface InspectBatchCmd<RES_T> extends SyncDockerCmd<InspectBatchResponse<RES_T>> {
+
+    Collection<String> getIds();
+
+    Integer getParallelism();
+
+    /**
+     * @param parallelism
+     *            - maximum number of requests sent at the same time, 8 by default
+     */
+    InspectBatchCmd<RES_T> withParallelism(Integer parallelism);
+
+    /**
+     * Waits until all objects were inspected.
+     */
+    @Override
+    InspectBatchResponse<RES_T> exec();
+
+    /**
+     * Passes each result to <code>resultCallback</code> as soon as it arrived, without waiting for the other ones. Results are
+     * passed one at a time, on the thread that received them. Closing the {@link java.io.Closeable} passed to
+     * {@link ResultCallback#onStart} stops sending further requests.
+     */
+    <T extends ResultCallback<InspectBatchItem<RES_T>>> T exec(T resultCallback);
+}
@@ -0,0 +1,49 @@
+package com.github.dockerjava.api.command;
+
+import com.github.dockerjava.api.model.DockerObject;
+
+import javax.annotation.CheckForNull;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Outcome of the inspection of one object of an {@link InspectBatchCmd}, either a result or an error.
+ */
+@EqualsAndHashCode
+@ToString
+public final class InspectBatchItem<RES_T> extends DockerObject {
+
+    private final String id;
+
+    private final RES_T result;
+
+    private final Throwable error;
+
+    public InspectBatchItem(String id, RES_T result, Throwable error) {
+        this.id = id;
+        this.result = result;
+        this.error = error;
+    }
+
+    /**
+     * @return id or name the object was requested with
+     */
+    public String getId() {
+        return id;
+    }
+
+    @CheckForNull
+    public RES_T getResult() {
+        return result;
+    }
+
+    /**
+     * @return the reason why the object could not be inspected, for instance a
+     *         {@link com.github.dockerjava.api.exception.NotFoundException}
+     */
+    @CheckForNull
+    public Throwable getError() {
+        return error;
+    }
+}
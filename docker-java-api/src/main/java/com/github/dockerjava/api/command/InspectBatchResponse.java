@@ -0,0 +1,45 @@
+package com.github.dockerjava.api.command;
+
+import com.github.dockerjava.api.model.DockerObject;
+
+import java.util.Collections;
+import java.util.Map;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * Results of an {@link InspectBatchCmd}, keyed by the ids or names the objects were requested with in the order they were
+ * requested.
+ */
+@EqualsAndHashCode
+@ToString
+public final class InspectBatchResponse<RES_T> extends DockerObject {
+
+    private final Map<String, RES_T> results;
+
+    private final Map<String, Throwable> errors;
+
+    public InspectBatchResponse(Map<String, RES_T> results, Map<String, Throwable> errors) {
+        this.results = Collections.unmodifiableMap(results);
+        this.errors = Collections.unmodifiableMap(errors);
+    }
+
+    /**
+     * @return results of the objects that were inspected
+     */
+    public Map<String, RES_T> getResults() {
+        return results;
+    }
+
+    /**
+     * @return errors of the objects that could not be inspected
+     */
+    public Map<String, Throwable> getErrors() {
+        return errors;
+    }
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+}
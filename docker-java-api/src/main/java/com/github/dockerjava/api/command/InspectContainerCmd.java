@@ -3,6 +3,8 @@ package com.github.dockerjava.api.command;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 
+import java.util.Set;
+
 import com.github.dockerjava.api.exception.NotFoundException;
 
 public interface InspectContainerCmd extends SyncDockerCmd<InspectContainerResponse> {
@@ -16,6 +18,17 @@ public interface InspectContainerCmd extends SyncDockerCmd<InspectContainerRespo
 
     Boolean getSize();
 
+    @CheckForNull
+    Set<String> getFields();
+
+    /**
+     * @param fields
+     *            - Bind only the given fields of the response, like <code>Id</code> or <code>Name</code>. Fields are given by their
+     *            names in the JSON response of the Docker API, nested fields are separated by dots, like <code>State.Status</code>.
+     *            The other fields are skipped by the parser and stay <code>null</code>. All fields are bound by default.
+     */
+    InspectContainerCmd withFields(String... fields);
+
     /**
      * @throws NotFoundException
      *             No such container
@@ -6,12 +6,13 @@ import javax.annotation.CheckForNull;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * List containers
  *
  */
-public interface ListContainersCmd extends SyncDockerCmd<List<Container>> {
+public interface ListContainersCmd extends ListDockerCmd<Container> {
 
     @CheckForNull
     String getBeforeId();
@@ -19,6 +20,9 @@ public interface ListContainersCmd extends SyncDockerCmd<List<Container>> {
     @CheckForNull
     Map<String, List<String>> getFilters();
 
+    @CheckForNull
+    Set<String> getFields();
+
     @CheckForNull
     Integer getLimit();
 
@@ -122,7 +126,16 @@ public interface ListContainersCmd extends SyncDockerCmd<List<Container>> {
      */
     ListContainersCmd withFilter(String filterName, Collection<String> filterValues);
 
-    interface Exec extends DockerCmdSyncExec<ListContainersCmd, List<Container>> {
+    /**
+     * @param fields
+     *            - Bind only the given fields of each container, like <code>Id</code>, <code>Names</code> or
+     *            <code>State</code>. Fields are given by their names in the JSON response of the Docker API, nested fields
+     *            are separated by dots, like <code>HostConfig.NetworkMode</code>. The other fields are skipped by the
+     *            parser and stay <code>null</code>. All fields are bound by default.
+     */
+    ListContainersCmd withFields(String... fields);
+
+    interface Exec extends DockerCmdSyncListExec<ListContainersCmd, Container> {
     }
 
 }
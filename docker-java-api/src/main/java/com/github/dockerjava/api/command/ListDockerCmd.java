@@ -0,0 +1,42 @@
+package com.github.dockerjava.api.command;
+
+import com.github.dockerjava.api.async.ResultCallback;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Command that lists objects of the daemon. Besides reading the whole list with {@link #exec()}, the objects can be read one at
+ * a time while the response arrives, so that a long list is never held in memory as a whole.
+ *
+ * @param <ITEM_T>
+ *            listed object
+ */
+public interface ListDockerCmd<ITEM_T> extends SyncDockerCmd<List<ITEM_T>> {
+
+    /**
+     * Returns the listed objects, each one is only parsed when the stream gets to it. The response stays open until the stream is
+     * closed, so it must be used with try-with-resources unless it is consumed to the end.
+     */
+    Stream<ITEM_T> execStream();
+
+    /**
+     * Passes the listed objects to <code>resultCallback</code> one at a time as they are parsed. The objects are read on the
+     * calling thread, which returns once the list was read or the {@link java.io.Closeable} passed to
+     * {@link ResultCallback#onStart} was closed.
+     */
+    default <T extends ResultCallback<ITEM_T>> T exec(T resultCallback) {
+        try (Stream<ITEM_T> items = execStream()) {
+            resultCallback.onStart(items::close);
+            Iterator<ITEM_T> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                resultCallback.onNext(iterator.next());
+            }
+            resultCallback.onComplete();
+        } catch (RuntimeException e) {
+            resultCallback.onError(e);
+        }
+        return resultCallback;
+    }
+}
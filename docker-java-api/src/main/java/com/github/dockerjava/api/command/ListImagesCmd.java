@@ -10,7 +10,7 @@ import com.github.dockerjava.api.model.Image;
 /**
  * List images
  */
-public interface ListImagesCmd extends SyncDockerCmd<List<Image>> {
+public interface ListImagesCmd extends ListDockerCmd<Image> {
 
     @CheckForNull
     Map<String, List<String>> getFilters();
@@ -44,7 +44,7 @@ public interface ListImagesCmd extends SyncDockerCmd<List<Image>> {
      */
     ListImagesCmd withLabelFilter(Map<String, String> labels);
 
-    interface Exec extends DockerCmdSyncExec<ListImagesCmd, List<Image>> {
+    interface Exec extends DockerCmdSyncListExec<ListImagesCmd, Image> {
     }
 
 }
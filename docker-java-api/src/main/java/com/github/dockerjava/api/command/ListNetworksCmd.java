@@ -13,7 +13,7 @@ import java.util.Map;
  *
  * @since {@link RemoteApiVersion#VERSION_1_21}
  */
-public interface ListNetworksCmd extends SyncDockerCmd<List<Network>> {
+public interface ListNetworksCmd extends ListDockerCmd<Network> {
 
     @CheckForNull
     Map<String, List<String>> getFilters();
@@ -29,6 +29,6 @@ public interface ListNetworksCmd extends SyncDockerCmd<List<Network>> {
      */
     ListNetworksCmd withFilter(String filterName, Collection<String> filterValues);
 
-    interface Exec extends DockerCmdSyncExec<ListNetworksCmd, List<Network>> {
+    interface Exec extends DockerCmdSyncListExec<ListNetworksCmd, Network> {
     }
 }
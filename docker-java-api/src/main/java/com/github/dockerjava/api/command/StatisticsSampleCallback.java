@@ -0,0 +1,176 @@
+package com.github.dockerjava.api.command;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.model.BlkioStatEntry;
+import com.github.dockerjava.api.model.BlkioStatsConfig;
+import com.github.dockerjava.api.model.CpuStatsConfig;
+import com.github.dockerjava.api.model.CpuUsageConfig;
+import com.github.dockerjava.api.model.MemoryStatsConfig;
+import com.github.dockerjava.api.model.StatisticNetworksConfig;
+import com.github.dockerjava.api.model.Statistics;
+import com.github.dockerjava.api.model.StatsConfig;
+import com.github.dockerjava.api.model.StatsSample;
+import com.github.dockerjava.api.model.ThrottlingDataConfig;
+
+/**
+ * Copies the {@link Statistics} of {@link StatsCmd#exec(ResultCallback)} into a {@link StatsSample}, for implementations that do
+ * not decode the samples themselves. As {@link Statistics} does not bind them, the id, the name and the pids limit of the samples
+ * are not set.
+ */
+class StatisticsSampleCallback implements ResultCallback<Statistics> {
+
+    private final ResultCallback<StatsSample> resultCallback;
+
+    private final StatsSample sample = new StatsSample();
+
+    StatisticsSampleCallback(ResultCallback<StatsSample> resultCallback) {
+        this.resultCallback = resultCallback;
+    }
+
+    @Override
+    public void onStart(Closeable closeable) {
+        resultCallback.onStart(closeable);
+    }
+
+    @Override
+    public void onNext(Statistics statistics) {
+        sample.reset()
+            .withReadNanos(epochNanos(statistics.getRead()))
+            .withPreReadNanos(epochNanos(statistics.getPreread()))
+            .withNumProcs(value(statistics.getNumProcs()));
+        copyCpu(statistics.getCpuStats(), sample.getCpu());
+        copyCpu(statistics.getPreCpuStats(), sample.getPreCpu());
+        copyMemory(statistics.getMemoryStats());
+        if (statistics.getPidsStats() != null) {
+            sample.withPidsCurrent(value(statistics.getPidsStats().getCurrent()));
+        }
+        copyNetworks(statistics.getNetworks());
+        copyBlkio(statistics.getBlkioStats());
+        resultCallback.onNext(sample);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        resultCallback.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        resultCallback.onComplete();
+    }
+
+    @Override
+    public void close() throws IOException {
+        resultCallback.close();
+    }
+
+    private static void copyCpu(CpuStatsConfig stats, StatsSample.Cpu cpu) {
+        if (stats == null) {
+            return;
+        }
+        cpu.withSystemCpuUsage(value(stats.getSystemCpuUsage())).withOnlineCpus(value(stats.getOnlineCpus()));
+        CpuUsageConfig usage = stats.getCpuUsage();
+        if (usage != null) {
+            cpu.withTotalUsage(value(usage.getTotalUsage()))
+                .withUsageInKernelmode(value(usage.getUsageInKernelmode()))
+                .withUsageInUsermode(value(usage.getUsageInUsermode()));
+            List<Long> percpuUsage = usage.getPercpuUsage();
+            if (percpuUsage != null) {
+                for (int i = 0; i < percpuUsage.size(); i++) {
+                    cpu.withPercpuUsage(i, value(percpuUsage.get(i)));
+                }
+            }
+        }
+        ThrottlingDataConfig throttling = stats.getThrottlingData();
+        if (throttling != null) {
+            cpu.withThrottlingPeriods(value(throttling.getPeriods()))
+                .withThrottledPeriods(value(throttling.getThrottledPeriods()))
+                .withThrottledTime(value(throttling.getThrottledTime()));
+        }
+    }
+
+    private void copyMemory(MemoryStatsConfig memory) {
+        if (memory == null) {
+            return;
+        }
+        sample.withMemoryUsage(value(memory.getUsage()))
+            .withMemoryMaxUsage(value(memory.getMaxUsage()))
+            .withMemoryLimit(value(memory.getLimit()))
+            .withMemoryFailcnt(value(memory.getFailcnt()));
+        StatsConfig stats = memory.getStats();
+        if (stats != null) {
+            // cgroup v1 reports both, the hierarchical total is the one "docker stats" uses
+            Long inactiveFile = stats.getTotalInactiveFile() != null ? stats.getTotalInactiveFile() : stats.getInactiveFile();
+            sample.withMemoryCache(value(stats.getCache())).withMemoryInactiveFile(value(inactiveFile));
+        }
+    }
+
+    private void copyNetworks(Map<String, StatisticNetworksConfig> networks) {
+        if (networks == null) {
+            return;
+        }
+        for (StatisticNetworksConfig network : networks.values()) {
+            sample.withNetworkRxBytes(sample.getNetworkRxBytes() + value(network.getRxBytes()))
+                .withNetworkRxPackets(sample.getNetworkRxPackets() + value(network.getRxPackets()))
+                .withNetworkRxErrors(sample.getNetworkRxErrors() + value(network.getRxErrors()))
+                .withNetworkRxDropped(sample.getNetworkRxDropped() + value(network.getRxDropped()))
+                .withNetworkTxBytes(sample.getNetworkTxBytes() + value(network.getTxBytes()))
+                .withNetworkTxPackets(sample.getNetworkTxPackets() + value(network.getTxPackets()))
+                .withNetworkTxErrors(sample.getNetworkTxErrors() + value(network.getTxErrors()))
+                .withNetworkTxDropped(sample.getNetworkTxDropped() + value(network.getTxDropped()));
+        }
+    }
+
+    private void copyBlkio(BlkioStatsConfig blkio) {
+        if (blkio == null) {
+            return;
+        }
+        sample.withBlkioReadBytes(sum(blkio.getIoServiceBytesRecursive(), "read"))
+            .withBlkioWriteBytes(sum(blkio.getIoServiceBytesRecursive(), "write"))
+            .withBlkioReadOps(sum(blkio.getIoServicedRecursive(), "read"))
+            .withBlkioWriteOps(sum(blkio.getIoServicedRecursive(), "write"));
+    }
+
+    private static long sum(List<BlkioStatEntry> entries, String op) {
+        long sum = 0;
+        if (entries != null) {
+            for (BlkioStatEntry entry : entries) {
+                // cgroup v1 capitalizes the ops, cgroup v2 does not
+                if (op.equalsIgnoreCase(entry.getOp())) {
+                    sum += value(entry.getValue());
+                }
+            }
+        }
+        return sum;
+    }
+
+    private static long value(Long value) {
+        return value != null ? value : 0;
+    }
+
+    /**
+     * @return nanoseconds since the epoch, 0 for the zero time of Go (<code>0001-01-01T00:00:00Z</code>) and invalid times
+     */
+    private static long epochNanos(String time) {
+        if (time == null) {
+            return 0;
+        }
+        try {
+            OffsetDateTime dateTime = OffsetDateTime.parse(time);
+            if (dateTime.getYear() <= 1) {
+                return 0;
+            }
+            return TimeUnit.SECONDS.toNanos(dateTime.toEpochSecond()) + dateTime.getNano();
+        } catch (DateTimeParseException e) {
+            return 0;
+        }
+    }
+}
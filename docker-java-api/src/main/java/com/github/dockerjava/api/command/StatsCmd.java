@@ -3,7 +3,9 @@ package com.github.dockerjava.api.command;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 
+import com.github.dockerjava.api.async.ResultCallback;
 import com.github.dockerjava.api.model.Statistics;
+import com.github.dockerjava.api.model.StatsSample;
 
 /**
  * Get container stats. The result of {@link Statistics} is handled asynchronously because the docker remote API will block when a container
@@ -21,6 +23,27 @@ public interface StatsCmd extends AsyncDockerCmd<StatsCmd, Statistics> {
 
     StatsCmd withNoStream(boolean noStream);
 
+    /**
+     * Like {@link #exec(ResultCallback)}, but the counters of each sample are decoded straight from the response into a
+     * {@link StatsSample} instead of being bound to a {@link Statistics}. The same sample is passed for every sample of the stream,
+     * so it must not be used after {@link ResultCallback#onNext(Object)} returned.
+     *
+     * Implementations that can not decode the samples themselves copy each {@link Statistics} of {@link #exec(ResultCallback)}
+     * into the sample, which leaves the id, the name and the pids limit unset.
+     */
+    default <T extends ResultCallback<StatsSample>> T execSamples(T resultCallback) {
+        exec(new StatisticsSampleCallback(resultCallback));
+        return resultCallback;
+    }
+
     interface Exec extends DockerCmdAsyncExec<StatsCmd, Statistics> {
+
+        /**
+         * Decodes the samples of the stats stream, the default copies each {@link Statistics} of
+         * {@link DockerCmdAsyncExec#exec} into a sample, see {@link StatsCmd#execSamples(ResultCallback)}.
+         */
+        default Void execSamples(StatsCmd command, ResultCallback<StatsSample> resultCallback) {
+            return exec(command, new StatisticsSampleCallback(resultCallback));
+        }
     }
 }
@@ -1,7 +1,26 @@
 package com.github.dockerjava.api.command;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface SyncDockerCmd<RES_T> extends DockerCmd<RES_T> {
 
     RES_T exec();
 
+    /**
+     * Executes the command without waiting for the response. The commands of {@code docker-java-core} complete the future once
+     * the response was received with non-blocking transports, and execute the command on a pool of their factory otherwise.
+     * With non-blocking transports, commands returning a stream, like saving an image, fail with an
+     * {@link UnsupportedOperationException}. This default has no executor to run on, so it executes the command on the calling
+     * thread.
+     */
+    default CompletableFuture<RES_T> execAsync() {
+        CompletableFuture<RES_T> result = new CompletableFuture<>();
+        try {
+            result.complete(exec());
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
 }
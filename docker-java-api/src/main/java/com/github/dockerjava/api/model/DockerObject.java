@@ -5,6 +5,7 @@ import com.fasterxml.jackson.annotation.JsonAnyGetter;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * @see DockerObjectAccessor
@@ -13,8 +14,27 @@ public abstract class DockerObject {
 
     HashMap<String, Object> rawValues = new HashMap<>();
 
+    /**
+     * Computes the raw values when they are accessed for the first time, null once they were computed.
+     */
+    volatile Supplier<HashMap<String, Object>> rawValuesSupplier;
+
     @JsonAnyGetter
     public Map<String, Object> getRawValues() {
-        return Collections.unmodifiableMap(this.rawValues);
+        return Collections.unmodifiableMap(rawValues());
+    }
+
+    HashMap<String, Object> rawValues() {
+        if (rawValuesSupplier != null) {
+            synchronized (this) {
+                Supplier<HashMap<String, Object>> supplier = rawValuesSupplier;
+                if (supplier != null) {
+                    HashMap<String, Object> values = supplier.get();
+                    rawValues = values != null ? values : new HashMap<>();
+                    rawValuesSupplier = null;
+                }
+            }
+        }
+        return rawValues;
     }
 }
@@ -1,6 +1,7 @@
 package com.github.dockerjava.api.model;
 
 import java.util.HashMap;
+import java.util.function.Supplier;
 
 public final class DockerObjectAccessor {
 
@@ -9,7 +10,23 @@ public final class DockerObjectAccessor {
      */
     @Deprecated
     public static void overrideRawValues(DockerObject o, HashMap<String, Object> rawValues) {
-        o.rawValues = rawValues != null ? rawValues : new HashMap<>();
+        synchronized (o) {
+            o.rawValues = rawValues != null ? rawValues : new HashMap<>();
+            o.rawValuesSupplier = null;
+        }
+    }
+
+    /**
+     * Like {@link #overrideRawValues(DockerObject, HashMap)}, but the raw values are only computed once they are accessed.
+     *
+     * @deprecated not for public usage, unless you _really_ understand what you're doing
+     */
+    @Deprecated
+    public static void overrideRawValuesSupplier(DockerObject o, Supplier<HashMap<String, Object>> rawValuesSupplier) {
+        synchronized (o) {
+            o.rawValues = new HashMap<>();
+            o.rawValuesSupplier = rawValuesSupplier;
+        }
     }
 
     /**
@@ -19,7 +36,7 @@ public final class DockerObjectAccessor {
      * Make sure to check Docker's API before using it.
      */
     public static void overrideRawValue(DockerObject o, String key, Object value) {
-        o.rawValues.put(key, value);
+        o.rawValues().put(key, value);
     }
 
     private DockerObjectAccessor() {
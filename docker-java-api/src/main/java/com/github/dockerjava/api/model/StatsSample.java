@@ -0,0 +1,533 @@
+package com.github.dockerjava.api.model;
+
+import com.github.dockerjava.api.command.StatsCmd;
+
+import javax.annotation.CheckForNull;
+import java.util.Arrays;
+
+/**
+ * Counters of one stats sample of a container as primitive values, see {@link StatsCmd#execSamples}.
+ *
+ * Unlike {@link Statistics}, a sample is mutable and reused for every sample of a stream: the decoder overwrites it in place, so
+ * it is only valid until {@link com.github.dockerjava.api.async.ResultCallback#onNext(Object)} returns and has to be copied if
+ * it needs to be kept. Counters that the daemon did not report are 0, the counters of all network interfaces and block devices
+ * are summed up.
+ */
+public final class StatsSample extends DockerObject {
+
+    /**
+     * Number of CPUs whose usage is kept per sample, the usage of further CPUs is dropped.
+     */
+    public static final int MAX_CPUS = 512;
+
+    private String id;
+
+    private String name;
+
+    private long readNanos;
+
+    private long preReadNanos;
+
+    private final Cpu cpu = new Cpu();
+
+    private final Cpu preCpu = new Cpu();
+
+    private long memoryUsage;
+
+    private long memoryMaxUsage;
+
+    private long memoryLimit;
+
+    private long memoryFailcnt;
+
+    private long memoryCache;
+
+    private long memoryInactiveFile;
+
+    private long pidsCurrent;
+
+    private long pidsLimit;
+
+    private long networkRxBytes;
+
+    private long networkRxPackets;
+
+    private long networkRxErrors;
+
+    private long networkRxDropped;
+
+    private long networkTxBytes;
+
+    private long networkTxPackets;
+
+    private long networkTxErrors;
+
+    private long networkTxDropped;
+
+    private long blkioReadBytes;
+
+    private long blkioWriteBytes;
+
+    private long blkioReadOps;
+
+    private long blkioWriteOps;
+
+    private long numProcs;
+
+    /**
+     * Sets all counters to 0, the id and the name are kept as they rarely change between samples.
+     */
+    public StatsSample reset() {
+        readNanos = 0;
+        preReadNanos = 0;
+        cpu.reset();
+        preCpu.reset();
+        memoryUsage = 0;
+        memoryMaxUsage = 0;
+        memoryLimit = 0;
+        memoryFailcnt = 0;
+        memoryCache = 0;
+        memoryInactiveFile = 0;
+        pidsCurrent = 0;
+        pidsLimit = 0;
+        networkRxBytes = 0;
+        networkRxPackets = 0;
+        networkRxErrors = 0;
+        networkRxDropped = 0;
+        networkTxBytes = 0;
+        networkTxPackets = 0;
+        networkTxErrors = 0;
+        networkTxDropped = 0;
+        blkioReadBytes = 0;
+        blkioWriteBytes = 0;
+        blkioReadOps = 0;
+        blkioWriteOps = 0;
+        numProcs = 0;
+        return this;
+    }
+
+    @CheckForNull
+    public String getId() {
+        return id;
+    }
+
+    public StatsSample withId(String id) {
+        this.id = id;
+        return this;
+    }
+
+    /**
+     * @return name of the container with a leading slash
+     */
+    @CheckForNull
+    public String getName() {
+        return name;
+    }
+
+    public StatsSample withName(String name) {
+        this.name = name;
+        return this;
+    }
+
+    /**
+     * @return time the sample was read as nanoseconds since the epoch
+     */
+    public long getReadNanos() {
+        return readNanos;
+    }
+
+    public StatsSample withReadNanos(long readNanos) {
+        this.readNanos = readNanos;
+        return this;
+    }
+
+    /**
+     * @return time {@link #getPreCpu()} was read as nanoseconds since the epoch, 0 for the first sample of a stream
+     */
+    public long getPreReadNanos() {
+        return preReadNanos;
+    }
+
+    public StatsSample withPreReadNanos(long preReadNanos) {
+        this.preReadNanos = preReadNanos;
+        return this;
+    }
+
+    public Cpu getCpu() {
+        return cpu;
+    }
+
+    /**
+     * @return CPU counters of the previous sample
+     */
+    public Cpu getPreCpu() {
+        return preCpu;
+    }
+
+    public long getMemoryUsage() {
+        return memoryUsage;
+    }
+
+    public StatsSample withMemoryUsage(long memoryUsage) {
+        this.memoryUsage = memoryUsage;
+        return this;
+    }
+
+    public long getMemoryMaxUsage() {
+        return memoryMaxUsage;
+    }
+
+    public StatsSample withMemoryMaxUsage(long memoryMaxUsage) {
+        this.memoryMaxUsage = memoryMaxUsage;
+        return this;
+    }
+
+    public long getMemoryLimit() {
+        return memoryLimit;
+    }
+
+    public StatsSample withMemoryLimit(long memoryLimit) {
+        this.memoryLimit = memoryLimit;
+        return this;
+    }
+
+    public long getMemoryFailcnt() {
+        return memoryFailcnt;
+    }
+
+    public StatsSample withMemoryFailcnt(long memoryFailcnt) {
+        this.memoryFailcnt = memoryFailcnt;
+        return this;
+    }
+
+    /**
+     * @return page cache of cgroup v1 hosts
+     */
+    public long getMemoryCache() {
+        return memoryCache;
+    }
+
+    public StatsSample withMemoryCache(long memoryCache) {
+        this.memoryCache = memoryCache;
+        return this;
+    }
+
+    /**
+     * @return inactive file cache, <code>total_inactive_file</code> on cgroup v1 and <code>inactive_file</code> on cgroup v2 hosts
+     */
+    public long getMemoryInactiveFile() {
+        return memoryInactiveFile;
+    }
+
+    public StatsSample withMemoryInactiveFile(long memoryInactiveFile) {
+        this.memoryInactiveFile = memoryInactiveFile;
+        return this;
+    }
+
+    public long getPidsCurrent() {
+        return pidsCurrent;
+    }
+
+    public StatsSample withPidsCurrent(long pidsCurrent) {
+        this.pidsCurrent = pidsCurrent;
+        return this;
+    }
+
+    public long getPidsLimit() {
+        return pidsLimit;
+    }
+
+    public StatsSample withPidsLimit(long pidsLimit) {
+        this.pidsLimit = pidsLimit;
+        return this;
+    }
+
+    public long getNetworkRxBytes() {
+        return networkRxBytes;
+    }
+
+    public StatsSample withNetworkRxBytes(long networkRxBytes) {
+        this.networkRxBytes = networkRxBytes;
+        return this;
+    }
+
+    public long getNetworkRxPackets() {
+        return networkRxPackets;
+    }
+
+    public StatsSample withNetworkRxPackets(long networkRxPackets) {
+        this.networkRxPackets = networkRxPackets;
+        return this;
+    }
+
+    public long getNetworkRxErrors() {
+        return networkRxErrors;
+    }
+
+    public StatsSample withNetworkRxErrors(long networkRxErrors) {
+        this.networkRxErrors = networkRxErrors;
+        return this;
+    }
+
+    public long getNetworkRxDropped() {
+        return networkRxDropped;
+    }
+
+    public StatsSample withNetworkRxDropped(long networkRxDropped) {
+        this.networkRxDropped = networkRxDropped;
+        return this;
+    }
+
+    public long getNetworkTxBytes() {
+        return networkTxBytes;
+    }
+
+    public StatsSample withNetworkTxBytes(long networkTxBytes) {
+        this.networkTxBytes = networkTxBytes;
+        return this;
+    }
+
+    public long getNetworkTxPackets() {
+        return networkTxPackets;
+    }
+
+    public StatsSample withNetworkTxPackets(long networkTxPackets) {
+        this.networkTxPackets = networkTxPackets;
+        return this;
+    }
+
+    public long getNetworkTxErrors() {
+        return networkTxErrors;
+    }
+
+    public StatsSample withNetworkTxErrors(long networkTxErrors) {
+        this.networkTxErrors = networkTxErrors;
+        return this;
+    }
+
+    public long getNetworkTxDropped() {
+        return networkTxDropped;
+    }
+
+    public StatsSample withNetworkTxDropped(long networkTxDropped) {
+        this.networkTxDropped = networkTxDropped;
+        return this;
+    }
+
+    public long getBlkioReadBytes() {
+        return blkioReadBytes;
+    }
+
+    public StatsSample withBlkioReadBytes(long blkioReadBytes) {
+        this.blkioReadBytes = blkioReadBytes;
+        return this;
+    }
+
+    public long getBlkioWriteBytes() {
+        return blkioWriteBytes;
+    }
+
+    public StatsSample withBlkioWriteBytes(long blkioWriteBytes) {
+        this.blkioWriteBytes = blkioWriteBytes;
+        return this;
+    }
+
+    public long getBlkioReadOps() {
+        return blkioReadOps;
+    }
+
+    public StatsSample withBlkioReadOps(long blkioReadOps) {
+        this.blkioReadOps = blkioReadOps;
+        return this;
+    }
+
+    public long getBlkioWriteOps() {
+        return blkioWriteOps;
+    }
+
+    public StatsSample withBlkioWriteOps(long blkioWriteOps) {
+        this.blkioWriteOps = blkioWriteOps;
+        return this;
+    }
+
+    /**
+     * @return number of processes, only reported on Windows
+     */
+    public long getNumProcs() {
+        return numProcs;
+    }
+
+    public StatsSample withNumProcs(long numProcs) {
+        this.numProcs = numProcs;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return "StatsSample{id=" + id + ", name=" + name + ", readNanos=" + readNanos + ", cpu=" + cpu
+            + ", memoryUsage=" + memoryUsage + ", memoryLimit=" + memoryLimit
+            + ", networkRxBytes=" + networkRxBytes + ", networkTxBytes=" + networkTxBytes
+            + ", blkioReadBytes=" + blkioReadBytes + ", blkioWriteBytes=" + blkioWriteBytes + "}";
+    }
+
+    /**
+     * CPU counters of a {@link StatsSample}, all times are in nanoseconds.
+     */
+    public static final class Cpu extends DockerObject {
+
+        private static final long[] NO_USAGE = new long[0];
+
+        private long totalUsage;
+
+        private long usageInKernelmode;
+
+        private long usageInUsermode;
+
+        private long systemCpuUsage;
+
+        private long onlineCpus;
+
+        // grown to the number of CPUs the daemon reports, which stays empty on cgroup v2 hosts
+        private long[] percpuUsage = NO_USAGE;
+
+        private int percpuCount;
+
+        private long throttlingPeriods;
+
+        private long throttledPeriods;
+
+        private long throttledTime;
+
+        void reset() {
+            totalUsage = 0;
+            usageInKernelmode = 0;
+            usageInUsermode = 0;
+            systemCpuUsage = 0;
+            onlineCpus = 0;
+            percpuCount = 0;
+            throttlingPeriods = 0;
+            throttledPeriods = 0;
+            throttledTime = 0;
+        }
+
+        public long getTotalUsage() {
+            return totalUsage;
+        }
+
+        public Cpu withTotalUsage(long totalUsage) {
+            this.totalUsage = totalUsage;
+            return this;
+        }
+
+        public long getUsageInKernelmode() {
+            return usageInKernelmode;
+        }
+
+        public Cpu withUsageInKernelmode(long usageInKernelmode) {
+            this.usageInKernelmode = usageInKernelmode;
+            return this;
+        }
+
+        public long getUsageInUsermode() {
+            return usageInUsermode;
+        }
+
+        public Cpu withUsageInUsermode(long usageInUsermode) {
+            this.usageInUsermode = usageInUsermode;
+            return this;
+        }
+
+        public long getSystemCpuUsage() {
+            return systemCpuUsage;
+        }
+
+        public Cpu withSystemCpuUsage(long systemCpuUsage) {
+            this.systemCpuUsage = systemCpuUsage;
+            return this;
+        }
+
+        /**
+         * @return number of online CPUs, or the number of per CPU usages if the daemon does not report it
+         */
+        public long getOnlineCpus() {
+            return onlineCpus > 0 ? onlineCpus : percpuCount;
+        }
+
+        public Cpu withOnlineCpus(long onlineCpus) {
+            this.onlineCpus = onlineCpus;
+            return this;
+        }
+
+        /**
+         * @return number of valid entries of {@link #getPercpuUsage(int)}, 0 on cgroup v2 hosts
+         */
+        public int getPercpuCount() {
+            return percpuCount;
+        }
+
+        public long getPercpuUsage(int cpuIndex) {
+            if (cpuIndex < 0 || cpuIndex >= percpuCount) {
+                throw new IndexOutOfBoundsException("CPU " + cpuIndex + " of " + percpuCount);
+            }
+            return percpuUsage[cpuIndex];
+        }
+
+        /**
+         * Sets the usage of a CPU, CPUs beyond {@link #MAX_CPUS} are ignored.
+         */
+        public Cpu withPercpuUsage(int cpuIndex, long usage) {
+            if (cpuIndex >= 0 && cpuIndex < MAX_CPUS) {
+                if (cpuIndex >= percpuUsage.length) {
+                    percpuUsage = Arrays.copyOf(percpuUsage, Math.min(MAX_CPUS, Math.max(cpuIndex + 1, 2 * percpuUsage.length)));
+                }
+                percpuUsage[cpuIndex] = usage;
+                percpuCount = Math.max(percpuCount, cpuIndex + 1);
+            }
+            return this;
+        }
+
+        /**
+         * Copies the valid per CPU usages to <code>target</code>.
+         *
+         * @return number of copied usages
+         */
+        public int copyPercpuUsage(long[] target) {
+            int count = Math.min(percpuCount, target.length);
+            System.arraycopy(percpuUsage, 0, target, 0, count);
+            return count;
+        }
+
+        public long getThrottlingPeriods() {
+            return throttlingPeriods;
+        }
+
+        public Cpu withThrottlingPeriods(long throttlingPeriods) {
+            this.throttlingPeriods = throttlingPeriods;
+            return this;
+        }
+
+        public long getThrottledPeriods() {
+            return throttledPeriods;
+        }
+
+        public Cpu withThrottledPeriods(long throttledPeriods) {
+            this.throttledPeriods = throttledPeriods;
+            return this;
+        }
+
+        public long getThrottledTime() {
+            return throttledTime;
+        }
+
+        public Cpu withThrottledTime(long throttledTime) {
+            this.throttledTime = throttledTime;
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return "Cpu{totalUsage=" + totalUsage + ", systemCpuUsage=" + systemCpuUsage + ", onlineCpus=" + getOnlineCpus()
+                + ", percpuUsage=" + Arrays.toString(Arrays.copyOf(percpuUsage, percpuCount)) + "}";
+        }
+    }
+}
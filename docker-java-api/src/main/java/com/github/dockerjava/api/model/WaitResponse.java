@@ -20,4 +20,12 @@ public class WaitResponse extends DockerObject implements Serializable {
     public Integer getStatusCode() {
         return statusCode;
     }
+
+    /**
+     * @see #statusCode
+     */
+    public WaitResponse withStatusCode(Integer statusCode) {
+        this.statusCode = statusCode;
+        return this;
+    }
 }
@@ -0,0 +1,202 @@
+package com.github.dockerjava.core;
+
+import com.github.dockerjava.transport.AsyncDockerHttpClient;
+import com.github.dockerjava.transport.DockerHttpClient;
+import org.apache.commons.io.IOUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Runs a synchronous execution on top of an {@link AsyncDockerHttpClient} without blocking a thread while waiting for
+ * responses.
+ *
+ * The execution is run on the calling thread until it sends a request, at which point it is aborted and the request is sent
+ * asynchronously. Once the response was received, the execution is run again on the given executor, never on the I/O thread
+ * that completed the response, and the recorded responses are replayed to its requests in order. Responses are buffered in
+ * memory, so the execution does not block once it is run again.
+ *
+ * An execution that catches the exception aborting it is still continued with the response of the request it sent first,
+ * whatever it returned or threw without it.
+ *
+ * Only executions that bind their responses are supported. Executions that return the body of a response as a stream, like
+ * saving images or copying archives, fail with an {@link UnsupportedOperationException} before they send their request, as
+ * their body would be read into memory and could not be returned by the run that sent the request.
+ */
+final class AsyncExecution<T> {
+
+    private static final ThreadLocal<AsyncExecution<?>> CURRENT = new ThreadLocal<>();
+
+    private final AsyncDockerHttpClient dockerHttpClient;
+
+    private final Supplier<T> execution;
+
+    private final Executor executor;
+
+    private final List<RecordedResponse> responses = new ArrayList<>();
+
+    private final CompletableFuture<T> result = new CompletableFuture<>();
+
+    private int position;
+
+    /**
+     * First request of the current run whose response was not received yet
+     */
+    private DockerHttpClient.Request pendingRequest;
+
+    private AsyncExecution(AsyncDockerHttpClient dockerHttpClient, Supplier<T> execution, Executor executor) {
+        this.dockerHttpClient = dockerHttpClient;
+        this.execution = execution;
+        this.executor = executor;
+    }
+
+    /**
+     * @param executor runs the execution again once a response was received, and completes the returned future
+     */
+    static <T> CompletableFuture<T> start(AsyncDockerHttpClient dockerHttpClient, Supplier<T> execution, Executor executor) {
+        AsyncExecution<T> asyncExecution = new AsyncExecution<>(dockerHttpClient, execution, executor);
+        asyncExecution.run();
+        return asyncExecution.result;
+    }
+
+    /**
+     * Executes the request, or replays its response if the current thread runs an asynchronous execution.
+     */
+    static DockerHttpClient.Response execute(DockerHttpClient dockerHttpClient, DockerHttpClient.Request request) {
+        AsyncExecution<?> current = CURRENT.get();
+        return current != null ? current.replay(request) : dockerHttpClient.execute(request);
+    }
+
+    /**
+     * Fails if the current thread runs an asynchronous execution, see the limits of {@link AsyncExecution}.
+     */
+    static void rejectStreamedResponse() {
+        if (CURRENT.get() != null) {
+            throw new UnsupportedOperationException("responses returned as streams can not be received asynchronously, use exec()");
+        }
+    }
+
+    private void run() {
+        position = 0;
+        pendingRequest = null;
+        AsyncExecution<?> previous = CURRENT.get();
+        CURRENT.set(this);
+        T value = null;
+        Throwable failure = null;
+        try {
+            value = execution.get();
+        } catch (Throwable e) {
+            failure = e;
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+
+        if (pendingRequest != null) {
+            // the outcome of the execution is void as long as one of its responses is missing
+            send(pendingRequest);
+        } else if (failure != null) {
+            result.completeExceptionally(failure);
+        } else {
+            result.complete(value);
+        }
+    }
+
+    private DockerHttpClient.Response replay(DockerHttpClient.Request request) {
+        if (pendingRequest == null && position < responses.size()) {
+            return responses.get(position++).replay();
+        }
+        if (pendingRequest == null) {
+            pendingRequest = request;
+        }
+        throw new PendingRequest();
+    }
+
+    private void send(DockerHttpClient.Request request) {
+        if (result.isDone()) {
+            return;
+        }
+
+        CompletableFuture<DockerHttpClient.Response> response;
+        try {
+            response = dockerHttpClient.executeAsync(request);
+        } catch (Throwable e) {
+            result.completeExceptionally(e);
+            return;
+        }
+
+        response.whenCompleteAsync((received, e) -> {
+            if (e != null) {
+                result.completeExceptionally(e instanceof CompletionException && e.getCause() != null ? e.getCause() : e);
+                return;
+            }
+
+            try (DockerHttpClient.Response r = received) {
+                responses.add(new RecordedResponse(r.getStatusCode(), r.getHeaders(), IOUtils.toByteArray(r.getBody())));
+            } catch (Exception ex) {
+                result.completeExceptionally(ex);
+                return;
+            }
+            run();
+        }, executor);
+    }
+
+    /**
+     * Thrown to abort the execution when it sends a request whose response was not received yet.
+     */
+    private static final class PendingRequest extends RuntimeException {
+
+        PendingRequest() {
+            super(null, null, false, false);
+        }
+    }
+
+    private static final class RecordedResponse {
+
+        private final int statusCode;
+
+        private final Map<String, List<String>> headers;
+
+        private final byte[] body;
+
+        RecordedResponse(int statusCode, Map<String, List<String>> headers, byte[] body) {
+            this.statusCode = statusCode;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        DockerHttpClient.Response replay() {
+            InputStream bodyStream = new ByteArrayInputStream(body);
+            return new DockerHttpClient.Response() {
+                @Override
+                public int getStatusCode() {
+                    return statusCode;
+                }
+
+                @Override
+                public Map<String, List<String>> getHeaders() {
+                    return headers;
+                }
+
+                @Override
+                public InputStream getBody() {
+                    return bodyStream;
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,808 @@
+package com.github.dockerjava.core;
+
+import com.github.dockerjava.api.command.ConnectToNetworkCmd;
+import com.github.dockerjava.api.command.CreateContainerCmd;
+import com.github.dockerjava.api.command.CreateContainerResponse;
+import com.github.dockerjava.api.command.DelegatingDockerCmdExecFactory;
+import com.github.dockerjava.api.command.DisconnectFromNetworkCmd;
+import com.github.dockerjava.api.command.DockerCmd;
+import com.github.dockerjava.api.command.DockerCmdExecFactory;
+import com.github.dockerjava.api.command.InfoCmd;
+import com.github.dockerjava.api.command.InspectContainerCmd;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.command.InspectImageCmd;
+import com.github.dockerjava.api.command.InspectImageResponse;
+import com.github.dockerjava.api.command.InspectNetworkCmd;
+import com.github.dockerjava.api.command.InspectVolumeCmd;
+import com.github.dockerjava.api.command.InspectVolumeResponse;
+import com.github.dockerjava.api.command.KillContainerCmd;
+import com.github.dockerjava.api.command.PauseContainerCmd;
+import com.github.dockerjava.api.command.RemoveContainerCmd;
+import com.github.dockerjava.api.command.RemoveImageCmd;
+import com.github.dockerjava.api.command.RemoveNetworkCmd;
+import com.github.dockerjava.api.command.RemoveVolumeCmd;
+import com.github.dockerjava.api.command.RenameContainerCmd;
+import com.github.dockerjava.api.command.RestartContainerCmd;
+import com.github.dockerjava.api.command.StartContainerCmd;
+import com.github.dockerjava.api.command.StopContainerCmd;
+import com.github.dockerjava.api.command.SyncDockerCmd;
+import com.github.dockerjava.api.command.TagImageCmd;
+import com.github.dockerjava.api.command.UnpauseContainerCmd;
+import com.github.dockerjava.api.command.UpdateContainerCmd;
+import com.github.dockerjava.api.command.VersionCmd;
+import com.github.dockerjava.api.model.Info;
+import com.github.dockerjava.api.model.Network;
+import com.github.dockerjava.api.model.UpdateContainerResponse;
+import com.github.dockerjava.api.model.Version;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * {@link DockerCmdExecFactory} that caches the responses of inspect, info and version commands for a short time.
+ *
+ * Only the commands that were enabled with {@link Builder#withCachedCommands(Class[])} are cached. Concurrent executions of the
+ * same command share one request to the daemon, later ones get the cached response until the TTL elapsed. Failures are not
+ * cached. The least recently used responses are evicted once there are more than {@link Builder#withMaxEntries(int) maxEntries}.
+ *
+ * Starting, stopping, killing, removing, renaming or updating a container through this factory invalidates the responses of that
+ * container, whether it was inspected by id, short id or name, and likewise for images, networks and volumes. Changes made by
+ * other clients, pulls or builds are only seen once the TTL elapsed.
+ *
+ * @see DockerClientImpl#withDockerCmdExecFactory(DockerCmdExecFactory)
+ */
+public final class CachingDockerCmdExecFactory extends DelegatingDockerCmdExecFactory implements DockerClientConfigAware {
+
+    private enum Kind {
+        CONTAINER, IMAGE, NETWORK, VOLUME, INFO, VERSION
+    }
+
+    private static final Set<Class<?>> CACHEABLE_COMMANDS = new HashSet<>(Arrays.asList(InspectContainerCmd.class,
+            InspectImageCmd.class, InspectNetworkCmd.class, InspectVolumeCmd.class, InfoCmd.class, VersionCmd.class));
+
+    private final DockerCmdExecFactory delegate;
+
+    private final Set<Class<?>> cachedCommands;
+
+    private final long ttlNanos;
+
+    private final int maxEntries;
+
+    // access ordered, so that iteration starts at the least recently used entry
+    private final LinkedHashMap<List<Object>, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong coalesced = new AtomicLong();
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private CachingDockerCmdExecFactory(Builder builder) {
+        this.delegate = checkNotNull(builder.delegate, "delegate was not specified");
+        this.cachedCommands = new HashSet<>(builder.cachedCommands);
+        this.ttlNanos = builder.ttlNanos;
+        this.maxEntries = builder.maxEntries;
+    }
+
+    public static Builder builder(DockerCmdExecFactory delegate) {
+        return new Builder(delegate);
+    }
+
+    @Override
+    public DockerCmdExecFactory getDockerCmdExecFactory() {
+        return delegate;
+    }
+
+    @Override
+    public void init(DockerClientConfig dockerClientConfig) {
+        if (delegate instanceof DockerClientConfigAware) {
+            ((DockerClientConfigAware) delegate).init(dockerClientConfig);
+        }
+    }
+
+    /**
+     * @return number of executions answered from a cached response
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of executions that sent a request to the daemon
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return number of executions that waited for the request of a concurrent identical execution
+     */
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    /**
+     * @return number of responses removed because of mutating commands or {@link #invalidateAll()}
+     */
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Removes all cached responses.
+     */
+    public void invalidateAll() {
+        synchronized (entries) {
+            invalidations.addAndGet(entries.size());
+            entries.clear();
+        }
+    }
+
+    @Override
+    public InspectContainerCmd.Exec createInspectContainerCmdExec() {
+        InspectContainerCmd.Exec exec = super.createInspectContainerCmdExec();
+        if (!cachedCommands.contains(InspectContainerCmd.class)) {
+            return exec;
+        }
+        // projected responses are cached apart from complete ones
+        return new InspectContainerCmd.Exec() {
+            @Override
+            public InspectContainerResponse exec(InspectContainerCmd command) {
+                return get(Kind.CONTAINER, Arrays.asList(Kind.CONTAINER, command.getContainerId(), command.getSize(),
+                        command.getFields()), command, exec::exec,
+                        response -> Arrays.asList(command.getContainerId(), response.getId(), stripSlash(response.getName())));
+            }
+
+            @Override
+            public CompletableFuture<InspectContainerResponse> execAsync(InspectContainerCmd command) {
+                return getAsync(Kind.CONTAINER, Arrays.asList(Kind.CONTAINER, command.getContainerId(), command.getSize(),
+                        command.getFields()), command, exec::execAsync,
+                        response -> Arrays.asList(command.getContainerId(), response.getId(), stripSlash(response.getName())));
+            }
+        };
+    }
+
+    @Override
+    public InspectImageCmd.Exec createInspectImageCmdExec() {
+        InspectImageCmd.Exec exec = super.createInspectImageCmdExec();
+        if (!cachedCommands.contains(InspectImageCmd.class)) {
+            return exec;
+        }
+        return new InspectImageCmd.Exec() {
+            @Override
+            public InspectImageResponse exec(InspectImageCmd command) {
+                return get(Kind.IMAGE, Arrays.asList(Kind.IMAGE, command.getImageId()), command, exec::exec,
+                        response -> imageSubjects(command.getImageId(), response));
+            }
+
+            @Override
+            public CompletableFuture<InspectImageResponse> execAsync(InspectImageCmd command) {
+                return getAsync(Kind.IMAGE, Arrays.asList(Kind.IMAGE, command.getImageId()), command, exec::execAsync,
+                        response -> imageSubjects(command.getImageId(), response));
+            }
+        };
+    }
+
+    @Override
+    public InspectNetworkCmd.Exec createInspectNetworkCmdExec() {
+        InspectNetworkCmd.Exec exec = super.createInspectNetworkCmdExec();
+        if (!cachedCommands.contains(InspectNetworkCmd.class)) {
+            return exec;
+        }
+        return new InspectNetworkCmd.Exec() {
+            @Override
+            public Network exec(InspectNetworkCmd command) {
+                return get(Kind.NETWORK, Arrays.asList(Kind.NETWORK, command.getNetworkId()), command, exec::exec,
+                        response -> Arrays.asList(command.getNetworkId(), response.getId(), response.getName()));
+            }
+
+            @Override
+            public CompletableFuture<Network> execAsync(InspectNetworkCmd command) {
+                return getAsync(Kind.NETWORK, Arrays.asList(Kind.NETWORK, command.getNetworkId()), command, exec::execAsync,
+                        response -> Arrays.asList(command.getNetworkId(), response.getId(), response.getName()));
+            }
+        };
+    }
+
+    @Override
+    public InspectVolumeCmd.Exec createInspectVolumeCmdExec() {
+        InspectVolumeCmd.Exec exec = super.createInspectVolumeCmdExec();
+        if (!cachedCommands.contains(InspectVolumeCmd.class)) {
+            return exec;
+        }
+        return new InspectVolumeCmd.Exec() {
+            @Override
+            public InspectVolumeResponse exec(InspectVolumeCmd command) {
+                return get(Kind.VOLUME, Arrays.asList(Kind.VOLUME, command.getName()), command, exec::exec,
+                        response -> Collections.singletonList(command.getName()));
+            }
+
+            @Override
+            public CompletableFuture<InspectVolumeResponse> execAsync(InspectVolumeCmd command) {
+                return getAsync(Kind.VOLUME, Arrays.asList(Kind.VOLUME, command.getName()), command, exec::execAsync,
+                        response -> Collections.singletonList(command.getName()));
+            }
+        };
+    }
+
+    @Override
+    public InfoCmd.Exec createInfoCmdExec() {
+        InfoCmd.Exec exec = super.createInfoCmdExec();
+        if (!cachedCommands.contains(InfoCmd.class)) {
+            return exec;
+        }
+        return new InfoCmd.Exec() {
+            @Override
+            public Info exec(InfoCmd command) {
+                return get(Kind.INFO, Collections.singletonList(Kind.INFO), command, exec::exec,
+                        response -> Collections.emptyList());
+            }
+
+            @Override
+            public CompletableFuture<Info> execAsync(InfoCmd command) {
+                return getAsync(Kind.INFO, Collections.singletonList(Kind.INFO), command, exec::execAsync,
+                        response -> Collections.emptyList());
+            }
+        };
+    }
+
+    @Override
+    public VersionCmd.Exec createVersionCmdExec() {
+        VersionCmd.Exec exec = super.createVersionCmdExec();
+        if (!cachedCommands.contains(VersionCmd.class)) {
+            return exec;
+        }
+        return new VersionCmd.Exec() {
+            @Override
+            public Version exec(VersionCmd command) {
+                return get(Kind.VERSION, Collections.singletonList(Kind.VERSION), command, exec::exec,
+                        response -> Collections.emptyList());
+            }
+
+            @Override
+            public CompletableFuture<Version> execAsync(VersionCmd command) {
+                return getAsync(Kind.VERSION, Collections.singletonList(Kind.VERSION), command, exec::execAsync,
+                        response -> Collections.emptyList());
+            }
+        };
+    }
+
+    @Override
+    public CreateContainerCmd.Exec createCreateContainerCmdExec() {
+        CreateContainerCmd.Exec exec = super.createCreateContainerCmdExec();
+        return new CreateContainerCmd.Exec() {
+            @Override
+            public CreateContainerResponse exec(CreateContainerCmd command) {
+                return invalidateAfter(command, exec::exec, () -> invalidate(Kind.INFO, null));
+            }
+
+            @Override
+            public CompletableFuture<CreateContainerResponse> execAsync(CreateContainerCmd command) {
+                return invalidateAfterAsync(command, exec::execAsync, () -> invalidate(Kind.INFO, null));
+            }
+        };
+    }
+
+    @Override
+    public StartContainerCmd.Exec createStartContainerCmdExec() {
+        StartContainerCmd.Exec exec = super.createStartContainerCmdExec();
+        return new StartContainerCmd.Exec() {
+            @Override
+            public Void exec(StartContainerCmd command) {
+                return invalidateAfter(command, exec::exec, () -> invalidate(Kind.CONTAINER, command.getContainerId()));
+            }
+
+            @Override
+            public CompletableFuture<Void> execAsync(StartContainerCmd command) {
+                return invalidateAfterAsync(command, exec::execAsync, () -> invalidate(Kind.CONTAINER, command.getContainerId()));
+            }
+        };
+    }
+
+    @Override
+    public StopContainerCmd.Exec createStopContainerCmdExec() {
+        StopContainerCmd.Exec exec = super.createStopContainerCmdExec();
+        return new StopContainerCmd.Exec() {
+            @Override
+            public Void exec(StopContainerCmd command) {
+                return invalidateAfter(command, exec::exec, () -> invalidate(Kind.CONTAINER, command.getContainerId()));
+            }
+
+            @Override
+            public CompletableFuture<Void> execAsync(StopContainerCmd command) {
+                return invalidateAfterAsync(command, exec::execAsync, () -> invalidate(Kind.CONTAINER, command.getContainerId()));
+            }
+        };
+    }
+
+    @Override
+    public KillContainerCmd.Exec createKillContainerCmdExec() {
+        KillContainerCmd.Exec exec = super.createKillContainerCmdExec();
+        return new KillContainerCmd.Exec() {
+            @Override
+            public Void exec(KillContainerCmd command) {
+                return invalidateAfter(command, exec::exec, () -> invalidate(Kind.CONTAINER, command.getContainerId()));
+            }
+
+            @Override
+            public CompletableFuture<Void> execAsync(KillContainerCmd command) {
+                return invalidateAfterAsync(command, exec::execAsync, () -> invalidate(Kind.CONTAINER, command.getContainerId()));
+            }
+        };
+    }
+
+    @Override
+    public RestartContainerCmd.Exec createRestartContainerCmdExec() {
+        RestartContainerCmd.Exec exec = super.createRestartContainerCmdExec();
+        return new RestartContainerCmd.Exec() {
+            @Override
+            public Void exec(RestartContainerCmd command) {
+                return invalidateAfter(command, exec::exec, () -> invalidate(Kind.CONTAINER, command.getContainerId()));
+            }
+
+            @Override
+            public CompletableFuture<Void> execAsync(RestartContainerCmd command) {
+                return invalidateAfterAsync(command, exec::execAsync, () -> invalidate(Kind.CONTAINER, command.getContainerId()));
+            }
+        };
+    }
+
+    @Override
+    public PauseContainerCmd.Exec createPauseContainerCmdExec() {
+        PauseContainerCmd.Exec exec = super.createPauseContainerCmdExec();
+        return new PauseContainerCmd.Exec() {
+            @Override
+            public Void exec(PauseContainerCmd command) {
+                return invalidateAfter(command, exec::exec, () -> invalidate(Kind.CONTAINER, command.getContainerId()));
+            }
+
+            @Override
+            public CompletableFuture<Void> execAsync(PauseContainerCmd command) {
+                return invalidateAfterAsync(command, exec::execAsync, () -> invalidate(Kind.CONTAINER, command.getContainerId()));
+            }
+        };
+    }
+
+    @Override
+    public UnpauseContainerCmd.Exec createUnpauseContainerCmdExec() {
+        UnpauseContainerCmd.Exec exec = super.createUnpauseContainerCmdExec();
+        return new UnpauseContainerCmd.Exec() {
+            @Override
+            public Void exec(UnpauseContainerCmd command) {
+                return invalidateAfter(command, exec::exec, () -> invalidate(Kind.CONTAINER, command.getContainerId()));
+            }
+
+            @Override
+            public CompletableFuture<Void> execAsync(UnpauseContainerCmd command) {
+                return invalidateAfterAsync(command, exec::execAsync, () -> invalidate(Kind.CONTAINER, command.getContainerId()));
+            }
+        };
+    }
+
+    @Override
+    public RemoveContainerCmd.Exec createRemoveContainerCmdExec() {
+        RemoveContainerCmd.Exec exec = super.createRemoveContainerCmdExec();
+        return new RemoveContainerCmd.Exec() {
+            @Override
+            public Void exec(RemoveContainerCmd command) {
+                return invalidateAfter(command, exec::exec, () -> invalidate(Kind.CONTAINER, command.getContainerId()));
+            }
+
+            @Override
+            public CompletableFuture<Void> execAsync(RemoveContainerCmd command) {
+                return invalidateAfterAsync(command, exec::execAsync, () -> invalidate(Kind.CONTAINER, command.getContainerId()));
+            }
+        };
+    }
+
+    @Override
+    public RenameContainerCmd.Exec createRenameContainerCmdExec() {
+        RenameContainerCmd.Exec exec = super.createRenameContainerCmdExec();
+        return new RenameContainerCmd.Exec() {
+            @Override
+            public Void exec(RenameContainerCmd command) {
+                return invalidateAfter(command, exec::exec, () -> invalidate(Kind.CONTAINER, command.getContainerId()));
+            }
+
+            @Override
+            public CompletableFuture<Void> execAsync(RenameContainerCmd command) {
+                return invalidateAfterAsync(command, exec::execAsync, () -> invalidate(Kind.CONTAINER, command.getContainerId()));
+            }
+        };
+    }
+
+    @Override
+    public UpdateContainerCmd.Exec createUpdateContainerCmdExec() {
+        UpdateContainerCmd.Exec exec = super.createUpdateContainerCmdExec();
+        return new UpdateContainerCmd.Exec() {
+            @Override
+            public UpdateContainerResponse exec(UpdateContainerCmd command) {
+                return invalidateAfter(command, exec::exec, () -> invalidate(Kind.CONTAINER, command.getContainerId()));
+            }
+
+            @Override
+            public CompletableFuture<UpdateContainerResponse> execAsync(UpdateContainerCmd command) {
+                return invalidateAfterAsync(command, exec::execAsync, () -> invalidate(Kind.CONTAINER, command.getContainerId()));
+            }
+        };
+    }
+
+    @Override
+    public RemoveImageCmd.Exec createRemoveImageCmdExec() {
+        RemoveImageCmd.Exec exec = super.createRemoveImageCmdExec();
+        return new RemoveImageCmd.Exec() {
+            @Override
+            public Void exec(RemoveImageCmd command) {
+                return invalidateAfter(command, exec::exec, () -> invalidate(Kind.IMAGE, command.getImageId()));
+            }
+
+            @Override
+            public CompletableFuture<Void> execAsync(RemoveImageCmd command) {
+                return invalidateAfterAsync(command, exec::execAsync, () -> invalidate(Kind.IMAGE, command.getImageId()));
+            }
+        };
+    }
+
+    @Override
+    public TagImageCmd.Exec createTagImageCmdExec() {
+        TagImageCmd.Exec exec = super.createTagImageCmdExec();
+        return new TagImageCmd.Exec() {
+            @Override
+            public Void exec(TagImageCmd command) {
+                return invalidateAfter(command, exec::exec, () -> invalidate(Kind.IMAGE, command.getImageId()));
+            }
+
+            @Override
+            public CompletableFuture<Void> execAsync(TagImageCmd command) {
+                return invalidateAfterAsync(command, exec::execAsync, () -> invalidate(Kind.IMAGE, command.getImageId()));
+            }
+        };
+    }
+
+    @Override
+    public RemoveNetworkCmd.Exec createRemoveNetworkCmdExec() {
+        RemoveNetworkCmd.Exec exec = super.createRemoveNetworkCmdExec();
+        return new RemoveNetworkCmd.Exec() {
+            @Override
+            public Void exec(RemoveNetworkCmd command) {
+                return invalidateAfter(command, exec::exec, () -> invalidate(Kind.NETWORK, command.getNetworkId()));
+            }
+
+            @Override
+            public CompletableFuture<Void> execAsync(RemoveNetworkCmd command) {
+                return invalidateAfterAsync(command, exec::execAsync, () -> invalidate(Kind.NETWORK, command.getNetworkId()));
+            }
+        };
+    }
+
+    @Override
+    public ConnectToNetworkCmd.Exec createConnectToNetworkCmdExec() {
+        ConnectToNetworkCmd.Exec exec = super.createConnectToNetworkCmdExec();
+        Function<ConnectToNetworkCmd, Runnable> invalidation = command -> () -> {
+            invalidate(Kind.NETWORK, command.getNetworkId());
+            invalidate(Kind.CONTAINER, command.getContainerId());
+        };
+        return new ConnectToNetworkCmd.Exec() {
+            @Override
+            public Void exec(ConnectToNetworkCmd command) {
+                return invalidateAfter(command, exec::exec, invalidation.apply(command));
+            }
+
+            @Override
+            public CompletableFuture<Void> execAsync(ConnectToNetworkCmd command) {
+                return invalidateAfterAsync(command, exec::execAsync, invalidation.apply(command));
+            }
+        };
+    }
+
+    @Override
+    public DisconnectFromNetworkCmd.Exec createDisconnectFromNetworkCmdExec() {
+        DisconnectFromNetworkCmd.Exec exec = super.createDisconnectFromNetworkCmdExec();
+        Function<DisconnectFromNetworkCmd, Runnable> invalidation = command -> () -> {
+            invalidate(Kind.NETWORK, command.getNetworkId());
+            invalidate(Kind.CONTAINER, command.getContainerId());
+        };
+        return new DisconnectFromNetworkCmd.Exec() {
+            @Override
+            public Void exec(DisconnectFromNetworkCmd command) {
+                return invalidateAfter(command, exec::exec, invalidation.apply(command));
+            }
+
+            @Override
+            public CompletableFuture<Void> execAsync(DisconnectFromNetworkCmd command) {
+                return invalidateAfterAsync(command, exec::execAsync, invalidation.apply(command));
+            }
+        };
+    }
+
+    @Override
+    public RemoveVolumeCmd.Exec createRemoveVolumeCmdExec() {
+        RemoveVolumeCmd.Exec exec = super.createRemoveVolumeCmdExec();
+        return new RemoveVolumeCmd.Exec() {
+            @Override
+            public Void exec(RemoveVolumeCmd command) {
+                return invalidateAfter(command, exec::exec, () -> invalidate(Kind.VOLUME, command.getName()));
+            }
+
+            @Override
+            public CompletableFuture<Void> execAsync(RemoveVolumeCmd command) {
+                return invalidateAfterAsync(command, exec::execAsync, () -> invalidate(Kind.VOLUME, command.getName()));
+            }
+        };
+    }
+
+    private <CMD_T extends SyncDockerCmd<RES_T>, RES_T> RES_T get(Kind kind, List<Object> key, CMD_T command,
+            Function<CMD_T, RES_T> exec, Function<RES_T, List<String>> subjects) {
+        CompletableFuture<RES_T> response = getAsync(kind, key, command, cmd -> CompletableFuture.completedFuture(exec.apply(cmd)),
+                subjects);
+        try {
+            return response.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Sends the request unless the response is cached or requested by a concurrent execution already. A synchronous
+     * {@code exec} completes the returned future before it returns.
+     */
+    private <CMD_T extends SyncDockerCmd<RES_T>, RES_T> CompletableFuture<RES_T> getAsync(Kind kind, List<Object> key,
+            CMD_T command, Function<CMD_T, CompletableFuture<RES_T>> exec, Function<RES_T, List<String>> subjects) {
+        Entry entry;
+        boolean loading = false;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null || entry.isExpired(System.nanoTime())) {
+                entry = new Entry(kind);
+                entries.put(key, entry);
+                evict();
+                loading = true;
+            }
+        }
+
+        if (loading) {
+            misses.incrementAndGet();
+            CompletableFuture<RES_T> response;
+            try {
+                response = exec.apply(command);
+            } catch (Throwable e) {
+                response = new CompletableFuture<>();
+                response.completeExceptionally(e);
+            }
+            Entry loaded = entry;
+            response.whenComplete((result, error) -> loaded(key, loaded, result, error, subjects));
+        } else {
+            command.close();
+            if (entry.future.isDone()) {
+                hits.incrementAndGet();
+            } else {
+                coalesced.incrementAndGet();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        CompletableFuture<RES_T> response = (CompletableFuture<RES_T>) (CompletableFuture<?>) entry.future;
+        return response.thenApply(Function.identity());
+    }
+
+    private <RES_T> void loaded(List<Object> key, Entry entry, RES_T response, Throwable error,
+            Function<RES_T, List<String>> subjects) {
+        Throwable failure = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (failure == null) {
+            try {
+                Set<String> responseSubjects = new HashSet<>(subjects.apply(response));
+                synchronized (entries) {
+                    entry.subjects = responseSubjects;
+                    entry.expiresAtNanos = System.nanoTime() + ttlNanos;
+                }
+            } catch (Throwable e) {
+                failure = e;
+            }
+        }
+        if (failure != null) {
+            // coalesced executions wait for the future, so it has to be completed whatever went wrong
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+            entry.future.completeExceptionally(failure);
+        } else {
+            entry.future.complete(response);
+        }
+    }
+
+    private <CMD_T extends DockerCmd<RES_T>, RES_T> RES_T invalidateAfter(CMD_T command, Function<CMD_T, RES_T> exec,
+            Runnable invalidation) {
+        try {
+            return exec.apply(command);
+        } finally {
+            // also after failures, a timed out stop may still have stopped the container
+            invalidation.run();
+        }
+    }
+
+    private <CMD_T extends DockerCmd<RES_T>, RES_T> CompletableFuture<RES_T> invalidateAfterAsync(CMD_T command,
+            Function<CMD_T, CompletableFuture<RES_T>> exec, Runnable invalidation) {
+        CompletableFuture<RES_T> response;
+        try {
+            response = exec.apply(command);
+        } catch (RuntimeException e) {
+            invalidation.run();
+            throw e;
+        }
+        return response.whenComplete((result, error) -> invalidation.run());
+    }
+
+    /**
+     * Removes the responses of the object, the info and all requests that are in flight for objects of the same kind, as their
+     * subjects are only known once they completed.
+     */
+    private void invalidate(Kind kind, String idOrName) {
+        synchronized (entries) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (entry.kind == Kind.INFO || entry.kind == kind && (entry.subjects == null || entry.matches(idOrName))) {
+                    iterator.remove();
+                    invalidations.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private void evict() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static List<String> imageSubjects(String imageId, InspectImageResponse response) {
+        List<String> subjects = new ArrayList<>();
+        subjects.add(imageId);
+        subjects.add(response.getId());
+        if (response.getRepoTags() != null) {
+            subjects.addAll(response.getRepoTags());
+        }
+        return subjects;
+    }
+
+    private static String stripSlash(String name) {
+        return name != null && name.startsWith("/") ? name.substring(1) : name;
+    }
+
+    private static final class Entry {
+
+        final Kind kind;
+
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+
+        // ids and names of the object, null while the request is in flight
+        Set<String> subjects;
+
+        long expiresAtNanos;
+
+        Entry(Kind kind) {
+            this.kind = kind;
+        }
+
+        boolean isExpired(long nanoTime) {
+            return subjects != null && nanoTime - expiresAtNanos >= 0;
+        }
+
+        boolean matches(String idOrName) {
+            if (idOrName == null) {
+                return false;
+            }
+            // ids can be abbreviated and image ids may be given without the "sha256:" prefix, names have to match exactly
+            String idPrefix = isHexId(idOrName) ? stripDigestAlgorithm(idOrName) : null;
+            for (String subject : subjects) {
+                if (subject == null) {
+                    continue;
+                }
+                if (subject.equals(idOrName)) {
+                    return true;
+                }
+                if (idPrefix != null && !idPrefix.isEmpty()) {
+                    String subjectId = stripDigestAlgorithm(subject);
+                    if (isHexId(subjectId) && subjectId.startsWith(idPrefix)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        private static String stripDigestAlgorithm(String id) {
+            return id.startsWith("sha256:") ? id.substring(7) : id;
+        }
+
+        private static boolean isHexId(String idOrName) {
+            String id = stripDigestAlgorithm(idOrName);
+            for (int i = 0; i < id.length(); i++) {
+                char c = id.charAt(i);
+                if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    public static class Builder {
+
+        private final DockerCmdExecFactory delegate;
+
+        private final Set<Class<?>> cachedCommands = new HashSet<>();
+
+        private long ttlNanos = TimeUnit.SECONDS.toNanos(1);
+
+        private int maxEntries = 1000;
+
+        Builder(DockerCmdExecFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        /**
+         * Enables caching for the given commands, supported are {@link InspectContainerCmd}, {@link InspectImageCmd},
+         * {@link InspectNetworkCmd}, {@link InspectVolumeCmd}, {@link InfoCmd} and {@link VersionCmd}.
+         */
+        @SafeVarargs
+        public final Builder withCachedCommands(Class<? extends SyncDockerCmd<?>>... commands) {
+            for (Class<? extends SyncDockerCmd<?>> command : commands) {
+                checkArgument(CACHEABLE_COMMANDS.contains(command), "%s can not be cached", command.getSimpleName());
+                cachedCommands.add(command);
+            }
+            return this;
+        }
+
+        /**
+         * Sets how long responses are cached, 1 second by default.
+         */
+        public Builder withTtl(long ttl, TimeUnit unit) {
+            checkArgument(ttl >= 0, "ttl must not be negative");
+            this.ttlNanos = unit.toNanos(ttl);
+            return this;
+        }
+
+        /**
+         * Sets how many responses are cached at most, 1000 by default.
+         */
+        public Builder withMaxEntries(int maxEntries) {
+            checkArgument(maxEntries > 0, "maxEntries must be positive");
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        public CachingDockerCmdExecFactory build() {
+            return new CachingDockerCmdExecFactory(this);
+        }
+    }
+}
@@ -0,0 +1,530 @@
+package com.github.dockerjava.core;
+
+import com.github.dockerjava.api.model.StatsSample;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Keeps the recent CPU and memory usage of containers in fixed-size ring buffers outside of the heap, so that a long history of
+ * many containers neither creates objects per sample nor adds to the work of the garbage collector.
+ *
+ * Every sample is added to the buckets of all {@link Resolution}s at once, so the history is downsampled while it is recorded:
+ * each bucket keeps the number, sum and maximum of the values that fell into it, and the oldest bucket of a resolution is
+ * overwritten once it is full. By default the store keeps 5 minutes of 1 second buckets, 15 minutes of 10 second buckets and
+ * 1 hour of 1 minute buckets, which are 450 buckets of 56 bytes per container.
+ *
+ * The buffers are allocated with {@link ByteBuffer#allocateDirect(int)}, or mapped from one file per container if a
+ * {@link Builder#withDirectory(Path) directory} is configured, in which case the history survives a restart.
+ *
+ * The store can be passed as listener to a {@link StatsCollector}. It then records every snapshot and drops the history of the
+ * containers that are no longer part of a snapshot.
+ */
+public final class ContainerMetricsStore implements Consumer<StatsCollector.Snapshot>, Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContainerMetricsStore.class);
+
+    private static final Resolution[] RESOLUTIONS = Resolution.values();
+
+    private static final Metric[] METRICS = Metric.values();
+
+    // "DJMS"
+    private static final int MAGIC = 0x444a4d53;
+
+    private static final int VERSION = 1;
+
+    private static final int HEADER_BYTES = 32;
+
+    // start of the bucket in seconds since the epoch, then count, sum and maximum of every metric
+    private static final int SLOT_BYTES = 8 + METRICS.length * 24;
+
+    private static final String FILE_SUFFIX = ".metrics";
+
+    private static final Pattern FILE_NAME = Pattern.compile("[A-Za-z0-9][A-Za-z0-9_.-]*");
+
+    private final int[] capacities;
+
+    private final int bufferBytes;
+
+    @CheckForNull
+    private final Path directory;
+
+    private final ConcurrentMap<String, Series> series = new ConcurrentHashMap<>();
+
+    private volatile boolean closed;
+
+    private ContainerMetricsStore(Builder builder) {
+        this.capacities = builder.capacities.clone();
+        this.directory = builder.directory;
+        long bytes = HEADER_BYTES;
+        for (int capacity : capacities) {
+            bytes += (long) capacity * SLOT_BYTES;
+        }
+        checkArgument(bytes <= Integer.MAX_VALUE, "capacities need %s bytes per container, more than a buffer can hold", bytes);
+        this.bufferBytes = (int) bytes;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Records the CPU usage of the sample, computed like <code>docker stats</code> from the previous counters reported by the
+     * daemon, and its memory usage without the inactive file cache, like {@link StatsCollector}.
+     */
+    public void record(@Nonnull StatsSample sample) {
+        checkNotNull(sample, "sample was not specified");
+        checkNotNull(sample.getId(), "sample has no container id");
+        StatsSample.Cpu cpu = sample.getCpu();
+        StatsSample.Cpu preCpu = sample.getPreCpu();
+        long cpuDelta = cpu.getTotalUsage() - preCpu.getTotalUsage();
+        long systemDelta = cpu.getSystemCpuUsage() - preCpu.getSystemCpuUsage();
+        double cpuPercent = preCpu.getSystemCpuUsage() > 0 && systemDelta > 0 && cpuDelta >= 0
+                ? 100.0 * cpuDelta / systemDelta * Math.max(1, cpu.getOnlineCpus())
+                : Double.NaN;
+        long timeMillis = sample.getReadNanos() != 0 ? TimeUnit.NANOSECONDS.toMillis(sample.getReadNanos())
+                : System.currentTimeMillis();
+        record(sample.getId(), timeMillis, cpuPercent, StatsCollector.memoryUsage(sample));
+    }
+
+    /**
+     * @param cpuPercent
+     *            CPU usage in percent of one CPU, {@link Double#NaN} if it is unknown
+     */
+    public void record(@Nonnull String containerId, long timeMillis, double cpuPercent, long memoryUsageBytes) {
+        checkNotNull(containerId, "containerId was not specified");
+        if (closed) {
+            throw new IllegalStateException("ContainerMetricsStore was closed");
+        }
+        series.computeIfAbsent(containerId, this::open).record(timeMillis, cpuPercent, memoryUsageBytes);
+    }
+
+    /**
+     * Records the stats of all containers of the snapshot and drops the history of the other containers.
+     */
+    @Override
+    public void accept(StatsCollector.Snapshot snapshot) {
+        for (StatsCollector.ContainerStats stats : snapshot.getStats().values()) {
+            record(stats.getContainerId(), snapshot.getTimeMillis(), stats.getCpuPercent(), stats.getMemoryUsageBytes());
+        }
+        // containers whose stats failed are still running
+        Set<String> containerIds = new HashSet<>(snapshot.getStats().keySet());
+        containerIds.addAll(snapshot.getErrors().keySet());
+        retainAll(containerIds);
+    }
+
+    /**
+     * Aggregates the values of the last <code>window</code>, see {@link #aggregate(String, Metric, long, long)}.
+     */
+    @CheckForNull
+    public Aggregate aggregate(@Nonnull String containerId, @Nonnull Metric metric, long window, TimeUnit timeUnit) {
+        long now = System.currentTimeMillis();
+        return aggregate(containerId, metric, now - timeUnit.toMillis(window), now);
+    }
+
+    /**
+     * Aggregates the values of the buckets that overlap the given time range. The finest resolution whose buckets still go back to
+     * <code>fromMillis</code> from the last recorded value is used, or the coarsest one if none does.
+     *
+     * @return the aggregate, <code>null</code> if nothing was recorded for the container
+     */
+    @CheckForNull
+    public Aggregate aggregate(@Nonnull String containerId, @Nonnull Metric metric, long fromMillis, long toMillis) {
+        checkNotNull(containerId, "containerId was not specified");
+        checkNotNull(metric, "metric was not specified");
+        checkArgument(fromMillis <= toMillis, "fromMillis must not be after toMillis");
+        Series containerSeries = series.get(containerId);
+        return containerSeries != null ? containerSeries.aggregate(metric, fromMillis, toMillis) : null;
+    }
+
+    /**
+     * @return ids of the containers with a history
+     */
+    public Set<String> getContainerIds() {
+        return Collections.unmodifiableSet(new HashSet<>(series.keySet()));
+    }
+
+    /**
+     * @return memory held outside of the heap, or mapped from files
+     */
+    public long getOffHeapBytes() {
+        return (long) series.size() * bufferBytes;
+    }
+
+    /**
+     * Drops the history of the containers that are not listed, including their files.
+     */
+    public void retainAll(@Nonnull Collection<String> containerIds) {
+        checkNotNull(containerIds, "containerIds was not specified");
+        Set<String> retained = new HashSet<>(containerIds);
+        for (String containerId : series.keySet()) {
+            if (!retained.contains(containerId)) {
+                remove(containerId);
+            }
+        }
+    }
+
+    /**
+     * Drops the history of the container, including its file.
+     */
+    public void remove(@Nonnull String containerId) {
+        checkNotNull(containerId, "containerId was not specified");
+        if (series.remove(containerId) != null && directory != null) {
+            Path file = directory.resolve(containerId + FILE_SUFFIX);
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                // for instance on Windows, where mapped files cannot be deleted
+                LOGGER.debug("Could not delete {}", file, e);
+            }
+        }
+    }
+
+    /**
+     * Writes mapped buffers back to their files and drops the references to the buffers. Their memory is only freed, and the
+     * files unmapped, once the buffers were garbage collected, as Java offers no supported way to free them right away.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Series containerSeries : series.values()) {
+            containerSeries.force();
+        }
+        series.clear();
+    }
+
+    private Series open(String containerId) {
+        if (directory == null) {
+            return new Series(ByteBuffer.allocateDirect(bufferBytes), false);
+        }
+        checkArgument(FILE_NAME.matcher(containerId).matches(), "Invalid container id: %s", containerId);
+        return map(directory.resolve(containerId + FILE_SUFFIX));
+    }
+
+    private Series map(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            boolean reset = channel.size() != bufferBytes;
+            if (channel.size() > bufferBytes) {
+                channel.truncate(bufferBytes);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bufferBytes);
+            return new Series(buffer, reset);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private void load() {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                String containerId = fileName.substring(0, fileName.length() - FILE_SUFFIX.length());
+                if (FILE_NAME.matcher(containerId).matches()) {
+                    series.put(containerId, map(file));
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Metrics kept by the store.
+     */
+    public enum Metric {
+        /**
+         * CPU usage in percent of one CPU.
+         */
+        CPU_PERCENT,
+
+        /**
+         * Memory usage in bytes without the inactive file cache.
+         */
+        MEMORY_USAGE
+    }
+
+    /**
+     * Bucket lengths of the store, from the finest to the coarsest.
+     */
+    public enum Resolution {
+        SECOND(1),
+        TEN_SECONDS(10),
+        MINUTE(60);
+
+        private final int seconds;
+
+        Resolution(int seconds) {
+            this.seconds = seconds;
+        }
+
+        public int getSeconds() {
+            return seconds;
+        }
+    }
+
+    /**
+     * Aggregated values of a metric in a time range. All values are {@link Double#NaN} if no sample was recorded in the range.
+     */
+    public static final class Aggregate {
+
+        private final Resolution resolution;
+
+        private final long samples;
+
+        private final double average;
+
+        private final double p95;
+
+        private final double max;
+
+        private Aggregate(Resolution resolution, long samples, double average, double p95, double max) {
+            this.resolution = resolution;
+            this.samples = samples;
+            this.average = average;
+            this.p95 = p95;
+            this.max = max;
+        }
+
+        /**
+         * @return resolution of the buckets the values were computed from
+         */
+        public Resolution getResolution() {
+            return resolution;
+        }
+
+        public long getSamples() {
+            return samples;
+        }
+
+        public double getAverage() {
+            return average;
+        }
+
+        /**
+         * @return 95th percentile of the bucket averages, which is exact if there is at most one sample per bucket
+         */
+        public double getP95() {
+            return p95;
+        }
+
+        public double getMax() {
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return "Aggregate{"
+                    + "resolution=" + resolution
+                    + ", samples=" + samples
+                    + ", average=" + average
+                    + ", p95=" + p95
+                    + ", max=" + max
+                    + "}";
+        }
+    }
+
+    /**
+     * Configures a {@link ContainerMetricsStore}.
+     */
+    public static final class Builder {
+
+        private final int[] capacities = {300, 90, 60};
+
+        private Path directory;
+
+        private Builder() {
+        }
+
+        /**
+         * @param capacity
+         *            number of buckets of the resolution, which keep <code>capacity</code> times its length
+         */
+        public Builder withCapacity(@Nonnull Resolution resolution, int capacity) {
+            checkNotNull(resolution, "resolution was not specified");
+            checkArgument(capacity > 0, "capacity must be positive");
+            capacities[resolution.ordinal()] = capacity;
+            return this;
+        }
+
+        /**
+         * @param directory
+         *            directory of the files the buffers are mapped from, so that the history survives a restart. Files of other
+         *            capacities are reset when they are opened.
+         */
+        public Builder withDirectory(@Nonnull Path directory) {
+            this.directory = checkNotNull(directory, "directory was not specified");
+            return this;
+        }
+
+        /**
+         * Opens the files of the containers that are in the directory.
+         */
+        public ContainerMetricsStore build() {
+            ContainerMetricsStore store = new ContainerMetricsStore(this);
+            if (directory != null) {
+                try {
+                    Files.createDirectories(directory);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+                store.load();
+            }
+            return store;
+        }
+    }
+
+    /**
+     * Ring buffers of one container, the header is followed by the buckets of every resolution.
+     */
+    private final class Series {
+
+        private final ByteBuffer buffer;
+
+        Series(ByteBuffer buffer, boolean reset) {
+            this.buffer = buffer;
+            if (reset || !hasHeader()) {
+                for (int i = 0; i < bufferBytes; i++) {
+                    buffer.put(i, (byte) 0);
+                }
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                for (int i = 0; i < capacities.length; i++) {
+                    buffer.putInt(8 + i * 4, capacities[i]);
+                }
+            }
+        }
+
+        private boolean hasHeader() {
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                return false;
+            }
+            for (int i = 0; i < capacities.length; i++) {
+                if (buffer.getInt(8 + i * 4) != capacities[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        synchronized void record(long timeMillis, double cpuPercent, double memoryUsage) {
+            long second = Math.floorDiv(timeMillis, 1000);
+            int offset = HEADER_BYTES;
+            for (Resolution resolution : RESOLUTIONS) {
+                int capacity = capacities[resolution.ordinal()];
+                long bucket = Math.floorDiv(second, resolution.seconds);
+                int slot = offset + (int) Math.floorMod(bucket, capacity) * SLOT_BYTES;
+                long start = bucket * resolution.seconds;
+                long slotStart = buffer.getLong(slot);
+                if (slotStart < start) {
+                    // the oldest bucket is reused
+                    buffer.putLong(slot, start);
+                    for (int i = slot + 8; i < slot + SLOT_BYTES; i += 8) {
+                        buffer.putLong(i, 0);
+                    }
+                    slotStart = start;
+                }
+                if (slotStart == start) {
+                    add(slot, Metric.CPU_PERCENT, cpuPercent);
+                    add(slot, Metric.MEMORY_USAGE, memoryUsage);
+                }
+                // else the sample is older than the bucket that replaced its own
+                offset += capacity * SLOT_BYTES;
+            }
+        }
+
+        private void add(int slot, Metric metric, double value) {
+            if (Double.isNaN(value)) {
+                return;
+            }
+            int field = slot + 8 + metric.ordinal() * 24;
+            long count = buffer.getLong(field);
+            buffer.putLong(field, count + 1);
+            buffer.putDouble(field + 8, buffer.getDouble(field + 8) + value);
+            buffer.putDouble(field + 16, count == 0 ? value : Math.max(buffer.getDouble(field + 16), value));
+        }
+
+        synchronized Aggregate aggregate(Metric metric, long fromMillis, long toMillis) {
+            Resolution resolution = RESOLUTIONS[RESOLUTIONS.length - 1];
+            int offset = HEADER_BYTES;
+            for (Resolution candidate : RESOLUTIONS) {
+                int candidateCapacity = capacities[candidate.ordinal()];
+                // the buckets before the newest one were overwritten unless they are within the capacity
+                long oldestStart = newestStart(offset, candidateCapacity) - (candidateCapacity - 1L) * candidate.seconds;
+                if (oldestStart * 1000 <= fromMillis || candidate == resolution) {
+                    resolution = candidate;
+                    break;
+                }
+                offset += candidateCapacity * SLOT_BYTES;
+            }
+            int capacity = capacities[resolution.ordinal()];
+
+            long samples = 0;
+            double sum = 0;
+            double max = Double.NaN;
+            double[] averages = new double[capacity];
+            int buckets = 0;
+            for (int slot = offset; slot < offset + capacity * SLOT_BYTES; slot += SLOT_BYTES) {
+                long startMillis = buffer.getLong(slot) * 1000;
+                int field = slot + 8 + metric.ordinal() * 24;
+                long count = buffer.getLong(field);
+                if (count == 0 || startMillis + resolution.seconds * 1000L <= fromMillis || startMillis > toMillis) {
+                    continue;
+                }
+                double bucketSum = buffer.getDouble(field + 8);
+                double bucketMax = buffer.getDouble(field + 16);
+                samples += count;
+                sum += bucketSum;
+                max = Double.isNaN(max) ? bucketMax : Math.max(max, bucketMax);
+                averages[buckets++] = bucketSum / count;
+            }
+            if (samples == 0) {
+                return new Aggregate(resolution, 0, Double.NaN, Double.NaN, Double.NaN);
+            }
+            Arrays.sort(averages, 0, buckets);
+            double p95 = averages[(int) Math.ceil(0.95 * buckets) - 1];
+            return new Aggregate(resolution, samples, sum / samples, p95, max);
+        }
+
+        /**
+         * @return start of the newest bucket of the resolution at <code>offset</code> in seconds since the epoch
+         */
+        private long newestStart(int offset, int capacity) {
+            long newest = 0;
+            for (int slot = offset; slot < offset + capacity * SLOT_BYTES; slot += SLOT_BYTES) {
+                newest = Math.max(newest, buffer.getLong(slot));
+            }
+            return newest;
+        }
+
+        synchronized void force() {
+            if (buffer instanceof MappedByteBuffer) {
+                ((MappedByteBuffer) buffer).force();
+            }
+        }
+    }
+}
@@ -0,0 +1,417 @@
+package com.github.dockerjava.core;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.command.WaitContainerCmd;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.model.Event;
+import com.github.dockerjava.api.model.EventType;
+import com.github.dockerjava.api.model.WaitResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Waits for many containers to stop without holding a connection and a thread per container, as {@link WaitContainerCmd} does.
+ *
+ * All waits share one subscription to the <code>die</code> and <code>destroy</code> events of an {@link EventHub}, which never
+ * drops events. A wait registers its future and then inspects the container once, which completes the future right away if the
+ * container is not running. Otherwise the future is completed with the exit code of the <code>die</code> event of the container,
+ * or fails with {@link NotFoundException} if the container was removed without such an event. Each time the events stream was
+ * opened again, the containers of the pending waits are inspected again, as the daemon only replays a limited number of the
+ * events that happened in between.
+ *
+ * Names have to match exactly, abbreviated ids only match when they are hexadecimal, like the daemon resolves them.
+ *
+ * Like the daemon, waits complete right away for containers that were created but not started yet, with exit code 0. Waits
+ * with {@link Condition#NEXT_EXIT} wait for the next exit instead.
+ */
+public final class ContainerWaiter implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContainerWaiter.class);
+
+    private final DockerClient dockerClient;
+
+    private final EventHub eventHub;
+
+    private final boolean ownsEventHub;
+
+    private final EventHub.Subscription subscription;
+
+    private final Runnable reconnectListener = this::inspectPending;
+
+    // guarded by this, waits of running containers by their full id
+    private final Map<String, List<CompletableFuture<WaitResponse>>> waitsById = new HashMap<>();
+
+    // guarded by this, full ids of the containers of the waits in waitsById
+    private final Map<CompletableFuture<WaitResponse>, String> runningIds = new HashMap<>();
+
+    // guarded by this, waits whose container was not inspected yet, with the id or name they were given
+    private final Map<CompletableFuture<WaitResponse>, String> unresolvedWaits = new HashMap<>();
+
+    // guarded by this, the unresolved waits by the id or name they were given, without a leading slash
+    private final Map<String, List<CompletableFuture<WaitResponse>>> unresolvedByName = new HashMap<>();
+
+    // guarded by this, the unresolved waits that were given what may be an abbreviated id
+    private final Map<String, List<CompletableFuture<WaitResponse>>> unresolvedByIdPrefix = new HashMap<>();
+
+    // guarded by this, the waits for the next exit with the finish time of their container when it was first inspected, "" until
+    // then
+    private final Map<CompletableFuture<WaitResponse>, String> nextExitWaits = new HashMap<>();
+
+    // guarded by this
+    private boolean closed;
+
+    private ContainerWaiter(DockerClient dockerClient, EventHub eventHub, boolean ownsEventHub) {
+        this.dockerClient = checkNotNull(dockerClient, "dockerClient was not specified");
+        this.eventHub = checkNotNull(eventHub, "eventHub was not specified");
+        this.ownsEventHub = ownsEventHub;
+        eventHub.addReconnectListener(reconnectListener);
+        try {
+            // a dropped die event would leave the wait pending until the next reconnect
+            this.subscription = eventHub.subscribe(
+                new EventHub.Filter().withEventTypeFilter(EventType.CONTAINER).withEventFilter("die", "destroy"),
+                Integer.MAX_VALUE,
+                new ResultCallback.Adapter<Event>() {
+                    @Override
+                    public void onNext(Event event) {
+                        handle(event);
+                    }
+                }
+            );
+        } catch (RuntimeException e) {
+            eventHub.removeReconnectListener(reconnectListener);
+            throw e;
+        }
+    }
+
+    /**
+     * Subscribes to the events of the daemon with an {@link EventHub} of its own.
+     *
+     * @return the waiter, which has to be closed once it is no longer used
+     */
+    public static ContainerWaiter start(@Nonnull DockerClient dockerClient) {
+        EventHub eventHub = EventHub.create(dockerClient);
+        try {
+            return new ContainerWaiter(dockerClient, eventHub, true);
+        } catch (RuntimeException e) {
+            eventHub.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Subscribes to the events of the daemon through <code>eventHub</code>, sharing its events stream with other subscribers.
+     *
+     * @return the waiter, which has to be closed once it is no longer used, the hub is left open
+     */
+    public static ContainerWaiter start(@Nonnull DockerClient dockerClient, @Nonnull EventHub eventHub) {
+        return new ContainerWaiter(dockerClient, eventHub, false);
+    }
+
+    /**
+     * Waits for the container to stop, like <code>POST /containers/{id}/wait</code>. A container that was created but not
+     * started yet is not running either, so the wait completes right away with its exit code 0, see
+     * {@link #waitContainer(String, Condition)} to wait for it to run and exit.
+     *
+     * @param containerId
+     *            id, abbreviated id or name of the container
+     * @return future of the exit code of the container, cancelling it ends the wait
+     */
+    public CompletableFuture<WaitResponse> waitContainer(@Nonnull String containerId) {
+        return waitContainer(containerId, Condition.NOT_RUNNING);
+    }
+
+    /**
+     * Waits for the container to stop, like <code>POST /containers/{id}/wait?condition=...</code>.
+     *
+     * @param containerId
+     *            id, abbreviated id or name of the container
+     * @return future of the exit code of the container, cancelling it ends the wait
+     */
+    public CompletableFuture<WaitResponse> waitContainer(@Nonnull String containerId, @Nonnull Condition condition) {
+        checkNotNull(containerId, "containerId was not specified");
+        checkNotNull(condition, "condition was not specified");
+        CompletableFuture<WaitResponse> result = new CompletableFuture<>();
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("ContainerWaiter was closed");
+            }
+            addUnresolved(result, containerId);
+            if (condition == Condition.NEXT_EXIT) {
+                nextExitWaits.put(result, "");
+            }
+        }
+        result.whenComplete((response, error) -> forget(result));
+
+        // the wait is registered before, so the container stops either before the inspection or with an event afterwards
+        inspect(result, containerId);
+        return result;
+    }
+
+    /**
+     * @return number of waits that are not completed yet
+     */
+    public synchronized int getPendingWaits() {
+        return unresolvedWaits.size() + runningIds.size();
+    }
+
+    /**
+     * Ends the subscription, pending waits are cancelled.
+     */
+    @Override
+    public void close() {
+        List<CompletableFuture<WaitResponse>> pending;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending = new ArrayList<>(unresolvedWaits.keySet());
+            pending.addAll(runningIds.keySet());
+            unresolvedWaits.clear();
+            unresolvedByName.clear();
+            unresolvedByIdPrefix.clear();
+            runningIds.clear();
+            waitsById.clear();
+            nextExitWaits.clear();
+        }
+        eventHub.removeReconnectListener(reconnectListener);
+        subscription.close();
+        if (ownsEventHub) {
+            eventHub.close();
+        }
+        pending.forEach(wait -> wait.cancel(false));
+    }
+
+    private void inspect(CompletableFuture<WaitResponse> result, String containerId) {
+        CompletableFuture<InspectContainerResponse> inspection;
+        try {
+            inspection = dockerClient.inspectContainerCmd(containerId).execAsync();
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        inspection.whenComplete((response, error) -> {
+            if (error != null) {
+                result.completeExceptionally(unwrap(error));
+            } else {
+                inspected(result, response);
+            }
+        });
+    }
+
+    /**
+     * Applies the state of the container to the wait. Several inspections of the same wait may be in flight after a reconnect,
+     * the first one that found the container stopped completes it.
+     */
+    private void inspected(CompletableFuture<WaitResponse> result, InspectContainerResponse response) {
+        InspectContainerResponse.ContainerState state = response.getState();
+        boolean running = state != null && Boolean.TRUE.equals(state.getRunning());
+        synchronized (this) {
+            boolean unresolved = removeUnresolved(result);
+            if (!unresolved && !runningIds.containsKey(result)) {
+                // completed by an event meanwhile
+                return;
+            }
+            String firstFinishedAt = nextExitWaits.get(result);
+            if (firstFinishedAt != null) {
+                // the container exited since the first inspection if it finished at another time
+                String finishedAt = state != null && state.getFinishedAt() != null ? state.getFinishedAt() : "";
+                if (firstFinishedAt.isEmpty() && unresolved && !runningIds.containsKey(result)) {
+                    nextExitWaits.put(result, finishedAt);
+                    running = true;
+                } else if (firstFinishedAt.equals(finishedAt)) {
+                    running = true;
+                }
+            }
+            if (running) {
+                if (unresolved) {
+                    runningIds.put(result, response.getId());
+                    waitsById.computeIfAbsent(response.getId(), id -> new ArrayList<>()).add(result);
+                }
+                return;
+            }
+            removeRunning(result);
+        }
+        Long exitCode = state != null ? state.getExitCodeLong() : null;
+        result.complete(new WaitResponse().withStatusCode(exitCode != null ? exitCode.intValue() : null));
+    }
+
+    private void handle(Event event) {
+        String id = event.getActor() != null ? event.getActor().getId() : event.getId();
+        if (id == null) {
+            return;
+        }
+        Map<String, String> attributes = event.getActor() != null ? event.getActor().getAttributes() : null;
+        String name = attributes != null ? attributes.get("name") : null;
+
+        List<CompletableFuture<WaitResponse>> stopped = new ArrayList<>();
+        synchronized (this) {
+            List<CompletableFuture<WaitResponse>> waits = waitsById.remove(id);
+            if (waits != null) {
+                waits.forEach(runningIds::remove);
+                stopped.addAll(waits);
+            }
+            List<CompletableFuture<WaitResponse>> unresolved = new ArrayList<>();
+            if (name != null) {
+                addAll(unresolved, unresolvedByName.get(stripSlash(name)));
+            }
+            if (!unresolvedByIdPrefix.isEmpty()) {
+                for (int end = 1; end <= id.length(); end++) {
+                    addAll(unresolved, unresolvedByIdPrefix.get(id.substring(0, end)));
+                }
+            }
+            for (CompletableFuture<WaitResponse> wait : unresolved) {
+                if (removeUnresolved(wait)) {
+                    stopped.add(wait);
+                }
+            }
+        }
+        if (stopped.isEmpty()) {
+            return;
+        }
+
+        String action = event.getAction() != null ? event.getAction() : event.getStatus();
+        if ("die".equals(action)) {
+            String exitCode = attributes != null ? attributes.get("exitCode") : null;
+            if (exitCode != null) {
+                try {
+                    WaitResponse response = new WaitResponse().withStatusCode(Integer.valueOf(exitCode));
+                    stopped.forEach(wait -> wait.complete(response));
+                    return;
+                } catch (NumberFormatException e) {
+                    LOGGER.debug("Invalid exit code in event {}", event, e);
+                }
+            }
+            // the exit code is missing, fall back to the state of the container
+            for (CompletableFuture<WaitResponse> wait : stopped) {
+                inspectLater(wait, id);
+            }
+        } else {
+            NotFoundException removed = new NotFoundException("Container " + id + " was removed");
+            stopped.forEach(wait -> wait.completeExceptionally(removed));
+        }
+    }
+
+    private void inspectLater(CompletableFuture<WaitResponse> result, String id) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            addUnresolved(result, id);
+            // the next exit happened, its state is the one to report
+            nextExitWaits.remove(result);
+        }
+        inspect(result, id);
+    }
+
+    /**
+     * Inspects the containers of the pending waits again, as their events may have been missed while the stream was closed.
+     */
+    private void inspectPending() {
+        Map<CompletableFuture<WaitResponse>, String> pending;
+        synchronized (this) {
+            pending = new HashMap<>(runningIds);
+            pending.putAll(unresolvedWaits);
+        }
+        LOGGER.debug("Events stream was opened again, inspecting the containers of {} waits", pending.size());
+        pending.forEach(this::inspect);
+    }
+
+    private synchronized void forget(CompletableFuture<WaitResponse> result) {
+        removeUnresolved(result);
+        removeRunning(result);
+        nextExitWaits.remove(result);
+    }
+
+    private void addUnresolved(CompletableFuture<WaitResponse> result, String containerId) {
+        unresolvedWaits.put(result, containerId);
+        unresolvedByName.computeIfAbsent(stripSlash(containerId), key -> new ArrayList<>()).add(result);
+        if (isHexId(containerId)) {
+            unresolvedByIdPrefix.computeIfAbsent(containerId, key -> new ArrayList<>()).add(result);
+        }
+    }
+
+    /**
+     * @return whether the wait was unresolved
+     */
+    private boolean removeUnresolved(CompletableFuture<WaitResponse> result) {
+        String containerId = unresolvedWaits.remove(result);
+        if (containerId == null) {
+            return false;
+        }
+        remove(unresolvedByName, stripSlash(containerId), result);
+        remove(unresolvedByIdPrefix, containerId, result);
+        return true;
+    }
+
+    private void removeRunning(CompletableFuture<WaitResponse> result) {
+        String id = runningIds.remove(result);
+        if (id != null) {
+            remove(waitsById, id, result);
+        }
+    }
+
+    private static void remove(Map<String, List<CompletableFuture<WaitResponse>>> waits, String key,
+            CompletableFuture<WaitResponse> result) {
+        List<CompletableFuture<WaitResponse>> list = waits.get(key);
+        if (list != null && list.remove(result) && list.isEmpty()) {
+            waits.remove(key);
+        }
+    }
+
+    private static void addAll(List<CompletableFuture<WaitResponse>> target, List<CompletableFuture<WaitResponse>> waits) {
+        if (waits != null) {
+            target.addAll(waits);
+        }
+    }
+
+    private static boolean isHexId(String containerId) {
+        if (containerId.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < containerId.length(); i++) {
+            char c = containerId.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String stripSlash(String name) {
+        return name.startsWith("/") ? name.substring(1) : name;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * When a wait completes, like the <code>condition</code> of <code>POST /containers/{id}/wait</code>.
+     */
+    public enum Condition {
+
+        /**
+         * Once the container is not running, right away if it is stopped or was not started yet.
+         */
+        NOT_RUNNING,
+
+        /**
+         * Once the container exits the next time, even if it is not running now.
+         */
+        NEXT_EXIT
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.dockerjava.core;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.dockerjava.api.exception.DockerClientException;
 import com.github.dockerjava.api.model.AuthConfig;
 import com.github.dockerjava.api.model.AuthConfigurations;
@@ -21,6 +22,7 @@ import java.io.InputStream;
 import java.io.Serializable;
 import java.net.URI;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -55,6 +57,8 @@ public class DefaultDockerClientConfig implements Serializable, DockerClientConf
 
     private static final String DOCKER_JAVA_PROPERTIES = "docker-java.properties";
 
+    private static final long DOCKER_CONFIG_CHECK_INTERVAL_MILLIS = 1000;
+
     private static final Set<String> CONFIG_KEYS = new HashSet<>();
 
     static final Properties DEFAULT_PROPERTIES = new Properties();
@@ -87,10 +91,34 @@ public class DefaultDockerClientConfig implements Serializable, DockerClientConf
 
     private final RemoteApiVersion apiVersion;
 
-    private DockerConfigFile dockerConfig = null;
+    private final boolean retainRawValues;
+
+    private final boolean warmUp;
+
+    private transient volatile ObjectMapper objectMapper;
+
+    private transient volatile RegistryAuthCache registryAuthCache;
+
+    private volatile DockerConfigFile dockerConfig = null;
+
+    /**
+     * State of the docker config files when {@link #dockerConfig} was loaded.
+     */
+    private transient List<Long> dockerConfigFileState;
+
+    private transient volatile long dockerConfigCheckedAt;
+
+    private volatile long dockerConfigCheckIntervalMillis = DOCKER_CONFIG_CHECK_INTERVAL_MILLIS;
 
     DefaultDockerClientConfig(URI dockerHost, String dockerConfigPath, String apiVersion, String registryUrl,
             String registryUsername, String registryPassword, String registryEmail, SSLConfig sslConfig) {
+        this(dockerHost, dockerConfigPath, apiVersion, registryUrl, registryUsername, registryPassword, registryEmail, sslConfig,
+                true, false);
+    }
+
+    DefaultDockerClientConfig(URI dockerHost, String dockerConfigPath, String apiVersion, String registryUrl,
+            String registryUsername, String registryPassword, String registryEmail, SSLConfig sslConfig,
+            boolean retainRawValues, boolean warmUp) {
         this.dockerHost = checkDockerHostScheme(dockerHost);
         this.dockerConfigPath = dockerConfigPath;
         this.apiVersion = RemoteApiVersion.parseConfigWithDefault(apiVersion);
@@ -99,6 +127,8 @@ public class DefaultDockerClientConfig implements Serializable, DockerClientConf
         this.registryPassword = registryPassword;
         this.registryEmail = registryEmail;
         this.registryUrl = registryUrl;
+        this.retainRawValues = retainRawValues;
+        this.warmUp = warmUp;
     }
 
     private URI checkDockerHostScheme(URI dockerHost) {
@@ -256,16 +286,42 @@ public class DefaultDockerClientConfig implements Serializable, DockerClientConf
         return dockerConfigPath;
     }
 
+    /**
+     * Returns the parsed docker config file, which is loaded again once the file changed. Changes are looked for at most once
+     * per second.
+     */
     @Nonnull
     public DockerConfigFile getDockerConfig() {
-        if (dockerConfig == null) {
-            try {
-                dockerConfig = DockerConfigFile.loadConfig(getObjectMapper(), getDockerConfigPath());
-            } catch (IOException e) {
-                throw new DockerClientException("Failed to parse docker configuration file", e);
+        long now = System.currentTimeMillis();
+        DockerConfigFile result = dockerConfig;
+        if (result != null && now - dockerConfigCheckedAt < dockerConfigCheckIntervalMillis) {
+            return result;
+        }
+
+        synchronized (this) {
+            List<Long> fileState = DockerConfigFile.fileState(getDockerConfigPath());
+            if (dockerConfig == null || !fileState.equals(dockerConfigFileState)) {
+                try {
+                    dockerConfig = DockerConfigFile.loadConfig(getObjectMapper(), getDockerConfigPath());
+                } catch (IOException e) {
+                    throw new DockerClientException("Failed to parse docker configuration file", e);
+                }
+                if (dockerConfigFileState != null && registryAuthCache != null) {
+                    // the previous credentials should not be retained
+                    registryAuthCache.invalidateAll();
+                }
+                dockerConfigFileState = fileState;
             }
+            dockerConfigCheckedAt = now;
+            return dockerConfig;
         }
-        return dockerConfig;
+    }
+
+    /**
+     * Sets how long the docker config file is not looked at again after it was checked for changes.
+     */
+    void setDockerConfigCheckIntervalMillis(long dockerConfigCheckIntervalMillis) {
+        this.dockerConfigCheckIntervalMillis = dockerConfigCheckIntervalMillis;
     }
 
     private AuthConfig getAuthConfig() {
@@ -306,6 +362,47 @@ public class DefaultDockerClientConfig implements Serializable, DockerClientConf
         return sslConfig;
     }
 
+    /**
+     * Returns the cache of the registry auth headers of this configuration, which is shared by all clients using it and
+     * invalidated once the docker config file changed.
+     */
+    @Override
+    public RegistryAuthCache getRegistryAuthCache() {
+        RegistryAuthCache result = registryAuthCache;
+        if (result == null) {
+            synchronized (this) {
+                result = registryAuthCache;
+                if (result == null) {
+                    result = new RegistryAuthCache();
+                    registryAuthCache = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the mapper of this configuration, which is created once and shared by all clients using it. It must not be
+     * reconfigured.
+     */
+    @Override
+    public ObjectMapper getObjectMapper() {
+        ObjectMapper result = objectMapper;
+        if (result == null) {
+            synchronized (this) {
+                result = objectMapper;
+                if (result == null) {
+                    result = DockerClientConfig.getDefaultObjectMapper(retainRawValues);
+                    if (warmUp) {
+                        DefaultObjectMapperHolder.warmUp(result);
+                    }
+                    objectMapper = result;
+                }
+            }
+        }
+        return result;
+    }
+
     @Override
     public boolean equals(Object o) {
         return EqualsBuilder.reflectionEquals(this, o);
@@ -331,6 +428,10 @@ public class DefaultDockerClientConfig implements Serializable, DockerClientConf
 
         private SSLConfig customSslConfig = null;
 
+        private boolean retainRawValues = true;
+
+        private boolean warmUp = false;
+
         /**
          * This will set all fields in the builder to those contained in the Properties object. The Properties object should contain the
          * following docker-java configuration keys: DOCKER_HOST, DOCKER_TLS_VERIFY, api.version, registry.username, registry.password,
@@ -430,6 +531,25 @@ public class DefaultDockerClientConfig implements Serializable, DockerClientConf
             return this;
         }
 
+        /**
+         * Whether {@link com.github.dockerjava.api.model.DockerObject#getRawValues()} of the responses should be recorded, true by
+         * default. Not recording them saves memory and time when the raw values are not used.
+         */
+        public final Builder withRawValues(boolean retainRawValues) {
+            this.retainRawValues = retainRawValues;
+            return this;
+        }
+
+        /**
+         * Whether the (de)serializers of the most frequently read responses (containers, container inspections, statistics and
+         * events) should be resolved when the object mapper is created, so that the first of these responses are not slowed down
+         * by the introspection of the model classes. False by default.
+         */
+        public final Builder withWarmUp(boolean warmUp) {
+            this.warmUp = warmUp;
+            return this;
+        }
+
         public DefaultDockerClientConfig build() {
 
             SSLConfig sslConfig = null;
@@ -448,7 +568,7 @@ public class DefaultDockerClientConfig implements Serializable, DockerClientConf
                 : URI.create(SystemUtils.IS_OS_WINDOWS ? WINDOWS_DEFAULT_DOCKER_HOST : DEFAULT_DOCKER_HOST);
 
             return new DefaultDockerClientConfig(dockerHostUri, dockerConfig, apiVersion, registryUrl, registryUsername,
-                    registryPassword, registryEmail, sslConfig);
+                    registryPassword, registryEmail, sslConfig, retainRawValues, warmUp);
         }
 
         private String checkDockerCertPath(String dockerCertPath) {
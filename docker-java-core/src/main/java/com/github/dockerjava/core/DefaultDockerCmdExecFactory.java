@@ -2,125 +2,243 @@ package com.github.dockerjava.core;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.dockerjava.transport.AsyncDockerHttpClient;
 import com.github.dockerjava.transport.DockerHttpClient;
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.MultimapBuilder;
-import com.google.common.collect.SetMultimap;
 import com.google.common.escape.Escaper;
 import com.google.common.net.UrlEscapers;
-import org.apache.commons.lang3.StringUtils;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 public final class DefaultDockerCmdExecFactory extends AbstractDockerCmdExecFactory {
 
+    private static final Escaper PATH_SEGMENT_ESCAPER = UrlEscapers.urlPathSegmentEscaper();
+
+    private static final Escaper QUERY_PARAM_ESCAPER = UrlEscapers.urlFormParameterEscaper();
+
     private final DockerHttpClient dockerHttpClient;
 
     private final ObjectMapper objectMapper;
 
+    private final JsonCodecCache jsonCodecs;
+
+    private final StreamExecutor streamExecutor;
+
+    private final ExecutorService asyncExecutor = createAsyncExecutor();
+
+    private final DefaultWebTarget baseResource = new DefaultWebTarget();
+
     public DefaultDockerCmdExecFactory(
         DockerHttpClient dockerHttpClient,
         ObjectMapper objectMapper
+    ) {
+        this(dockerHttpClient, objectMapper, StreamExecutor.defaultExecutor());
+    }
+
+    /**
+     * @param streamExecutor executor used to consume streaming responses (logs, stats, events, attach, pull, build, wait).
+     *                       Every stream occupies one task until it is finished or closed, so bounded executors should be sized
+     *                       for the maximum number of concurrent streams.
+     */
+    public DefaultDockerCmdExecFactory(
+        DockerHttpClient dockerHttpClient,
+        ObjectMapper objectMapper,
+        Executor streamExecutor
     ) {
         this.dockerHttpClient = dockerHttpClient;
         this.objectMapper = objectMapper;
+        this.jsonCodecs = new JsonCodecCache(objectMapper);
+        this.streamExecutor = new StreamExecutor(streamExecutor);
     }
 
     public DockerHttpClient getDockerHttpClient() {
         return dockerHttpClient;
     }
 
+    /**
+     * @return number of streaming responses that are currently being consumed
+     */
+    public int getActiveStreams() {
+        return streamExecutor.getActiveStreams();
+    }
+
+    /**
+     * @return number of streaming requests that were submitted to the executor but did not start yet
+     */
+    public int getQueuedStreams() {
+        return streamExecutor.getQueuedStreams();
+    }
+
+    StreamExecutor getStreamExecutor() {
+        return streamExecutor;
+    }
+
     @Override
     protected WebTarget getBaseResource() {
-        return new DefaultWebTarget();
+        return baseResource;
     }
 
     @Override
     public void close() throws IOException {
-        dockerHttpClient.close();
+        try {
+            dockerHttpClient.close();
+        } finally {
+            asyncExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Creates the pool running {@code execAsync()}: the executions themselves with blocking transports, and their continuations
+     * once a response was received with asynchronous ones. It starts a thread for every execution in flight, so its size
+     * follows the parallelism requested by the callers, like the one of batch inspections, while the connection pool of the
+     * transport bounds the requests that are actually sent. Idle threads end after a minute.
+     */
+    private static ExecutorService createAsyncExecutor() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "docker-java-async-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+
+        return new ThreadPoolExecutor(
+            0,
+            Integer.MAX_VALUE,
+            60L,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            threadFactory
+        );
     }
 
+    /**
+     * Immutable target holding the compiled path templates, the escaped values resolved so far and the query parameters. Each
+     * derived target copies the few arrays it changes, so that {@link #request()} only has to render them.
+     */
     private class DefaultWebTarget implements WebTarget {
 
-        final ImmutableList<String> path;
+        private final PathTemplate[] templates;
 
-        final SetMultimap<String, String> queryParams;
+        /**
+         * Escaped values of the variables of each template, null as long as none of the template was resolved
+         */
+        private final String[][] templateValues;
+
+        private final QueryParam[] queryParams;
 
         DefaultWebTarget() {
-            this(
-                ImmutableList.of(),
-                MultimapBuilder.hashKeys().hashSetValues().build()
-            );
+            this(new PathTemplate[0], new String[0][], new QueryParam[0]);
         }
 
-        DefaultWebTarget(
-            ImmutableList<String> path,
-            SetMultimap<String, String> queryParams
-        ) {
-            this.path = path;
+        private DefaultWebTarget(PathTemplate[] templates, String[][] templateValues, QueryParam[] queryParams) {
+            this.templates = templates;
+            this.templateValues = templateValues;
             this.queryParams = queryParams;
         }
 
         @Override
         public String toString() {
-            return String.format("DefaultWebTarget{path=%s, queryParams=%s}", path, queryParams);
+            List<String> path = new ArrayList<>();
+            for (int i = 0; i < templates.length; i++) {
+                StringBuilder component = new StringBuilder();
+                templates[i].appendTo(component, templateValues[i]);
+                path.add(component.toString());
+            }
+            Map<String, List<String>> params = new LinkedHashMap<>();
+            for (QueryParam param : queryParams) {
+                params.put(param.name, Arrays.asList(param.values));
+            }
+            return String.format("DefaultWebTarget{path=%s, queryParams=%s}", path, params);
         }
 
         @Override
         public InvocationBuilder request() {
-            String resource = StringUtils.join(path, "/");
-
-            if (!resource.startsWith("/")) {
-                resource = "/" + resource;
-            }
+            StringBuilder builder = new StringBuilder(128);
 
             RemoteApiVersion apiVersion = getDockerClientConfig().getApiVersion();
             if (apiVersion != RemoteApiVersion.UNKNOWN_VERSION) {
-                resource = "/" + apiVersion.asWebPathPart() + resource;
+                builder.append('/').append(apiVersion.asWebPathPart());
             }
 
-            if (!queryParams.isEmpty()) {
-                Escaper urlFormParameterEscaper = UrlEscapers.urlFormParameterEscaper();
-                resource = queryParams.asMap().entrySet().stream()
-                    .flatMap(entry -> {
-                        return entry.getValue().stream().map(s -> {
-                            return entry.getKey() + "=" + urlFormParameterEscaper.escape(s);
-                        });
-                    })
-                    .collect(Collectors.joining("&", resource + "?", ""));
+            int pathStart = builder.length();
+            for (int i = 0; i < templates.length; i++) {
+                if (i > 0) {
+                    builder.append('/');
+                }
+                templates[i].appendTo(builder, templateValues[i]);
+            }
+            if (builder.length() == pathStart || builder.charAt(pathStart) != '/') {
+                builder.insert(pathStart, '/');
+            }
+
+            char separator = '?';
+            for (QueryParam param : queryParams) {
+                for (String value : param.values) {
+                    builder.append(separator).append(param.name).append('=').append(QUERY_PARAM_ESCAPER.escape(value));
+                    separator = '&';
+                }
             }
 
             return new DefaultInvocationBuilder(
-                dockerHttpClient, objectMapper, resource
+                dockerHttpClient, jsonCodecs, builder.toString(), streamExecutor
             );
         }
 
+        @Override
+        public <T> CompletableFuture<T> executeAsync(Supplier<T> execution) {
+            if (dockerHttpClient instanceof AsyncDockerHttpClient) {
+                return AsyncExecution.start((AsyncDockerHttpClient) dockerHttpClient, execution, asyncExecutor);
+            }
+            return CompletableFuture.supplyAsync(execution, asyncExecutor);
+        }
+
         @Override
         public DefaultWebTarget path(String... components) {
-            ImmutableList<String> newPath = ImmutableList.<String>builder()
-                .addAll(path)
-                .add(components)
-                .build();
-            return new DefaultWebTarget(newPath, queryParams);
+            PathTemplate[] newTemplates = Arrays.copyOf(templates, templates.length + components.length);
+            for (int i = 0; i < components.length; i++) {
+                newTemplates[templates.length + i] = PathTemplate.compile(components[i]);
+            }
+            return new DefaultWebTarget(newTemplates, Arrays.copyOf(templateValues, newTemplates.length), queryParams);
         }
 
         @Override
         public DefaultWebTarget resolveTemplate(String name, Object value) {
-            ImmutableList.Builder<String> newPath = ImmutableList.builder();
-            for (String component : path) {
-                component = component.replaceAll(
-                    "\\{" + name + "\\}",
-                    UrlEscapers.urlPathSegmentEscaper().escape(value.toString())
-                );
-                newPath.add(component);
-            }
+            String escapedValue = null;
+            String[][] newValues = null;
+            for (int i = 0; i < templates.length; i++) {
+                PathTemplate template = templates[i];
+                String[] resolved = templateValues[i];
+                for (int variable = 0; variable < template.getVariableCount(); variable++) {
+                    if (!template.getVariable(variable).equals(name) || (resolved != null && resolved[variable] != null)) {
+                        continue;
+                    }
 
-            return new DefaultWebTarget(newPath.build(), queryParams);
+                    if (newValues == null) {
+                        escapedValue = PATH_SEGMENT_ESCAPER.escape(value.toString());
+                        newValues = templateValues.clone();
+                    }
+                    if (newValues[i] == resolved) {
+                        newValues[i] = resolved != null ? resolved.clone() : new String[template.getVariableCount()];
+                    }
+                    newValues[i][variable] = escapedValue;
+                }
+            }
+            return newValues != null ? new DefaultWebTarget(templates, newValues, queryParams) : this;
         }
 
         @Override
@@ -129,18 +247,40 @@ public final class DefaultDockerCmdExecFactory extends AbstractDockerCmdExecFact
                 return this;
             }
 
-            SetMultimap<String, String> newQueryParams = HashMultimap.create(queryParams);
-            newQueryParams.put(name, value.toString());
+            String stringValue = value.toString();
+            int index = indexOf(name);
+            if (index < 0) {
+                return withQueryParam(index, new QueryParam(name, new String[] {stringValue}));
+            }
 
-            return new DefaultWebTarget(path, newQueryParams);
+            String[] paramValues = queryParams[index].values;
+            if (Arrays.asList(paramValues).contains(stringValue)) {
+                return this;
+            }
+            String[] newParamValues = Arrays.copyOf(paramValues, paramValues.length + 1);
+            newParamValues[paramValues.length] = stringValue;
+            return withQueryParam(index, new QueryParam(name, newParamValues));
         }
 
         @Override
         public DefaultWebTarget queryParamsSet(String name, Set<?> values) {
-            SetMultimap<String, String> newQueryParams = HashMultimap.create(queryParams);
-            newQueryParams.replaceValues(name, values.stream().filter(Objects::nonNull).map(Object::toString).collect(Collectors.toSet()));
+            String[] stringValues = values.stream()
+                .filter(Objects::nonNull)
+                .map(Object::toString)
+                .distinct()
+                .toArray(String[]::new);
 
-            return new DefaultWebTarget(path, newQueryParams);
+            int index = indexOf(name);
+            if (stringValues.length > 0) {
+                return withQueryParam(index, new QueryParam(name, stringValues));
+            } else if (index < 0) {
+                return this;
+            }
+
+            QueryParam[] newQueryParams = new QueryParam[queryParams.length - 1];
+            System.arraycopy(queryParams, 0, newQueryParams, 0, index);
+            System.arraycopy(queryParams, index + 1, newQueryParams, index, newQueryParams.length - index);
+            return new DefaultWebTarget(templates, templateValues, newQueryParams);
         }
 
         @Override
@@ -156,5 +296,44 @@ public final class DefaultDockerCmdExecFactory extends AbstractDockerCmdExecFact
                 throw new RuntimeException(e);
             }
         }
+
+        private int indexOf(String name) {
+            for (int i = 0; i < queryParams.length; i++) {
+                if (queryParams[i].name.equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        /**
+         * @param index index of the parameter to replace, negative to append it
+         */
+        private DefaultWebTarget withQueryParam(int index, QueryParam param) {
+            QueryParam[] newQueryParams;
+            if (index < 0) {
+                newQueryParams = Arrays.copyOf(queryParams, queryParams.length + 1);
+                newQueryParams[queryParams.length] = param;
+            } else {
+                newQueryParams = queryParams.clone();
+                newQueryParams[index] = param;
+            }
+            return new DefaultWebTarget(templates, templateValues, newQueryParams);
+        }
+    }
+
+    /**
+     * Query parameter with its distinct values in insertion order.
+     */
+    private static final class QueryParam {
+
+        final String name;
+
+        final String[] values;
+
+        QueryParam(String name, String[] values) {
+            this.name = name;
+            this.values = values;
+        }
     }
 }
@@ -1,9 +1,10 @@
 package com.github.dockerjava.core;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.MappingIterator;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.github.dockerjava.api.async.ResultCallback;
 import com.github.dockerjava.api.exception.BadRequestException;
 import com.github.dockerjava.api.exception.ConflictException;
@@ -17,23 +18,37 @@ import com.github.dockerjava.api.model.Frame;
 import com.github.dockerjava.transport.DockerHttpClient;
 import org.apache.commons.io.IOUtils;
 
+import java.io.Closeable;
 import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 class DefaultInvocationBuilder implements InvocationBuilder {
 
     private final DockerHttpClient.Request.Builder requestBuilder;
     private final DockerHttpClient dockerHttpClient;
-    private final ObjectMapper objectMapper;
+    private final JsonCodecCache jsonCodecs;
 
-    DefaultInvocationBuilder(DockerHttpClient dockerHttpClient, ObjectMapper objectMapper, String path) {
+    private final StreamExecutor streamExecutor;
+
+    private JsonProjection projection;
+
+    DefaultInvocationBuilder(DockerHttpClient dockerHttpClient, JsonCodecCache jsonCodecs, String path, StreamExecutor streamExecutor) {
         this.requestBuilder = DockerHttpClient.Request.builder().path(path);
         this.dockerHttpClient = dockerHttpClient;
-        this.objectMapper = objectMapper;
+        this.jsonCodecs = jsonCodecs;
+        this.streamExecutor = streamExecutor;
     }
 
     @Override
@@ -47,6 +62,12 @@ class DefaultInvocationBuilder implements InvocationBuilder {
         return this;
     }
 
+    @Override
+    public DefaultInvocationBuilder fields(Collection<String> fields) {
+        projection = fields == null ? null : JsonProjection.of(fields);
+        return this;
+    }
+
     @Override
     public void delete() {
         DockerHttpClient.Request request = requestBuilder
@@ -71,8 +92,12 @@ class DefaultInvocationBuilder implements InvocationBuilder {
 
     @Override
     public <T> T get(TypeReference<T> typeReference) {
-        try (InputStream inputStream = get()) {
-            return objectMapper.readValue(inputStream, typeReference);
+        try (InputStream inputStream = getBody()) {
+            ObjectReader reader = jsonCodecs.readerFor(typeReference);
+            if (projection != null) {
+                return projection.readValue(reader, inputStream);
+            }
+            return reader.readValue(inputStream);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -91,25 +116,57 @@ class DefaultInvocationBuilder implements InvocationBuilder {
         );
     }
 
+    @Override
+    public <T> void get(JsonDecoder<T> decoder, ResultCallback<T> resultCallback) {
+        DockerHttpClient.Request request = requestBuilder
+            .method(DockerHttpClient.Request.Method.GET)
+            .build();
+
+        executeAndStream(
+            request,
+            resultCallback,
+            new DecoderSink<>(decoder, resultCallback)
+        );
+    }
+
+    @Override
+    public <T> Stream<T> getStream(TypeReference<List<T>> typeReference) {
+        InputStream inputStream = getBody();
+        Iterator<T> iterator;
+        try {
+            ObjectReader reader = jsonCodecs.elementReaderFor(typeReference);
+            if (projection != null) {
+                iterator = projection.readValues(reader, inputStream);
+            } else {
+                // the iterator steps into the array and binds one element per call
+                iterator = reader.readValues(inputStream);
+            }
+        } catch (IOException e) {
+            IOUtils.closeQuietly(inputStream);
+            throw new RuntimeException(e);
+        }
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(() -> {
+                IOUtils.closeQuietly((Closeable) iterator);
+                IOUtils.closeQuietly(inputStream);
+            });
+    }
+
     @Override
     public InputStream post(Object entity) {
+        AsyncExecution.rejectStreamedResponse();
+        return postForBody(entity);
+    }
+
+    private InputStream postForBody(Object entity) {
         DockerHttpClient.Request request = requestBuilder
             .method(DockerHttpClient.Request.Method.POST)
             .putHeader("content-type", "application/json")
             .bodyBytes(encode(entity))
             .build();
 
-        DockerHttpClient.Response response = execute(request);
-        return new FilterInputStream(response.getBody()) {
-            @Override
-            public void close() throws IOException {
-                try {
-                    super.close();
-                } finally {
-                    response.close();
-                }
-            }
-        };
+        return openBody(request);
     }
 
     @Override
@@ -122,7 +179,7 @@ class DefaultInvocationBuilder implements InvocationBuilder {
                 .build();
 
             try (DockerHttpClient.Response response = execute(request)) {
-                return objectMapper.readValue(response.getBody(), typeReference);
+                return jsonCodecs.readerFor(typeReference).readValue(response.getBody());
             }
         } catch (IOException e) {
             throw new RuntimeException(e);
@@ -146,8 +203,8 @@ class DefaultInvocationBuilder implements InvocationBuilder {
 
     @Override
     public <T> T post(TypeReference<T> typeReference, InputStream body) {
-        try (InputStream inputStream = post(body)) {
-            return objectMapper.readValue(inputStream, typeReference);
+        try (InputStream inputStream = postForBody(body)) {
+            return jsonCodecs.readerFor(typeReference).readValue(inputStream);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
@@ -195,10 +252,22 @@ class DefaultInvocationBuilder implements InvocationBuilder {
 
     @Override
     public InputStream get() {
+        AsyncExecution.rejectStreamedResponse();
+        return getBody();
+    }
+
+    private InputStream getBody() {
         DockerHttpClient.Request request = requestBuilder
             .method(DockerHttpClient.Request.Method.GET)
             .build();
 
+        return openBody(request);
+    }
+
+    /**
+     * @return body of the response, which closes the response once it is closed
+     */
+    private InputStream openBody(DockerHttpClient.Request request) {
         DockerHttpClient.Response response = execute(request);
         return new FilterInputStream(response.getBody()) {
             @Override
@@ -225,7 +294,7 @@ class DefaultInvocationBuilder implements InvocationBuilder {
 
     protected DockerHttpClient.Response execute(DockerHttpClient.Request request) {
         try {
-            DockerHttpClient.Response response = dockerHttpClient.execute(request);
+            DockerHttpClient.Response response = AsyncExecution.execute(dockerHttpClient, request);
             int statusCode = response.getStatusCode();
             if (statusCode < 200 || statusCode > 299) {
                 try {
@@ -264,11 +333,18 @@ class DefaultInvocationBuilder implements InvocationBuilder {
         ResultCallback<T> callback,
         Consumer<DockerHttpClient.Response> sourceConsumer
     ) {
-        Thread thread = new Thread(() -> {
+        String threadName = "docker-java-stream-" + Objects.hashCode(request) + " " + request.method() + " " + request.path();
+        streamExecutor.execute(threadName, () -> {
             Thread streamingThread = Thread.currentThread();
+            // the thread may be reused once this stream is done, so it must only be interrupted while still streaming
+            AtomicBoolean streaming = new AtomicBoolean(true);
             try (DockerHttpClient.Response response = execute(request)) {
                 callback.onStart(() -> {
-                    streamingThread.interrupt();
+                    synchronized (streaming) {
+                        if (streaming.get()) {
+                            streamingThread.interrupt();
+                        }
+                    }
                     response.close();
                 });
 
@@ -276,11 +352,14 @@ class DefaultInvocationBuilder implements InvocationBuilder {
                 callback.onComplete();
             } catch (Exception e) {
                 callback.onError(e);
+            } finally {
+                synchronized (streaming) {
+                    streaming.set(false);
+                }
+                // clear the interrupted flag before the thread goes back to the pool
+                Thread.interrupted();
             }
-        }, "docker-java-stream-" + Objects.hashCode(request));
-        thread.setDaemon(true);
-
-        thread.start();
+        });
     }
 
     private byte[] encode(Object entity) {
@@ -289,7 +368,7 @@ class DefaultInvocationBuilder implements InvocationBuilder {
         }
 
         try {
-            return objectMapper.writeValueAsBytes(entity);
+            return jsonCodecs.writerFor(entity.getClass()).writeValueAsBytes(entity);
         } catch (JsonProcessingException e) {
             throw new RuntimeException(e);
         }
@@ -310,7 +389,7 @@ class DefaultInvocationBuilder implements InvocationBuilder {
         public void accept(DockerHttpClient.Response response) {
             try {
                 InputStream body = response.getBody();
-                MappingIterator<Object> iterator = objectMapper.readerFor(typeReference).readValues(body);
+                MappingIterator<Object> iterator = jsonCodecs.readerFor(typeReference).readValues(body);
                 while (iterator.hasNextValue()) {
                     resultCallback.onNext((T) iterator.nextValue());
                 }
@@ -319,4 +398,27 @@ class DefaultInvocationBuilder implements InvocationBuilder {
             }
         }
     }
+
+    private class DecoderSink<T> implements Consumer<DockerHttpClient.Response> {
+
+        private final JsonDecoder<T> decoder;
+
+        private final ResultCallback<T> resultCallback;
+
+        DecoderSink(JsonDecoder<T> decoder, ResultCallback<T> resultCallback) {
+            this.decoder = decoder;
+            this.resultCallback = resultCallback;
+        }
+
+        @Override
+        public void accept(DockerHttpClient.Response response) {
+            try (JsonParser parser = jsonCodecs.getFactory().createParser(response.getBody())) {
+                while (parser.nextToken() != null) {
+                    resultCallback.onNext(decoder.decode(parser));
+                }
+            } catch (Exception e) {
+                resultCallback.onError(e);
+            }
+        }
+    }
 }
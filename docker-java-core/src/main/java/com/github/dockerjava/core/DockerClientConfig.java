@@ -4,25 +4,36 @@
 package com.github.dockerjava.core;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.BeanDescription;
 import com.fasterxml.jackson.databind.DeserializationConfig;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonDeserializer;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
 import com.fasterxml.jackson.databind.deser.std.DelegatingDeserializer;
 import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.fasterxml.jackson.databind.util.ClassUtil;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.github.dockerjava.api.command.InspectContainerResponse;
 import com.github.dockerjava.api.model.AuthConfig;
 import com.github.dockerjava.api.model.AuthConfigurations;
+import com.github.dockerjava.api.model.Container;
 import com.github.dockerjava.api.model.DockerObject;
 import com.github.dockerjava.api.model.DockerObjectAccessor;
+import com.github.dockerjava.api.model.Event;
+import com.github.dockerjava.api.model.Frame;
+import com.github.dockerjava.api.model.Statistics;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 
 /**
  * Interface that describes the docker client configuration.
@@ -36,6 +47,21 @@ public interface DockerClientConfig {
         return DefaultObjectMapperHolder.INSTANCE.getObjectMapper().copy();
     }
 
+    /**
+     * @param retainRawValues
+     *            false if {@link DockerObject#getRawValues()} of deserialized objects should stay empty, which saves the memory
+     *            and the time needed to record them
+     */
+    static ObjectMapper getDefaultObjectMapper(boolean retainRawValues) {
+        ObjectMapper objectMapper = getDefaultObjectMapper();
+        if (!retainRawValues) {
+            objectMapper.setConfig(
+                objectMapper.getDeserializationConfig().withAttribute(DockerObjectDeserializer.RAW_VALUES_DISABLED, Boolean.TRUE)
+            );
+        }
+        return objectMapper;
+    }
+
     URI getDockerHost();
 
     RemoteApiVersion getApiVersion();
@@ -60,6 +86,13 @@ public interface DockerClientConfig {
     default ObjectMapper getObjectMapper() {
         return getDefaultObjectMapper();
     }
+
+    /**
+     * Returns the cache of the encoded registry auth headers, or null if they should be encoded for every request.
+     */
+    default RegistryAuthCache getRegistryAuthCache() {
+        return null;
+    }
 }
 
 enum DefaultObjectMapperHolder {
@@ -87,6 +120,11 @@ enum DefaultObjectMapperHolder {
                             return originalDeserializer;
                         }
 
+                        // Jackson only passes the outer instance to inner classes when their deserializer is not wrapped
+                        if (ClassUtil.isNonStaticInnerClass(beanDescription.getBeanClass())) {
+                            return originalDeserializer;
+                        }
+
                         return new DockerObjectDeserializer(
                             originalDeserializer,
                             beanDescription,
@@ -101,10 +139,37 @@ enum DefaultObjectMapperHolder {
     public ObjectMapper getObjectMapper() {
         return objectMapper;
     }
+
+    /**
+     * Resolves the root deserializers of the responses that are read most often. They are cached by the mapper and shared with
+     * all readers it creates.
+     */
+    static void warmUp(ObjectMapper objectMapper) {
+        TypeFactory typeFactory = objectMapper.getTypeFactory();
+        for (JavaType type : Arrays.asList(
+            typeFactory.constructCollectionType(List.class, Container.class),
+            typeFactory.constructType(InspectContainerResponse.class),
+            typeFactory.constructType(Statistics.class),
+            typeFactory.constructType(Event.class),
+            typeFactory.constructType(Frame.class)
+        )) {
+            objectMapper.readerFor(type);
+        }
+    }
 }
 
+/**
+ * Records the raw values of {@link DockerObject}s while they are deserialized. The tokens of the object are copied into a
+ * {@link TokenBuffer} that the object is bound from, and which is only converted to a map once the raw values are accessed.
+ *
+ * Like the objects bound by the original mapper before, nested objects do not record raw values on their own.
+ */
 class DockerObjectDeserializer extends DelegatingDeserializer {
 
+    static final String RAW_VALUES_DISABLED = DockerObjectDeserializer.class.getName() + ".rawValuesDisabled";
+
+    private static final String RECORDING = DockerObjectDeserializer.class.getName() + ".recording";
+
     private final BeanDescription beanDescription;
 
     private final ObjectMapper originalMapper;
@@ -127,15 +192,34 @@ class DockerObjectDeserializer extends DelegatingDeserializer {
     @Override
     @SuppressWarnings({"deprecation", "unchecked"})
     public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
-        JsonNode jsonNode = p.readValueAsTree();
+        if (p.getCurrentToken() != JsonToken.START_OBJECT
+            || ctxt.getAttribute(RECORDING) != null
+            || Boolean.TRUE.equals(ctxt.getAttribute(RAW_VALUES_DISABLED))) {
+            return _delegatee.deserialize(p, ctxt);
+        }
+
+        TokenBuffer tokenBuffer = new TokenBuffer(p, ctxt);
+        tokenBuffer.copyCurrentStructure(p);
 
-        Object deserializedObject = originalMapper.treeToValue(jsonNode, beanDescription.getBeanClass());
+        JsonParser bufferedParser = tokenBuffer.asParser(p);
+        bufferedParser.nextToken();
+
+        Object deserializedObject;
+        ctxt.setAttribute(RECORDING, Boolean.TRUE);
+        try {
+            deserializedObject = _delegatee.deserialize(bufferedParser, ctxt);
+        } finally {
+            ctxt.setAttribute(RECORDING, null);
+        }
 
         if (deserializedObject instanceof DockerObject) {
-            DockerObjectAccessor.overrideRawValues(
-                ((DockerObject) deserializedObject),
-                originalMapper.convertValue(jsonNode, HashMap.class)
-            );
+            DockerObjectAccessor.overrideRawValuesSupplier((DockerObject) deserializedObject, () -> {
+                try (JsonParser rawValuesParser = tokenBuffer.asParser(originalMapper)) {
+                    return originalMapper.readValue(rawValuesParser, HashMap.class);
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
         }
 
         return deserializedObject;
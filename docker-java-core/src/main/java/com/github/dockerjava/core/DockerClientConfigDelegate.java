@@ -54,4 +54,9 @@ public class DockerClientConfigDelegate implements DockerClientConfig {
     public ObjectMapper getObjectMapper() {
         return original.getObjectMapper();
     }
+
+    @Override
+    public RegistryAuthCache getRegistryAuthCache() {
+        return original.getRegistryAuthCache();
+    }
 }
@@ -1,5 +1,6 @@
 package com.github.dockerjava.core;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.dockerjava.api.DockerClient;
 import com.github.dockerjava.api.command.AttachContainerCmd;
 import com.github.dockerjava.api.command.AuthCmd;
@@ -24,14 +25,18 @@ import com.github.dockerjava.api.command.ExecCreateCmd;
 import com.github.dockerjava.api.command.ExecStartCmd;
 import com.github.dockerjava.api.command.InfoCmd;
 import com.github.dockerjava.api.command.InitializeSwarmCmd;
+import com.github.dockerjava.api.command.InspectBatchCmd;
 import com.github.dockerjava.api.command.InspectConfigCmd;
 import com.github.dockerjava.api.command.InspectContainerCmd;
+import com.github.dockerjava.api.command.InspectContainerResponse;
 import com.github.dockerjava.api.command.InspectExecCmd;
 import com.github.dockerjava.api.command.InspectImageCmd;
+import com.github.dockerjava.api.command.InspectImageResponse;
 import com.github.dockerjava.api.command.InspectNetworkCmd;
 import com.github.dockerjava.api.command.InspectServiceCmd;
 import com.github.dockerjava.api.command.InspectSwarmCmd;
 import com.github.dockerjava.api.command.InspectVolumeCmd;
+import com.github.dockerjava.api.command.InspectVolumeResponse;
 import com.github.dockerjava.api.command.JoinSwarmCmd;
 import com.github.dockerjava.api.command.KillContainerCmd;
 import com.github.dockerjava.api.command.LeaveSwarmCmd;
@@ -81,6 +86,7 @@ import com.github.dockerjava.api.command.VersionCmd;
 import com.github.dockerjava.api.command.WaitContainerCmd;
 import com.github.dockerjava.api.model.AuthConfig;
 import com.github.dockerjava.api.model.Identifier;
+import com.github.dockerjava.api.model.Network;
 import com.github.dockerjava.api.model.PruneType;
 import com.github.dockerjava.api.model.SecretSpec;
 import com.github.dockerjava.api.model.ServiceSpec;
@@ -108,6 +114,7 @@ import com.github.dockerjava.core.command.ExecStartCmdImpl;
 import com.github.dockerjava.core.command.InfoCmdImpl;
 import com.github.dockerjava.core.command.InitializeSwarmCmdImpl;
 import com.github.dockerjava.core.command.InpectNetworkCmdImpl;
+import com.github.dockerjava.core.command.InspectBatchCmdImpl;
 import com.github.dockerjava.core.command.InspectConfigCmdImpl;
 import com.github.dockerjava.core.command.InspectContainerCmdImpl;
 import com.github.dockerjava.core.command.InspectExecCmdImpl;
@@ -170,6 +177,8 @@ import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collection;
+import java.util.concurrent.Executor;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -211,6 +220,19 @@ public class DockerClientImpl implements Closeable, DockerClient {
             .withHttpClient(dockerHttpClient);
     }
 
+    /**
+     * @param streamExecutor executor used to consume streaming responses, see
+     *                       {@link DefaultDockerCmdExecFactory#DefaultDockerCmdExecFactory(DockerHttpClient, ObjectMapper, Executor)}
+     */
+    public static DockerClient getInstance(
+        DockerClientConfig dockerClientConfig,
+        DockerHttpClient dockerHttpClient,
+        Executor streamExecutor
+    ) {
+        return new DockerClientImpl(dockerClientConfig)
+            .withHttpClient(dockerHttpClient, streamExecutor);
+    }
+
     /**
      *
      * @deprecated use {@link #getInstance(DockerClientConfig, DockerHttpClient)}
@@ -228,6 +250,12 @@ public class DockerClientImpl implements Closeable, DockerClient {
         return withDockerCmdExecFactory(new DefaultDockerCmdExecFactory(httpClient, dockerClientConfig.getObjectMapper()));
     }
 
+    DockerClientImpl withHttpClient(DockerHttpClient httpClient, Executor streamExecutor) {
+        return withDockerCmdExecFactory(
+            new DefaultDockerCmdExecFactory(httpClient, dockerClientConfig.getObjectMapper(), streamExecutor)
+        );
+    }
+
     /**
      *
      * @return {@link DockerHttpClient} or null if not set
@@ -370,6 +398,11 @@ public class DockerClientImpl implements Closeable, DockerClient {
         return new InspectImageCmdImpl(getDockerCmdExecFactory().createInspectImageCmdExec(), imageId);
     }
 
+    @Override
+    public InspectBatchCmd<InspectImageResponse> inspectImagesCmd(Collection<String> imageIds) {
+        return new InspectBatchCmdImpl<>(imageIds, this::inspectImageCmd);
+    }
+
     /**
      * * CONTAINER API *
      */
@@ -395,6 +428,11 @@ public class DockerClientImpl implements Closeable, DockerClient {
         return new InspectContainerCmdImpl(getDockerCmdExecFactory().createInspectContainerCmdExec(), containerId);
     }
 
+    @Override
+    public InspectBatchCmd<InspectContainerResponse> inspectContainersCmd(Collection<String> containerIds) {
+        return new InspectBatchCmdImpl<>(containerIds, this::inspectContainerCmd);
+    }
+
     @Override
     public ExecCreateCmd execCreateCmd(String containerId) {
         return new ExecCreateCmdImpl(getDockerCmdExecFactory().createExecCmdExec(), containerId);
@@ -495,12 +533,22 @@ public class DockerClientImpl implements Closeable, DockerClient {
 
     @Override
     public BuildImageCmd buildImageCmd() {
-        return new BuildImageCmdImpl(getDockerCmdExecFactory().createBuildImageCmdExec());
+        return withContextExecutor(new BuildImageCmdImpl(getDockerCmdExecFactory().createBuildImageCmdExec()));
     }
 
     @Override
     public BuildImageCmd buildImageCmd(File dockerFileOrFolder) {
-        return new BuildImageCmdImpl(getDockerCmdExecFactory().createBuildImageCmdExec(), dockerFileOrFolder);
+        return withContextExecutor(new BuildImageCmdImpl(getDockerCmdExecFactory().createBuildImageCmdExec(), dockerFileOrFolder));
+    }
+
+    /**
+     * Streamed contexts are written on a thread of the executor of the streaming responses.
+     */
+    private BuildImageCmdImpl withContextExecutor(BuildImageCmdImpl command) {
+        if (dockerCmdExecFactory instanceof DefaultDockerCmdExecFactory) {
+            command.withContextExecutor(((DefaultDockerCmdExecFactory) dockerCmdExecFactory).getStreamExecutor());
+        }
+        return command;
     }
 
     @Override
@@ -548,6 +596,11 @@ public class DockerClientImpl implements Closeable, DockerClient {
         return new InspectVolumeCmdImpl(getDockerCmdExecFactory().createInspectVolumeCmdExec(), name);
     }
 
+    @Override
+    public InspectBatchCmd<InspectVolumeResponse> inspectVolumesCmd(Collection<String> names) {
+        return new InspectBatchCmdImpl<>(names, this::inspectVolumeCmd);
+    }
+
     @Override
     public RemoveVolumeCmd removeVolumeCmd(String name) {
         return new RemoveVolumeCmdImpl(getDockerCmdExecFactory().createRemoveVolumeCmdExec(), name);
@@ -568,6 +621,11 @@ public class DockerClientImpl implements Closeable, DockerClient {
         return new InpectNetworkCmdImpl(getDockerCmdExecFactory().createInspectNetworkCmdExec());
     }
 
+    @Override
+    public InspectBatchCmd<Network> inspectNetworksCmd(Collection<String> networkIds) {
+        return new InspectBatchCmdImpl<>(networkIds, networkId -> inspectNetworkCmd().withNetworkId(networkId));
+    }
+
     @Override
     public CreateNetworkCmd createNetworkCmd() {
         return new CreateNetworkCmdImpl(getDockerCmdExecFactory().createCreateNetworkCmdExec());
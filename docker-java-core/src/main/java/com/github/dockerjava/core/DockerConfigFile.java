@@ -13,6 +13,7 @@ import javax.annotation.Nonnull;
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
@@ -150,6 +151,26 @@ public class DockerConfigFile {
         return dockerConfig;
     }
 
+    /**
+     * Returns the modification times and sizes of the files {@link #loadConfig(ObjectMapper, String)} reads, which change when
+     * one of the files is changed.
+     */
+    @Nonnull
+    static List<Long> fileState(@CheckForNull String dockerConfigPath) {
+        if (dockerConfigPath == null) {
+            return Collections.emptyList();
+        }
+
+        File dockerCfgFile = new File(dockerConfigPath, DOCKER_CFG);
+        File dockerLegacyCfgFile = new File(dockerConfigPath, DOCKER_LEGACY_CFG);
+        return Arrays.asList(
+            dockerCfgFile.lastModified(),
+            dockerCfgFile.length(),
+            dockerLegacyCfgFile.lastModified(),
+            dockerLegacyCfgFile.length()
+        );
+    }
+
     @CheckForNull
     private static DockerConfigFile loadCurrentConfig(ObjectMapper objectMapper, @CheckForNull String dockerConfigPath) throws IOException {
         File dockerCfgFile = new File(dockerConfigPath, DOCKER_CFG);
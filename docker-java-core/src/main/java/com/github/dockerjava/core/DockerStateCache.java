@@ -0,0 +1,549 @@
+package com.github.dockerjava.core;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.InspectVolumeResponse;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.model.Container;
+import com.github.dockerjava.api.model.Event;
+import com.github.dockerjava.api.model.EventType;
+import com.github.dockerjava.api.model.Image;
+import com.github.dockerjava.api.model.Network;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * In-memory mirror of the containers, images, networks and volumes of a docker host, so that reads do not need a round trip to
+ * the daemon.
+ *
+ * The cache subscribes to the events of the daemon first and then lists all objects. Each event refreshes only the object it
+ * mentions: containers are listed by id, networks and volumes are inspected, deleted objects are removed. Images cannot be listed
+ * by id, so image events other than <code>delete</code> list the images again. Refreshes run one by one on a single thread, in
+ * the order the daemon sent the events. Events for an object that is still waiting for its refresh are folded into that
+ * refresh, so at most one refresh per object is pending however fast events arrive.
+ *
+ * Once the events stream ends, the cache reconnects with <code>since</code> set to the time of the last event it applied, so the
+ * daemon replays the events that were missed in between. As the daemon keeps a limited number of past events, the cache also
+ * lists all objects again once it reconnected. Whether the view can be trusted is reported by {@link #isConnected()},
+ * {@link #getStalenessMillis()} and {@link #getPendingRefreshes()}.
+ */
+public final class DockerStateCache implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DockerStateCache.class);
+
+    /**
+     * Container events that do not change what the daemon lists for the container.
+     */
+    private static final Set<String> UNCHANGING_CONTAINER_ACTIONS = new HashSet<>(Arrays.asList(
+            "attach", "detach", "resize", "top", "export", "commit", "copy", "archive-path", "extract-to-dir"));
+
+    private final DockerClient dockerClient;
+
+    private final ScheduledExecutorService executor;
+
+    private final EventStream eventStream;
+
+    private final View<Container> containers = new View<>(Container::getId, DockerStateCache::containerNames,
+            Container::getLabels, Container::getState);
+
+    private final View<Image> images = new View<>(Image::getId, DockerStateCache::imageNames, Image::getLabels, null);
+
+    private final View<Network> networks = new View<>(Network::getId, network -> Collections.singleton(network.getName()),
+            Network::getLabels, null);
+
+    private final View<InspectVolumeResponse> volumes = new View<>(InspectVolumeResponse::getName, volume -> Collections.emptySet(),
+            InspectVolumeResponse::getLabels, null);
+
+    /**
+     * Whether the objects waiting for a refresh were removed by the latest event, by <code>type:id</code>, or
+     * <code>image:*</code> for listing all images.
+     */
+    private final ConcurrentMap<String, Boolean> pendingRefreshes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger pendingRefreshCount = new AtomicInteger();
+
+    private final AtomicLong events = new AtomicLong();
+
+    private final AtomicLong refreshes = new AtomicLong();
+
+    private volatile boolean closed;
+
+    private DockerStateCache(DockerClient dockerClient) {
+        this.dockerClient = checkNotNull(dockerClient, "dockerClient was not specified");
+
+        ScheduledThreadPoolExecutor scheduledExecutor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "docker-java-state-cache");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduledExecutor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.executor = scheduledExecutor;
+        this.eventStream = new EventStream(dockerClient, scheduledExecutor, new EventStream.Listener() {
+            @Override
+            public void onEvent(Event event) {
+                received(event);
+            }
+
+            @Override
+            public boolean shouldReconnect() {
+                return !closed;
+            }
+
+            @Override
+            public void onReconnected() {
+                // the daemon may have dropped some of the events that happened while disconnected
+                resync();
+            }
+        });
+    }
+
+    /**
+     * Subscribes to the events of the daemon and lists all objects, blocking until the cache is filled.
+     *
+     * @return the cache, which has to be closed once it is no longer used
+     */
+    public static DockerStateCache start(@Nonnull DockerClient dockerClient) {
+        DockerStateCache cache = new DockerStateCache(dockerClient);
+        try {
+            cache.executor.submit(cache::connect).get();
+        } catch (InterruptedException e) {
+            cache.close();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            cache.close();
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+        return cache;
+    }
+
+    public View<Container> containers() {
+        return containers;
+    }
+
+    public View<Image> images() {
+        return images;
+    }
+
+    public View<Network> networks() {
+        return networks;
+    }
+
+    /**
+     * @return volumes, which are identified by their name
+     */
+    public View<InspectVolumeResponse> volumes() {
+        return volumes;
+    }
+
+    /**
+     * Lists all objects again, after events may have been missed. Events received meanwhile are applied afterwards.
+     */
+    public void resync() {
+        executor.execute(this::load);
+    }
+
+    /**
+     * @return whether the events stream is currently open
+     */
+    public boolean isConnected() {
+        return eventStream.isConnected();
+    }
+
+    /**
+     * @return milliseconds since the events stream was lost, <code>0</code> while it is open
+     */
+    public long getStalenessMillis() {
+        return isConnected() || closed ? 0 : Math.max(0, System.currentTimeMillis() - eventStream.getDisconnectedAtMillis());
+    }
+
+    /**
+     * @return daemon time of the last event that was received in nanoseconds since the epoch, <code>0</code> if there was none
+     */
+    public long getLastEventTimeNanos() {
+        return eventStream.getLastEventTimeNanos();
+    }
+
+    /**
+     * @return number of objects that were mentioned by events but not refreshed yet
+     */
+    public int getPendingRefreshes() {
+        return pendingRefreshCount.get();
+    }
+
+    /**
+     * @return number of events that were received
+     */
+    public long getEvents() {
+        return events.get();
+    }
+
+    /**
+     * @return number of requests that were sent to refresh objects mentioned by events
+     */
+    public long getRefreshes() {
+        return refreshes.get();
+    }
+
+    /**
+     * @return number of times the events stream was opened again
+     */
+    public long getReconnects() {
+        return eventStream.getReconnects();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        eventStream.close();
+        executor.shutdownNow();
+    }
+
+    private void connect() {
+        eventStream.connect();
+        // objects are listed after subscribing, so changes in between are reported by events applied afterwards
+        load();
+    }
+
+    private void load() {
+        containers.replaceAll(dockerClient.listContainersCmd().withShowAll(true).exec());
+        images.replaceAll(dockerClient.listImagesCmd().exec());
+        networks.replaceAll(dockerClient.listNetworksCmd().exec());
+        List<InspectVolumeResponse> volumeList = dockerClient.listVolumesCmd().exec().getVolumes();
+        volumes.replaceAll(volumeList != null ? volumeList : Collections.emptyList());
+    }
+
+    private void received(Event event) {
+        try {
+            String action = event.getAction() != null ? event.getAction() : event.getStatus();
+            String id = event.getActor() != null && event.getActor().getId() != null ? event.getActor().getId() : event.getId();
+            if (event.getType() != null && action != null && id != null) {
+                schedule(event.getType(), action, id, event);
+            }
+        } finally {
+            events.incrementAndGet();
+        }
+    }
+
+    private void schedule(EventType type, String action, String id, Event event) {
+        switch (type) {
+            case CONTAINER:
+                if (!action.startsWith("exec_") && !UNCHANGING_CONTAINER_ACTIONS.contains(action)) {
+                    schedule("container:" + id, "destroy".equals(action));
+                }
+                break;
+            case IMAGE:
+                if ("delete".equals(action)) {
+                    schedule("image:" + id, true);
+                } else if (!"push".equals(action) && !"save".equals(action)) {
+                    schedule("image:*", false);
+                }
+                break;
+            case NETWORK:
+                schedule("network:" + id, "destroy".equals(action) || "remove".equals(action));
+                Map<String, String> attributes = event.getActor() != null ? event.getActor().getAttributes() : null;
+                if (attributes != null && attributes.get("container") != null) {
+                    // the network settings of the container changed on connect and disconnect
+                    schedule("container:" + attributes.get("container"), false);
+                }
+                break;
+            case VOLUME:
+                if (!"mount".equals(action) && !"unmount".equals(action)) {
+                    schedule("volume:" + id, "destroy".equals(action));
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Schedules the refresh of an object unless it is pending already, in which case only the latest event decides whether it
+     * is removed.
+     */
+    private void schedule(String key, boolean removed) {
+        if (pendingRefreshes.put(key, removed) != null) {
+            return;
+        }
+        pendingRefreshCount.incrementAndGet();
+        try {
+            executor.execute(() -> refresh(key));
+        } catch (RejectedExecutionException e) {
+            pendingRefreshes.remove(key);
+            pendingRefreshCount.decrementAndGet();
+        }
+    }
+
+    private void refresh(String key) {
+        try {
+            boolean removed = pendingRefreshes.remove(key);
+            int separator = key.indexOf(':');
+            String type = key.substring(0, separator);
+            String id = key.substring(separator + 1);
+            refresh(type, id, removed);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to refresh {} after events", key, e);
+        } finally {
+            pendingRefreshCount.decrementAndGet();
+        }
+    }
+
+    private void refresh(String type, String id, boolean removed) {
+        switch (type) {
+            case "container":
+                if (removed) {
+                    containers.remove(id);
+                } else {
+                    refreshContainer(id);
+                }
+                break;
+            case "image":
+                if (removed) {
+                    images.remove(id);
+                } else {
+                    refreshes.incrementAndGet();
+                    images.replaceAll(dockerClient.listImagesCmd().exec());
+                }
+                break;
+            case "network":
+                if (removed) {
+                    networks.remove(id);
+                } else {
+                    refreshNetwork(id);
+                }
+                break;
+            case "volume":
+                if (removed) {
+                    volumes.remove(id);
+                } else {
+                    refreshVolume(id);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void refreshContainer(String id) {
+        refreshes.incrementAndGet();
+        List<Container> containerList = dockerClient.listContainersCmd()
+                .withShowAll(true)
+                .withIdFilter(Collections.singleton(id))
+                .exec();
+        if (containerList.isEmpty()) {
+            containers.remove(id);
+        } else {
+            containerList.forEach(containers::put);
+        }
+    }
+
+    private void refreshNetwork(String id) {
+        refreshes.incrementAndGet();
+        try {
+            networks.put(dockerClient.inspectNetworkCmd().withNetworkId(id).exec());
+        } catch (NotFoundException e) {
+            networks.remove(id);
+        }
+    }
+
+    private void refreshVolume(String name) {
+        refreshes.incrementAndGet();
+        try {
+            volumes.put(dockerClient.inspectVolumeCmd(name).exec());
+        } catch (NotFoundException e) {
+            volumes.remove(name);
+        }
+    }
+
+    private static Collection<String> containerNames(Container container) {
+        Set<String> names = new HashSet<>();
+        if (container.getNames() != null) {
+            for (String name : container.getNames()) {
+                names.add(name.startsWith("/") ? name.substring(1) : name);
+            }
+        }
+        return names;
+    }
+
+    private static Collection<String> imageNames(Image image) {
+        Set<String> names = new HashSet<>();
+        if (image.getRepoTags() != null) {
+            for (String repoTag : image.getRepoTags()) {
+                if (!"<none>:<none>".equals(repoTag)) {
+                    names.add(repoTag);
+                }
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Indexed view of one kind of object. Objects are looked up by id or name, by label or by status (the state of containers
+     * like <code>running</code> or <code>exited</code>). Reads do not block, the returned lists are snapshots.
+     */
+    public static final class View<T> {
+
+        private final Function<T, String> idFunction;
+
+        private final Function<T, Collection<String>> namesFunction;
+
+        private final Function<T, Map<String, String>> labelsFunction;
+
+        private final Function<T, String> statusFunction;
+
+        private final ConcurrentMap<String, T> byId = new ConcurrentHashMap<>();
+
+        // ids by "name:<name>", "label:<key>", "label:<key>=<value>" and "status:<status>"
+        private final ConcurrentMap<String, Set<String>> index = new ConcurrentHashMap<>();
+
+        private View(Function<T, String> idFunction, Function<T, Collection<String>> namesFunction,
+                Function<T, Map<String, String>> labelsFunction, Function<T, String> statusFunction) {
+            this.idFunction = idFunction;
+            this.namesFunction = namesFunction;
+            this.labelsFunction = labelsFunction;
+            this.statusFunction = statusFunction;
+        }
+
+        /**
+         * @return the object with the given id or name, <code>null</code> if there is none
+         */
+        @CheckForNull
+        public T get(@Nonnull String idOrName) {
+            T object = byId.get(idOrName);
+            if (object == null) {
+                List<T> named = lookup("name:" + idOrName);
+                object = named.isEmpty() ? null : named.get(0);
+            }
+            return object;
+        }
+
+        public List<T> getAll() {
+            return Collections.unmodifiableList(new ArrayList<>(byId.values()));
+        }
+
+        /**
+         * @return objects that have a label with the given key
+         */
+        public List<T> getByLabel(@Nonnull String key) {
+            return lookup("label:" + key);
+        }
+
+        /**
+         * @return objects that have a label with the given key and value
+         */
+        public List<T> getByLabel(@Nonnull String key, @Nonnull String value) {
+            return lookup("label:" + key + "=" + value);
+        }
+
+        public List<T> getByStatus(@Nonnull String status) {
+            return lookup("status:" + status);
+        }
+
+        public int size() {
+            return byId.size();
+        }
+
+        private List<T> lookup(String key) {
+            Set<String> ids = index.get(key);
+            if (ids == null) {
+                return Collections.emptyList();
+            }
+            List<T> objects = new ArrayList<>(ids.size());
+            for (String id : ids) {
+                T object = byId.get(id);
+                if (object != null) {
+                    objects.add(object);
+                }
+            }
+            return Collections.unmodifiableList(objects);
+        }
+
+        synchronized void put(T object) {
+            String id = idFunction.apply(object);
+            T previous = byId.put(id, object);
+            reindex(id, previous, object);
+        }
+
+        synchronized void remove(String id) {
+            T previous = byId.remove(id);
+            if (previous != null) {
+                reindex(id, previous, null);
+            }
+        }
+
+        synchronized void replaceAll(Collection<T> objects) {
+            Set<String> ids = new HashSet<>();
+            for (T object : objects) {
+                ids.add(idFunction.apply(object));
+                put(object);
+            }
+            for (String id : new ArrayList<>(byId.keySet())) {
+                if (!ids.contains(id)) {
+                    remove(id);
+                }
+            }
+        }
+
+        // keys of the current object are added before stale keys are removed, so readers never miss an unchanged key
+        private void reindex(String id, T previous, T current) {
+            Set<String> currentKeys = current != null ? keys(current) : Collections.emptySet();
+            for (String key : currentKeys) {
+                index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+            if (previous != null) {
+                for (String key : keys(previous)) {
+                    if (!currentKeys.contains(key)) {
+                        Set<String> ids = index.get(key);
+                        if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                            index.remove(key, ids);
+                        }
+                    }
+                }
+            }
+        }
+
+        private Set<String> keys(T object) {
+            Set<String> keys = new HashSet<>();
+            for (String name : namesFunction.apply(object)) {
+                keys.add("name:" + name);
+            }
+            Map<String, String> labels = labelsFunction.apply(object);
+            if (labels != null) {
+                for (Map.Entry<String, String> label : labels.entrySet()) {
+                    keys.add("label:" + label.getKey());
+                    keys.add("label:" + label.getKey() + "=" + label.getValue());
+                }
+            }
+            String status = statusFunction != null ? statusFunction.apply(object) : null;
+            if (status != null) {
+                keys.add("status:" + status);
+            }
+            return keys;
+        }
+    }
+}
@@ -0,0 +1,552 @@
+package com.github.dockerjava.core;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.EventsCmd;
+import com.github.dockerjava.api.model.Event;
+import com.github.dockerjava.api.model.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Shares one subscription to the events of the daemon between many subscribers in the same JVM. Each event is received and
+ * decoded once and then passed to the subscribers whose {@link Filter} matches it.
+ *
+ * The events stream is opened by the first subscription and closed once the last one was closed. When it ends while there
+ * are subscriptions, the hub reconnects with <code>since</code> set to the time of the last event it received. Events that the
+ * daemon replays up to that one are not passed on twice.
+ *
+ * Every subscription has a bounded queue and receives its events on a thread of a pool of the hub, one event at a time. Events
+ * that do not fit into the queue of a slow subscriber are dropped for that subscriber and counted by
+ * {@link Subscription#getDroppedEvents()}, so it does not delay the events stream. The pool is bounded, see
+ * {@link #create(DockerClient, int)}. A subscriber hands its thread over to the others after a batch of events, but one that
+ * blocks in {@link ResultCallback#onNext(Object)} keeps its thread until it returns.
+ */
+public final class EventHub implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventHub.class);
+
+    private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+    // events passed to a subscriber before the thread is handed over to the other subscribers
+    private static final int DISPATCH_BATCH = 64;
+
+    // opens and closes the events stream
+    private final ScheduledExecutorService executor;
+
+    private final EventStream eventStream;
+
+    // passes the events to the subscriptions
+    private final ExecutorService dispatcher;
+
+    // guarded by this
+    private final List<Subscription> subscriptions = new ArrayList<>();
+
+    private volatile Index index = new Index(Collections.emptyList());
+
+    private final AtomicLong events = new AtomicLong();
+
+    private final List<Runnable> reconnectListeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean closed;
+
+    private EventHub(DockerClient dockerClient, int dispatcherThreads) {
+        checkNotNull(dockerClient, "dockerClient was not specified");
+        checkArgument(dispatcherThreads > 0, "dispatcherThreads must be positive");
+
+        ScheduledThreadPoolExecutor scheduledExecutor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "docker-java-event-hub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduledExecutor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.executor = scheduledExecutor;
+        this.eventStream = new EventStream(dockerClient, scheduledExecutor, new EventStream.Listener() {
+            @Override
+            public void onEvent(Event event) {
+                events.incrementAndGet();
+                index.dispatch(event);
+            }
+
+            @Override
+            public boolean shouldReconnect() {
+                return hasSubscriptions();
+            }
+
+            @Override
+            public void onReconnected() {
+                for (Runnable listener : reconnectListeners) {
+                    try {
+                        listener.run();
+                    } catch (RuntimeException e) {
+                        LOGGER.warn("Reconnect listener failed", e);
+                    }
+                }
+            }
+        });
+
+        AtomicInteger threads = new AtomicInteger();
+        ThreadPoolExecutor dispatcherExecutor = new ThreadPoolExecutor(dispatcherThreads, dispatcherThreads, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(), runnable -> {
+                Thread thread = new Thread(runnable, "docker-java-event-hub-dispatcher-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        dispatcherExecutor.allowCoreThreadTimeOut(true);
+        this.dispatcher = dispatcherExecutor;
+    }
+
+    /**
+     * @return the hub, which does not connect before the first subscription and has to be closed once it is no longer used
+     */
+    public static EventHub create(@Nonnull DockerClient dockerClient) {
+        return create(dockerClient, Math.max(4, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * @param dispatcherThreads
+     *            number of subscribers that are passed events at the same time, the default is one per processor but at least 4
+     * @return the hub, which does not connect before the first subscription and has to be closed once it is no longer used
+     */
+    public static EventHub create(@Nonnull DockerClient dockerClient, int dispatcherThreads) {
+        return new EventHub(dockerClient, dispatcherThreads);
+    }
+
+    /**
+     * Subscribes to all events.
+     *
+     * @see #subscribe(Filter, int, ResultCallback)
+     */
+    public Subscription subscribe(@Nonnull ResultCallback<Event> callback) {
+        return subscribe(new Filter(), DEFAULT_QUEUE_CAPACITY, callback);
+    }
+
+    /**
+     * Subscribes to the events matching <code>filter</code> with a queue of 1024 events.
+     *
+     * @see #subscribe(Filter, int, ResultCallback)
+     */
+    public Subscription subscribe(@Nonnull Filter filter, @Nonnull ResultCallback<Event> callback) {
+        return subscribe(filter, DEFAULT_QUEUE_CAPACITY, callback);
+    }
+
+    /**
+     * Subscribes to the events matching <code>filter</code>, blocking until the events stream is open. The returned subscription
+     * is also passed to {@link ResultCallback#onStart(Closeable)}, closing it ends the subscription.
+     * {@link ResultCallback#onComplete()} is called once the hub was closed.
+     *
+     * @param queueCapacity
+     *            number of events that are kept for the subscriber while it handles an earlier one,
+     *            {@link Integer#MAX_VALUE} for a queue that grows as needed and never drops events
+     */
+    public Subscription subscribe(@Nonnull Filter filter, int queueCapacity, @Nonnull ResultCallback<Event> callback) {
+        checkNotNull(filter, "filter was not specified");
+        checkNotNull(callback, "callback was not specified");
+        checkArgument(queueCapacity > 0, "queueCapacity must be positive");
+
+        Subscription subscription = new Subscription(filter, queueCapacity, callback);
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("EventHub was closed");
+            }
+            subscriptions.add(subscription);
+            index = new Index(subscriptions);
+        }
+        callback.onStart(subscription);
+
+        try {
+            executor.submit(this::ensureConnected).get();
+        } catch (InterruptedException e) {
+            subscription.close();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            subscription.close();
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (RejectedExecutionException e) {
+            subscription.close();
+            throw new IllegalStateException("EventHub was closed");
+        }
+        return subscription;
+    }
+
+    /**
+     * @return whether the events stream is currently open
+     */
+    public boolean isConnected() {
+        return eventStream.isConnected();
+    }
+
+    public synchronized int getSubscriptionCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * @return number of events that were received from the daemon, each one is counted once however many subscribers it matched
+     */
+    public long getEvents() {
+        return events.get();
+    }
+
+    /**
+     * @return number of times the events stream was opened again after it ended
+     */
+    public long getReconnects() {
+        return eventStream.getReconnects();
+    }
+
+    /**
+     * @return daemon time of the last event that was received in nanoseconds since the epoch, <code>0</code> if there was none
+     */
+    public long getLastEventTimeNanos() {
+        return eventStream.getLastEventTimeNanos();
+    }
+
+    /**
+     * Closes the events stream and ends all subscriptions.
+     */
+    @Override
+    public void close() {
+        List<Subscription> ended;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            ended = new ArrayList<>(subscriptions);
+            subscriptions.clear();
+            index = new Index(Collections.emptyList());
+        }
+        eventStream.close();
+        executor.shutdownNow();
+        for (Subscription subscription : ended) {
+            subscription.end();
+        }
+        dispatcher.shutdown();
+    }
+
+    /**
+     * @param listener
+     *            called on the thread of the hub each time the events stream was opened again after it ended
+     */
+    void addReconnectListener(Runnable listener) {
+        reconnectListeners.add(listener);
+    }
+
+    void removeReconnectListener(Runnable listener) {
+        reconnectListeners.remove(listener);
+    }
+
+    private synchronized boolean hasSubscriptions() {
+        return !subscriptions.isEmpty();
+    }
+
+    private void unsubscribe(Subscription subscription) {
+        synchronized (this) {
+            if (!subscriptions.remove(subscription)) {
+                return;
+            }
+            index = new Index(subscriptions);
+            if (!subscriptions.isEmpty()) {
+                return;
+            }
+        }
+        try {
+            executor.execute(this::disconnectIfUnused);
+        } catch (RejectedExecutionException e) {
+            LOGGER.debug("EventHub was closed");
+        }
+    }
+
+    private void ensureConnected() {
+        if (closed || eventStream.isOpen() || !hasSubscriptions()) {
+            return;
+        }
+        eventStream.connect();
+    }
+
+    private void disconnectIfUnused() {
+        if (!hasSubscriptions()) {
+            // the next subscribers are not interested in the events that happened meanwhile
+            eventStream.disconnect();
+        }
+    }
+
+    private static String action(Event event) {
+        return event.getAction() != null ? event.getAction() : event.getStatus();
+    }
+
+    /**
+     * @return the action without its arguments, like <code>exec_start</code> of <code>exec_start: sh -c true</code>
+     */
+    private static String actionName(String action) {
+        int separator = action.indexOf(':');
+        return separator < 0 ? action : action.substring(0, separator);
+    }
+
+    private static String key(String type, String action) {
+        return type + "/" + action;
+    }
+
+    /**
+     * Selects events by type, action and label, like the filters of {@link EventsCmd} but evaluated in the client. Values given
+     * for the same filter are alternatives, an event has to match all filters that were given.
+     */
+    public static final class Filter {
+
+        private final Set<String> types = new HashSet<>();
+
+        private final Set<String> actions = new HashSet<>();
+
+        // a null value matches any value of the label
+        private final Map<String, String> labels = new HashMap<>();
+
+        public Filter withEventTypeFilter(EventType... eventTypes) {
+            checkNotNull(eventTypes, "eventTypes was not specified");
+            for (EventType eventType : eventTypes) {
+                types.add(eventType.getValue());
+            }
+            return this;
+        }
+
+        /**
+         * @param events
+         *            - actions like <code>die</code> or <code>pull</code>, which like the filter of the daemon also match the
+         *            actions with arguments such as <code>exec_start: sh -c true</code>
+         */
+        public Filter withEventFilter(String... events) {
+            checkNotNull(events, "events was not specified");
+            actions.addAll(Arrays.asList(events));
+            return this;
+        }
+
+        /**
+         * @param labels
+         *            - <code>key</code> or <code>key=value</code> of labels the actor of the event has to have
+         */
+        public Filter withLabelFilter(String... labels) {
+            checkNotNull(labels, "labels was not specified");
+            for (String label : labels) {
+                int separator = label.indexOf('=');
+                if (separator < 0) {
+                    this.labels.put(label, null);
+                } else {
+                    this.labels.put(label.substring(0, separator), label.substring(separator + 1));
+                }
+            }
+            return this;
+        }
+
+        public Filter withLabelFilter(Map<String, String> labels) {
+            checkNotNull(labels, "labels was not specified");
+            this.labels.putAll(labels);
+            return this;
+        }
+    }
+
+    /**
+     * Subscription of one subscriber, closing it ends the subscription.
+     */
+    public final class Subscription implements Closeable {
+
+        private final ResultCallback<Event> callback;
+
+        // keys of the index this subscription is registered with
+        private final Set<String> keys = new HashSet<>();
+
+        // actions with arguments have to match exactly, empty for any action
+        private final Set<String> actions;
+
+        private final Map<String, String> labels;
+
+        private final BlockingQueue<Event> queue;
+
+        // non-zero while events are passed to the callback, so that only one thread does that at a time
+        private final AtomicInteger drainers = new AtomicInteger();
+
+        private final AtomicBoolean ended = new AtomicBoolean();
+
+        private final AtomicLong droppedEvents = new AtomicLong();
+
+        private Subscription(Filter filter, int queueCapacity, ResultCallback<Event> callback) {
+            this.callback = callback;
+            this.actions = new HashSet<>(filter.actions);
+            this.labels = new HashMap<>(filter.labels);
+            this.queue = queueCapacity == Integer.MAX_VALUE ? new LinkedBlockingQueue<>() : new ArrayBlockingQueue<>(queueCapacity);
+            for (String type : filter.types.isEmpty() ? Collections.singleton("*") : filter.types) {
+                for (String action : filter.actions.isEmpty() ? Collections.singleton("*") : filter.actions) {
+                    keys.add(key(type, actionName(action)));
+                }
+            }
+        }
+
+        /**
+         * @return number of events that matched but were dropped as the queue was full
+         */
+        public long getDroppedEvents() {
+            return droppedEvents.get();
+        }
+
+        /**
+         * @return number of events waiting to be passed to the subscriber
+         */
+        public int getQueuedEvents() {
+            return queue.size();
+        }
+
+        @Override
+        public void close() {
+            if (ended.compareAndSet(false, true)) {
+                queue.clear();
+                unsubscribe(this);
+            }
+        }
+
+        private void end() {
+            if (ended.compareAndSet(false, true)) {
+                queue.clear();
+                callback.onComplete();
+            }
+        }
+
+        private boolean matches(Event event) {
+            if (!actions.isEmpty()) {
+                String action = action(event);
+                if (action == null || !actions.contains(action) && !actions.contains(actionName(action))) {
+                    return false;
+                }
+            }
+            if (labels.isEmpty()) {
+                return true;
+            }
+            Map<String, String> attributes = event.getActor() != null ? event.getActor().getAttributes() : null;
+            if (attributes == null) {
+                return false;
+            }
+            for (Map.Entry<String, String> label : labels.entrySet()) {
+                String value = attributes.get(label.getKey());
+                if (value == null || label.getValue() != null && !label.getValue().equals(value)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void offer(Event event) {
+            if (ended.get()) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                droppedEvents.incrementAndGet();
+                return;
+            }
+            if (drainers.getAndIncrement() == 0) {
+                try {
+                    dispatcher.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    drainers.set(0);
+                }
+            }
+        }
+
+        private void drain() {
+            int handled = 0;
+            do {
+                for (Event event = queue.poll(); event != null && !ended.get(); event = queue.poll()) {
+                    try {
+                        callback.onNext(event);
+                    } catch (RuntimeException e) {
+                        LOGGER.warn("Subscriber failed to handle event {}", event, e);
+                    }
+                    if (++handled == DISPATCH_BATCH && !queue.isEmpty()) {
+                        // continue behind the subscriptions that are waiting for a thread, drainers stays non-zero meanwhile
+                        try {
+                            dispatcher.execute(this::drain);
+                        } catch (RejectedExecutionException e) {
+                            drainers.set(0);
+                        }
+                        return;
+                    }
+                }
+            } while (drainers.decrementAndGet() != 0);
+        }
+    }
+
+    /**
+     * Subscriptions by <code>type/action</code>, where either part can be <code>*</code>. A subscription is registered with keys
+     * of only one of these shapes, so looking up the four keys of an event finds it at most once.
+     */
+    private static final class Index {
+
+        private final Map<String, List<Subscription>> subscriptions = new HashMap<>();
+
+        Index(List<Subscription> all) {
+            for (Subscription subscription : all) {
+                for (String key : subscription.keys) {
+                    subscriptions.computeIfAbsent(key, k -> new ArrayList<>()).add(subscription);
+                }
+            }
+        }
+
+        void dispatch(Event event) {
+            if (subscriptions.isEmpty()) {
+                return;
+            }
+            String type = event.getType() != null ? event.getType().getValue() : null;
+            String action = action(event) != null ? actionName(action(event)) : null;
+            if (type != null && action != null) {
+                dispatch(key(type, action), event);
+            }
+            if (type != null) {
+                dispatch(key(type, "*"), event);
+            }
+            if (action != null) {
+                dispatch(key("*", action), event);
+            }
+            dispatch(key("*", "*"), event);
+        }
+
+        private void dispatch(String key, Event event) {
+            List<Subscription> matching = subscriptions.get(key);
+            if (matching == null) {
+                return;
+            }
+            for (Subscription subscription : matching) {
+                if (subscription.matches(event)) {
+                    subscription.offer(event);
+                }
+            }
+        }
+    }
+}
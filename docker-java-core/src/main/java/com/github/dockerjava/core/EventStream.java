@@ -0,0 +1,355 @@
+package com.github.dockerjava.core;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.EventsCmd;
+import com.github.dockerjava.api.model.Event;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Events stream of the daemon that is opened again once it ended, with <code>since</code> set to the time of the last event
+ * that was received, so that the daemon replays the events that were missed in between. Of the replayed events, the ones before
+ * that time and the ones at that time which were already received are not passed on twice, all others are passed on even if
+ * they share their time with another event. Reconnects are retried with a delay that doubles from 100 milliseconds up to 30
+ * seconds.
+ *
+ * {@link #connect()} and {@link #disconnect()} have to be called on the single thread of the executor, which also runs the
+ * reconnects.
+ */
+final class EventStream {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventStream.class);
+
+    private static final long INITIAL_RECONNECT_DELAY_MILLIS = 100;
+
+    private static final long MAX_RECONNECT_DELAY_MILLIS = 30_000;
+
+    interface Listener {
+
+        /**
+         * Called on the thread reading the events stream for each event that was not passed on before.
+         */
+        void onEvent(Event event);
+
+        /**
+         * Called on the executor once the stream ended, and again before it is opened again.
+         *
+         * @return whether the stream should be opened again
+         */
+        boolean shouldReconnect();
+
+        /**
+         * Called on the executor once the stream was opened again, events that happened in between may have been missed if the
+         * daemon did not keep them.
+         */
+        default void onReconnected() {
+        }
+    }
+
+    private final DockerClient dockerClient;
+
+    private final ScheduledExecutorService executor;
+
+    private final Listener listener;
+
+    private final AtomicLong reconnects = new AtomicLong();
+
+    // only replaced by the executor thread
+    private volatile EventsCallback eventsCallback;
+
+    private volatile boolean connected;
+
+    private volatile boolean closed;
+
+    private volatile long disconnectedAtMillis;
+
+    private volatile long lastEventTimeNanos;
+
+    // guarded by this, keys of the events received at lastEventTimeNanos
+    private final Set<String> lastEventKeys = new HashSet<>();
+
+    // only accessed by the executor thread
+    private long reconnectDelayMillis = INITIAL_RECONNECT_DELAY_MILLIS;
+
+    EventStream(DockerClient dockerClient, ScheduledExecutorService executor, Listener listener) {
+        this.dockerClient = dockerClient;
+        this.executor = executor;
+        this.listener = listener;
+    }
+
+    /**
+     * @return whether the stream is open or being opened
+     */
+    boolean isOpen() {
+        return eventsCallback != null;
+    }
+
+    boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * @return time the stream was lost at, only meaningful while it is not connected
+     */
+    long getDisconnectedAtMillis() {
+        return disconnectedAtMillis;
+    }
+
+    long getReconnects() {
+        return reconnects.get();
+    }
+
+    long getLastEventTimeNanos() {
+        return lastEventTimeNanos;
+    }
+
+    /**
+     * Opens the stream, blocking until the daemon accepted it.
+     */
+    void connect() {
+        long since;
+        Set<String> replayedKeys;
+        synchronized (this) {
+            since = lastEventTimeNanos;
+            replayedKeys = new HashSet<>(lastEventKeys);
+        }
+        EventsCallback callback = new EventsCallback(since, replayedKeys);
+        eventsCallback = callback;
+        try {
+            EventsCmd eventsCmd = dockerClient.eventsCmd();
+            if (since != 0) {
+                eventsCmd.withSince(since / 1_000_000_000 + "." + String.format("%09d", since % 1_000_000_000));
+            }
+            eventsCmd.exec(callback);
+            callback.awaitStarted();
+        } catch (RuntimeException e) {
+            eventsCallback = null;
+            callback.close();
+            throw e;
+        }
+        connected = true;
+        reconnectDelayMillis = INITIAL_RECONNECT_DELAY_MILLIS;
+    }
+
+    /**
+     * Closes the stream without opening it again. The next {@link #connect()} starts with the events that happen from then on.
+     */
+    void disconnect() {
+        synchronized (this) {
+            lastEventTimeNanos = 0;
+            lastEventKeys.clear();
+        }
+        EventsCallback callback = eventsCallback;
+        if (callback == null) {
+            return;
+        }
+        eventsCallback = null;
+        connected = false;
+        callback.close();
+    }
+
+    /**
+     * Closes the stream for good, may be called on any thread.
+     */
+    void close() {
+        closed = true;
+        connected = false;
+        EventsCallback callback = eventsCallback;
+        if (callback != null) {
+            callback.close();
+        }
+    }
+
+    private void disconnected(EventsCallback callback) {
+        if (closed || callback != eventsCallback) {
+            return;
+        }
+        eventsCallback = null;
+        connected = false;
+        disconnectedAtMillis = System.currentTimeMillis();
+        if (listener.shouldReconnect()) {
+            scheduleReconnect();
+        }
+    }
+
+    private void scheduleReconnect() {
+        long delay = reconnectDelayMillis;
+        reconnectDelayMillis = Math.min(2 * delay, MAX_RECONNECT_DELAY_MILLIS);
+        try {
+            executor.schedule(this::reconnect, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            LOGGER.debug("Events stream was closed, not reconnecting");
+        }
+    }
+
+    private void reconnect() {
+        if (closed || eventsCallback != null || !listener.shouldReconnect()) {
+            return;
+        }
+        try {
+            connect();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to reconnect to the events of the docker daemon", e);
+            scheduleReconnect();
+            return;
+        }
+        reconnects.incrementAndGet();
+        listener.onReconnected();
+    }
+
+    private void received(EventsCallback callback, Event event) {
+        long timeNanos = timeNanos(event);
+        if (timeNanos != 0) {
+            String key = key(event);
+            if (callback.isReplayed(timeNanos, key)) {
+                return;
+            }
+            synchronized (this) {
+                if (timeNanos > lastEventTimeNanos) {
+                    lastEventTimeNanos = timeNanos;
+                    lastEventKeys.clear();
+                }
+                if (timeNanos == lastEventTimeNanos) {
+                    lastEventKeys.add(key);
+                }
+            }
+        }
+        listener.onEvent(event);
+    }
+
+    /**
+     * @return what tells events of the same time apart
+     */
+    private static String key(Event event) {
+        String id = event.getActor() != null ? event.getActor().getId() : event.getId();
+        String action = event.getAction() != null ? event.getAction() : event.getStatus();
+        return event.getType() + " " + id + " " + action;
+    }
+
+    static long timeNanos(Event event) {
+        if (event.getTimeNano() != null) {
+            return event.getTimeNano();
+        } else if (event.getTime() != null) {
+            return TimeUnit.SECONDS.toNanos(event.getTime());
+        }
+        return 0;
+    }
+
+    private final class EventsCallback implements ResultCallback<Event> {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private final AtomicBoolean ended = new AtomicBoolean();
+
+        private volatile Closeable stream;
+
+        private volatile Throwable error;
+
+        // only accessed by the thread reading the stream once it was started, 0 once all replayed events were received
+        private long replayedUntilNanos;
+
+        private final Set<String> replayedKeys;
+
+        EventsCallback(long replayedUntilNanos, Set<String> replayedKeys) {
+            this.replayedUntilNanos = replayedUntilNanos;
+            this.replayedKeys = replayedKeys;
+        }
+
+        /**
+         * @return whether the event was received before reconnecting
+         */
+        boolean isReplayed(long timeNanos, String key) {
+            if (replayedUntilNanos == 0) {
+                return false;
+            } else if (timeNanos < replayedUntilNanos) {
+                return true;
+            } else if (timeNanos == replayedUntilNanos) {
+                return replayedKeys.contains(key);
+            }
+            replayedUntilNanos = 0;
+            return false;
+        }
+
+        @Override
+        public void onStart(Closeable closeable) {
+            stream = closeable;
+            started.countDown();
+        }
+
+        @Override
+        public void onNext(Event event) {
+            if (!ended.get()) {
+                received(this, event);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            if (!ended.get()) {
+                error = throwable;
+                LOGGER.debug("Events stream failed", throwable);
+            }
+            onComplete();
+        }
+
+        @Override
+        public void onComplete() {
+            if (ended.compareAndSet(false, true)) {
+                started.countDown();
+                closeStream();
+                try {
+                    executor.execute(() -> disconnected(this));
+                } catch (RejectedExecutionException e) {
+                    LOGGER.debug("Events stream was closed, not reconnecting");
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+            ended.set(true);
+            started.countDown();
+            closeStream();
+        }
+
+        void awaitStarted() {
+            try {
+                started.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+            Throwable throwable = error;
+            if (throwable instanceof RuntimeException) {
+                throw (RuntimeException) throwable;
+            } else if (throwable != null) {
+                throw new RuntimeException(throwable);
+            } else if (ended.get()) {
+                throw new IllegalStateException("Events stream ended before it was started");
+            }
+        }
+
+        private void closeStream() {
+            Closeable closeable = stream;
+            if (closeable != null) {
+                try {
+                    closeable.close();
+                } catch (IOException e) {
+                    LOGGER.debug("Failed to close events stream", e);
+                }
+            }
+        }
+    }
+}
@@ -1,18 +1,30 @@
 package com.github.dockerjava.core;
 
+import com.github.dockerjava.api.async.FramePayloadCallback;
 import com.github.dockerjava.api.async.ResultCallback;
 import com.github.dockerjava.api.model.Frame;
 import com.github.dockerjava.api.model.StreamType;
 import com.github.dockerjava.transport.DockerHttpClient;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.function.Consumer;
 
 class FramedInputStreamConsumer implements Consumer<DockerHttpClient.Response> {
 
+    private static final int HEADER_SIZE = 8;
+
+    private static final int FRAME_CHUNK_SIZE = 1024;
+
+    private static final int PAYLOAD_BUFFER_SIZE = 8192;
+
     private final ResultCallback<Frame> resultCallback;
 
+    private final byte[] header = new byte[HEADER_SIZE];
+
     FramedInputStreamConsumer(ResultCallback<Frame> resultCallback) {
         this.resultCallback = resultCallback;
     }
@@ -22,70 +34,154 @@ class FramedInputStreamConsumer implements Consumer<DockerHttpClient.Response> {
         try {
             InputStream body = response.getBody();
 
-            byte[] buffer = new byte[1024];
-            while (true) {
-                // See https://docs.docker.com/engine/api/v1.37/#operation/ContainerAttach
-                // [8]byte{STREAM_TYPE, 0, 0, 0, SIZE1, SIZE2, SIZE3, SIZE4}[]byte{OUTPUT}
+            if (resultCallback instanceof FramePayloadCallback) {
+                acceptPayloads(body, (FramePayloadCallback) resultCallback);
+            } else {
+                acceptFrames(body);
+            }
+        } catch (Exception e) {
+            resultCallback.onError(e);
+        }
+    }
 
-                int streamTypeByte = body.read();
-                if (streamTypeByte < 0) {
-                    return;
-                }
+    /**
+     * Every {@link Frame} owns its payload, so it is read straight into an array of the exact chunk size.
+     */
+    private void acceptFrames(InputStream body) throws IOException {
+        while (true) {
+            int headerBytes = readHeader(body);
+            if (headerBytes <= 0) {
+                return;
+            }
 
-                StreamType streamType = streamType(streamTypeByte);
+            StreamType streamType = streamType(header[0]);
 
-                if (streamType == StreamType.RAW) {
-                    resultCallback.onNext(new Frame(StreamType.RAW, new byte[]{(byte) streamTypeByte}));
+            if (streamType == StreamType.RAW) {
+                resultCallback.onNext(new Frame(StreamType.RAW, Arrays.copyOf(header, headerBytes)));
 
-                    int readBytes;
-                    while ((readBytes = body.read(buffer)) >= 0) {
-                        if (readBytes == buffer.length) {
-                            resultCallback.onNext(new Frame(StreamType.RAW, buffer));
-                        } else {
-                            resultCallback.onNext(new Frame(StreamType.RAW, Arrays.copyOf(buffer, readBytes)));
-                        }
+                byte[] buffer = new byte[FRAME_CHUNK_SIZE];
+                int readBytes;
+                while ((readBytes = body.read(buffer)) >= 0) {
+                    resultCallback.onNext(new Frame(StreamType.RAW, Arrays.copyOf(buffer, readBytes)));
+                }
+                return;
+            }
+
+            if (headerBytes < HEADER_SIZE) {
+                return;
+            }
+
+            int bytesToRead = payloadSize();
+            do {
+                byte[] payload = new byte[Math.min(FRAME_CHUNK_SIZE, bytesToRead)];
+                int readBytes = readFully(body, payload, 0, payload.length);
+                if (readBytes < payload.length) {
+                    if (readBytes > 0) {
+                        resultCallback.onNext(new Frame(streamType, Arrays.copyOf(payload, readBytes)));
                     }
                     return;
                 }
 
-                // Skip 3 bytes
-                for (int i = 0; i < 3; i++) {
-                    if (body.read() < 0) {
-                        return;
-                    }
+                resultCallback.onNext(new Frame(streamType, payload));
+                bytesToRead -= readBytes;
+            } while (bytesToRead > 0);
+        }
+    }
+
+    /**
+     * Payloads are read into one buffer that is reused for the whole stream and passed as a view.
+     */
+    private void acceptPayloads(InputStream body, FramePayloadCallback callback) throws IOException {
+        byte[] buffer = new byte[PAYLOAD_BUFFER_SIZE];
+        ByteBuffer view = ByteBuffer.wrap(buffer);
+
+        while (true) {
+            int headerBytes = readHeader(body);
+            if (headerBytes <= 0) {
+                return;
+            }
+
+            StreamType streamType = streamType(header[0]);
+
+            if (streamType == StreamType.RAW) {
+                buffer[0] = header[0];
+                callback.onFrame(StreamType.RAW, view(view, headerBytes));
+
+                int readBytes;
+                while ((readBytes = body.read(buffer)) >= 0) {
+                    callback.onFrame(StreamType.RAW, view(view, readBytes));
                 }
+                return;
+            }
 
-                // uint32 encoded as big endian.
-                int bytesToRead = 0;
-                for (int i = 0; i < 4; i++) {
-                    int readByte = body.read();
-                    if (readByte < 0) {
-                        return;
-                    }
-                    bytesToRead |= (readByte & 0xff) << (8 * (3 - i));
+            if (headerBytes < HEADER_SIZE) {
+                return;
+            }
+
+            int bytesToRead = payloadSize();
+            while (bytesToRead > 0) {
+                int readBytes = body.read(buffer, 0, Math.min(buffer.length, bytesToRead));
+                if (readBytes < 0) {
+                    return;
                 }
 
-                do {
-                    int readBytes = body.read(buffer, 0, Math.min(buffer.length, bytesToRead));
-                    if (readBytes < 0) {
-                        // TODO log?
-                        return;
-                    }
+                callback.onFrame(streamType, view(view, readBytes));
+                bytesToRead -= readBytes;
+            }
+        }
+    }
 
-                    if (readBytes == buffer.length) {
-                        resultCallback.onNext(new Frame(streamType, buffer));
-                    } else {
-                        resultCallback.onNext(new Frame(streamType, Arrays.copyOf(buffer, readBytes)));
-                    }
-                    bytesToRead -= readBytes;
-                } while (bytesToRead > 0);
+    /**
+     * See https://docs.docker.com/engine/api/v1.37/#operation/ContainerAttach
+     * [8]byte{STREAM_TYPE, 0, 0, 0, SIZE1, SIZE2, SIZE3, SIZE4}[]byte{OUTPUT}
+     *
+     * @return number of header bytes read, less than {@link #HEADER_SIZE} only at the end of the stream
+     */
+    private int readHeader(InputStream body) throws IOException {
+        int readBytes = body.read(header, 0, 1);
+        if (readBytes <= 0) {
+            return readBytes;
+        }
+
+        if (streamType(header[0]) == StreamType.RAW) {
+            // not multiplexed (TTY), the byte is part of the output
+            return 1;
+        }
+
+        int remainingBytes = readFully(body, header, 1, HEADER_SIZE - 1);
+        return 1 + Math.max(remainingBytes, 0);
+    }
+
+    /**
+     * uint32 encoded as big endian.
+     */
+    private int payloadSize() {
+        return (header[4] & 0xff) << 24
+            | (header[5] & 0xff) << 16
+            | (header[6] & 0xff) << 8
+            | (header[7] & 0xff);
+    }
+
+    private static int readFully(InputStream body, byte[] buffer, int offset, int length) throws IOException {
+        int totalBytes = 0;
+        while (totalBytes < length) {
+            int readBytes = body.read(buffer, offset + totalBytes, length - totalBytes);
+            if (readBytes < 0) {
+                break;
             }
-        } catch (Exception e) {
-            resultCallback.onError(e);
+            totalBytes += readBytes;
         }
+        return totalBytes;
+    }
+
+    private static ByteBuffer view(ByteBuffer view, int length) {
+        // Buffer methods return ByteBuffer only since Java 9
+        ((Buffer) view).clear();
+        ((Buffer) view).limit(length);
+        return view;
     }
 
-    private static StreamType streamType(int streamType) {
+    private static StreamType streamType(byte streamType) {
         switch (streamType) {
             case 0:
                 return StreamType.STDIN;
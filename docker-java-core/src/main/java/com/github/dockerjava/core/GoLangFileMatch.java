@@ -92,6 +92,15 @@ public class GoLangFileMatch {
         }
     }
 
+    /**
+     * Compiles the pattern for repeated use, without going through the shared cache.
+     *
+     * @throws GoLangFileMatchException if the pattern is malformed
+     */
+    public static Pattern compile(String pattern) {
+        return buildPattern(pattern);
+    }
+
     private static Pattern buildPattern(String pattern) {
         StringBuilder patternStringBuilder = new StringBuilder("^");
         while (!pattern.isEmpty()) {
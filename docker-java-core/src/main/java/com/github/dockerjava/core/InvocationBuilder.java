@@ -1,13 +1,19 @@
 package com.github.dockerjava.core;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.github.dockerjava.api.async.ResultCallback;
 import com.github.dockerjava.api.model.Frame;
 import com.github.dockerjava.core.async.ResultCallbackTemplate;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
 
 public interface InvocationBuilder {
 
@@ -15,6 +21,17 @@ public interface InvocationBuilder {
 
     InvocationBuilder header(String name, String value);
 
+    /**
+     * Binds only the given fields of the JSON response, see {@code withFields} of the commands. Transports that do not support
+     * projections bind all fields.
+     *
+     * @param fields
+     *            JSON names of the fields, nested fields separated by dots, or <code>null</code> to bind all fields
+     */
+    default InvocationBuilder fields(Collection<String> fields) {
+        return this;
+    }
+
     void delete();
 
     void get(ResultCallback<Frame> resultCallback);
@@ -23,6 +40,52 @@ public interface InvocationBuilder {
 
     <T> void get(TypeReference<T> typeReference, ResultCallback<T> resultCallback);
 
+    /**
+     * Like {@link #get(TypeReference, ResultCallback)}, but every JSON value of the response is read by <code>decoder</code>
+     * instead of being bound. Transports without access to the parser of the response bind each value to a tree first.
+     */
+    default <T> void get(JsonDecoder<T> decoder, ResultCallback<T> resultCallback) {
+        get(new TypeReference<JsonNode>() {
+        }, new ResultCallback<JsonNode>() {
+            @Override
+            public void onStart(Closeable closeable) {
+                resultCallback.onStart(closeable);
+            }
+
+            @Override
+            public void onNext(JsonNode node) {
+                try (JsonParser parser = node.traverse()) {
+                    parser.nextToken();
+                    resultCallback.onNext(decoder.decode(parser));
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                resultCallback.onError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                resultCallback.onComplete();
+            }
+
+            @Override
+            public void close() throws IOException {
+                resultCallback.close();
+            }
+        });
+    }
+
+    /**
+     * Reads the elements of a JSON array response one at a time. The response is closed when the stream is closed.
+     */
+    default <T> Stream<T> getStream(TypeReference<List<T>> typeReference) {
+        return get(typeReference).stream();
+    }
+
     InputStream post(Object entity);
 
     void post(Object entity, InputStream stdin, ResultCallback<Frame> resultCallback);
@@ -41,6 +104,19 @@ public interface InvocationBuilder {
 
     void put(InputStream body, MediaType mediaType);
 
+    /**
+     * Reads a JSON value from a parser without binding it, see {@link #get(JsonDecoder, ResultCallback)}.
+     */
+    @FunctionalInterface
+    interface JsonDecoder<T> {
+
+        /**
+         * @param parser
+         *            points to the first token of the value and has to point to its last token afterwards
+         */
+        T decode(JsonParser parser) throws IOException;
+    }
+
     /**
      * Implementation of {@link ResultCallback} with the single result event expected.
      */
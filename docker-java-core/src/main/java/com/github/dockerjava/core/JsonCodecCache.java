@@ -0,0 +1,55 @@
+package com.github.dockerjava.core;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches the {@link ObjectReader}s and {@link ObjectWriter}s of an {@link ObjectMapper}. They resolve the type and the root
+ * (de)serializer once when they are created, instead of for every request.
+ *
+ * Readers are keyed by {@link TypeReference#getType()}, so the anonymous type references that are created for every command
+ * share the same reader.
+ */
+final class JsonCodecCache {
+
+    private final ObjectMapper objectMapper;
+
+    private final ConcurrentMap<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Type, ObjectReader> elementReaders = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Class<?>, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    JsonCodecCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    JsonFactory getFactory() {
+        return objectMapper.getFactory();
+    }
+
+    ObjectReader readerFor(TypeReference<?> typeReference) {
+        return readers.computeIfAbsent(typeReference.getType(), type -> objectMapper.readerFor(objectMapper.constructType(type)));
+    }
+
+    /**
+     * Returns the reader of the elements of the given array or collection type.
+     */
+    ObjectReader elementReaderFor(TypeReference<?> typeReference) {
+        return elementReaders.computeIfAbsent(
+            typeReference.getType(),
+            type -> objectMapper.readerFor(objectMapper.constructType(type).getContentType())
+        );
+    }
+
+    ObjectWriter writerFor(Class<?> type) {
+        return writers.computeIfAbsent(type, objectMapper::writerFor);
+    }
+}
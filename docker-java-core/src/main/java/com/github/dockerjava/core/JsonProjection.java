@@ -0,0 +1,153 @@
+package com.github.dockerjava.core;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Selects the fields of a JSON response that are bound. The subtrees of the other fields are skipped by the parser with
+ * {@link JsonParser#skipChildren()}, so neither nodes nor model objects are created for them.
+ *
+ * Fields are given by their JSON names, nested fields are separated by dots like <code>State.Status</code>. A projection applies
+ * to every element of an array.
+ */
+final class JsonProjection {
+
+    private static final JsonProjection WHOLE_VALUE = new JsonProjection(null);
+
+    // null if the whole value is selected
+    private final Map<String, JsonProjection> fields;
+
+    private JsonProjection(Map<String, JsonProjection> fields) {
+        this.fields = fields;
+    }
+
+    static JsonProjection of(Collection<String> paths) {
+        JsonProjection root = new JsonProjection(new HashMap<>());
+        for (String path : paths) {
+            JsonProjection projection = root;
+            String[] names = path.split("\\.");
+            for (int i = 0; i < names.length && projection.fields != null; i++) {
+                if (i == names.length - 1) {
+                    projection.fields.put(names[i], WHOLE_VALUE);
+                } else {
+                    projection = projection.fields.computeIfAbsent(names[i], name -> new JsonProjection(new HashMap<>()));
+                }
+            }
+        }
+        return root;
+    }
+
+    <T> T readValue(ObjectReader reader, InputStream inputStream) throws IOException {
+        try (JsonParser parser = reader.getFactory().createParser(inputStream)) {
+            if (parser.nextToken() == null) {
+                return null;
+            }
+            return reader.readValue(read(reader, parser));
+        }
+    }
+
+    /**
+     * Binds the elements of the JSON array in <code>inputStream</code> one at a time.
+     */
+    <T> Iterator<T> readValues(ObjectReader elementReader, InputStream inputStream) throws IOException {
+        JsonParser parser = elementReader.getFactory().createParser(inputStream);
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            parser.close();
+            throw new IOException("Expected a JSON array but got " + parser.getCurrentToken());
+        }
+        return new ElementIterator<>(elementReader, parser);
+    }
+
+    /**
+     * Reads the value the parser points to, the parser points to its last token afterwards.
+     */
+    private JsonNode read(ObjectReader reader, JsonParser parser) throws IOException {
+        if (fields == null) {
+            return reader.readTree(parser);
+        }
+
+        switch (parser.getCurrentToken()) {
+            case START_ARRAY:
+                ArrayNode array = JsonNodeFactory.instance.arrayNode();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    array.add(read(reader, parser));
+                }
+                return array;
+            case START_OBJECT:
+                ObjectNode object = JsonNodeFactory.instance.objectNode();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.getCurrentName();
+                    JsonProjection field = fields.get(name);
+                    parser.nextToken();
+                    if (field == null) {
+                        parser.skipChildren();
+                    } else {
+                        object.set(name, field.read(reader, parser));
+                    }
+                }
+                return object;
+            default:
+                return reader.readTree(parser);
+        }
+    }
+
+    private final class ElementIterator<T> implements Iterator<T>, Closeable {
+
+        private final ObjectReader elementReader;
+
+        private final JsonParser parser;
+
+        private T next;
+
+        ElementIterator(ObjectReader elementReader, JsonParser parser) {
+            this.elementReader = elementReader;
+            this.parser = parser;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !parser.isClosed()) {
+                try {
+                    JsonToken token = parser.nextToken();
+                    if (token == null || token == JsonToken.END_ARRAY) {
+                        parser.close();
+                    } else {
+                        next = elementReader.readValue(read(elementReader, parser));
+                    }
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T element = next;
+            next = null;
+            return element;
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.github.dockerjava.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Path component of a {@link WebTarget} with <code>{name}</code> variables, which is parsed once into its literal parts and
+ * variables. Templates are cached, as the components passed by the command execs are constants. Components without variables
+ * are not cached, as they often contain ids.
+ */
+final class PathTemplate {
+
+    private static final int MAX_CACHED_TEMPLATES = 1000;
+
+    private static final ConcurrentMap<String, PathTemplate> TEMPLATES = new ConcurrentHashMap<>();
+
+    /**
+     * Literal parts, one more than there are variables.
+     */
+    private final String[] literals;
+
+    private final String[] variables;
+
+    private PathTemplate(String[] literals, String[] variables) {
+        this.literals = literals;
+        this.variables = variables;
+    }
+
+    static PathTemplate compile(String component) {
+        if (component.indexOf('{') < 0) {
+            return new PathTemplate(new String[] {component}, new String[0]);
+        }
+
+        PathTemplate template = TEMPLATES.get(component);
+        if (template == null) {
+            template = parse(component);
+            if (TEMPLATES.size() >= MAX_CACHED_TEMPLATES) {
+                TEMPLATES.clear();
+            }
+            TEMPLATES.put(component, template);
+        }
+        return template;
+    }
+
+    private static PathTemplate parse(String component) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int literalStart = 0;
+        int variableStart;
+        while ((variableStart = component.indexOf('{', literalStart)) >= 0) {
+            int variableEnd = component.indexOf('}', variableStart);
+            if (variableEnd < 0) {
+                break;
+            }
+            literals.add(component.substring(literalStart, variableStart));
+            variables.add(component.substring(variableStart + 1, variableEnd));
+            literalStart = variableEnd + 1;
+        }
+        literals.add(component.substring(literalStart));
+        return new PathTemplate(literals.toArray(new String[0]), variables.toArray(new String[0]));
+    }
+
+    int getVariableCount() {
+        return variables.length;
+    }
+
+    String getVariable(int index) {
+        return variables[index];
+    }
+
+    /**
+     * @param values
+     *            escaped values of the variables by index, null for variables that were not resolved and are appended as they are
+     */
+    void appendTo(StringBuilder builder, String[] values) {
+        builder.append(literals[0]);
+        for (int i = 0; i < variables.length; i++) {
+            if (values != null && values[i] != null) {
+                builder.append(values[i]);
+            } else {
+                builder.append('{').append(variables[i]).append('}');
+            }
+            builder.append(literals[i + 1]);
+        }
+    }
+}
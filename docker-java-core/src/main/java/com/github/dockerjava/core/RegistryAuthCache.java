@@ -0,0 +1,128 @@
+package com.github.dockerjava.core;
+
+import com.github.dockerjava.api.model.AuthConfig;
+import com.github.dockerjava.api.model.AuthConfigurations;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache of the encoded <code>X-Registry-Auth</code> and <code>X-Registry-Config</code> headers, so that pulling, pushing or
+ * building with the same credentials does not serialize them for every request.
+ *
+ * Headers are keyed by the values of the credentials rather than by the instances, so credentials that are modified after they
+ * were used get a new header. {@link DefaultDockerClientConfig} invalidates its cache once the docker config file changed, so
+ * that replaced credentials are not retained. The cache is cleared once it holds more than {@link #MAX_ENTRIES} headers.
+ */
+public final class RegistryAuthCache {
+
+    private static final int MAX_ENTRIES = 1000;
+
+    private final ConcurrentMap<List<Object>, String> headers = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * @return the <code>X-Registry-Auth</code> header of <code>authConfig</code>, which is encoded by <code>encoder</code> if it is
+     *         not cached yet
+     */
+    @Nonnull
+    public String getRegistryAuth(@Nonnull AuthConfig authConfig, @Nonnull Function<AuthConfig, String> encoder) {
+        return get(Arrays.asList("auth", key(authConfig)), authConfig, encoder);
+    }
+
+    /**
+     * @return the <code>X-Registry-Config</code> header of <code>authConfigs</code> for the given API version, which is encoded by
+     *         <code>encoder</code> if it is not cached yet
+     */
+    @Nonnull
+    public String getRegistryConfigs(@Nonnull AuthConfigurations authConfigs, @Nonnull RemoteApiVersion apiVersion,
+            @Nonnull Function<AuthConfigurations, String> encoder) {
+        List<Object> configKeys = new ArrayList<>();
+        for (Map.Entry<String, AuthConfig> entry : authConfigs.getConfigs().entrySet()) {
+            configKeys.add(entry.getKey());
+            configKeys.add(key(entry.getValue()));
+        }
+        configKeys.add(new HashMap<>(authConfigs.getRawValues()));
+        return get(Arrays.asList("configs", apiVersion.getVersion(), configKeys), authConfigs, encoder);
+    }
+
+    /**
+     * Removes all headers, for instance when the credentials they were encoded from changed.
+     */
+    public void invalidateAll() {
+        headers.clear();
+        invalidations.incrementAndGet();
+    }
+
+    /**
+     * @return number of headers that were taken from the cache
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of headers that had to be encoded
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return number of times the cache was invalidated
+     */
+    public long getInvalidations() {
+        return invalidations.get();
+    }
+
+    /**
+     * @return number of cached headers
+     */
+    public int size() {
+        return headers.size();
+    }
+
+    private <T> String get(List<Object> key, T value, Function<T, String> encoder) {
+        String header = headers.get(key);
+        if (header != null) {
+            hits.incrementAndGet();
+            return header;
+        }
+
+        misses.incrementAndGet();
+        header = encoder.apply(value);
+        if (headers.size() >= MAX_ENTRIES) {
+            headers.clear();
+        }
+        headers.put(key, header);
+        return header;
+    }
+
+    private static List<Object> key(AuthConfig authConfig) {
+        return Arrays.asList(
+            authConfig.getRegistryAddress(),
+            authConfig.getUsername(),
+            authConfig.getPassword(),
+            authConfig.getEmail(),
+            authConfig.getAuth(),
+            authConfig.getRegistrytoken(),
+            authConfig.getIdentitytoken(),
+            authConfig.getStackOrchestrator(),
+            // serialized by the any getter as well
+            new HashMap<>(authConfig.getRawValues())
+        );
+    }
+}
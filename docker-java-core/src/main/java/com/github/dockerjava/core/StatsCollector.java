@@ -0,0 +1,587 @@
+package com.github.dockerjava.core;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.StatsCmd;
+import com.github.dockerjava.api.model.Container;
+import com.github.dockerjava.api.model.StatsSample;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nonnull;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Collects the stats of many containers with a bounded number of requests in flight, instead of one {@link StatsCmd} stream
+ * and thread per container.
+ *
+ * Every interval the collector lists the running containers (or takes the configured ones) and requests a single sample of
+ * each with <code>stream=0</code>. At most {@link Builder#withConcurrency(int) concurrency} samples are requested at the same
+ * time, each one delayed by a random part of the {@link Builder#withJitter(long, TimeUnit) jitter} to spread the load on the
+ * daemon. Once all containers were sampled, a {@link Snapshot} with the CPU usage, memory usage and the network and block I/O
+ * rates of every container is passed to the listener. An interval that starts while the previous one is still collecting is
+ * skipped.
+ */
+public final class StatsCollector implements Closeable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatsCollector.class);
+
+    private final DockerClient dockerClient;
+
+    private final Consumer<Snapshot> listener;
+
+    private final long intervalNanos;
+
+    private final long jitterNanos;
+
+    private final List<String> containerIds;
+
+    private final ScheduledThreadPoolExecutor executor;
+
+    // counters of the previous sample of every container, to compute rates
+    private final ConcurrentMap<String, Counters> previousCounters = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean collecting = new AtomicBoolean();
+
+    private final AtomicLong snapshots = new AtomicLong();
+
+    private final AtomicLong failures = new AtomicLong();
+
+    private final AtomicLong skippedIntervals = new AtomicLong();
+
+    private StatsCollector(Builder builder, Consumer<Snapshot> listener) {
+        this.dockerClient = builder.dockerClient;
+        this.listener = listener;
+        this.intervalNanos = builder.intervalNanos;
+        this.jitterNanos = builder.jitterNanos;
+        this.containerIds = builder.containerIds;
+
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ScheduledThreadPoolExecutor(builder.concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "docker-java-stats-collector-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    public static Builder builder(@Nonnull DockerClient dockerClient) {
+        return new Builder(dockerClient);
+    }
+
+    /**
+     * @return number of snapshots that were published
+     */
+    public long getSnapshots() {
+        return snapshots.get();
+    }
+
+    /**
+     * @return number of samples that could not be requested
+     */
+    public long getFailures() {
+        return failures.get();
+    }
+
+    /**
+     * @return number of intervals that were skipped as the previous one was still collecting
+     */
+    public long getSkippedIntervals() {
+        return skippedIntervals.get();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void start() {
+        executor.scheduleAtFixedRate(this::collect, 0, intervalNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void collect() {
+        if (!collecting.compareAndSet(false, true)) {
+            skippedIntervals.incrementAndGet();
+            return;
+        }
+
+        List<String> ids;
+        try {
+            ids = containerIds != null ? containerIds : runningContainerIds();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Failed to list the containers to collect stats of", e);
+            collecting.set(false);
+            return;
+        }
+
+        Batch batch = new Batch(ids);
+        if (ids.isEmpty()) {
+            publish(batch);
+            return;
+        }
+        for (String id : ids) {
+            long delay = jitterNanos > 0 ? ThreadLocalRandom.current().nextLong(jitterNanos) : 0;
+            try {
+                executor.schedule(() -> sample(id, batch), delay, TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException e) {
+                LOGGER.debug("Collector was closed");
+                return;
+            }
+        }
+    }
+
+    private List<String> runningContainerIds() {
+        List<String> ids = new ArrayList<>();
+        for (Container container : dockerClient.listContainersCmd().withFields("Id").exec()) {
+            ids.add(container.getId());
+        }
+        return ids;
+    }
+
+    private void sample(String id, Batch batch) {
+        ContainerStats stats = null;
+        Throwable error = null;
+        boolean interrupted = false;
+        try {
+            stats = containerStats(id, requestSample(id));
+        } catch (InterruptedException e) {
+            // the collector is being closed
+            Thread.currentThread().interrupt();
+            interrupted = true;
+            error = e;
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            error = e;
+        } finally {
+            // the batch is completed whatever happened, otherwise the next intervals would be skipped for good
+            if (batch.completed(id, stats, error)) {
+                if (interrupted) {
+                    collecting.set(false);
+                } else {
+                    publish(batch);
+                }
+            }
+        }
+    }
+
+    private Counters requestSample(String id) throws InterruptedException, TimeoutException {
+        SampleCallback callback = dockerClient.statsCmd(id).withNoStream(true).execSamples(new SampleCallback());
+        if (!callback.awaitCompletion(intervalNanos, TimeUnit.NANOSECONDS)) {
+            throw new TimeoutException("No stats of container " + id + " received in time");
+        }
+        if (callback.counters == null) {
+            throw new IllegalStateException("No stats of container " + id + " received");
+        }
+        return callback.counters;
+    }
+
+    private void publish(Batch batch) {
+        try {
+            // containers that are gone do not keep their counters
+            previousCounters.keySet().retainAll(new HashSet<>(batch.ids));
+            snapshots.incrementAndGet();
+            Snapshot snapshot;
+            synchronized (batch) {
+                snapshot = new Snapshot(System.currentTimeMillis(), new LinkedHashMap<>(batch.stats), new LinkedHashMap<>(batch.errors));
+            }
+            listener.accept(snapshot);
+        } catch (RuntimeException e) {
+            LOGGER.warn("Stats listener failed", e);
+        } finally {
+            collecting.set(false);
+        }
+    }
+
+    private ContainerStats containerStats(String id, Counters counters) {
+        Counters previous = previousCounters.put(id, counters);
+
+        double cpuPercent = counters.cpuPercent;
+        if (Double.isNaN(cpuPercent) && previous != null) {
+            cpuPercent = percent(counters.cpuUsage - previous.cpuUsage, counters.systemCpuUsage - previous.systemCpuUsage,
+                    counters.onlineCpus);
+        }
+
+        double seconds = previous != null ? (counters.readNanos - previous.readNanos) / 1e9 : 0;
+        return new ContainerStats(id, cpuPercent, counters.memoryUsage, counters.memoryLimit,
+                counters.networkRxBytes, counters.networkTxBytes, counters.blockReadBytes, counters.blockWriteBytes,
+                rate(counters.networkRxBytes, previous != null ? previous.networkRxBytes : 0, seconds),
+                rate(counters.networkTxBytes, previous != null ? previous.networkTxBytes : 0, seconds),
+                rate(counters.blockReadBytes, previous != null ? previous.blockReadBytes : 0, seconds),
+                rate(counters.blockWriteBytes, previous != null ? previous.blockWriteBytes : 0, seconds));
+    }
+
+    private static double percent(long cpuDelta, long systemDelta, long onlineCpus) {
+        if (systemDelta <= 0 || cpuDelta < 0) {
+            return Double.NaN;
+        }
+        return 100.0 * cpuDelta / systemDelta * onlineCpus;
+    }
+
+    private static double rate(long value, long previousValue, double seconds) {
+        if (seconds <= 0 || value < previousValue) {
+            return Double.NaN;
+        }
+        return (value - previousValue) / seconds;
+    }
+
+    /**
+     * Configures a {@link StatsCollector}.
+     */
+    public static final class Builder {
+
+        private final DockerClient dockerClient;
+
+        private long intervalNanos = TimeUnit.SECONDS.toNanos(10);
+
+        private long jitterNanos;
+
+        private int concurrency = 8;
+
+        private List<String> containerIds;
+
+        private Builder(DockerClient dockerClient) {
+            this.dockerClient = checkNotNull(dockerClient, "dockerClient was not specified");
+        }
+
+        /**
+         * @param interval
+         *            time between two snapshots, 10 seconds by default. It is also the time a sample may take.
+         */
+        public Builder withInterval(long interval, TimeUnit timeUnit) {
+            checkArgument(interval > 0, "interval must be positive");
+            this.intervalNanos = timeUnit.toNanos(interval);
+            return this;
+        }
+
+        /**
+         * @param jitter
+         *            maximum random delay of each request within an interval, none by default
+         */
+        public Builder withJitter(long jitter, TimeUnit timeUnit) {
+            checkArgument(jitter >= 0, "jitter must not be negative");
+            this.jitterNanos = timeUnit.toNanos(jitter);
+            return this;
+        }
+
+        /**
+         * @param concurrency
+         *            maximum number of samples requested at the same time, 8 by default
+         */
+        public Builder withConcurrency(int concurrency) {
+            checkArgument(concurrency > 0, "concurrency must be positive");
+            this.concurrency = concurrency;
+            return this;
+        }
+
+        /**
+         * @param containerIds
+         *            containers to collect the stats of, all running containers by default
+         */
+        public Builder withContainerIds(@Nonnull Collection<String> containerIds) {
+            checkNotNull(containerIds, "containerIds was not specified");
+            this.containerIds = Collections.unmodifiableList(new ArrayList<>(containerIds));
+            return this;
+        }
+
+        /**
+         * Starts collecting right away.
+         *
+         * @return the collector, which has to be closed once it is no longer used
+         */
+        public StatsCollector start(@Nonnull Consumer<Snapshot> listener) {
+            checkNotNull(listener, "listener was not specified");
+            checkArgument(jitterNanos < intervalNanos, "jitter must be shorter than the interval");
+            StatsCollector collector = new StatsCollector(this, listener);
+            collector.start();
+            return collector;
+        }
+    }
+
+    /**
+     * Stats of all containers in one interval.
+     */
+    public static final class Snapshot {
+
+        private final long timeMillis;
+
+        private final Map<String, ContainerStats> stats;
+
+        private final Map<String, Throwable> errors;
+
+        private Snapshot(long timeMillis, Map<String, ContainerStats> stats, Map<String, Throwable> errors) {
+            this.timeMillis = timeMillis;
+            this.stats = Collections.unmodifiableMap(stats);
+            this.errors = Collections.unmodifiableMap(errors);
+        }
+
+        /**
+         * @return time the snapshot was completed in milliseconds since the epoch
+         */
+        public long getTimeMillis() {
+            return timeMillis;
+        }
+
+        /**
+         * @return stats by container id
+         */
+        public Map<String, ContainerStats> getStats() {
+            return stats;
+        }
+
+        /**
+         * @return errors by the id of the containers whose stats could not be requested, for instance as they stopped
+         */
+        public Map<String, Throwable> getErrors() {
+            return errors;
+        }
+    }
+
+    /**
+     * Stats of one container. Rates are per second since the previous snapshot and {@link Double#NaN} in the first snapshot of the
+     * container, as is the CPU usage if the daemon did not report the previous CPU counters.
+     */
+    public static final class ContainerStats {
+
+        private final String containerId;
+
+        private final double cpuPercent;
+
+        private final long memoryUsageBytes;
+
+        private final long memoryLimitBytes;
+
+        private final long networkRxBytes;
+
+        private final long networkTxBytes;
+
+        private final long blockReadBytes;
+
+        private final long blockWriteBytes;
+
+        private final double networkRxBytesPerSecond;
+
+        private final double networkTxBytesPerSecond;
+
+        private final double blockReadBytesPerSecond;
+
+        private final double blockWriteBytesPerSecond;
+
+        private ContainerStats(String containerId, double cpuPercent, long memoryUsageBytes, long memoryLimitBytes,
+                long networkRxBytes, long networkTxBytes, long blockReadBytes, long blockWriteBytes, double networkRxBytesPerSecond,
+                double networkTxBytesPerSecond, double blockReadBytesPerSecond, double blockWriteBytesPerSecond) {
+            this.containerId = containerId;
+            this.cpuPercent = cpuPercent;
+            this.memoryUsageBytes = memoryUsageBytes;
+            this.memoryLimitBytes = memoryLimitBytes;
+            this.networkRxBytes = networkRxBytes;
+            this.networkTxBytes = networkTxBytes;
+            this.blockReadBytes = blockReadBytes;
+            this.blockWriteBytes = blockWriteBytes;
+            this.networkRxBytesPerSecond = networkRxBytesPerSecond;
+            this.networkTxBytesPerSecond = networkTxBytesPerSecond;
+            this.blockReadBytesPerSecond = blockReadBytesPerSecond;
+            this.blockWriteBytesPerSecond = blockWriteBytesPerSecond;
+        }
+
+        public String getContainerId() {
+            return containerId;
+        }
+
+        /**
+         * @return CPU usage in percent of one CPU, like <code>docker stats</code>
+         */
+        public double getCpuPercent() {
+            return cpuPercent;
+        }
+
+        /**
+         * @return memory usage without the inactive file cache, like <code>docker stats</code>
+         */
+        public long getMemoryUsageBytes() {
+            return memoryUsageBytes;
+        }
+
+        public long getMemoryLimitBytes() {
+            return memoryLimitBytes;
+        }
+
+        /**
+         * @return bytes received over all networks since the container started
+         */
+        public long getNetworkRxBytes() {
+            return networkRxBytes;
+        }
+
+        /**
+         * @return bytes sent over all networks since the container started
+         */
+        public long getNetworkTxBytes() {
+            return networkTxBytes;
+        }
+
+        /**
+         * @return bytes read from all block devices since the container started
+         */
+        public long getBlockReadBytes() {
+            return blockReadBytes;
+        }
+
+        /**
+         * @return bytes written to all block devices since the container started
+         */
+        public long getBlockWriteBytes() {
+            return blockWriteBytes;
+        }
+
+        public double getNetworkRxBytesPerSecond() {
+            return networkRxBytesPerSecond;
+        }
+
+        public double getNetworkTxBytesPerSecond() {
+            return networkTxBytesPerSecond;
+        }
+
+        public double getBlockReadBytesPerSecond() {
+            return blockReadBytesPerSecond;
+        }
+
+        public double getBlockWriteBytesPerSecond() {
+            return blockWriteBytesPerSecond;
+        }
+
+        @Override
+        public String toString() {
+            return "ContainerStats{containerId=" + containerId + ", cpuPercent=" + cpuPercent + ", memoryUsageBytes=" + memoryUsageBytes
+                    + ", networkRxBytesPerSecond=" + networkRxBytesPerSecond + ", networkTxBytesPerSecond=" + networkTxBytesPerSecond
+                    + ", blockReadBytesPerSecond=" + blockReadBytesPerSecond + ", blockWriteBytesPerSecond=" + blockWriteBytesPerSecond
+                    + "}";
+        }
+    }
+
+    /**
+     * Counters of a sample, copied from the {@link StatsSample} that is reused by the decoder.
+     */
+    private static final class Counters {
+
+        private final long readNanos;
+
+        private final long cpuUsage;
+
+        private final long systemCpuUsage;
+
+        private final long onlineCpus;
+
+        // computed from the previous counters reported by the daemon, NaN without those
+        private final double cpuPercent;
+
+        private final long memoryUsage;
+
+        private final long memoryLimit;
+
+        private final long networkRxBytes;
+
+        private final long networkTxBytes;
+
+        private final long blockReadBytes;
+
+        private final long blockWriteBytes;
+
+        Counters(StatsSample sample) {
+            this.readNanos = sample.getReadNanos() != 0 ? sample.getReadNanos()
+                    : TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+
+            StatsSample.Cpu cpu = sample.getCpu();
+            StatsSample.Cpu preCpu = sample.getPreCpu();
+            this.cpuUsage = cpu.getTotalUsage();
+            this.systemCpuUsage = cpu.getSystemCpuUsage();
+            this.onlineCpus = Math.max(1, cpu.getOnlineCpus());
+            this.cpuPercent = preCpu.getSystemCpuUsage() > 0
+                    ? percent(cpuUsage - preCpu.getTotalUsage(), systemCpuUsage - preCpu.getSystemCpuUsage(), onlineCpus)
+                    : Double.NaN;
+
+            this.memoryUsage = memoryUsage(sample);
+            this.memoryLimit = sample.getMemoryLimit();
+
+            this.networkRxBytes = sample.getNetworkRxBytes();
+            this.networkTxBytes = sample.getNetworkTxBytes();
+            this.blockReadBytes = sample.getBlkioReadBytes();
+            this.blockWriteBytes = sample.getBlkioWriteBytes();
+        }
+    }
+
+    /**
+     * @return memory usage without the inactive file cache, which the kernel reclaims first, like <code>docker stats</code>
+     *         computes it on cgroup v1 and v2 hosts
+     */
+    static long memoryUsage(StatsSample sample) {
+        long usage = sample.getMemoryUsage();
+        long inactiveFile = sample.getMemoryInactiveFile();
+        return inactiveFile < usage ? usage - inactiveFile : usage;
+    }
+
+    /**
+     * Results of the samples of one interval.
+     */
+    private static final class Batch {
+
+        private final List<String> ids;
+
+        // guarded by this
+        private final Map<String, ContainerStats> stats = new LinkedHashMap<>();
+
+        // guarded by this
+        private final Map<String, Throwable> errors = new LinkedHashMap<>();
+
+        // guarded by this
+        private int remaining;
+
+        Batch(List<String> ids) {
+            this.ids = ids;
+            this.remaining = ids.size();
+        }
+
+        /**
+         * @return whether this was the last sample of the interval
+         */
+        synchronized boolean completed(String id, ContainerStats containerStats, Throwable error) {
+            if (error != null) {
+                errors.put(id, error);
+            } else {
+                stats.put(id, containerStats);
+            }
+            return --remaining == 0;
+        }
+    }
+
+    private static final class SampleCallback extends ResultCallback.Adapter<StatsSample> {
+
+        private volatile Counters counters;
+
+        @Override
+        public void onNext(StatsSample sample) {
+            // the sample is only valid during this call
+            counters = new Counters(sample);
+        }
+    }
+}
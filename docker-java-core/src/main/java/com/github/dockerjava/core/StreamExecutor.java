@@ -0,0 +1,121 @@
+package com.github.dockerjava.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * {@link Executor} used by {@link DefaultInvocationBuilder} to consume streaming responses (logs, stats, events, attach, ...).
+ * Keeps track of the number of streams that are currently running and the ones that were submitted but not started yet.
+ */
+public final class StreamExecutor implements Executor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StreamExecutor.class);
+
+    private final Executor delegate;
+
+    private final AtomicInteger activeStreams = new AtomicInteger();
+
+    private final AtomicInteger queuedStreams = new AtomicInteger();
+
+    StreamExecutor(Executor delegate) {
+        this.delegate = checkNotNull(delegate, "delegate was not specified");
+    }
+
+    /**
+     * Returns the executor shared by all clients that did not configure their own one: a virtual thread per stream on JDK 21+,
+     * and a pool of reusable daemon threads otherwise. The pool is not bounded because streams like {@code follow} logs or
+     * events may never end and a bounded pool would starve the ones queued behind them. Build contexts that are streamed without
+     * a client are archived on it as well.
+     */
+    public static Executor defaultExecutor() {
+        return DefaultExecutorHolder.INSTANCE;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        queuedStreams.incrementAndGet();
+        try {
+            delegate.execute(() -> {
+                queuedStreams.decrementAndGet();
+                activeStreams.incrementAndGet();
+                try {
+                    command.run();
+                } finally {
+                    activeStreams.decrementAndGet();
+                }
+            });
+        } catch (RuntimeException e) {
+            queuedStreams.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Runs the command in a thread that is named after the stream. The previous name is restored afterwards, as pooled threads
+     * are reused by other streams.
+     */
+    void execute(String threadName, Runnable command) {
+        execute(() -> {
+            Thread thread = Thread.currentThread();
+            String previousName = thread.getName();
+            thread.setName(threadName);
+            try {
+                command.run();
+            } finally {
+                thread.setName(previousName);
+            }
+        });
+    }
+
+    int getActiveStreams() {
+        return activeStreams.get();
+    }
+
+    int getQueuedStreams() {
+        return queuedStreams.get();
+    }
+
+    private static final class DefaultExecutorHolder {
+
+        static final Executor INSTANCE = createDefaultExecutor();
+
+        private DefaultExecutorHolder() {
+        }
+
+        private static Executor createDefaultExecutor() {
+            try {
+                // JDK 21+, looked up reflectively since we still target Java 8
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException | LinkageError e) {
+                LOGGER.debug("Virtual threads are not available, falling back to a cached thread pool");
+            }
+
+            AtomicInteger threadNumber = new AtomicInteger();
+            ThreadFactory threadFactory = runnable -> {
+                Thread thread = new Thread(runnable, "docker-java-stream-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+
+            return new ThreadPoolExecutor(
+                0,
+                Integer.MAX_VALUE,
+                60L,
+                TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                threadFactory
+            );
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.github.dockerjava.core;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 public interface WebTarget {
 
@@ -16,4 +18,19 @@ public interface WebTarget {
     WebTarget queryParamsSet(String name, Set<?> values);
 
     WebTarget queryParamsJsonMap(String name, Map<String, String> values);
+
+    /**
+     * Runs an execution that sends its requests through this target without blocking the calling thread. The execution may
+     * be run more than once and must not have side effects besides its requests. Targets that have no executor of their
+     * factory to run it on run it on the calling thread.
+     */
+    default <T> CompletableFuture<T> executeAsync(Supplier<T> execution) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        try {
+            result.complete(execution.get());
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
 }
@@ -4,6 +4,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.io.IOException;
 import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
 
 import org.apache.commons.lang3.builder.ReflectionToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
@@ -35,6 +36,13 @@ public abstract class AbstrDockerCmd<CMD_T extends DockerCmd<RES_T>, RES_T> impl
         return execution.exec((CMD_T) this);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<RES_T> execAsync() {
+        LOGGER.debug("Cmd: {}", this);
+        return execution.execAsync((CMD_T) this);
+    }
+
     @Override
     public void close() {
     }
@@ -0,0 +1,31 @@
+package com.github.dockerjava.core.command;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.dockerjava.api.command.DockerCmd;
+import com.github.dockerjava.api.command.DockerCmdSyncListExec;
+import com.github.dockerjava.api.command.ListDockerCmd;
+
+public abstract class AbstrListDockerCmd<CMD_T extends DockerCmd<List<ITEM_T>>, ITEM_T> extends AbstrDockerCmd<CMD_T, List<ITEM_T>>
+        implements ListDockerCmd<ITEM_T> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AbstrListDockerCmd.class);
+
+    private final transient DockerCmdSyncListExec<CMD_T, ITEM_T> listExecution;
+
+    public AbstrListDockerCmd(DockerCmdSyncListExec<CMD_T, ITEM_T> execution) {
+        super(execution);
+        this.listExecution = execution;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<ITEM_T> execStream() {
+        LOGGER.debug("Cmd: {}", this);
+        return listExecution.execStream((CMD_T) this);
+    }
+}
@@ -3,7 +3,9 @@ package com.github.dockerjava.core.command;
 import com.github.dockerjava.api.command.BuildImageCmd;
 import com.github.dockerjava.api.model.AuthConfigurations;
 import com.github.dockerjava.api.model.BuildResponseItem;
+import com.github.dockerjava.core.StreamExecutor;
 import com.github.dockerjava.core.dockerfile.Dockerfile;
+import com.github.dockerjava.core.util.BuildContextCache;
 import com.github.dockerjava.core.util.FilePathUtil;
 
 import javax.annotation.CheckForNull;
@@ -11,9 +13,12 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.zip.Deflater;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
@@ -24,6 +29,16 @@ public class BuildImageCmdImpl extends AbstrAsyncDockerCmd<BuildImageCmd, BuildR
 
     private InputStream tarInputStream;
 
+    private Dockerfile.ScannedResult scannedDockerfile;
+
+    private Boolean contextStreaming;
+
+    private Integer contextCompressionLevel;
+
+    private BuildContextCache contextCache;
+
+    private transient Executor contextExecutor;
+
     @Deprecated
     private String tag;
 
@@ -208,9 +223,35 @@ public class BuildImageCmdImpl extends AbstrAsyncDockerCmd<BuildImageCmd, BuildR
 
     @Override
     public InputStream getTarInputStream() {
+        if (tarInputStream == null && scannedDockerfile != null) {
+            // created on demand so that the context options apply whatever order they were set in
+            int compressionLevel = contextCompressionLevel != null ? contextCompressionLevel : Deflater.DEFAULT_COMPRESSION;
+            if (Boolean.TRUE.equals(contextStreaming)) {
+                Executor executor = contextExecutor != null ? contextExecutor : StreamExecutor.defaultExecutor();
+                tarInputStream = scannedDockerfile.streamDockerFolderTar(compressionLevel, contextCache, executor);
+            } else {
+                tarInputStream = scannedDockerfile.buildDockerFolderTar(compressionLevel, contextCache);
+            }
+        }
         return tarInputStream;
     }
 
+    public Boolean isContextStreaming() {
+        return contextStreaming;
+    }
+
+    public Integer getContextCompressionLevel() {
+        return contextCompressionLevel;
+    }
+
+    /**
+     * @return the cache set with {@link #withContextCache(Path)}, which counts its hits and misses
+     */
+    @CheckForNull
+    public BuildContextCache getContextCache() {
+        return contextCache;
+    }
+
     /**
      * @see #shmsize
      */
@@ -343,7 +384,8 @@ public class BuildImageCmdImpl extends AbstrAsyncDockerCmd<BuildImageCmd, BuildR
         this.dockerFile = dockerfile;
 
         try {
-            withTarInputStream(new Dockerfile(dockerfile, baseDirectory).parse().buildDockerFolderTar());
+            scannedDockerfile = new Dockerfile(dockerfile, baseDirectory).parse();
+            tarInputStream = null;
         } catch (IOException e) {
             // we just created the file this should never happen.
             throw new RuntimeException(e);
@@ -365,6 +407,35 @@ public class BuildImageCmdImpl extends AbstrAsyncDockerCmd<BuildImageCmd, BuildR
         return this;
     }
 
+    @Override
+    public BuildImageCmd withContextStreaming(Boolean contextStreaming) {
+        this.contextStreaming = contextStreaming;
+        return this;
+    }
+
+    /**
+     * @param contextExecutor
+     *            executor of the thread that writes the context while it is streamed, the executor of the client's streams if it
+     *            was created by a {@link com.github.dockerjava.core.DockerClientImpl}
+     */
+    public BuildImageCmdImpl withContextExecutor(Executor contextExecutor) {
+        this.contextExecutor = checkNotNull(contextExecutor, "contextExecutor is null");
+        return this;
+    }
+
+    @Override
+    public BuildImageCmd withContextCompressionLevel(Integer contextCompressionLevel) {
+        this.contextCompressionLevel = contextCompressionLevel;
+        return this;
+    }
+
+    @Override
+    public BuildImageCmd withContextCache(Path contextCacheDirectory) {
+        checkNotNull(contextCacheDirectory, "contextCacheDirectory is null");
+        this.contextCache = BuildContextCache.forDirectory(contextCacheDirectory);
+        return this;
+    }
+
     @Override
     public BuildImageCmd withBuildAuthConfigs(AuthConfigurations authConfigs) {
         checkNotNull(authConfigs, "authConfig is null");
@@ -418,6 +489,10 @@ public class BuildImageCmdImpl extends AbstrAsyncDockerCmd<BuildImageCmd, BuildR
     public void close() {
         super.close();
 
+        if (tarInputStream == null) {
+            return;
+        }
+
         try {
             tarInputStream.close();
         } catch (IOException e) {
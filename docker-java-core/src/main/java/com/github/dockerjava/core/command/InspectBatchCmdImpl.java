@@ -0,0 +1,242 @@
+package com.github.dockerjava.core.command;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.InspectBatchCmd;
+import com.github.dockerjava.api.command.InspectBatchItem;
+import com.github.dockerjava.api.command.InspectBatchResponse;
+import com.github.dockerjava.api.command.SyncDockerCmd;
+
+/**
+ * Inspects several objects by executing the inspect command of each one with {@link SyncDockerCmd#execAsync()}, so that the
+ * requests are sent over the connection pool of the transport. At most {@link #getParallelism()} requests are in flight, the
+ * next one is sent as soon as one completed.
+ */
+public class InspectBatchCmdImpl<RES_T> implements InspectBatchCmd<RES_T> {
+
+    private static final int DEFAULT_PARALLELISM = 8;
+
+    private final List<String> ids;
+
+    private final Function<String, ? extends SyncDockerCmd<RES_T>> inspectCmdFactory;
+
+    private Integer parallelism = DEFAULT_PARALLELISM;
+
+    public InspectBatchCmdImpl(Collection<String> ids, Function<String, ? extends SyncDockerCmd<RES_T>> inspectCmdFactory) {
+        checkNotNull(ids, "ids were not specified");
+        this.ids = Collections.unmodifiableList(new ArrayList<>(new LinkedHashSet<>(ids)));
+        this.inspectCmdFactory = inspectCmdFactory;
+    }
+
+    @Override
+    public Collection<String> getIds() {
+        return ids;
+    }
+
+    @Override
+    public Integer getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public InspectBatchCmd<RES_T> withParallelism(Integer parallelism) {
+        checkNotNull(parallelism, "parallelism was not specified");
+        checkArgument(parallelism > 0, "parallelism must be positive");
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    @Override
+    public InspectBatchResponse<RES_T> exec() {
+        Map<String, InspectBatchItem<RES_T>> items = new HashMap<>();
+        Fanout fanout = new Fanout(item -> items.put(item.getId(), item));
+        try {
+            fanout.start().get();
+        } catch (InterruptedException e) {
+            fanout.abort();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+        return toResponse(items);
+    }
+
+    @Override
+    public CompletableFuture<InspectBatchResponse<RES_T>> execAsync() {
+        Map<String, InspectBatchItem<RES_T>> items = new HashMap<>();
+        return new Fanout(item -> items.put(item.getId(), item)).start().thenApply(done -> toResponse(items));
+    }
+
+    private InspectBatchResponse<RES_T> toResponse(Map<String, InspectBatchItem<RES_T>> items) {
+        Map<String, RES_T> results = new LinkedHashMap<>();
+        Map<String, Throwable> errors = new LinkedHashMap<>();
+        for (String id : ids) {
+            InspectBatchItem<RES_T> item = items.get(id);
+            if (item.getError() != null) {
+                errors.put(id, item.getError());
+            } else {
+                results.put(id, item.getResult());
+            }
+        }
+        return new InspectBatchResponse<>(results, errors);
+    }
+
+    @Override
+    public <T extends ResultCallback<InspectBatchItem<RES_T>>> T exec(T resultCallback) {
+        Fanout fanout = new Fanout(resultCallback::onNext);
+        resultCallback.onStart(fanout::abort);
+        fanout.start().whenComplete((result, error) -> {
+            if (error != null) {
+                resultCallback.onError(error instanceof CompletionException ? error.getCause() : error);
+            } else {
+                resultCallback.onComplete();
+            }
+        });
+        return resultCallback;
+    }
+
+    @Override
+    public void close() {
+    }
+
+    private final class Fanout {
+
+        private final Consumer<InspectBatchItem<RES_T>> consumer;
+
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        // guarded by this
+        private final Iterator<String> remaining = ids.iterator();
+
+        // guarded by this
+        private int inFlight;
+
+        // guarded by this
+        private int completed;
+
+        // guarded by this, items that completed but were not passed to the consumer yet
+        private final Deque<InspectBatchItem<RES_T>> pending = new ArrayDeque<>();
+
+        // guarded by this, whether a thread passes the pending items to the consumer
+        private boolean delivering;
+
+        // non-zero while a thread sends requests, so completions on the calling thread do not recurse
+        private final AtomicInteger drainers = new AtomicInteger();
+
+        Fanout(Consumer<InspectBatchItem<RES_T>> consumer) {
+            this.consumer = consumer;
+        }
+
+        CompletableFuture<Void> start() {
+            if (ids.isEmpty()) {
+                done.complete(null);
+            } else {
+                drain();
+            }
+            return done;
+        }
+
+        void abort() {
+            done.complete(null);
+        }
+
+        private void drain() {
+            if (drainers.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                String id;
+                while ((id = next()) != null) {
+                    send(id);
+                }
+            } while (drainers.decrementAndGet() != 0);
+        }
+
+        private synchronized String next() {
+            if (done.isDone() || inFlight >= parallelism || !remaining.hasNext()) {
+                return null;
+            }
+            inFlight++;
+            return remaining.next();
+        }
+
+        private void send(String id) {
+            CompletableFuture<RES_T> result;
+            try {
+                result = inspectCmdFactory.apply(id).execAsync();
+            } catch (RuntimeException e) {
+                result = new CompletableFuture<>();
+                result.completeExceptionally(e);
+            }
+            result.whenComplete((response, error) -> {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                completed(new InspectBatchItem<>(id, cause == null ? response : null, cause));
+            });
+        }
+
+        private void completed(InspectBatchItem<RES_T> item) {
+            boolean deliver;
+            synchronized (this) {
+                inFlight--;
+                if (done.isDone()) {
+                    return;
+                }
+                pending.add(item);
+                deliver = !delivering;
+                delivering = true;
+            }
+            if (deliver) {
+                deliver();
+            }
+            drain();
+        }
+
+        /**
+         * Passes the pending items to the consumer one at a time, without holding the lock, so that a slow consumer does not
+         * block the threads completing the other requests.
+         */
+        private void deliver() {
+            while (true) {
+                InspectBatchItem<RES_T> item;
+                synchronized (this) {
+                    item = pending.poll();
+                    if (item == null || done.isDone()) {
+                        delivering = false;
+                        return;
+                    }
+                }
+                try {
+                    consumer.accept(item);
+                } catch (RuntimeException e) {
+                    done.completeExceptionally(e);
+                }
+                synchronized (this) {
+                    if (++completed == ids.size()) {
+                        done.complete(null);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -2,6 +2,10 @@ package com.github.dockerjava.core.command;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 import com.github.dockerjava.api.command.InspectContainerCmd;
 import com.github.dockerjava.api.command.InspectContainerResponse;
 import com.github.dockerjava.api.exception.NotFoundException;
@@ -14,6 +18,7 @@ public class InspectContainerCmdImpl extends AbstrDockerCmd<InspectContainerCmd,
 
     private String containerId;
     private boolean size;
+    private Set<String> fields;
 
     public InspectContainerCmdImpl(InspectContainerCmd.Exec exec, String containerId) {
         super(exec);
@@ -43,6 +48,18 @@ public class InspectContainerCmdImpl extends AbstrDockerCmd<InspectContainerCmd,
         return size;
     }
 
+    @Override
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    @Override
+    public InspectContainerCmd withFields(String... fields) {
+        checkNotNull(fields, "fields was not specified");
+        this.fields = new LinkedHashSet<>(Arrays.asList(fields));
+        return this;
+    }
+
     /**
      * @throws NotFoundException
      *             No such container
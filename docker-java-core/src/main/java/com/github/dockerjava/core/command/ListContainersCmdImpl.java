@@ -4,9 +4,12 @@ import com.github.dockerjava.api.command.ListContainersCmd;
 import com.github.dockerjava.api.model.Container;
 import com.github.dockerjava.core.util.FiltersBuilder;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -14,7 +17,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 /**
  * List containers.
  */
-public class ListContainersCmdImpl extends AbstrDockerCmd<ListContainersCmd, List<Container>> implements
+public class ListContainersCmdImpl extends AbstrListDockerCmd<ListContainersCmd, Container> implements
         ListContainersCmd {
 
     private Integer limit = -1;
@@ -25,6 +28,8 @@ public class ListContainersCmdImpl extends AbstrDockerCmd<ListContainersCmd, Lis
 
     private FiltersBuilder filters = new FiltersBuilder();
 
+    private Set<String> fields;
+
     public ListContainersCmdImpl(ListContainersCmd.Exec exec) {
         super(exec);
     }
@@ -59,6 +64,18 @@ public class ListContainersCmdImpl extends AbstrDockerCmd<ListContainersCmd, Lis
         return filters.build();
     }
 
+    @Override
+    public Set<String> getFields() {
+        return fields;
+    }
+
+    @Override
+    public ListContainersCmd withFields(String... fields) {
+        checkNotNull(fields, "fields was not specified");
+        this.fields = new LinkedHashSet<>(Arrays.asList(fields));
+        return this;
+    }
+
     @Override
     public ListContainersCmd withShowAll(Boolean showAll) {
         this.showAll = showAll;
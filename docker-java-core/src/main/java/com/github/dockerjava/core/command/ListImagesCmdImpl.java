@@ -15,7 +15,7 @@ import com.github.dockerjava.core.util.FiltersBuilder;
 /**
  * List images
  */
-public class ListImagesCmdImpl extends AbstrDockerCmd<ListImagesCmd, List<Image>> implements ListImagesCmd {
+public class ListImagesCmdImpl extends AbstrListDockerCmd<ListImagesCmd, Image> implements ListImagesCmd {
 
     private String imageNameFilter;
 
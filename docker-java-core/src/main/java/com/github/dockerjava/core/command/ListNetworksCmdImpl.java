@@ -10,7 +10,7 @@ import java.util.Map;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
-public class ListNetworksCmdImpl extends AbstrDockerCmd<ListNetworksCmd, List<Network>> implements ListNetworksCmd {
+public class ListNetworksCmdImpl extends AbstrListDockerCmd<ListNetworksCmd, Network> implements ListNetworksCmd {
 
     private FiltersBuilder filtersBuilder = new FiltersBuilder();
 
@@ -2,20 +2,25 @@ package com.github.dockerjava.core.command;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.github.dockerjava.api.async.ResultCallback;
 import com.github.dockerjava.api.command.StatsCmd;
 import com.github.dockerjava.api.model.Statistics;
+import com.github.dockerjava.api.model.StatsSample;
 
 /**
  * Container stats
  */
 public class StatsCmdImpl extends AbstrAsyncDockerCmd<StatsCmd, Statistics> implements StatsCmd {
 
+    private transient StatsCmd.Exec statsExecution;
+
     private String containerId;
 
     private Boolean noStream;
 
     public StatsCmdImpl(StatsCmd.Exec exec, String containerId) {
         super(exec);
+        this.statsExecution = exec;
         withContainerId(containerId);
     }
 
@@ -41,4 +46,10 @@ public class StatsCmdImpl extends AbstrAsyncDockerCmd<StatsCmd, Statistics> impl
         this.noStream = noStream;
         return this;
     }
+
+    @Override
+    public <T extends ResultCallback<StatsSample>> T execSamples(T resultCallback) {
+        statsExecution.execSamples(this, resultCallback);
+        return resultCallback;
+    }
 }
@@ -0,0 +1,179 @@
+package com.github.dockerjava.core.dockerfile;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import javax.annotation.CheckForNull;
+
+import com.github.dockerjava.api.exception.DockerClientException;
+import com.github.dockerjava.core.GoLangFileMatch;
+import com.github.dockerjava.core.exception.GoLangFileMatchException;
+
+/**
+ * All patterns of a .dockerignore file compiled once, with the same semantics as matching them one by one with
+ * {@link GoLangFileMatch}: the last matching pattern wins and patterns starting with "!" re-include what earlier patterns
+ * excluded.
+ *
+ * Patterns without wildcards are looked up by the path and each of its parent directories, so their cost does not depend on
+ * their number. Only wildcard patterns defined after the last matching literal pattern are evaluated, from the last one
+ * backwards.
+ */
+final class DockerIgnoreMatcher {
+
+    private static final char SEPARATOR = File.separatorChar;
+
+    private static final String WILDCARD_CHARS = GoLangFileMatch.IS_WINDOWS ? "*?[]" : "*?[]\\";
+
+    private final List<String> patterns;
+
+    private final boolean[] negated;
+
+    /**
+     * Index of the last literal pattern for each path.
+     */
+    private final Map<String, Integer> literals = new HashMap<>();
+
+    private final int[] wildcardIndexes;
+
+    private final Pattern[] wildcards;
+
+    /**
+     * Leading directories without wildcards of every pattern, only used for the patterns starting with "!".
+     */
+    private final String[] literalPrefixes;
+
+    DockerIgnoreMatcher(List<String> patterns) {
+        this.patterns = patterns;
+        this.negated = new boolean[patterns.size()];
+        this.literalPrefixes = new String[patterns.size()];
+
+        List<Integer> indexes = new ArrayList<>();
+        List<Pattern> compiled = new ArrayList<>();
+
+        for (int i = 0; i < patterns.size(); i++) {
+            String pattern = patterns.get(i);
+            negated[i] = pattern.startsWith("!");
+            String goLangPattern = negated[i] ? pattern.substring(1) : pattern;
+            literalPrefixes[i] = literalPrefix(goLangPattern);
+
+            if (isLiteral(goLangPattern)) {
+                literals.put(literalPath(goLangPattern), i);
+                continue;
+            }
+
+            try {
+                compiled.add(GoLangFileMatch.compile(goLangPattern));
+                indexes.add(i);
+            } catch (GoLangFileMatchException e) {
+                throw new DockerClientException(String.format(
+                        "Invalid pattern '%s' on line %s in .dockerignore file", pattern, i + 1));
+            }
+        }
+
+        this.wildcards = compiled.toArray(new Pattern[0]);
+        this.wildcardIndexes = new int[indexes.size()];
+        for (int i = 0; i < wildcardIndexes.length; i++) {
+            wildcardIndexes[i] = indexes.get(i);
+        }
+    }
+
+    boolean isEmpty() {
+        return patterns.isEmpty();
+    }
+
+    /**
+     * Returns the pattern that excludes the given path or null if it should NOT be ignored.
+     *
+     * @param relativePath path relative to the context, separated with {@link File#separatorChar}
+     */
+    @CheckForNull
+    String effectiveMatchingPattern(String relativePath) {
+        int index = lastMatchingIndex(relativePath);
+        return index < 0 || negated[index] ? null : patterns.get(index);
+    }
+
+    /**
+     * Whether everything in the given directory is excluded, which is the case if the directory itself is excluded and no
+     * later "!" pattern could match a path inside of it.
+     */
+    boolean excludesAllOf(String relativeDirectory) {
+        int index = lastMatchingIndex(relativeDirectory);
+        if (index < 0 || negated[index]) {
+            return false;
+        }
+
+        String directoryPrefix = relativeDirectory + SEPARATOR;
+        for (int i = index + 1; i < patterns.size(); i++) {
+            if (!negated[i]) {
+                continue;
+            }
+            String prefix = literalPrefixes[i];
+            if (prefix.isEmpty() || directoryPrefix.startsWith(prefix + SEPARATOR) || prefix.startsWith(directoryPrefix)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int lastMatchingIndex(String relativePath) {
+        int index = -1;
+
+        if (!literals.isEmpty()) {
+            // a pattern also matches everything below the directory it names
+            index = literalIndex(relativePath, index);
+            for (int i = relativePath.indexOf(SEPARATOR); i >= 0; i = relativePath.indexOf(SEPARATOR, i + 1)) {
+                index = literalIndex(relativePath.substring(0, i), index);
+            }
+        }
+
+        for (int i = wildcards.length - 1; i >= 0 && wildcardIndexes[i] > index; i--) {
+            if (wildcards[i].matcher(relativePath).matches()) {
+                return wildcardIndexes[i];
+            }
+        }
+        return index;
+    }
+
+    private int literalIndex(String path, int index) {
+        Integer literalIndex = literals.get(path);
+        return literalIndex != null && literalIndex > index ? literalIndex : index;
+    }
+
+    private static boolean isLiteral(String pattern) {
+        if (pattern.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < pattern.length(); i++) {
+            if (WILDCARD_CHARS.indexOf(pattern.charAt(i)) >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The path a literal pattern matches, a trailing separator does not end up in the compiled pattern either.
+     */
+    private static String literalPath(String pattern) {
+        return pattern.charAt(pattern.length() - 1) == SEPARATOR ? pattern.substring(0, pattern.length() - 1) : pattern;
+    }
+
+    private static String literalPrefix(String pattern) {
+        if (isLiteral(pattern)) {
+            return literalPath(pattern);
+        }
+
+        int end = 0;
+        for (int i = pattern.indexOf(SEPARATOR); i >= 0; i = pattern.indexOf(SEPARATOR, i + 1)) {
+            if (!isLiteral(pattern.substring(end == 0 ? 0 : end + 1, i))) {
+                break;
+            }
+            end = i;
+        }
+        return pattern.substring(0, end);
+    }
+}
@@ -4,18 +4,29 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.zip.Deflater;
+
+import javax.annotation.CheckForNull;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.io.IOUtils;
 
 import com.github.dockerjava.api.exception.DockerClientException;
-import com.github.dockerjava.core.GoLangFileMatch;
 import com.github.dockerjava.core.exception.GoLangFileMatchException;
+import com.github.dockerjava.core.util.BuildContextCache;
 import com.github.dockerjava.core.util.CompressArchiveUtil;
 import com.github.dockerjava.core.util.FilePathUtil;
 import com.google.common.base.Function;
@@ -107,6 +118,27 @@ public class Dockerfile {
         return ignores;
     }
 
+    /**
+     * Pool scanning the build contexts. Directory listings block on I/O, so they must not run on the common pool, which is sized
+     * to the number of processors and shared with parallel streams and async tasks of the application.
+     */
+    private static final class ScanPoolHolder {
+
+        static final ForkJoinPool INSTANCE = new ForkJoinPool(
+                Math.max(4, Runtime.getRuntime().availableProcessors()),
+                pool -> {
+                    ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                    thread.setName("docker-java-context-scan-" + thread.getPoolIndex());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                null,
+                false);
+
+        private ScanPoolHolder() {
+        }
+    }
+
     public ScannedResult parse() throws IOException {
         return new ScannedResult();
     }
@@ -120,19 +152,50 @@ public class Dockerfile {
 
         final List<File> filesToAdd = new ArrayList<>();
 
+        private final DockerIgnoreMatcher ignoreMatcher;
+
         public InputStream buildDockerFolderTar() {
             return buildDockerFolderTar(baseDirectory);
         }
 
         public InputStream buildDockerFolderTar(File directory) {
+            return buildDockerFolderTar(directory, Deflater.DEFAULT_COMPRESSION);
+        }
+
+        public InputStream buildDockerFolderTar(int compressionLevel) {
+            return buildDockerFolderTar(baseDirectory, compressionLevel);
+        }
+
+        /**
+         * Stages the context in a temporary file before it is sent.
+         *
+         * @param compressionLevel gzip level as defined by {@link Deflater}, {@link Deflater#NO_COMPRESSION} sends a plain tar
+         */
+        public InputStream buildDockerFolderTar(File directory, int compressionLevel) {
+            return buildDockerFolderTar(directory, compressionLevel, null);
+        }
+
+        public InputStream buildDockerFolderTar(int compressionLevel, @CheckForNull BuildContextCache contextCache) {
+            return buildDockerFolderTar(baseDirectory, compressionLevel, contextCache);
+        }
+
+        /**
+         * Stages the context in a temporary file before it is sent.
+         *
+         * @param compressionLevel gzip level as defined by {@link Deflater}, {@link Deflater#NO_COMPRESSION} sends a plain tar
+         * @param contextCache cache for the entries of unchanged files, or null
+         */
+        public InputStream buildDockerFolderTar(File directory, int compressionLevel, @CheckForNull BuildContextCache contextCache) {
 
             File dockerFolderTar = null;
 
             try {
                 final String archiveNameWithOutExtension = UUID.randomUUID().toString();
 
-                dockerFolderTar = CompressArchiveUtil.archiveTARFiles(directory, filesToAdd,
-                        archiveNameWithOutExtension);
+                dockerFolderTar = contextCache != null
+                        ? CompressArchiveUtil.archiveTARFiles(directory, filesToAdd, archiveNameWithOutExtension, compressionLevel,
+                                contextCache)
+                        : CompressArchiveUtil.archiveTARFiles(directory, filesToAdd, archiveNameWithOutExtension, compressionLevel);
 
                 final FileInputStream tarInputStream = FileUtils.openInputStream(dockerFolderTar);
                 final File tarFile = dockerFolderTar;
@@ -167,6 +230,48 @@ public class Dockerfile {
             }
         }
 
+        public InputStream streamDockerFolderTar(int compressionLevel) {
+            return streamDockerFolderTar(baseDirectory, compressionLevel);
+        }
+
+        /**
+         * Creates the context while it is sent, so that the first bytes reach the daemon before the whole archive exists and
+         * nothing is written to disk. The files are read while the request is sent, so they must not change until then.
+         *
+         * @param compressionLevel gzip level as defined by {@link Deflater}, {@link Deflater#NO_COMPRESSION} sends a plain tar
+         */
+        public InputStream streamDockerFolderTar(File directory, int compressionLevel) {
+            return streamDockerFolderTar(directory, compressionLevel, null);
+        }
+
+        public InputStream streamDockerFolderTar(int compressionLevel, @CheckForNull BuildContextCache contextCache) {
+            return streamDockerFolderTar(baseDirectory, compressionLevel, contextCache);
+        }
+
+        /**
+         * Creates the context while it is sent, see {@link #streamDockerFolderTar(File, int)}.
+         *
+         * @param contextCache cache for the entries of unchanged files, or null
+         */
+        public InputStream streamDockerFolderTar(File directory, int compressionLevel, @CheckForNull BuildContextCache contextCache) {
+            return CompressArchiveUtil.streamTARFiles(directory, filesToAdd, compressionLevel, contextCache);
+        }
+
+        public InputStream streamDockerFolderTar(int compressionLevel, @CheckForNull BuildContextCache contextCache, Executor executor) {
+            return streamDockerFolderTar(baseDirectory, compressionLevel, contextCache, executor);
+        }
+
+        /**
+         * Creates the context while it is sent, see {@link #streamDockerFolderTar(File, int)}.
+         *
+         * @param contextCache cache for the entries of unchanged files, or null
+         * @param executor executor of the thread that writes the context
+         */
+        public InputStream streamDockerFolderTar(File directory, int compressionLevel, @CheckForNull BuildContextCache contextCache,
+                Executor executor) {
+            return CompressArchiveUtil.streamTARFiles(directory, filesToAdd, compressionLevel, contextCache, executor);
+        }
+
         @Override
         public String toString() {
             return MoreObjects.toStringHelper(this).add("ignores", ignores).add("filesToAdd", filesToAdd).toString();
@@ -175,6 +280,7 @@ public class Dockerfile {
         public ScannedResult() throws IOException {
 
             ignores = getIgnores();
+            ignoreMatcher = new DockerIgnoreMatcher(ignores);
 
             String matchingIgnorePattern = effectiveMatchingIgnorePattern(dockerFile);
 
@@ -183,83 +289,78 @@ public class Dockerfile {
                         "Dockerfile is excluded by pattern '%s' in .dockerignore file", matchingIgnorePattern));
             }
 
-            addFilesInDirectory(baseDirectory);
+            filesToAdd.addAll(ScanPoolHolder.INSTANCE.invoke(new DirectoryScan(baseDirectory.toPath(), "")));
         }
 
         /**
-         * Adds all files found in <code>directory</code> and subdirectories to
-         * <code>filesToAdd</code> collection. It also adds any empty directories
-         * if found.
-         *
-         * @param directory directory
-         * @throws DockerClientException when IO error occurs
+         * Returns the matching ignore pattern for the given file or null if it should NOT be ignored. Exception rules like "!Dockerfile"
+         * will be respected.
          */
-        private void addFilesInDirectory(File directory) {
-            File[] files = directory.listFiles();
-
-            if (files == null) {
-                throw new DockerClientException("Failed to read build context directory: " + baseDirectory.getAbsolutePath());
-            }
-
-            if (files.length != 0) {
-                for (File f : files) {
-                    if (f.isDirectory()) {
-                        addFilesInDirectory(f);
-                    } else if (effectiveMatchingIgnorePattern(f) == null) {
-                        filesToAdd.add(f);
-                    }
-                }
-                // base directory should at least contains Dockerfile, but better check
-            } else if (!isBaseDirectory(directory)) {
-                // add empty directory
-                filesToAdd.add(directory);
-            }
-        }
+        private String effectiveMatchingIgnorePattern(File file) {
+            // normalize path to replace '/' to '\' on Windows
+            String relativeFilename = FilenameUtils.normalize(FilePathUtil.relativize(baseDirectory, file));
 
-        private boolean isBaseDirectory(File directory) {
-            return directory.compareTo(baseDirectory) == 0;
+            return ignoreMatcher.effectiveMatchingPattern(relativeFilename);
         }
 
         /**
-         * Returns all matching ignore patterns for the given file name.
+         * Collects all files found in a directory and its subdirectories, scanning the subdirectories in parallel. It also
+         * collects empty directories. Directories whose content is excluded as a whole are not scanned.
          */
-        private List<String> matchingIgnorePatterns(String fileName) {
-            List<String> matches = new ArrayList<>();
+        private class DirectoryScan extends RecursiveTask<List<File>> {
 
-            int lineNumber = 0;
-            for (String pattern : ignores) {
-                String goLangPattern = pattern.startsWith("!") ? pattern.substring(1) : pattern;
-                lineNumber++;
-                try {
-                    if (GoLangFileMatch.match(goLangPattern, fileName)) {
-                        matches.add(pattern);
-                    }
-                } catch (GoLangFileMatchException e) {
-                    throw new DockerClientException(String.format(
-                            "Invalid pattern '%s' on line %s in .dockerignore file", pattern, lineNumber));
-                }
-            }
-
-            return matches;
-        }
+            private static final long serialVersionUID = 1L;
 
-        /**
-         * Returns the matching ignore pattern for the given file or null if it should NOT be ignored. Exception rules like "!Dockerfile"
-         * will be respected.
-         */
-        private String effectiveMatchingIgnorePattern(File file) {
-            // normalize path to replace '/' to '\' on Windows
-            String relativeFilename = FilenameUtils.normalize(FilePathUtil.relativize(baseDirectory, file));
+            private final Path directory;
 
-            List<String> matchingPattern = matchingIgnorePatterns(relativeFilename);
+            /**
+             * Path relative to the base directory, empty for the base directory itself.
+             */
+            private final String relativePath;
 
-            if (matchingPattern.isEmpty()) {
-                return null;
+            DirectoryScan(Path directory, String relativePath) {
+                this.directory = directory;
+                this.relativePath = relativePath;
             }
 
-            String lastMatchingPattern = matchingPattern.get(matchingPattern.size() - 1);
+            @Override
+            protected List<File> compute() {
+                List<File> files = new ArrayList<>();
+                List<DirectoryScan> subdirectories = new ArrayList<>();
+                boolean empty = true;
+
+                try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                    for (Path entry : entries) {
+                        empty = false;
+                        String entryPath = relativePath.isEmpty()
+                                ? entry.getFileName().toString()
+                                : relativePath + File.separatorChar + entry.getFileName();
+
+                        if (Files.isDirectory(entry)) {
+                            if (!ignoreMatcher.excludesAllOf(entryPath)) {
+                                DirectoryScan subdirectory = new DirectoryScan(entry, entryPath);
+                                subdirectory.fork();
+                                subdirectories.add(subdirectory);
+                            }
+                        } else if (ignoreMatcher.effectiveMatchingPattern(entryPath) == null) {
+                            files.add(entry.toFile());
+                        }
+                    }
+                } catch (IOException | DirectoryIteratorException e) {
+                    throw new DockerClientException("Failed to read build context directory: " + directory.toAbsolutePath(), e);
+                }
+
+                // base directory should at least contains Dockerfile, but better check
+                if (empty && !relativePath.isEmpty() && ignoreMatcher.effectiveMatchingPattern(relativePath) == null) {
+                    // add empty directory
+                    files.add(directory.toFile());
+                }
 
-            return !lastMatchingPattern.startsWith("!") ? lastMatchingPattern : null;
-         }
+                for (DirectoryScan subdirectory : subdirectories) {
+                    files.addAll(subdirectory.join());
+                }
+                return files;
+            }
+        }
     }
 }
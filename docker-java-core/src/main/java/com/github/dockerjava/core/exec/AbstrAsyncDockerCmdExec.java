@@ -2,10 +2,14 @@ package com.github.dockerjava.core.exec;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
+import com.github.dockerjava.api.async.FramePayloadCallback;
 import com.github.dockerjava.api.async.ResultCallback;
 import com.github.dockerjava.api.command.AsyncDockerCmd;
 import com.github.dockerjava.api.command.DockerCmdAsyncExec;
+import com.github.dockerjava.api.model.Frame;
+import com.github.dockerjava.api.model.StreamType;
 import com.github.dockerjava.core.DockerClientConfig;
 import com.github.dockerjava.core.WebTarget;
 
@@ -21,43 +25,87 @@ public abstract class AbstrAsyncDockerCmdExec<CMD_T extends AsyncDockerCmd<CMD_T
         return execute(command, resultCallback);
     }
 
+    @SuppressWarnings("unchecked")
     protected final Void execute(final CMD_T command, final ResultCallback<A_RES_T> resultCallback) {
 
-        ResultCallback<A_RES_T> delegatingResultCallback = new ResultCallback<A_RES_T>() {
+        ResultCallback<A_RES_T> delegatingResultCallback;
+        if (resultCallback instanceof FramePayloadCallback) {
+            // keep the zero-copy variant visible to the response consumer
+            delegatingResultCallback = (ResultCallback<A_RES_T>) new DelegatingFramePayloadCallback(
+                (FramePayloadCallback) resultCallback,
+                command
+            );
+        } else {
+            delegatingResultCallback = new DelegatingResultCallback<>(resultCallback, command);
+        }
 
-            @Override
-            public void close() throws IOException {
-                resultCallback.close();
-                command.close();
-            }
+        execute0(command, delegatingResultCallback);
 
-            @Override
-            public void onStart(Closeable closeable) {
-                resultCallback.onStart(closeable);
-            }
+        return null;
+    }
 
-            @Override
-            public void onNext(A_RES_T object) {
-                resultCallback.onNext(object);
-            }
+    protected abstract Void execute0(final CMD_T command, final ResultCallback<A_RES_T> resultCallback);
 
-            @Override
-            public void onError(Throwable throwable) {
-                resultCallback.onError(throwable);
-            }
+    /**
+     * Wraps the callback of a variant of {@link #exec} that passes other results, so that the command is closed like by
+     * {@link #execute}.
+     */
+    protected static <T> ResultCallback<T> delegatingTo(ResultCallback<T> resultCallback, AsyncDockerCmd<?, ?> command) {
+        return new DelegatingResultCallback<>(resultCallback, command);
+    }
 
-            @Override
-            public void onComplete() {
-                resultCallback.onComplete();
-                command.close();
-            }
-        };
 
-        execute0(command, delegatingResultCallback);
+    private static class DelegatingResultCallback<A_RES_T> implements ResultCallback<A_RES_T> {
 
-        return null;
+        private final ResultCallback<A_RES_T> resultCallback;
+
+        private final AsyncDockerCmd<?, ?> command;
+
+        DelegatingResultCallback(ResultCallback<A_RES_T> resultCallback, AsyncDockerCmd<?, ?> command) {
+            this.resultCallback = resultCallback;
+            this.command = command;
+        }
+
+        @Override
+        public void close() throws IOException {
+            resultCallback.close();
+            command.close();
+        }
+
+        @Override
+        public void onStart(Closeable closeable) {
+            resultCallback.onStart(closeable);
+        }
+
+        @Override
+        public void onNext(A_RES_T object) {
+            resultCallback.onNext(object);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            resultCallback.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            resultCallback.onComplete();
+            command.close();
+        }
     }
 
-    protected abstract Void execute0(final CMD_T command, final ResultCallback<A_RES_T> resultCallback);
+    private static class DelegatingFramePayloadCallback extends DelegatingResultCallback<Frame> implements FramePayloadCallback {
+
+        private final FramePayloadCallback framePayloadCallback;
 
+        DelegatingFramePayloadCallback(FramePayloadCallback framePayloadCallback, AsyncDockerCmd<?, ?> command) {
+            super(framePayloadCallback, command);
+            this.framePayloadCallback = framePayloadCallback;
+        }
+
+        @Override
+        public void onFrame(StreamType streamType, ByteBuffer payload) {
+            framePayloadCallback.onFrame(streamType, payload);
+        }
+    }
 }
@@ -6,6 +6,7 @@ import com.github.dockerjava.api.model.AuthConfig;
 import com.github.dockerjava.api.model.AuthConfigurations;
 import com.github.dockerjava.core.DockerClientConfig;
 import com.github.dockerjava.core.InvocationBuilder;
+import com.github.dockerjava.core.RegistryAuthCache;
 import com.github.dockerjava.core.RemoteApiVersion;
 import com.github.dockerjava.core.WebTarget;
 import com.google.common.io.BaseEncoding;
@@ -41,6 +42,14 @@ public abstract class AbstrDockerCmdExec {
     }
 
     protected String registryAuth(@Nonnull AuthConfig authConfig) {
+        RegistryAuthCache registryAuthCache = dockerClientConfig.getRegistryAuthCache();
+        if (registryAuthCache != null) {
+            return registryAuthCache.getRegistryAuth(authConfig, this::encodeRegistryAuth);
+        }
+        return encodeRegistryAuth(authConfig);
+    }
+
+    private String encodeRegistryAuth(AuthConfig authConfig) {
         try {
             return BaseEncoding.base64Url().encode(dockerClientConfig.getObjectMapper().writeValueAsString(authConfig).getBytes());
         } catch (IOException e) {
@@ -50,6 +59,14 @@ public abstract class AbstrDockerCmdExec {
 
     @Nonnull
     protected String registryConfigs(@Nonnull AuthConfigurations authConfigs) {
+        RegistryAuthCache registryAuthCache = dockerClientConfig.getRegistryAuthCache();
+        if (registryAuthCache != null) {
+            return registryAuthCache.getRegistryConfigs(authConfigs, dockerClientConfig.getApiVersion(), this::encodeRegistryConfigs);
+        }
+        return encodeRegistryConfigs(authConfigs);
+    }
+
+    private String encodeRegistryConfigs(AuthConfigurations authConfigs) {
         try {
             final String json;
             final RemoteApiVersion apiVersion = dockerClientConfig.getApiVersion();
@@ -6,6 +6,8 @@ import com.github.dockerjava.api.exception.DockerException;
 import com.github.dockerjava.core.DockerClientConfig;
 import com.github.dockerjava.core.WebTarget;
 
+import java.util.concurrent.CompletableFuture;
+
 public abstract class AbstrSyncDockerCmdExec<CMD_T extends DockerCmd<RES_T>, RES_T> extends AbstrDockerCmdExec
         implements DockerCmdSyncExec<CMD_T, RES_T> {
 
@@ -17,14 +19,26 @@ public abstract class AbstrSyncDockerCmdExec<CMD_T extends DockerCmd<RES_T>, RES
     public RES_T exec(CMD_T command) {
         // this hack works because of ResponseStatusExceptionFilter
         try (CMD_T cmd = command) {
-            try {
-                return execute(cmd);
-            } catch (RuntimeException e) {
-                if (e.getCause() instanceof DockerException) {
-                    throw (DockerException) e.getCause();
-                } else {
-                    throw e;
-                }
+            return executeAndUnwrap(cmd);
+        }
+    }
+
+    @Override
+    public CompletableFuture<RES_T> execAsync(CMD_T command) {
+        // the command is only closed once done, as the execution may be repeated with the same input streams
+        CompletableFuture<RES_T> result = getBaseResource().executeAsync(() -> executeAndUnwrap(command));
+        result.whenComplete((response, e) -> command.close());
+        return result;
+    }
+
+    private RES_T executeAndUnwrap(CMD_T command) {
+        try {
+            return execute(command);
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof DockerException) {
+                throw (DockerException) e.getCause();
+            } else {
+                throw e;
             }
         }
     }
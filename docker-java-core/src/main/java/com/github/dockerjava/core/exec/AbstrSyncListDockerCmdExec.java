@@ -0,0 +1,50 @@
+package com.github.dockerjava.core.exec;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.dockerjava.api.command.DockerCmd;
+import com.github.dockerjava.api.command.DockerCmdSyncListExec;
+import com.github.dockerjava.core.DockerClientConfig;
+import com.github.dockerjava.core.InvocationBuilder;
+import com.github.dockerjava.core.MediaType;
+import com.github.dockerjava.core.WebTarget;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Executes a command whose response is a JSON array, either by reading the whole list or by binding one element at a time.
+ */
+public abstract class AbstrSyncListDockerCmdExec<CMD_T extends DockerCmd<List<ITEM_T>>, ITEM_T>
+        extends AbstrSyncDockerCmdExec<CMD_T, List<ITEM_T>> implements DockerCmdSyncListExec<CMD_T, ITEM_T> {
+
+    private final TypeReference<List<ITEM_T>> typeReference;
+
+    public AbstrSyncListDockerCmdExec(WebTarget baseResource, DockerClientConfig dockerClientConfig,
+            TypeReference<List<ITEM_T>> typeReference) {
+        super(baseResource, dockerClientConfig);
+        this.typeReference = typeReference;
+    }
+
+    @Override
+    protected List<ITEM_T> execute(CMD_T command) {
+        return request(command).get(typeReference);
+    }
+
+    @Override
+    public Stream<ITEM_T> execStream(CMD_T command) {
+        Stream<ITEM_T> items;
+        try {
+            items = request(command).getStream(typeReference);
+        } catch (RuntimeException e) {
+            command.close();
+            throw e;
+        }
+        return items.onClose(command::close);
+    }
+
+    protected InvocationBuilder request(CMD_T command) {
+        return getWebTarget(command).request().accept(MediaType.APPLICATION_JSON);
+    }
+
+    protected abstract WebTarget getWebTarget(CMD_T command);
+}
@@ -4,25 +4,26 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.github.dockerjava.api.command.ListContainersCmd;
 import com.github.dockerjava.api.model.Container;
 import com.github.dockerjava.core.DockerClientConfig;
+import com.github.dockerjava.core.InvocationBuilder;
 import com.github.dockerjava.core.util.FiltersEncoder;
-import com.github.dockerjava.core.MediaType;
 import com.github.dockerjava.core.WebTarget;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
 
-public class ListContainersCmdExec extends AbstrSyncDockerCmdExec<ListContainersCmd, List<Container>> implements
+public class ListContainersCmdExec extends AbstrSyncListDockerCmdExec<ListContainersCmd, Container> implements
         ListContainersCmd.Exec {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ListContainersCmdExec.class);
 
     public ListContainersCmdExec(WebTarget baseResource, DockerClientConfig dockerClientConfig) {
-        super(baseResource, dockerClientConfig);
+        super(baseResource, dockerClientConfig, new TypeReference<List<Container>>() {
+        });
     }
 
     @Override
-    protected List<Container> execute(ListContainersCmd command) {
+    protected WebTarget getWebTarget(ListContainersCmd command) {
         WebTarget webTarget = getBaseResource().path("/containers/json").queryParam("since", command.getSinceId())
                 .queryParam("before", command.getBeforeId());
 
@@ -40,13 +41,12 @@ public class ListContainersCmdExec extends AbstrSyncDockerCmdExec<ListContainers
 
         LOGGER.trace("GET: {}", webTarget);
 
-        List<Container> containers = webTarget.request().accept(MediaType.APPLICATION_JSON)
-                .get(new TypeReference<List<Container>>() {
-                });
-
-        LOGGER.trace("Response: {}", containers);
+        return webTarget;
+    }
 
-        return containers;
+    @Override
+    protected InvocationBuilder request(ListContainersCmd command) {
+        return super.request(command).fields(command.getFields());
     }
 
 }
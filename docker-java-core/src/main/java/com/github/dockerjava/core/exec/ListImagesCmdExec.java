@@ -10,19 +10,19 @@ import com.github.dockerjava.api.command.ListImagesCmd;
 import com.github.dockerjava.api.model.Image;
 import com.github.dockerjava.core.DockerClientConfig;
 import com.github.dockerjava.core.util.FiltersEncoder;
-import com.github.dockerjava.core.MediaType;
 import com.github.dockerjava.core.WebTarget;
 
-public class ListImagesCmdExec extends AbstrSyncDockerCmdExec<ListImagesCmd, List<Image>> implements ListImagesCmd.Exec {
+public class ListImagesCmdExec extends AbstrSyncListDockerCmdExec<ListImagesCmd, Image> implements ListImagesCmd.Exec {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ListImagesCmdExec.class);
 
     public ListImagesCmdExec(WebTarget baseResource, DockerClientConfig dockerClientConfig) {
-        super(baseResource, dockerClientConfig);
+        super(baseResource, dockerClientConfig, new TypeReference<List<Image>>() {
+        });
     }
 
     @Override
-    protected List<Image> execute(ListImagesCmd command) {
+    protected WebTarget getWebTarget(ListImagesCmd command) {
         WebTarget webTarget = getBaseResource().path("/images/json");
 
         webTarget = booleanQueryParam(webTarget, "all", command.hasShowAllEnabled());
@@ -37,12 +37,6 @@ public class ListImagesCmdExec extends AbstrSyncDockerCmdExec<ListImagesCmd, Lis
 
         LOGGER.trace("GET: {}", webTarget);
 
-        List<Image> images = webTarget.request().accept(MediaType.APPLICATION_JSON)
-                .get(new TypeReference<List<Image>>() {
-                });
-
-        LOGGER.trace("Response: {}", images);
-
-        return images;
+        return webTarget;
     }
 }
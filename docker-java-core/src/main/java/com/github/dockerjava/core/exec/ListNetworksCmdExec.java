@@ -5,7 +5,6 @@ import com.github.dockerjava.api.command.ListNetworksCmd;
 import com.github.dockerjava.api.model.Network;
 import com.github.dockerjava.core.DockerClientConfig;
 import com.github.dockerjava.core.util.FiltersEncoder;
-import com.github.dockerjava.core.MediaType;
 import com.github.dockerjava.core.WebTarget;
 
 import org.slf4j.Logger;
@@ -13,17 +12,18 @@ import org.slf4j.LoggerFactory;
 
 import java.util.List;
 
-public class ListNetworksCmdExec extends AbstrSyncDockerCmdExec<ListNetworksCmd, List<Network>> implements
+public class ListNetworksCmdExec extends AbstrSyncListDockerCmdExec<ListNetworksCmd, Network> implements
         ListNetworksCmd.Exec {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ListNetworksCmdExec.class);
 
     public ListNetworksCmdExec(WebTarget baseResource, DockerClientConfig dockerClientConfig) {
-        super(baseResource, dockerClientConfig);
+        super(baseResource, dockerClientConfig, new TypeReference<List<Network>>() {
+        });
     }
 
     @Override
-    protected List<Network> execute(ListNetworksCmd command) {
+    protected WebTarget getWebTarget(ListNetworksCmd command) {
         WebTarget webTarget = getBaseResource().path("/networks");
 
         if (command.getFilters() != null && !command.getFilters().isEmpty()) {
@@ -32,7 +32,6 @@ public class ListNetworksCmdExec extends AbstrSyncDockerCmdExec<ListNetworksCmd,
 
         LOGGER.trace("GET: {}", webTarget);
 
-        return webTarget.request().accept(MediaType.APPLICATION_JSON).get(new TypeReference<List<Network>>() {
-        });
+        return webTarget;
     }
 }
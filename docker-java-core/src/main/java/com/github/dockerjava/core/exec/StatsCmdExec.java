@@ -7,6 +7,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.github.dockerjava.api.async.ResultCallback;
 import com.github.dockerjava.api.command.StatsCmd;
 import com.github.dockerjava.api.model.Statistics;
+import com.github.dockerjava.api.model.StatsSample;
 import com.github.dockerjava.core.DockerClientConfig;
 import com.github.dockerjava.core.WebTarget;
 
@@ -20,12 +21,7 @@ public class StatsCmdExec extends AbstrAsyncDockerCmdExec<StatsCmd, Statistics>
     @Override
     protected Void execute0(StatsCmd command, ResultCallback<Statistics> resultCallback) {
 
-        WebTarget webTarget = getBaseResource().path("/containers/{id}/stats").resolveTemplate("id",
-                command.getContainerId());
-
-        if (Boolean.TRUE.equals(command.hasNoStream())) {
-            webTarget = webTarget.queryParam("stream", "0");
-        }
+        WebTarget webTarget = getWebTarget(command);
 
         LOGGER.trace("GET: {}", webTarget);
 
@@ -34,4 +30,27 @@ public class StatsCmdExec extends AbstrAsyncDockerCmdExec<StatsCmd, Statistics>
 
         return null;
     }
+
+    @Override
+    public Void execSamples(StatsCmd command, ResultCallback<StatsSample> resultCallback) {
+
+        WebTarget webTarget = getWebTarget(command);
+
+        LOGGER.trace("GET: {}", webTarget);
+
+        // one decoder per stream, so its sample is reused for every sample of the stream
+        webTarget.request().get(new StatsSampleDecoder(), delegatingTo(resultCallback, command));
+
+        return null;
+    }
+
+    private WebTarget getWebTarget(StatsCmd command) {
+        WebTarget webTarget = getBaseResource().path("/containers/{id}/stats").resolveTemplate("id",
+                command.getContainerId());
+
+        if (Boolean.TRUE.equals(command.hasNoStream())) {
+            webTarget = webTarget.queryParam("stream", "0");
+        }
+        return webTarget;
+    }
 }
@@ -0,0 +1,476 @@
+package com.github.dockerjava.core.exec;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.github.dockerjava.api.model.StatsSample;
+import com.github.dockerjava.core.InvocationBuilder;
+
+import java.io.IOException;
+
+/**
+ * Reads the stats of a container into a {@link StatsSample} token by token. Neither {@link com.github.dockerjava.api.model.Statistics}
+ * nor boxed counters, lists or maps are created, the blkio ops are compared with the characters of the parser's buffer instead of
+ * being copied into strings, and the id and the name are only copied when they differ from the ones of the previous sample.
+ *
+ * Every decoder fills a single sample, which is returned for every value that is decoded.
+ */
+final class StatsSampleDecoder implements InvocationBuilder.JsonDecoder<StatsSample> {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final StatsSample sample = new StatsSample();
+
+    @Override
+    public StatsSample decode(JsonParser parser) throws IOException {
+        if (parser.getCurrentToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected stats object but got " + parser.getCurrentToken());
+        }
+        sample.reset();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+                case "id":
+                    sample.withId(text(parser, sample.getId()));
+                    break;
+                case "name":
+                    sample.withName(text(parser, sample.getName()));
+                    break;
+                case "read":
+                    sample.withReadNanos(epochNanos(parser));
+                    break;
+                case "preread":
+                    sample.withPreReadNanos(epochNanos(parser));
+                    break;
+                case "cpu_stats":
+                    readCpu(parser, sample.getCpu());
+                    break;
+                case "precpu_stats":
+                    readCpu(parser, sample.getPreCpu());
+                    break;
+                case "memory_stats":
+                    readMemory(parser);
+                    break;
+                case "pids_stats":
+                    readPids(parser);
+                    break;
+                case "networks":
+                    readNetworks(parser);
+                    break;
+                case "blkio_stats":
+                    readBlkio(parser);
+                    break;
+                case "num_procs":
+                    sample.withNumProcs(parser.getValueAsLong());
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return sample;
+    }
+
+    private static void readCpu(JsonParser parser, StatsSample.Cpu cpu) throws IOException {
+        if (!isObject(parser)) {
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+                case "cpu_usage":
+                    readCpuUsage(parser, cpu);
+                    break;
+                case "system_cpu_usage":
+                    cpu.withSystemCpuUsage(parser.getValueAsLong());
+                    break;
+                case "online_cpus":
+                    cpu.withOnlineCpus(parser.getValueAsLong());
+                    break;
+                case "throttling_data":
+                    readThrottling(parser, cpu);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+    }
+
+    private static void readCpuUsage(JsonParser parser, StatsSample.Cpu cpu) throws IOException {
+        if (!isObject(parser)) {
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+                case "total_usage":
+                    cpu.withTotalUsage(parser.getValueAsLong());
+                    break;
+                case "usage_in_kernelmode":
+                    cpu.withUsageInKernelmode(parser.getValueAsLong());
+                    break;
+                case "usage_in_usermode":
+                    cpu.withUsageInUsermode(parser.getValueAsLong());
+                    break;
+                case "percpu_usage":
+                    if (parser.getCurrentToken() == JsonToken.START_ARRAY) {
+                        int cpuIndex = 0;
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            cpu.withPercpuUsage(cpuIndex++, parser.getValueAsLong());
+                            parser.skipChildren();
+                        }
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+    }
+
+    private static void readThrottling(JsonParser parser, StatsSample.Cpu cpu) throws IOException {
+        if (!isObject(parser)) {
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+                case "periods":
+                    cpu.withThrottlingPeriods(parser.getValueAsLong());
+                    break;
+                case "throttled_periods":
+                    cpu.withThrottledPeriods(parser.getValueAsLong());
+                    break;
+                case "throttled_time":
+                    cpu.withThrottledTime(parser.getValueAsLong());
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+    }
+
+    private void readMemory(JsonParser parser) throws IOException {
+        if (!isObject(parser)) {
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+                case "usage":
+                    sample.withMemoryUsage(parser.getValueAsLong());
+                    break;
+                case "max_usage":
+                    sample.withMemoryMaxUsage(parser.getValueAsLong());
+                    break;
+                case "limit":
+                    sample.withMemoryLimit(parser.getValueAsLong());
+                    break;
+                case "failcnt":
+                    sample.withMemoryFailcnt(parser.getValueAsLong());
+                    break;
+                case "stats":
+                    readMemoryStats(parser);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+    }
+
+    private void readMemoryStats(JsonParser parser) throws IOException {
+        if (!isObject(parser)) {
+            return;
+        }
+        // cgroup v1 reports both, the hierarchical total is the one "docker stats" uses
+        long inactiveFile = 0;
+        long totalInactiveFile = -1;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+                case "cache":
+                    sample.withMemoryCache(parser.getValueAsLong());
+                    break;
+                case "inactive_file":
+                    inactiveFile = parser.getValueAsLong();
+                    break;
+                case "total_inactive_file":
+                    totalInactiveFile = parser.getValueAsLong();
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        sample.withMemoryInactiveFile(totalInactiveFile >= 0 ? totalInactiveFile : inactiveFile);
+    }
+
+    private void readPids(JsonParser parser) throws IOException {
+        if (!isObject(parser)) {
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+                case "current":
+                    sample.withPidsCurrent(parser.getValueAsLong());
+                    break;
+                case "limit":
+                    sample.withPidsLimit(parser.getValueAsLong());
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+    }
+
+    private void readNetworks(JsonParser parser) throws IOException {
+        if (!isObject(parser)) {
+            return;
+        }
+        // one object per interface
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            parser.nextToken();
+            if (!isObject(parser)) {
+                continue;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                parser.nextToken();
+                switch (name) {
+                    case "rx_bytes":
+                        sample.withNetworkRxBytes(sample.getNetworkRxBytes() + parser.getValueAsLong());
+                        break;
+                    case "rx_packets":
+                        sample.withNetworkRxPackets(sample.getNetworkRxPackets() + parser.getValueAsLong());
+                        break;
+                    case "rx_errors":
+                        sample.withNetworkRxErrors(sample.getNetworkRxErrors() + parser.getValueAsLong());
+                        break;
+                    case "rx_dropped":
+                        sample.withNetworkRxDropped(sample.getNetworkRxDropped() + parser.getValueAsLong());
+                        break;
+                    case "tx_bytes":
+                        sample.withNetworkTxBytes(sample.getNetworkTxBytes() + parser.getValueAsLong());
+                        break;
+                    case "tx_packets":
+                        sample.withNetworkTxPackets(sample.getNetworkTxPackets() + parser.getValueAsLong());
+                        break;
+                    case "tx_errors":
+                        sample.withNetworkTxErrors(sample.getNetworkTxErrors() + parser.getValueAsLong());
+                        break;
+                    case "tx_dropped":
+                        sample.withNetworkTxDropped(sample.getNetworkTxDropped() + parser.getValueAsLong());
+                        break;
+                    default:
+                        parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private void readBlkio(JsonParser parser) throws IOException {
+        if (!isObject(parser)) {
+            return;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            parser.nextToken();
+            switch (name) {
+                case "io_service_bytes_recursive":
+                    readBlkioEntries(parser, true);
+                    break;
+                case "io_serviced_recursive":
+                    readBlkioEntries(parser, false);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Sums up the values of the read and write entries of all devices.
+     */
+    private void readBlkioEntries(JsonParser parser, boolean bytes) throws IOException {
+        if (parser.getCurrentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return;
+        }
+        long read = 0;
+        long write = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (!isObject(parser)) {
+                continue;
+            }
+            // the op may follow the value
+            long value = 0;
+            int op = 0;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                parser.nextToken();
+                if ("value".equals(name)) {
+                    value = parser.getValueAsLong();
+                } else if ("op".equals(name)) {
+                    // cgroup v1 capitalizes the ops, cgroup v2 does not
+                    op = textEqualsIgnoreCase(parser, "read") ? 1 : textEqualsIgnoreCase(parser, "write") ? 2 : 0;
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (op == 1) {
+                read += value;
+            } else if (op == 2) {
+                write += value;
+            }
+        }
+        if (bytes) {
+            sample.withBlkioReadBytes(read).withBlkioWriteBytes(write);
+        } else {
+            sample.withBlkioReadOps(read).withBlkioWriteOps(write);
+        }
+    }
+
+    /**
+     * Returns the string value the parser points to, or <code>previous</code> if it has the same characters.
+     */
+    private static String text(JsonParser parser, String previous) throws IOException {
+        if (parser.getCurrentToken() != JsonToken.VALUE_STRING) {
+            parser.skipChildren();
+            return null;
+        }
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        int length = parser.getTextLength();
+        if (previous != null && previous.length() == length) {
+            int i = 0;
+            while (i < length && previous.charAt(i) == chars[offset + i]) {
+                i++;
+            }
+            if (i == length) {
+                return previous;
+            }
+        }
+        return new String(chars, offset, length);
+    }
+
+    private static boolean textEqualsIgnoreCase(JsonParser parser, String text) throws IOException {
+        if (parser.getCurrentToken() != JsonToken.VALUE_STRING || parser.getTextLength() != text.length()) {
+            return false;
+        }
+        char[] chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.toLowerCase(chars[offset + i]) != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long epochNanos(JsonParser parser) throws IOException {
+        if (parser.getCurrentToken() != JsonToken.VALUE_STRING) {
+            parser.skipChildren();
+            return 0;
+        }
+        return epochNanos(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+    }
+
+    /**
+     * Parses an RFC 3339 time like <code>2017-12-06T00:42:03.8352972Z</code> as sent by the daemon.
+     *
+     * @return nanoseconds since the epoch, 0 for the zero time of Go (<code>0001-01-01T00:00:00Z</code>) and invalid times
+     */
+    static long epochNanos(char[] text, int offset, int length) {
+        int end = offset + length;
+        if (length < 20 || text[offset + 4] != '-' || text[offset + 7] != '-' || Character.toUpperCase(text[offset + 10]) != 'T'
+                || text[offset + 13] != ':' || text[offset + 16] != ':') {
+            return 0;
+        }
+        int year = digits(text, offset, 4);
+        int month = digits(text, offset + 5, 2);
+        int day = digits(text, offset + 8, 2);
+        int hour = digits(text, offset + 11, 2);
+        int minute = digits(text, offset + 14, 2);
+        int second = digits(text, offset + 17, 2);
+        if (year <= 1 || month < 1 || month > 12 || day < 1 || day > 31 || hour < 0 || hour > 23 || minute < 0 || minute > 59
+                || second < 0 || second > 60) {
+            return 0;
+        }
+
+        int i = offset + 19;
+        long nanos = 0;
+        if (text[i] == '.') {
+            i++;
+            long scale = NANOS_PER_SECOND / 10;
+            while (i < end && text[i] >= '0' && text[i] <= '9') {
+                nanos += (text[i] - '0') * scale;
+                scale /= 10;
+                i++;
+            }
+        }
+
+        long offsetSeconds;
+        if (i < end && Character.toUpperCase(text[i]) == 'Z') {
+            offsetSeconds = 0;
+            i++;
+        } else if (end - i == 6 && (text[i] == '+' || text[i] == '-') && text[i + 3] == ':') {
+            int offsetHours = digits(text, i + 1, 2);
+            int offsetMinutes = digits(text, i + 4, 2);
+            if (offsetHours < 0 || offsetMinutes < 0) {
+                return 0;
+            }
+            offsetSeconds = (text[i] == '-' ? -1 : 1) * (offsetHours * 3600L + offsetMinutes * 60L);
+            i += 6;
+        } else {
+            return 0;
+        }
+        if (i != end) {
+            return 0;
+        }
+
+        long seconds = epochDay(year, month, day) * 86400 + hour * 3600 + minute * 60 + second - offsetSeconds;
+        return seconds * NANOS_PER_SECOND + nanos;
+    }
+
+    /**
+     * @return the digits as number, -1 if one of them is not a digit
+     */
+    private static int digits(char[] text, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            char c = text[i];
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + c - '0';
+        }
+        return value;
+    }
+
+    /**
+     * Days since 1970-01-01 of a date of the proleptic Gregorian calendar, see {@link java.time.LocalDate#toEpochDay()}.
+     */
+    private static long epochDay(int year, int month, int day) {
+        // years start in March, so that the leap day is the last day of the year
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    private static boolean isObject(JsonParser parser) throws IOException {
+        if (parser.getCurrentToken() == JsonToken.START_OBJECT) {
+            return true;
+        }
+        // null or a value of an unexpected type
+        parser.skipChildren();
+        return false;
+    }
+}
@@ -0,0 +1,441 @@
+package com.github.dockerjava.core.util;
+
+import static com.github.dockerjava.core.util.FilePathUtil.relativize;
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipParameters;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+
+/**
+ * On-disk cache of rendered tar entries, so that files that did not change since a previous build are neither read nor
+ * compressed again.
+ *
+ * Every entry is stored as a segment that is addressed by the entry name, path, size, modification time and file key (inode)
+ * of the file, or a hash of its content where the file system has no file keys. Compressed archives are made of one gzip
+ * member per entry, which gzip readers decompress as one stream. Uncompressed archives only cache the tar headers, the content
+ * is transferred from the file itself. Segments are appended to the archive with {@link FileChannel#transferTo}.
+ *
+ * Files modified less than {@link #RACY_INTERVAL_MILLIS} ago are not cached, as a later change could keep the same size and
+ * modification time. Once the segments exceed the maximum size after a build, the least recently used ones are deleted, as
+ * well as temporary files left behind by builds that did not finish.
+ */
+public final class BuildContextCache {
+
+    public static final long DEFAULT_MAX_SIZE_BYTES = 1024L * 1024 * 1024;
+
+    /**
+     * Caches that are in use by some build, the counters of the others need not be kept.
+     */
+    private static final Cache<Path, BuildContextCache> CACHES = CacheBuilder.newBuilder().weakValues().build();
+
+    private static final int RECORD_SIZE = 512;
+
+    private static final long RACY_INTERVAL_MILLIS = 2000;
+
+    private static final long STALE_TEMP_FILE_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private static final int MAX_CONTENT_HASHES = 100_000;
+
+    private final Path directory;
+
+    private volatile long maxSizeBytes = DEFAULT_MAX_SIZE_BYTES;
+
+    /**
+     * Content hashes of files on file systems without file keys, which are only hashed again once their size or modification
+     * time changed.
+     */
+    private final Cache<Path, ContentHash> contentHashes = CacheBuilder.newBuilder().maximumSize(MAX_CONTENT_HASHES).build();
+
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    private BuildContextCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the cache stored in the given directory, which is shared by all builds using it, limited to
+     * {@link #DEFAULT_MAX_SIZE_BYTES}.
+     */
+    public static BuildContextCache forDirectory(Path directory) {
+        return forDirectory(directory, DEFAULT_MAX_SIZE_BYTES);
+    }
+
+    /**
+     * Same as {@link #forDirectory(Path)} with a configurable size. The size given last applies to the shared cache.
+     */
+    public static BuildContextCache forDirectory(Path directory, long maxSizeBytes) {
+        checkArgument(maxSizeBytes >= 0, "maxSizeBytes must not be negative");
+        Path normalizedDirectory = directory.toAbsolutePath().normalize();
+        try {
+            BuildContextCache cache = CACHES.get(normalizedDirectory, () -> new BuildContextCache(normalizedDirectory));
+            cache.maxSizeBytes = maxSizeBytes;
+            return cache;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return number of entries taken from the cache
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return number of entries that had to be rendered
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return number of segments that were deleted to keep the cache within its size
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * Writes the tar archive of <code>files</code> to <code>channel</code>.
+     *
+     * @param compressionLevel
+     *            gzip level as defined by {@link Deflater}, {@link Deflater#NO_COMPRESSION} creates a plain tar
+     */
+    public void writeArchive(File base, Iterable<File> files, int compressionLevel, WritableByteChannel channel) throws IOException {
+        Files.createDirectories(directory);
+
+        long missesBefore = misses.get();
+        for (File file : files) {
+            Path path = file.toPath();
+            writeEntry(path, relativize(base.toPath(), path), compressionLevel, channel);
+        }
+
+        byte[] endOfArchive = new byte[2 * RECORD_SIZE];
+        if (compressionLevel != Deflater.NO_COMPRESSION) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (OutputStream outputStream = gzip(compressed, compressionLevel)) {
+                outputStream.write(endOfArchive);
+            }
+            endOfArchive = compressed.toByteArray();
+        }
+        writeFully(ByteBuffer.wrap(endOfArchive), channel);
+
+        if (misses.get() != missesBefore) {
+            evict();
+        }
+    }
+
+    private void writeEntry(Path file, String entryName, int compressionLevel, WritableByteChannel channel) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        boolean headerOnly = compressionLevel == Deflater.NO_COMPRESSION && attributes.isRegularFile();
+        Path segment = directory.resolve(segmentName(file, entryName, attributes, compressionLevel));
+
+        if (Files.exists(segment) && transferSegment(segment, channel)) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            Path rendered = Files.createTempFile(directory, "segment", ".tmp");
+            try {
+                render(file, entryName, attributes, compressionLevel, headerOnly, rendered);
+                transfer(rendered, channel);
+                if (attributes.lastModifiedTime().toMillis() < System.currentTimeMillis() - RACY_INTERVAL_MILLIS) {
+                    move(rendered, segment);
+                }
+            } finally {
+                Files.deleteIfExists(rendered);
+            }
+        }
+
+        if (headerOnly) {
+            transferContent(file, attributes.size(), channel);
+        }
+    }
+
+    private static void render(Path file, String entryName, BasicFileAttributes attributes, int compressionLevel, boolean headerOnly,
+            Path segment) throws IOException {
+        try (
+            OutputStream outputStream = compressionLevel != Deflater.NO_COMPRESSION
+                    ? gzip(Files.newOutputStream(segment), compressionLevel)
+                    : Files.newOutputStream(segment);
+            TarArchiveOutputStream tos = new SegmentOutputStream(outputStream)
+        ) {
+            tos.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+            tos.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_POSIX);
+
+            if (headerOnly) {
+                TarArchiveEntry tarArchiveEntry = CompressArchiveUtil.createTarEntry(tos, file, entryName);
+                // the header has to match the content that is transferred later on
+                tarArchiveEntry.setSize(attributes.size());
+                tarArchiveEntry.setModTime(attributes.lastModifiedTime().toMillis());
+                tos.putArchiveEntry(tarArchiveEntry);
+            } else {
+                CompressArchiveUtil.addFileToTar(tos, file, entryName);
+            }
+            tos.flush();
+        }
+    }
+
+    private String segmentName(Path file, String entryName, BasicFileAttributes attributes, int compressionLevel)
+            throws IOException {
+        StringBuilder key = new StringBuilder()
+                .append(entryName).append('\0')
+                .append(file.toAbsolutePath()).append('\0')
+                .append(attributes.size()).append('\0')
+                .append(attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS)).append('\0')
+                .append(file.toFile().canExecute()).append('\0')
+                .append(compressionLevel).append('\0');
+
+        if (attributes.isSymbolicLink()) {
+            key.append(Files.readSymbolicLink(file));
+        } else if (attributes.fileKey() != null) {
+            key.append(attributes.fileKey());
+        } else if (attributes.isRegularFile()) {
+            key.append(contentHash(file, attributes));
+        }
+
+        return Hashing.sha256().hashString(key, StandardCharsets.UTF_8) + (compressionLevel != Deflater.NO_COMPRESSION ? ".gz" : ".tar");
+    }
+
+    private HashCode contentHash(Path file, BasicFileAttributes attributes) throws IOException {
+        Path absolutePath = file.toAbsolutePath();
+        long size = attributes.size();
+        long lastModifiedNanos = attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS);
+        ContentHash contentHash = contentHashes.getIfPresent(absolutePath);
+        if (contentHash != null && contentHash.size == size && contentHash.lastModifiedNanos == lastModifiedNanos) {
+            return contentHash.hash;
+        }
+
+        HashCode hash = com.google.common.io.Files.asByteSource(file.toFile()).hash(Hashing.sha256());
+        if (attributes.lastModifiedTime().toMillis() < System.currentTimeMillis() - RACY_INTERVAL_MILLIS) {
+            contentHashes.put(absolutePath, new ContentHash(size, lastModifiedNanos, hash));
+        }
+        return hash;
+    }
+
+    /**
+     * Deletes the least recently used segments once the cache is larger than its maximum size, and temporary files of builds
+     * that did not finish. Only one build evicts at a time, the others skip it.
+     */
+    private void evict() throws IOException {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+
+        try {
+            List<Segment> segments = new ArrayList<>();
+            long totalSize = 0;
+            long now = System.currentTimeMillis();
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (Path entry : entries) {
+                    BasicFileAttributes attributes;
+                    try {
+                        attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+                    } catch (NoSuchFileException e) {
+                        continue;
+                    }
+                    String name = entry.getFileName().toString();
+                    if (name.endsWith(".tmp")) {
+                        if (attributes.lastModifiedTime().toMillis() < now - STALE_TEMP_FILE_MILLIS) {
+                            deleteQuietly(entry);
+                        }
+                    } else if (attributes.isRegularFile() && (name.endsWith(".gz") || name.endsWith(".tar"))) {
+                        segments.add(new Segment(entry, attributes.size(), attributes.lastModifiedTime().toMillis()));
+                        totalSize += attributes.size();
+                    }
+                }
+            }
+
+            if (totalSize <= maxSizeBytes) {
+                return;
+            }
+            segments.sort(Comparator.comparingLong(segment -> segment.lastUsedMillis));
+            for (Segment segment : segments) {
+                if (totalSize <= maxSizeBytes) {
+                    break;
+                }
+                if (deleteQuietly(segment.path)) {
+                    evictions.incrementAndGet();
+                    totalSize -= segment.size;
+                }
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * @return false if the file could not be deleted, like files that are still open on Windows
+     */
+    private static boolean deleteQuietly(Path file) {
+        try {
+            return Files.deleteIfExists(file);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static OutputStream gzip(OutputStream outputStream, int compressionLevel) throws IOException {
+        GzipParameters gzipParameters = new GzipParameters();
+        gzipParameters.setCompressionLevel(compressionLevel);
+        return new GzipCompressorOutputStream(outputStream, gzipParameters);
+    }
+
+    private static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static void transfer(Path segment, WritableByteChannel channel) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            transfer(fileChannel, fileChannel.size(), channel);
+        }
+    }
+
+    /**
+     * Transfers a cached segment and marks it as recently used.
+     *
+     * @return false if the segment was evicted in the meantime
+     */
+    private static boolean transferSegment(Path segment, WritableByteChannel channel) throws IOException {
+        FileChannel fileChannel;
+        try {
+            fileChannel = FileChannel.open(segment, StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+        try {
+            transfer(fileChannel, fileChannel.size(), channel);
+        } finally {
+            fileChannel.close();
+        }
+
+        try {
+            Files.setLastModifiedTime(segment, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (NoSuchFileException e) {
+            // evicted while it was transferred
+        }
+        return true;
+    }
+
+    private static void transferContent(Path file, long size, WritableByteChannel channel) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+            transfer(fileChannel, size, channel);
+        }
+
+        int padding = (int) ((RECORD_SIZE - size % RECORD_SIZE) % RECORD_SIZE);
+        if (padding > 0) {
+            writeFully(ByteBuffer.allocate(padding), channel);
+        }
+    }
+
+    private static void transfer(FileChannel fileChannel, long size, WritableByteChannel channel) throws IOException {
+        long position = 0;
+        while (position < size) {
+            long transferred = fileChannel.transferTo(position, size - position, channel);
+            if (transferred <= 0) {
+                throw new IOException("File was truncated while it was archived");
+            }
+            position += transferred;
+        }
+    }
+
+    private static void writeFully(ByteBuffer buffer, WritableByteChannel channel) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static final class ContentHash {
+
+        final long size;
+
+        final long lastModifiedNanos;
+
+        final HashCode hash;
+
+        ContentHash(long size, long lastModifiedNanos, HashCode hash) {
+            this.size = size;
+            this.lastModifiedNanos = lastModifiedNanos;
+            this.hash = hash;
+        }
+    }
+
+    private static final class Segment {
+
+        final Path path;
+
+        final long size;
+
+        final long lastUsedMillis;
+
+        Segment(Path path, long size, long lastUsedMillis) {
+            this.path = path;
+            this.size = size;
+            this.lastUsedMillis = lastUsedMillis;
+        }
+    }
+
+    /**
+     * Tar stream of a single segment, which does not finish the archive when it is closed. Segments are concatenated, the end of
+     * archive records are written once after all entries. Header-only entries are left open, their content is transferred
+     * from the file itself.
+     */
+    private static final class SegmentOutputStream extends TarArchiveOutputStream {
+
+        SegmentOutputStream(OutputStream outputStream) {
+            super(outputStream, RECORD_SIZE);
+        }
+
+        @Override
+        public void finish() {
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.github.dockerjava.core.util;
 
 import static com.github.dockerjava.core.util.FilePathUtil.relativize;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
@@ -10,15 +12,24 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.zip.GZIPOutputStream;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executor;
+import java.util.zip.Deflater;
+
+import javax.annotation.CheckForNull;
 
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
 import org.apache.commons.compress.compressors.gzip.GzipCompressorOutputStream;
+import org.apache.commons.compress.compressors.gzip.GzipParameters;
 import org.apache.commons.io.FileUtils;
 
+import com.github.dockerjava.core.StreamExecutor;
 import com.google.common.io.ByteStreams;
 
 public class CompressArchiveUtil {
@@ -28,24 +39,28 @@ public class CompressArchiveUtil {
 
     static void addFileToTar(TarArchiveOutputStream tarArchiveOutputStream, Path file, String entryName)
             throws IOException {
+        tarArchiveOutputStream.putArchiveEntry(createTarEntry(tarArchiveOutputStream, file, entryName));
+        if (!Files.isSymbolicLink(file) && file.toFile().isFile()) {
+            try (InputStream input = new BufferedInputStream(Files.newInputStream(file))) {
+                ByteStreams.copy(input, tarArchiveOutputStream);
+            }
+        }
+        tarArchiveOutputStream.closeArchiveEntry();
+    }
+
+    static TarArchiveEntry createTarEntry(TarArchiveOutputStream tarArchiveOutputStream, Path file, String entryName)
+            throws IOException {
         if (Files.isSymbolicLink(file)) {
             TarArchiveEntry tarArchiveEntry = new TarArchiveEntry(entryName, TarArchiveEntry.LF_SYMLINK);
             tarArchiveEntry.setLinkName(Files.readSymbolicLink(file).toString());
-            tarArchiveOutputStream.putArchiveEntry(tarArchiveEntry);
-        } else {
-            TarArchiveEntry tarArchiveEntry = (TarArchiveEntry) tarArchiveOutputStream.createArchiveEntry(file.toFile(),
-                    entryName);
-            if (file.toFile().canExecute()) {
-                tarArchiveEntry.setMode(tarArchiveEntry.getMode() | 0755);
-            }
-            tarArchiveOutputStream.putArchiveEntry(tarArchiveEntry);
-            if (file.toFile().isFile()) {
-                try (InputStream input = new BufferedInputStream(Files.newInputStream(file))) {
-                    ByteStreams.copy(input, tarArchiveOutputStream);
-                }
-            }
+            return tarArchiveEntry;
         }
-        tarArchiveOutputStream.closeArchiveEntry();
+
+        TarArchiveEntry tarArchiveEntry = (TarArchiveEntry) tarArchiveOutputStream.createArchiveEntry(file.toFile(), entryName);
+        if (file.toFile().canExecute()) {
+            tarArchiveEntry.setMode(tarArchiveEntry.getMode() | 0755);
+        }
+        return tarArchiveEntry;
     }
 
     private static TarArchiveOutputStream buildTarStream(Path outputPath, boolean gZipped) throws IOException {
@@ -95,20 +110,125 @@ public class CompressArchiveUtil {
 
     public static File archiveTARFiles(File base, Iterable<File> files, String archiveNameWithOutExtension)
             throws IOException {
-        File tarFile = new File(FileUtils.getTempDirectoryPath(), archiveNameWithOutExtension + ".tar");
+        return archiveTARFiles(base, files, archiveNameWithOutExtension, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Same as {@link #archiveTARFiles(File, Iterable, String)} with a configurable compression.
+     *
+     * @param compressionLevel
+     *            gzip level as defined by {@link Deflater}, {@link Deflater#NO_COMPRESSION} creates a plain tar
+     */
+    public static File archiveTARFiles(File base, Iterable<File> files, String archiveNameWithOutExtension, int compressionLevel)
+            throws IOException {
+        checkCompressionLevel(compressionLevel);
+        File tarFile = new File(FileUtils.getTempDirectoryPath(), archiveNameWithOutExtension + archiveExtension(compressionLevel));
         tarFile.deleteOnExit();
-        try (TarArchiveOutputStream tos = new TarArchiveOutputStream(new GZIPOutputStream(new BufferedOutputStream(
-                new FileOutputStream(tarFile))))) {
+        archiveTARFiles(base, files, new BufferedOutputStream(new FileOutputStream(tarFile)), compressionLevel);
+        return tarFile;
+    }
+
+    /**
+     * Writes the tar archive of <code>files</code> to <code>outputStream</code> and closes it.
+     *
+     * @param compressionLevel
+     *            gzip level as defined by {@link Deflater}, {@link Deflater#NO_COMPRESSION} creates a plain tar
+     */
+    public static void archiveTARFiles(File base, Iterable<File> files, OutputStream outputStream, int compressionLevel)
+            throws IOException {
+        OutputStream archiveStream = outputStream;
+        try {
+            checkCompressionLevel(compressionLevel);
+            if (compressionLevel != Deflater.NO_COMPRESSION) {
+                GzipParameters gzipParameters = new GzipParameters();
+                gzipParameters.setCompressionLevel(compressionLevel);
+                archiveStream = new GzipCompressorOutputStream(outputStream, gzipParameters);
+            }
+        } catch (IOException | RuntimeException e) {
+            try {
+                outputStream.close();
+            } catch (IOException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw e;
+        }
+        try (TarArchiveOutputStream tos = new TarArchiveOutputStream(archiveStream)) {
             tos.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
             tos.setBigNumberMode(TarArchiveOutputStream.BIGNUMBER_POSIX);
-            for (File file : files) {
-                // relativize with method using Path otherwise method with File resolves the symlinks
-                // and this is not want we want. If the file is a symlink, the relativized path should
-                // keep the symlink name and not the target it points to.
-                addFileToTar(tos, file.toPath(), relativize(base.toPath(), file.toPath()));
-            }
+            addFilesToTar(tos, base, files);
         }
+    }
+
+    /**
+     * Returns the tar archive of <code>files</code> as a stream that is produced while it is read, without staging it on disk.
+     * The archive is written on a separate thread that is started on the first read, and that stays at most a few chunks
+     * ahead of the reader.
+     *
+     * @param compressionLevel
+     *            gzip level as defined by {@link Deflater}, {@link Deflater#NO_COMPRESSION} creates a plain tar
+     */
+    public static InputStream streamTARFiles(File base, Iterable<File> files, int compressionLevel) {
+        return streamTARFiles(base, files, compressionLevel, null, StreamExecutor.defaultExecutor());
+    }
 
+    /**
+     * Same as {@link #archiveTARFiles(File, Iterable, String, int)}, taking the entries of unchanged files from
+     * <code>contextCache</code>.
+     */
+    public static File archiveTARFiles(File base, Iterable<File> files, String archiveNameWithOutExtension, int compressionLevel,
+            BuildContextCache contextCache) throws IOException {
+        checkCompressionLevel(compressionLevel);
+        File tarFile = new File(FileUtils.getTempDirectoryPath(), archiveNameWithOutExtension + archiveExtension(compressionLevel));
+        tarFile.deleteOnExit();
+        try (FileChannel channel = FileChannel.open(tarFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            contextCache.writeArchive(base, files, compressionLevel, channel);
+        }
         return tarFile;
     }
+
+    /**
+     * Same as {@link #streamTARFiles(File, Iterable, int)}, taking the entries of unchanged files from <code>contextCache</code>.
+     */
+    public static InputStream streamTARFiles(File base, Iterable<File> files, int compressionLevel, BuildContextCache contextCache) {
+        return streamTARFiles(base, files, compressionLevel, contextCache, StreamExecutor.defaultExecutor());
+    }
+
+    /**
+     * Same as {@link #streamTARFiles(File, Iterable, int, BuildContextCache)}, writing the archive on a thread of
+     * <code>executor</code>.
+     *
+     * @param contextCache cache for the entries of unchanged files, or null
+     */
+    public static InputStream streamTARFiles(File base, Iterable<File> files, int compressionLevel,
+            @CheckForNull BuildContextCache contextCache, Executor executor) {
+        checkCompressionLevel(compressionLevel);
+        checkNotNull(executor, "executor was not specified");
+        if (contextCache == null) {
+            return new PipedArchiveInputStream(outputStream -> archiveTARFiles(base, files, outputStream, compressionLevel), executor);
+        }
+        return new PipedArchiveInputStream(outputStream -> {
+            try (WritableByteChannel channel = Channels.newChannel(outputStream)) {
+                contextCache.writeArchive(base, files, compressionLevel, channel);
+            }
+        }, executor);
+    }
+
+    private static String archiveExtension(int compressionLevel) {
+        return compressionLevel != Deflater.NO_COMPRESSION ? ".tar.gz" : ".tar";
+    }
+
+    private static void checkCompressionLevel(int compressionLevel) {
+        checkArgument(compressionLevel >= Deflater.DEFAULT_COMPRESSION && compressionLevel <= Deflater.BEST_COMPRESSION,
+            "compressionLevel must be between -1 and 9, was %s", compressionLevel);
+    }
+
+    private static void addFilesToTar(TarArchiveOutputStream tos, File base, Iterable<File> files) throws IOException {
+        for (File file : files) {
+            // relativize with method using Path otherwise method with File resolves the symlinks
+            // and this is not want we want. If the file is a symlink, the relativized path should
+            // keep the symlink name and not the target it points to.
+            addFileToTar(tos, file.toPath(), relativize(base.toPath(), file.toPath()));
+        }
+    }
 }
@@ -0,0 +1,251 @@
+package com.github.dockerjava.core.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link InputStream} that is fed by a producer writing to an {@link OutputStream} on a thread of an executor. The producer is
+ * started on the first read and can only be {@link #QUEUE_CAPACITY} chunks ahead of the reader, so memory use is bounded whatever
+ * the size of the archive is. Failures of the producer are rethrown to the reader, closing the stream stops the producer.
+ */
+class PipedArchiveInputStream extends InputStream {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private static final int QUEUE_CAPACITY = 16;
+
+    private static final byte[] END_OF_STREAM = new byte[0];
+
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+    private final Producer producer;
+
+    private final Executor executor;
+
+    private final BlockingQueue<byte[]> chunks = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    private volatile IOException failure;
+
+    private volatile boolean closed;
+
+    private boolean started;
+
+    /**
+     * Thread running the producer, null before and after. Guarded by this, as the thread goes back to the pool afterwards and
+     * must then no longer be interrupted by {@link #close()}.
+     */
+    private Thread producerThread;
+
+    private byte[] chunk;
+
+    private int position;
+
+    PipedArchiveInputStream(Producer producer, Executor executor) {
+        this.producer = producer;
+        this.executor = executor;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fillChunk()) {
+            return -1;
+        }
+        return chunk[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (length == 0) {
+            return 0;
+        }
+        if (!fillChunk()) {
+            return -1;
+        }
+
+        int readBytes = Math.min(length, chunk.length - position);
+        System.arraycopy(chunk, position, buffer, offset, readBytes);
+        position += readBytes;
+        return readBytes;
+    }
+
+    /**
+     * @return whether the current chunk has bytes left to read, false at the end of the stream
+     */
+    private boolean fillChunk() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (chunk != null && position < chunk.length) {
+            return true;
+        }
+        if (chunk == END_OF_STREAM) {
+            return false;
+        }
+
+        startProducer();
+        chunk = nextChunk();
+        position = 0;
+        if (chunk == END_OF_STREAM) {
+            if (failure != null) {
+                throw new IOException("Failed to produce archive", failure);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public int available() {
+        return chunk == null ? 0 : chunk.length - position;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (producerThread != null) {
+            producerThread.interrupt();
+        }
+        chunks.clear();
+    }
+
+    private synchronized void startProducer() {
+        if (started) {
+            return;
+        }
+        started = true;
+
+        String threadName = "docker-java-archive-" + THREAD_NUMBER.incrementAndGet();
+        try {
+            executor.execute(() -> {
+                Thread thread = Thread.currentThread();
+                String previousName = thread.getName();
+                thread.setName(threadName);
+                try {
+                    produce(thread);
+                } finally {
+                    thread.setName(previousName);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            failure = new IOException(e);
+            chunks.add(END_OF_STREAM);
+        }
+    }
+
+    private void produce(Thread thread) {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            producerThread = thread;
+        }
+        try {
+            // the end of the stream is only queued once we know whether the producer failed
+            ChunkOutputStream outputStream = new ChunkOutputStream();
+            producer.writeTo(outputStream);
+            outputStream.close();
+        } catch (IOException e) {
+            failure = e;
+        } catch (RuntimeException e) {
+            failure = new IOException(e);
+        } finally {
+            try {
+                if (!closed) {
+                    chunks.put(END_OF_STREAM);
+                }
+            } catch (InterruptedException e) {
+                // closed by the reader
+            }
+            synchronized (this) {
+                producerThread = null;
+            }
+            // clear the interrupt of close() before the thread goes back to the pool
+            Thread.interrupted();
+        }
+    }
+
+    private byte[] nextChunk() throws IOException {
+        try {
+            return chunks.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the archive");
+        }
+    }
+
+    /**
+     * Writes the archive.
+     */
+    @FunctionalInterface
+    interface Producer {
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
+
+    private class ChunkOutputStream extends OutputStream {
+
+        private byte[] buffer = new byte[CHUNK_SIZE];
+
+        private int count;
+
+        @Override
+        public void write(int b) throws IOException {
+            if (count == buffer.length) {
+                flushChunk();
+            }
+            buffer[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            while (length > 0) {
+                if (count == buffer.length) {
+                    flushChunk();
+                }
+                int copied = Math.min(length, buffer.length - count);
+                System.arraycopy(bytes, offset, buffer, count, copied);
+                count += copied;
+                offset += copied;
+                length -= copied;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (count > 0) {
+                flushChunk();
+            }
+        }
+
+        private void flushChunk() throws IOException {
+            byte[] full = count == buffer.length ? buffer : Arrays.copyOf(buffer, count);
+            put(full);
+            buffer = new byte[CHUNK_SIZE];
+            count = 0;
+        }
+
+        private void put(byte[] bytes) throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed by the reader");
+            }
+            try {
+                chunks.put(bytes);
+            } catch (InterruptedException e) {
+                throw new InterruptedIOException("Stream closed by the reader");
+            }
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.github.dockerjava.httpclient5;
 
-import com.github.dockerjava.transport.DockerHttpClient;
+import com.github.dockerjava.transport.AsyncDockerHttpClient;
 import com.github.dockerjava.transport.NamedPipeSocket;
 import com.github.dockerjava.transport.SSLConfig;
 import com.github.dockerjava.transport.UnixSocket;
@@ -18,24 +18,39 @@ import org.apache.hc.core5.http.ConnectionClosedException;
 import org.apache.hc.core5.http.ContentLengthStrategy;
 import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.concurrent.FutureCallback;
 import org.apache.hc.core5.http.HttpHost;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.Message;
 import org.apache.hc.core5.http.NameValuePair;
 import org.apache.hc.core5.http.config.Registry;
 import org.apache.hc.core5.http.config.RegistryBuilder;
 import org.apache.hc.core5.http.impl.DefaultContentLengthStrategy;
+import org.apache.hc.core5.http.impl.bootstrap.AsyncRequesterBootstrap;
+import org.apache.hc.core5.http.impl.bootstrap.HttpAsyncRequester;
 import org.apache.hc.core5.http.impl.io.EmptyInputStream;
 import org.apache.hc.core5.http.io.SocketConfig;
 import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
 import org.apache.hc.core5.http.io.entity.InputStreamEntity;
+import org.apache.hc.core5.http.message.BasicHttpRequest;
+import org.apache.hc.core5.http.nio.entity.BasicAsyncEntityConsumer;
+import org.apache.hc.core5.http.nio.entity.BasicAsyncEntityProducer;
+import org.apache.hc.core5.http.nio.ssl.BasicClientTlsStrategy;
+import org.apache.hc.core5.http.nio.support.BasicRequestProducer;
+import org.apache.hc.core5.http.nio.support.BasicResponseConsumer;
 import org.apache.hc.core5.http.protocol.BasicHttpContext;
 import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.io.CloseMode;
 import org.apache.hc.core5.net.URIAuthority;
+import org.apache.hc.core5.reactor.IOReactorConfig;
 import org.apache.hc.core5.util.TimeValue;
 import org.apache.hc.core5.util.Timeout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.net.ssl.SSLContext;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.Socket;
@@ -43,16 +58,37 @@ import java.net.URI;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-class ApacheDockerHttpClientImpl implements DockerHttpClient {
+class ApacheDockerHttpClientImpl implements AsyncDockerHttpClient {
 
     private final CloseableHttpClient httpClient;
     private final HttpHost host;
     private final String pathPrefix;
 
+    private final URI dockerHost;
+    private final SSLContext sslContext;
+    private final int maxConnections;
+    private final Duration connectionTimeout;
+    private final Duration responseTimeout;
+
+    /**
+     * Started with the first asynchronous request to a TCP host.
+     */
+    private HttpAsyncRequester asyncRequester;
+
+    /**
+     * Runs the asynchronous requests that need blocking I/O, started with the first of them.
+     */
+    private ExecutorService blockingExecutor;
+
     protected ApacheDockerHttpClientImpl(
         URI dockerHost,
         SSLConfig sslConfig,
@@ -60,7 +96,13 @@ class ApacheDockerHttpClientImpl implements DockerHttpClient {
         Duration connectionTimeout,
         Duration responseTimeout
     ) {
-        Registry<ConnectionSocketFactory> socketFactoryRegistry = createConnectionSocketFactoryRegistry(sslConfig, dockerHost);
+        this.dockerHost = dockerHost;
+        this.sslContext = getSSLContext(sslConfig);
+        this.maxConnections = maxConnections;
+        this.connectionTimeout = connectionTimeout;
+        this.responseTimeout = responseTimeout;
+
+        Registry<ConnectionSocketFactory> socketFactoryRegistry = createConnectionSocketFactoryRegistry(sslContext, dockerHost);
 
         switch (dockerHost.getScheme()) {
             case "unix":
@@ -127,21 +169,25 @@ class ApacheDockerHttpClientImpl implements DockerHttpClient {
             .build();
     }
 
+    private static SSLContext getSSLContext(SSLConfig sslConfig) {
+        if (sslConfig == null) {
+            return null;
+        }
+        try {
+            return sslConfig.getSSLContext();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     private Registry<ConnectionSocketFactory> createConnectionSocketFactoryRegistry(
-        SSLConfig sslConfig,
+        SSLContext sslContext,
         URI dockerHost
     ) {
         RegistryBuilder<ConnectionSocketFactory> socketFactoryRegistryBuilder = RegistryBuilder.create();
 
-        if (sslConfig != null) {
-            try {
-                SSLContext sslContext = sslConfig.getSSLContext();
-                if (sslContext != null) {
-                    socketFactoryRegistryBuilder.register("https", new SSLConnectionSocketFactory(sslContext));
-                }
-            } catch (Exception e) {
-                throw new RuntimeException(e);
-            }
+        if (sslContext != null) {
+            socketFactoryRegistryBuilder.register("https", new SSLConnectionSocketFactory(sslContext));
         }
 
         return socketFactoryRegistryBuilder
@@ -196,9 +242,115 @@ class ApacheDockerHttpClientImpl implements DockerHttpClient {
         }
     }
 
+    @Override
+    public CompletableFuture<Response> executeAsync(Request request) {
+        boolean streamedBody = request.bodyBytes() == null && request.body() != null;
+        if (!"tcp".equals(dockerHost.getScheme()) || streamedBody || request.hijackedInput() != null) {
+            // the I/O reactor only connects TCP sockets, and input streams can only be read with blocking I/O
+            return CompletableFuture.supplyAsync(() -> {
+                try (Response response = execute(request)) {
+                    return new BufferedResponse(response.getStatusCode(), response.getHeaders(), toByteArray(response.getBody()));
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            }, getBlockingExecutor());
+        }
+
+        BasicHttpRequest httpRequest = new BasicHttpRequest(request.method(), host, pathPrefix + request.path());
+        request.headers().forEach(httpRequest::addHeader);
+
+        byte[] bodyBytes = request.bodyBytes();
+        CompletableFuture<Response> result = new CompletableFuture<>();
+        Future<?> exchange = getAsyncRequester().execute(
+            new BasicRequestProducer(httpRequest, bodyBytes != null ? new BasicAsyncEntityProducer(bodyBytes, null) : null),
+            new BasicResponseConsumer<>(new BasicAsyncEntityConsumer()),
+            connectionTimeout != null ? Timeout.of(connectionTimeout.toNanos(), TimeUnit.NANOSECONDS) : Timeout.DISABLED,
+            new FutureCallback<Message<HttpResponse, byte[]>>() {
+                @Override
+                public void completed(Message<HttpResponse, byte[]> message) {
+                    HttpResponse response = message.getHead();
+                    result.complete(new BufferedResponse(response.getCode(), headers(response.getHeaders()), message.getBody()));
+                }
+
+                @Override
+                public void failed(Exception e) {
+                    result.completeExceptionally(e);
+                }
+
+                @Override
+                public void cancelled() {
+                    result.cancel(false);
+                }
+            }
+        );
+        result.whenComplete((response, e) -> {
+            if (result.isCancelled()) {
+                exchange.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private synchronized HttpAsyncRequester getAsyncRequester() {
+        if (asyncRequester == null) {
+            asyncRequester = AsyncRequesterBootstrap.bootstrap()
+                .setIOReactorConfig(IOReactorConfig.custom()
+                    .setSoTimeout(responseTimeout != null
+                        ? Timeout.of(responseTimeout.toNanos(), TimeUnit.NANOSECONDS)
+                        : Timeout.DISABLED)
+                    .build())
+                .setMaxTotal(maxConnections)
+                .setDefaultMaxPerRoute(maxConnections)
+                .setTlsStrategy(sslContext != null ? new BasicClientTlsStrategy(sslContext) : null)
+                .create();
+            asyncRequester.start();
+        }
+        return asyncRequester;
+    }
+
+    private synchronized ExecutorService getBlockingExecutor() {
+        if (blockingExecutor == null) {
+            AtomicInteger threadNumber = new AtomicInteger();
+            blockingExecutor = Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "docker-java-httpclient5-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return blockingExecutor;
+    }
+
     @Override
     public void close() throws IOException {
-        httpClient.close();
+        try {
+            httpClient.close();
+        } finally {
+            synchronized (this) {
+                if (asyncRequester != null) {
+                    asyncRequester.close(CloseMode.GRACEFUL);
+                }
+                if (blockingExecutor != null) {
+                    blockingExecutor.shutdownNow();
+                }
+            }
+        }
+    }
+
+    private static Map<String, List<String>> headers(Header[] headers) {
+        return Stream.of(headers).collect(Collectors.groupingBy(
+            NameValuePair::getName,
+            Collectors.mapping(NameValuePair::getValue, Collectors.toList())
+        ));
+    }
+
+    private static byte[] toByteArray(InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+        return outputStream.toByteArray();
     }
 
     static class ApacheResponse implements Response {
@@ -221,10 +373,7 @@ class ApacheDockerHttpClientImpl implements DockerHttpClient {
 
         @Override
         public Map<String, List<String>> getHeaders() {
-            return Stream.of(response.getHeaders()).collect(Collectors.groupingBy(
-                NameValuePair::getName,
-                Collectors.mapping(NameValuePair::getValue, Collectors.toList())
-            ));
+            return headers(response.getHeaders());
         }
 
         @Override
@@ -261,4 +410,38 @@ class ApacheDockerHttpClientImpl implements DockerHttpClient {
             }
         }
     }
+
+    static class BufferedResponse implements Response {
+
+        private final int statusCode;
+
+        private final Map<String, List<String>> headers;
+
+        private final byte[] body;
+
+        BufferedResponse(int statusCode, Map<String, List<String>> headers, byte[] body) {
+            this.statusCode = statusCode;
+            this.headers = headers;
+            this.body = body != null ? body : new byte[0];
+        }
+
+        @Override
+        public int getStatusCode() {
+            return statusCode;
+        }
+
+        @Override
+        public Map<String, List<String>> getHeaders() {
+            return headers;
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(body);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
 }
@@ -4,4 +4,11 @@ import io.netty.channel.socket.DuplexChannel;
 
 public interface ChannelProvider {
     DuplexChannel getChannel();
+
+    /**
+     * Returns a channel that is never handed to other requests, as needed by hijacked connections and streams.
+     */
+    default DuplexChannel getDedicatedChannel() {
+        return getChannel();
+    }
 }
@@ -1,5 +1,6 @@
 package com.github.dockerjava.netty;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 import static java.util.Objects.nonNull;
 
@@ -9,6 +10,11 @@ import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.net.SocketTimeoutException;
 import java.security.Security;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import javax.net.ssl.SSLEngine;
@@ -63,6 +69,8 @@ public class NettyDockerCmdExecFactory extends AbstractDockerCmdExecFactory {
 
     private static String threadPrefix = "dockerjava-netty";
 
+    private static final String READ_TIMEOUT_HANDLER = "readTimeoutHandler";
+
     /*
      * useful links:
      *
@@ -76,18 +84,48 @@ public class NettyDockerCmdExecFactory extends AbstractDockerCmdExecFactory {
 
     private EventLoopGroup eventLoopGroup;
 
+    private ExecutorService asyncExecutor;
+
     private NettyInitializer nettyInitializer;
 
     private WebTarget baseResource;
 
-    private ChannelProvider channelProvider = new ChannelProvider() {
-        @Override
-        public DuplexChannel getChannel() {
-            DuplexChannel channel = connect();
-            channel.pipeline().addLast(new LoggingHandler(getClass()));
-            return channel;
-        }
-    };
+    private ChannelProvider channelProvider;
+
+    private Integer maxConnections = 100;
+
+    private Integer idleConnectionTimeout = (int) TimeUnit.MINUTES.toMillis(5);
+
+    private Integer connectionAcquireTimeout = (int) TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * Configure the maximum number of connections that are kept open to the docker host and shared by subsequent requests,
+     * <code>0</code> opens a new connection for every request. Requests wait for a connection if all of them are in use.
+     * Streaming and hijacked requests always open their own connection, which does not count against this limit.
+     */
+    public NettyDockerCmdExecFactory withMaxConnections(Integer maxConnections) {
+        checkArgument(maxConnections >= 0, "maxConnections must not be negative");
+        this.maxConnections = maxConnections;
+        return this;
+    }
+
+    /**
+     * Configure the time in milliseconds after which connections that are not used are closed
+     */
+    public NettyDockerCmdExecFactory withIdleConnectionTimeout(Integer idleConnectionTimeout) {
+        checkArgument(idleConnectionTimeout > 0, "idleConnectionTimeout must be positive");
+        this.idleConnectionTimeout = idleConnectionTimeout;
+        return this;
+    }
+
+    /**
+     * Configure the time in milliseconds after which requests fail if all connections stayed in use
+     */
+    public NettyDockerCmdExecFactory withConnectionAcquireTimeout(Integer connectionAcquireTimeout) {
+        checkArgument(connectionAcquireTimeout > 0, "connectionAcquireTimeout must be positive");
+        this.connectionAcquireTimeout = connectionAcquireTimeout;
+        return this;
+    }
 
     @Override
     public void init(DockerClientConfig dockerClientConfig) {
@@ -114,27 +152,55 @@ public class NettyDockerCmdExecFactory extends AbstractDockerCmdExecFactory {
 
         eventLoopGroup = nettyInitializer.init(bootstrap, dockerClientConfig);
 
-        baseResource = new NettyWebTarget(dockerClientConfig.getObjectMapper(), channelProvider, host)
+        ChannelProvider dedicatedChannelProvider = () -> {
+            DuplexChannel channel = connect();
+            channel.pipeline().addLast(new LoggingHandler(getClass()));
+            return channel;
+        };
+
+        if (maxConnections > 0) {
+            channelProvider = new PooledChannelProvider(
+                    dedicatedChannelProvider,
+                    bootstrap.clone().remoteAddress(nettyInitializer.remoteAddress()),
+                    channel -> {
+                        nettyInitializer.initChannel((DuplexChannel) channel);
+                        channel.pipeline().addLast(new LoggingHandler(getClass()));
+                    },
+                    READ_TIMEOUT_HANDLER,
+                    nonNull(readTimeout) ? ReadTimeoutHandler::new : null,
+                    maxConnections,
+                    idleConnectionTimeout,
+                    connectionAcquireTimeout);
+        } else {
+            channelProvider = dedicatedChannelProvider;
+        }
+
+        asyncExecutor = createAsyncExecutor();
+
+        baseResource = new NettyWebTarget(dockerClientConfig.getObjectMapper(), channelProvider, host, asyncExecutor)
                 .path(dockerClientConfig.getApiVersion().asWebPathPart());
     }
 
 
     private DuplexChannel connect() {
         try {
-            return connect(bootstrap);
+            DuplexChannel channel = (DuplexChannel) bootstrap.connect(nettyInitializer.remoteAddress()).sync().channel();
+            nettyInitializer.initChannel(channel);
+            return channel;
         } catch (InterruptedException e) {
             throw new RuntimeException(e);
         }
     }
 
-    private DuplexChannel connect(final Bootstrap bootstrap) throws InterruptedException {
-        return nettyInitializer.connect(bootstrap);
-    }
-
     private interface NettyInitializer {
         EventLoopGroup init(final Bootstrap bootstrap, DockerClientConfig dockerClientConfig);
 
-        DuplexChannel connect(final Bootstrap bootstrap) throws InterruptedException;
+        SocketAddress remoteAddress();
+
+        /**
+         * Called for each new channel, once the handlers of the bootstrap were added.
+         */
+        void initChannel(DuplexChannel channel);
     }
 
     private class UnixDomainSocketInitializer implements NettyInitializer {
@@ -180,11 +246,15 @@ public class NettyDockerCmdExecFactory extends AbstractDockerCmdExecFactory {
         }
 
         @Override
-        public DuplexChannel connect(Bootstrap bootstrap) throws InterruptedException {
+        public SocketAddress remoteAddress() {
             DockerClientConfig dockerClientConfig = getDockerClientConfig();
             String path = dockerClientConfig.getDockerHost().getPath();
 
-            return (DuplexChannel) bootstrap.connect(new DomainSocketAddress(path)).sync().channel();
+            return new DomainSocketAddress(path);
+        }
+
+        @Override
+        public void initChannel(DuplexChannel channel) {
         }
     }
 
@@ -216,7 +286,7 @@ public class NettyDockerCmdExecFactory extends AbstractDockerCmdExecFactory {
         }
 
         @Override
-        public DuplexChannel connect(Bootstrap bootstrap) throws InterruptedException {
+        public SocketAddress remoteAddress() {
             DockerClientConfig dockerClientConfig = getDockerClientConfig();
             String host = dockerClientConfig.getDockerHost().getHost();
             int port = dockerClientConfig.getDockerHost().getPort();
@@ -225,7 +295,12 @@ public class NettyDockerCmdExecFactory extends AbstractDockerCmdExecFactory {
                 throw new RuntimeException("no port configured for " + host);
             }
 
-            final DuplexChannel channel = (DuplexChannel) bootstrap.connect(host, port).sync().channel();
+            return InetSocketAddress.createUnresolved(host, port);
+        }
+
+        @Override
+        public void initChannel(final DuplexChannel channel) {
+            DockerClientConfig dockerClientConfig = getDockerClientConfig();
 
             final SslHandler ssl = initSsl(dockerClientConfig);
 
@@ -244,8 +319,6 @@ public class NettyDockerCmdExecFactory extends AbstractDockerCmdExecFactory {
                 // such message.
                 ssl.sslCloseFuture().addListener(future -> channel.eventLoop().execute(channel::close));
             }
-
-            return channel;
         }
 
         private SslHandler initSsl(DockerClientConfig dockerClientConfig) {
@@ -286,7 +359,28 @@ public class NettyDockerCmdExecFactory extends AbstractDockerCmdExecFactory {
     public void close() throws IOException {
         checkNotNull(eventLoopGroup, "Factory not initialized. You probably forgot to call init()!");
 
+        if (channelProvider instanceof PooledChannelProvider) {
+            ((PooledChannelProvider) channelProvider).close();
+        }
         eventLoopGroup.shutdownGracefully();
+        asyncExecutor.shutdown();
+    }
+
+    /**
+     * Creates the pool running {@code execAsync()}, which blocks a thread per request. It is as large as the connection pool,
+     * as further requests would only wait for a connection. Without a pool every request opens its own connection, so the
+     * threads are only bounded by the requests in flight.
+     */
+    private ExecutorService createAsyncExecutor() {
+        ThreadFactory threadFactory = new DefaultThreadFactory(threadPrefix + "-async", true);
+        if (maxConnections == 0) {
+            return new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), threadFactory);
+        }
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(maxConnections, maxConnections, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     private <T extends Channel> T configure(T channel) {
@@ -296,7 +390,7 @@ public class NettyDockerCmdExecFactory extends AbstractDockerCmdExecFactory {
             channelConfig.setConnectTimeoutMillis(connectTimeout);
         }
         if (nonNull(readTimeout)) {
-            channel.pipeline().addLast("readTimeoutHandler", new ReadTimeoutHandler());
+            channel.pipeline().addLast(READ_TIMEOUT_HANDLER, new ReadTimeoutHandler());
         }
 
         return channel;
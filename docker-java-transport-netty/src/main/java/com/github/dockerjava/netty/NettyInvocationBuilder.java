@@ -135,7 +135,7 @@ public class NettyInvocationBuilder implements InvocationBuilder {
 
         FramedResponseStreamHandler streamHandler = new FramedResponseStreamHandler(resultCallback);
 
-        Channel channel = getChannel();
+        Channel channel = getStreamChannel();
 
         channel.pipeline().addLast(responseHandler);
         channel.pipeline().addLast(streamHandler);
@@ -145,7 +145,7 @@ public class NettyInvocationBuilder implements InvocationBuilder {
 
     public <T> T get(TypeReference<T> typeReference) {
         try (ResponseCallback<T> callback = new ResponseCallback<>()) {
-            get(typeReference, callback);
+            get(typeReference, callback, getChannel());
 
             return callback.awaitResult();
         } catch (IOException e) {
@@ -154,10 +154,12 @@ public class NettyInvocationBuilder implements InvocationBuilder {
     }
 
     public <T> void get(TypeReference<T> typeReference, ResultCallback<T> resultCallback) {
+        get(typeReference, resultCallback, getStreamChannel());
+    }
 
-        HttpRequestProvider requestProvider = httpGetRequestProvider();
+    private <T> void get(TypeReference<T> typeReference, ResultCallback<T> resultCallback, Channel channel) {
 
-        Channel channel = getChannel();
+        HttpRequestProvider requestProvider = httpGetRequestProvider();
 
         JsonResponseCallbackHandler<T> jsonResponseHandler = new JsonResponseCallbackHandler<>(
                 objectMapper,
@@ -179,6 +181,14 @@ public class NettyInvocationBuilder implements InvocationBuilder {
         return channelProvider.getChannel();
     }
 
+    /**
+     * Streams occupy their channel until they end or the caller closes them, so they do not take one of the pooled channels,
+     * which would block all other requests once there are as many open streams as pooled channels.
+     */
+    private DuplexChannel getStreamChannel() {
+        return channelProvider.getDedicatedChannel();
+    }
+
     private HttpRequestProvider httpDeleteRequestProvider() {
         return this::prepareDeleteRequest;
     }
@@ -199,7 +209,7 @@ public class NettyInvocationBuilder implements InvocationBuilder {
 
         HttpRequestProvider requestProvider = httpPostRequestProvider(entity);
 
-        Channel channel = getChannel();
+        Channel channel = getStreamChannel();
 
         AsyncResultCallback<InputStream> callback = new AsyncResultCallback<>();
 
@@ -220,7 +230,8 @@ public class NettyInvocationBuilder implements InvocationBuilder {
 
         FramedResponseStreamHandler streamHandler = new FramedResponseStreamHandler(resultCallback);
 
-        final DuplexChannel channel = getChannel();
+        // a hijacked connection can not be handed to other requests afterwards
+        final DuplexChannel channel = channelProvider.getDedicatedChannel();
 
         // result callback's close() method must be called when the servers closes the connection
         channel.closeFuture().addListener(future -> resultCallback.onComplete());
@@ -272,7 +283,7 @@ public class NettyInvocationBuilder implements InvocationBuilder {
 
     public <T> T post(final Object entity, TypeReference<T> typeReference) {
         try (ResponseCallback<T> callback = new ResponseCallback<>()) {
-            post(entity, typeReference, callback);
+            post(entity, typeReference, callback, getChannel());
 
             return callback.awaitResult();
         } catch (IOException e) {
@@ -281,10 +292,12 @@ public class NettyInvocationBuilder implements InvocationBuilder {
     }
 
     public <T> void post(final Object entity, TypeReference<T> typeReference, final ResultCallback<T> resultCallback) {
+        post(entity, typeReference, resultCallback, getStreamChannel());
+    }
 
-        HttpRequestProvider requestProvider = httpPostRequestProvider(entity);
+    private <T> void post(Object entity, TypeReference<T> typeReference, ResultCallback<T> resultCallback, Channel channel) {
 
-        Channel channel = getChannel();
+        HttpRequestProvider requestProvider = httpPostRequestProvider(entity);
 
         JsonResponseCallbackHandler<T> jsonResponseHandler = new JsonResponseCallbackHandler<>(
                 objectMapper,
@@ -378,7 +391,7 @@ public class NettyInvocationBuilder implements InvocationBuilder {
 
     public <T> T post(TypeReference<T> typeReference, InputStream body) {
         try (ResponseCallback<T> callback = new ResponseCallback<>()) {
-            post(typeReference, callback, body);
+            post(typeReference, callback, body, getChannel());
 
             return callback.awaitResult();
         } catch (IOException e) {
@@ -387,9 +400,11 @@ public class NettyInvocationBuilder implements InvocationBuilder {
     }
 
     public <T> void post(TypeReference<T> typeReference, ResultCallback<T> resultCallback, InputStream body) {
-        HttpRequestProvider requestProvider = httpPostRequestProvider(null);
+        post(typeReference, resultCallback, body, getStreamChannel());
+    }
 
-        Channel channel = getChannel();
+    private <T> void post(TypeReference<T> typeReference, ResultCallback<T> resultCallback, InputStream body, Channel channel) {
+        HttpRequestProvider requestProvider = httpPostRequestProvider(null);
 
         JsonResponseCallbackHandler<T> jsonResponseHandler = new JsonResponseCallbackHandler<>(
                 objectMapper,
@@ -448,7 +463,7 @@ public class NettyInvocationBuilder implements InvocationBuilder {
     public InputStream get() {
         HttpRequestProvider requestProvider = httpGetRequestProvider();
 
-        Channel channel = getChannel();
+        Channel channel = getStreamChannel();
 
         AsyncResultCallback<InputStream> resultCallback = new AsyncResultCallback<>();
 
@@ -11,6 +11,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.dockerjava.core.DockerClientConfig;
@@ -47,6 +50,11 @@ public class NettyWebTarget implements WebTarget {
 
     private final ObjectMapper objectMapper;
 
+    /**
+     * Runs {@link #executeAsync(Supplier)}, null to run it on the calling thread
+     */
+    private final Executor asyncExecutor;
+
     @Deprecated
     public NettyWebTarget(ChannelProvider channelProvider, String host) {
         this(
@@ -55,18 +63,27 @@ public class NettyWebTarget implements WebTarget {
                 host,
                 ImmutableList.of(),
                 ImmutableMap.of(),
-                ImmutableMap.of()
+                ImmutableMap.of(),
+                null
         );
     }
 
     public NettyWebTarget(ObjectMapper objectMapper, ChannelProvider channelProvider, String host) {
+        this(objectMapper, channelProvider, host, null);
+    }
+
+    /**
+     * @param asyncExecutor runs the executions of {@code execAsync()}
+     */
+    public NettyWebTarget(ObjectMapper objectMapper, ChannelProvider channelProvider, String host, Executor asyncExecutor) {
         this(
                 objectMapper,
                 channelProvider,
                 host,
                 ImmutableList.of(),
                 ImmutableMap.of(),
-                ImmutableMap.of()
+                ImmutableMap.of(),
+                asyncExecutor
         );
     }
 
@@ -76,7 +93,8 @@ public class NettyWebTarget implements WebTarget {
             String host,
             ImmutableList<String> path,
             ImmutableMap<String, String> queryParams,
-            ImmutableMap<String, Set<String>> queryParamsSet
+            ImmutableMap<String, Set<String>> queryParamsSet,
+            Executor asyncExecutor
     ) {
         this.objectMapper = objectMapper;
         this.channelProvider = channelProvider;
@@ -84,6 +102,7 @@ public class NettyWebTarget implements WebTarget {
         this.path = path;
         this.queryParams = queryParams;
         this.queryParamsSet = queryParamsSet;
+        this.asyncExecutor = asyncExecutor;
     }
 
     public NettyWebTarget path(String... components) {
@@ -93,7 +112,7 @@ public class NettyWebTarget implements WebTarget {
             newPath.addAll(Arrays.asList(StringUtils.split(component, PATH_SEPARATOR)));
         }
 
-        return new NettyWebTarget(objectMapper, channelProvider, host, newPath.build(), queryParams, queryParamsSet);
+        return new NettyWebTarget(objectMapper, channelProvider, host, newPath.build(), queryParams, queryParamsSet, asyncExecutor);
     }
 
     public NettyInvocationBuilder request() {
@@ -118,6 +137,14 @@ public class NettyWebTarget implements WebTarget {
             .header("Host", host);
     }
 
+    @Override
+    public <T> CompletableFuture<T> executeAsync(Supplier<T> execution) {
+        if (asyncExecutor == null) {
+            return WebTarget.super.executeAsync(execution);
+        }
+        return CompletableFuture.supplyAsync(execution, asyncExecutor);
+    }
+
     /**
      * @see io.netty.handler.codec.http.QueryStringEncoder
      */
@@ -136,7 +163,7 @@ public class NettyWebTarget implements WebTarget {
             component = component.replaceAll("\\{" + name + "\\}", value.toString());
             newPath.add(component);
         }
-        return new NettyWebTarget(objectMapper, channelProvider, host, newPath.build(), queryParams, queryParamsSet);
+        return new NettyWebTarget(objectMapper, channelProvider, host, newPath.build(), queryParams, queryParamsSet, asyncExecutor);
     }
 
     public NettyWebTarget queryParam(String name, Object value) {
@@ -144,7 +171,7 @@ public class NettyWebTarget implements WebTarget {
         if (value != null) {
             builder.put(name, value.toString());
         }
-        return new NettyWebTarget(objectMapper, channelProvider, host, path, builder.build(), queryParamsSet);
+        return new NettyWebTarget(objectMapper, channelProvider, host, path, builder.build(), queryParamsSet, asyncExecutor);
     }
 
     public NettyWebTarget queryParamsSet(String name, Set<?> values) {
@@ -156,7 +183,7 @@ public class NettyWebTarget implements WebTarget {
             }
             builder.put(name, valueBuilder.build());
         }
-        return new NettyWebTarget(objectMapper, channelProvider, host, path, queryParams, builder.build());
+        return new NettyWebTarget(objectMapper, channelProvider, host, path, queryParams, builder.build(), asyncExecutor);
     }
 
     public NettyWebTarget queryParamsJsonMap(String name, Map<String, String> values) {
@@ -0,0 +1,196 @@
+package com.github.dockerjava.netty;
+
+import java.io.Closeable;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import com.github.dockerjava.api.exception.DockerClientException;
+import com.github.dockerjava.netty.handler.ResponseCompleteEvent;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandler.Sharable;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelPipeline;
+import io.netty.channel.pool.ChannelHealthChecker;
+import io.netty.channel.pool.ChannelPoolHandler;
+import io.netty.channel.pool.FixedChannelPool;
+import io.netty.channel.pool.FixedChannelPool.AcquireTimeoutAction;
+import io.netty.channel.socket.DuplexChannel;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.Future;
+
+/**
+ * {@link ChannelProvider} that keeps the channels to the docker host open and hands them to subsequent requests.
+ *
+ * A channel is released to the pool once {@link com.github.dockerjava.netty.handler.HttpResponseHandler} read the complete
+ * response, at which point all handlers that were added for the request are removed again. Channels are checked to be active
+ * before they are reused and closed once they were idle for longer than the idle timeout. Channels that are closed while
+ * they are in use are not reused. Hijacked connections and streams always get a {@link #getDedicatedChannel() dedicated
+ * channel}, so that the pool is only waited for by requests that end with their response. Requests fail if no channel became
+ * available within the acquire timeout.
+ */
+final class PooledChannelProvider implements ChannelProvider, Closeable {
+
+    private static final AttributeKey<Set<String>> BASE_HANDLERS = AttributeKey.valueOf(PooledChannelProvider.class, "baseHandlers");
+
+    private static final AttributeKey<AtomicBoolean> LEASED = AttributeKey.valueOf(PooledChannelProvider.class, "leased");
+
+    private static final String RELEASE_HANDLER = "releaseHandler";
+
+    private static final String IDLE_HANDLER = "idleHandler";
+
+    private final ChannelProvider dedicatedChannelProvider;
+
+    private final ChannelHandler channelInitializer;
+
+    private final Consumer<Channel> channelCustomizer;
+
+    private final String readTimeoutHandlerName;
+
+    private final Supplier<ChannelHandler> readTimeoutHandlerFactory;
+
+    private final long idleTimeoutMillis;
+
+    private final FixedChannelPool pool;
+
+    private final ReleaseHandler releaseHandler = new ReleaseHandler();
+
+    /**
+     * @param bootstrap
+     *            bootstrap with the remote address and the handler initializing the channels
+     * @param channelCustomizer
+     *            called for each new channel after the bootstrap handler was added
+     * @param readTimeoutHandlerFactory
+     *            creates the handler named <code>readTimeoutHandlerName</code> for each request, null if no read timeout is configured
+     * @param acquireTimeoutMillis
+     *            time a request waits for a channel if all of them are in use
+     */
+    PooledChannelProvider(ChannelProvider dedicatedChannelProvider, Bootstrap bootstrap, Consumer<Channel> channelCustomizer,
+            String readTimeoutHandlerName, Supplier<ChannelHandler> readTimeoutHandlerFactory, int maxConnections,
+            long idleTimeoutMillis, long acquireTimeoutMillis) {
+        this.dedicatedChannelProvider = dedicatedChannelProvider;
+        this.channelInitializer = bootstrap.config().handler();
+        this.channelCustomizer = channelCustomizer;
+        this.readTimeoutHandlerName = readTimeoutHandlerName;
+        this.readTimeoutHandlerFactory = readTimeoutHandlerFactory;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        // the most recently used channel is reused first so that the others can be evicted when the load drops
+        this.pool = new FixedChannelPool(bootstrap, new PoolHandler(), ChannelHealthChecker.ACTIVE, AcquireTimeoutAction.FAIL,
+                acquireTimeoutMillis, maxConnections, Integer.MAX_VALUE, true, true);
+    }
+
+    @Override
+    public DuplexChannel getChannel() {
+        Future<Channel> acquired = pool.acquire();
+        try {
+            acquired.await();
+        } catch (InterruptedException e) {
+            // the channel must not stay leased if it is acquired after all
+            acquired.addListener(future -> {
+                if (future.isSuccess()) {
+                    release(acquired.getNow());
+                }
+            });
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+        if (!acquired.isSuccess()) {
+            throw new DockerClientException("Could not acquire a connection to the docker host", acquired.cause());
+        }
+        return (DuplexChannel) acquired.getNow();
+    }
+
+    @Override
+    public DuplexChannel getDedicatedChannel() {
+        return dedicatedChannelProvider.getChannel();
+    }
+
+    @Override
+    public void close() {
+        pool.close();
+    }
+
+    private void release(Channel channel) {
+        if (channel.attr(LEASED).get().compareAndSet(true, false)) {
+            pool.release(channel);
+        }
+    }
+
+    private class PoolHandler implements ChannelPoolHandler {
+        @Override
+        public void channelCreated(Channel channel) {
+            ChannelPipeline pipeline = channel.pipeline();
+            pipeline.addLast(channelInitializer);
+            channelCustomizer.accept(channel);
+            pipeline.addLast(RELEASE_HANDLER, releaseHandler);
+
+            channel.attr(BASE_HANDLERS).set(new HashSet<>(pipeline.names()));
+            channel.attr(LEASED).set(new AtomicBoolean());
+            // a channel that is closed while in use does not count against the limit anymore
+            channel.closeFuture().addListener(future -> release(channel));
+        }
+
+        @Override
+        public void channelAcquired(Channel channel) {
+            ChannelPipeline pipeline = channel.pipeline();
+            if (pipeline.get(IDLE_HANDLER) != null) {
+                if (readTimeoutHandlerFactory != null) {
+                    pipeline.replace(IDLE_HANDLER, readTimeoutHandlerName, readTimeoutHandlerFactory.get());
+                } else {
+                    pipeline.remove(IDLE_HANDLER);
+                }
+            }
+            channel.attr(LEASED).get().set(true);
+        }
+
+        @Override
+        public void channelReleased(Channel channel) {
+            ChannelPipeline pipeline = channel.pipeline();
+            Set<String> baseHandlers = channel.attr(BASE_HANDLERS).get();
+            for (String name : pipeline.names()) {
+                if (!baseHandlers.contains(name) && pipeline.context(name) != null) {
+                    pipeline.remove(name);
+                }
+            }
+
+            // the read timeout of the last request must not fire while the channel is idle
+            if (pipeline.get(readTimeoutHandlerName) != null) {
+                pipeline.replace(readTimeoutHandlerName, IDLE_HANDLER, new IdleHandler(idleTimeoutMillis));
+            } else {
+                pipeline.addFirst(IDLE_HANDLER, new IdleHandler(idleTimeoutMillis));
+            }
+        }
+    }
+
+    @Sharable
+    private class ReleaseHandler extends ChannelInboundHandlerAdapter {
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+            if (evt == ResponseCompleteEvent.INSTANCE) {
+                release(ctx.channel());
+            } else {
+                ctx.fireUserEventTriggered(evt);
+            }
+        }
+    }
+
+    private static final class IdleHandler extends IdleStateHandler {
+        IdleHandler(long idleTimeoutMillis) {
+            super(0, 0, idleTimeoutMillis, TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        protected void channelIdle(ChannelHandlerContext ctx, IdleStateEvent evt) {
+            ctx.close();
+        }
+    }
+}
@@ -9,11 +9,13 @@ import io.netty.handler.codec.http.HttpHeaderNames;
 import io.netty.handler.codec.http.HttpObject;
 import io.netty.handler.codec.http.HttpRequest;
 import io.netty.handler.codec.http.HttpResponse;
+import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.LastHttpContent;
 
 import java.nio.charset.Charset;
 
 import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.async.ResultPublisher;
 import com.github.dockerjava.api.exception.BadRequestException;
 import com.github.dockerjava.api.exception.ConflictException;
 import com.github.dockerjava.api.exception.DockerException;
@@ -39,6 +41,8 @@ public class HttpResponseHandler extends SimpleChannelInboundHandler<HttpObject>
 
     private ResultCallback<?> resultCallback;
 
+    private volatile boolean channelReleased;
+
     public HttpResponseHandler(HttpRequestProvider requestProvider, ResultCallback<?> resultCallback) {
         super(false);
         this.requestProvider = requestProvider;
@@ -51,7 +55,26 @@ public class HttpResponseHandler extends SimpleChannelInboundHandler<HttpObject>
 
             response = (HttpResponse) msg;
 
-            resultCallback.onStart(() -> ctx.channel().close());
+            resultCallback.onStart(new ResultPublisher.SuspendableStream() {
+                @Override
+                public void suspendReading() {
+                    ctx.channel().config().setAutoRead(false);
+                }
+
+                @Override
+                public void resumeReading() {
+                    // only schedules a read on the event loop, so no item is passed before this returns
+                    ctx.channel().config().setAutoRead(true);
+                }
+
+                @Override
+                public void close() {
+                    // a pooled channel that was handed back already belongs to another request
+                    if (!channelReleased) {
+                        ctx.channel().close();
+                    }
+                }
+            });
 
         } else if (msg instanceof HttpContent) {
 
@@ -107,12 +130,28 @@ public class HttpResponseHandler extends SimpleChannelInboundHandler<HttpObject>
                 } catch (Throwable e) {
                     resultCallback.onError(e);
                 } finally {
+                    if (isReusable(response)) {
+                        // the pipeline is reset synchronously if the channel is released to a pool
+                        ctx.pipeline().fireUserEventTriggered(ResponseCompleteEvent.INSTANCE);
+                        channelReleased = ctx.isRemoved();
+                    }
                     resultCallback.onComplete();
                 }
             }
         }
     }
 
+    private static boolean isReusable(HttpResponse response) {
+        switch (response.status().code()) {
+            case 101:
+            case 301:
+            case 302:
+                return false;
+            default:
+                return HttpUtil.isKeepAlive(response);
+        }
+    }
+
     private String getBodyAsMessage(ByteBuf body) {
         String result = body.readBytes(body.readableBytes()).toString(Charset.forName("UTF-8"));
         body.discardReadBytes();
@@ -38,6 +38,14 @@ public class HttpResponseStreamHandler extends SimpleChannelInboundHandler<ByteB
         }
     }
 
+    @Override
+    public void handlerRemoved(ChannelHandlerContext ctx) throws Exception {
+        // the handler is removed once the response is complete and the channel is reused
+        stream.writeComplete();
+
+        super.handlerRemoved(ctx);
+    }
+
     @Override
     public void channelInactive(ChannelHandlerContext ctx) throws Exception {
         stream.writeComplete();
@@ -0,0 +1,13 @@
+package com.github.dockerjava.netty.handler;
+
+/**
+ * User event that {@link HttpResponseHandler} fires through the whole pipeline once a response was read completely and the
+ * connection can be used for another request.
+ */
+public final class ResponseCompleteEvent {
+
+    public static final ResponseCompleteEvent INSTANCE = new ResponseCompleteEvent();
+
+    private ResponseCompleteEvent() {
+    }
+}
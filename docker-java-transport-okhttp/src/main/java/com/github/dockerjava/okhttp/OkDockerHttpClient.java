@@ -3,8 +3,10 @@ package com.github.dockerjava.okhttp;
 import com.github.dockerjava.transport.DockerHttpClient;
 import com.github.dockerjava.transport.SSLConfig;
 import okhttp3.Call;
+import okhttp3.Connection;
 import okhttp3.ConnectionPool;
 import okhttp3.Dns;
+import okhttp3.EventListener;
 import okhttp3.HttpUrl;
 import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
@@ -21,6 +23,8 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.UncheckedIOException;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
 import java.net.URI;
 import java.security.cert.X509Certificate;
 import java.util.Collections;
@@ -28,6 +32,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 public final class OkDockerHttpClient implements DockerHttpClient {
 
@@ -45,6 +50,10 @@ public final class OkDockerHttpClient implements DockerHttpClient {
 
         private Boolean retryOnConnectionFailure = null;
 
+        private Integer maxIdleConnections = null;
+
+        private Integer keepAliveDuration = null;
+
         public Builder dockerHost(URI value) {
             this.dockerHost = Objects.requireNonNull(value, "dockerHost");
             return this;
@@ -70,6 +79,22 @@ public final class OkDockerHttpClient implements DockerHttpClient {
             return this;
         }
 
+        /**
+         * Idle connections kept for reuse, defaults to 5. Named pipe connections are not kept unless this is set.
+         */
+        public Builder maxIdleConnections(Integer value) {
+            this.maxIdleConnections = value;
+            return this;
+        }
+
+        /**
+         * Milliseconds an idle connection is kept for reuse, defaults to 5 minutes.
+         */
+        public Builder keepAliveDuration(Integer value) {
+            this.keepAliveDuration = value;
+            return this;
+        }
+
         public OkDockerHttpClient build() {
             Objects.requireNonNull(dockerHost, "dockerHost");
             return new OkDockerHttpClient(
@@ -77,28 +102,41 @@ public final class OkDockerHttpClient implements DockerHttpClient {
                 sslConfig,
                 readTimeout,
                 connectTimeout,
-                retryOnConnectionFailure
+                retryOnConnectionFailure,
+                maxIdleConnections,
+                keepAliveDuration
             );
         }
     }
 
     private static final String SOCKET_SUFFIX = ".socket";
 
+    private static final int DEFAULT_MAX_IDLE_CONNECTIONS = 5;
+
+    private static final long DEFAULT_KEEP_ALIVE_DURATION = TimeUnit.MINUTES.toMillis(5);
+
     final OkHttpClient client;
 
     final OkHttpClient streamingClient;
 
     private final HttpUrl baseUrl;
 
+    private final AtomicLong connectionPoolHits = new AtomicLong();
+
+    private final AtomicLong connectionPoolMisses = new AtomicLong();
+
     private OkDockerHttpClient(
         URI dockerHost,
         SSLConfig sslConfig,
         Integer readTimeout,
         Integer connectTimeout,
-        Boolean retryOnConnectionFailure
+        Boolean retryOnConnectionFailure,
+        Integer maxIdleConnections,
+        Integer keepAliveDuration
     ) {
         okhttp3.OkHttpClient.Builder clientBuilder = new okhttp3.OkHttpClient.Builder()
             .addNetworkInterceptor(new HijackingInterceptor())
+            .eventListenerFactory(call -> new ConnectionPoolListener())
             .readTimeout(0, TimeUnit.MILLISECONDS)
             .retryOnConnectionFailure(true);
 
@@ -125,8 +163,14 @@ public final class OkDockerHttpClient implements DockerHttpClient {
                     clientBuilder.socketFactory(new NamedPipeSocketFactory(socketPath));
                 }
 
+                if ("npipe".equals(dockerHost.getScheme()) && maxIdleConnections == null) {
+                    // named pipes do not support SO_TIMEOUT, which OkHttp needs to check pooled connections
+                    clientBuilder.connectionPool(new ConnectionPool(0, 1, TimeUnit.SECONDS));
+                } else {
+                    clientBuilder.connectionPool(connectionPool(maxIdleConnections, keepAliveDuration));
+                }
+
                 clientBuilder
-                    .connectionPool(new ConnectionPool(0, 1, TimeUnit.SECONDS))
                     .dns(hostname -> {
                         if (hostname.endsWith(SOCKET_SUFFIX)) {
                             return Collections.singletonList(InetAddress.getByAddress(hostname, new byte[]{0, 0, 0, 0}));
@@ -136,6 +180,9 @@ public final class OkDockerHttpClient implements DockerHttpClient {
                     });
                 break;
             default:
+                if (maxIdleConnections != null || keepAliveDuration != null) {
+                    clientBuilder.connectionPool(connectionPool(maxIdleConnections, keepAliveDuration));
+                }
         }
 
         boolean isSSL = false;
@@ -180,6 +227,35 @@ public final class OkDockerHttpClient implements DockerHttpClient {
         baseUrl = baseUrlBuilder.build();
     }
 
+    private static ConnectionPool connectionPool(Integer maxIdleConnections, Integer keepAliveDuration) {
+        return new ConnectionPool(
+            maxIdleConnections != null ? maxIdleConnections : DEFAULT_MAX_IDLE_CONNECTIONS,
+            keepAliveDuration != null ? keepAliveDuration : DEFAULT_KEEP_ALIVE_DURATION,
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+    /**
+     * @return number of requests that were sent over a pooled connection
+     */
+    public long getConnectionPoolHits() {
+        return connectionPoolHits.get();
+    }
+
+    /**
+     * @return number of requests that had to open a new connection
+     */
+    public long getConnectionPoolMisses() {
+        return connectionPoolMisses.get();
+    }
+
+    /**
+     * @return number of connections currently kept for reuse
+     */
+    public int getIdleConnectionCount() {
+        return client.connectionPool().idleConnectionCount();
+    }
+
     private RequestBody toRequestBody(Request request) {
         byte[] bodyBytes = request.bodyBytes();
         if (bodyBytes != null) {
@@ -247,6 +323,25 @@ public final class OkDockerHttpClient implements DockerHttpClient {
         }
     }
 
+    /**
+     * Counts whether calls were served by a pooled connection, created per call.
+     */
+    private class ConnectionPoolListener extends EventListener {
+
+        private boolean connected;
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+            connected = true;
+        }
+
+        @Override
+        public void connectionAcquired(Call call, Connection connection) {
+            (connected ? connectionPoolMisses : connectionPoolHits).incrementAndGet();
+            connected = false;
+        }
+    }
+
     static class OkResponse implements Response {
 
         static final ThreadLocal<Boolean> CLOSING = ThreadLocal.withInitial(() -> false);
@@ -8,19 +8,35 @@ import com.github.dockerjava.core.DockerClientImpl;
 import com.github.dockerjava.transport.DockerHttpClient.Request;
 import com.github.dockerjava.transport.DockerHttpClient.Request.Method;
 import com.github.dockerjava.transport.DockerHttpClient.Response;
+import com.sun.jna.Platform;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
 import org.junit.Test;
 import org.testcontainers.DockerClientFactory;
 import org.testcontainers.containers.GenericContainer;
 import org.testcontainers.dockerclient.TransportConfig;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
 import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeTrue;
 
 public abstract class DockerHttpClientTCK {
 
@@ -80,6 +96,109 @@ public abstract class DockerHttpClientTCK {
         }
     }
 
+    /**
+     * Test that consecutive requests are sent over the same connection once their responses were consumed
+     */
+    @Test
+    public final void testConnectionReuse() throws Exception {
+        try (MockWebServer server = new MockWebServer()) {
+            String dockerHost = server.url("/").toString()
+                .replace("http://", "tcp://");
+
+            try (DockerHttpClient client = createDockerHttpClient(dockerHost)) {
+                for (int i = 0; i < 3; i++) {
+                    server.enqueue(new MockResponse().setResponseCode(200).setBody("OK"));
+
+                    Request pingRequest = Request.builder()
+                        .method(Method.GET)
+                        .path("/_ping")
+                        .build();
+
+                    try (Response response = client.execute(pingRequest)) {
+                        assertThat(response.getBody()).hasContent("OK");
+                    }
+                }
+
+                for (int i = 0; i < 3; i++) {
+                    assertThat(server.takeRequest().getSequenceNumber())
+                        .as("requests sent before over the same connection")
+                        .isEqualTo(i);
+                }
+            }
+        }
+    }
+
+    /**
+     * Test that consecutive requests are sent over the same unix socket connection once their responses were consumed
+     */
+    @Test
+    public final void testUnixSocketConnectionReuse() throws Exception {
+        assumeTrue("unix sockets", Platform.isLinux() || Platform.isMac());
+        Path directory = Files.createTempDirectory("docker-java-tck");
+        Path socketPath = directory.resolve("docker.sock");
+        AtomicInteger connections = new AtomicInteger();
+
+        try (ServerSocketChannel server = openUnixServerSocket(socketPath)) {
+            Thread acceptor = new Thread(() -> serveOk(server, connections), "docker-java-tck-unix-socket");
+            acceptor.setDaemon(true);
+            acceptor.start();
+
+            try (DockerHttpClient client = createDockerHttpClient("unix://" + socketPath)) {
+                for (int i = 0; i < 3; i++) {
+                    Request pingRequest = Request.builder()
+                        .method(Method.GET)
+                        .path("/_ping")
+                        .build();
+
+                    try (Response response = client.execute(pingRequest)) {
+                        assertThat(response.getBody()).hasContent("OK");
+                    }
+                }
+            }
+
+            assertThat(connections.get())
+                .as("accepted connections")
+                .isEqualTo(1);
+        } finally {
+            Files.deleteIfExists(socketPath);
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * Test that asynchronous clients send the request and buffer the response
+     */
+    @Test
+    public final void testExecuteAsync() throws Exception {
+        try (MockWebServer server = new MockWebServer()) {
+            String dockerHost = server.url("/").toString()
+                .replace("http://", "tcp://");
+
+            try (DockerHttpClient client = createDockerHttpClient(dockerHost)) {
+                assumeTrue("asynchronous client", client instanceof AsyncDockerHttpClient);
+
+                server.enqueue(new MockResponse().setResponseCode(201).setHeader("Api-Version", "1.40").setBody("{}"));
+
+                Request request = Request.builder()
+                    .method(Method.POST)
+                    .path("/containers/create")
+                    .putHeader("content-type", "application/json")
+                    .bodyBytes("{\"Image\":\"busybox\"}".getBytes(StandardCharsets.UTF_8))
+                    .build();
+
+                try (Response response = ((AsyncDockerHttpClient) client).executeAsync(request).get(5, SECONDS)) {
+                    assertThat(response.getStatusCode()).as("status code").isEqualTo(201);
+                    assertThat(response.getHeader("api-version")).as("api version").isEqualTo("1.40");
+                    assertThat(response.getBody()).hasContent("{}");
+                }
+
+                RecordedRequest recordedRequest = server.takeRequest();
+                assertThat(recordedRequest.getPath()).as("recorded path").isEqualTo("/containers/create");
+                assertThat(recordedRequest.getBody().readUtf8()).as("recorded body").isEqualTo("{\"Image\":\"busybox\"}");
+            }
+        }
+    }
+
     private DockerHttpClient createDockerHttpClient() {
         // Use Testcontainers to detect Docker environment
         TransportConfig transportConfig = DockerClientFactory.instance().getTransportConfig();
@@ -114,6 +233,65 @@ public abstract class DockerHttpClientTCK {
         }
     }
 
+    /**
+     * Opens a server socket with the unix domain socket support of Java 16, looked up reflectively as the TCK is built for
+     * Java 8.
+     */
+    private static ServerSocketChannel openUnixServerSocket(Path socketPath) throws Exception {
+        SocketAddress address;
+        ServerSocketChannel server;
+        try {
+            Class<?> addressClass = Class.forName("java.net.UnixDomainSocketAddress");
+            address = (SocketAddress) addressClass.getMethod("of", Path.class).invoke(null, socketPath);
+            ProtocolFamily family = StandardProtocolFamily.valueOf("UNIX");
+            server = (ServerSocketChannel) ServerSocketChannel.class.getMethod("open", ProtocolFamily.class).invoke(null, family);
+        } catch (ClassNotFoundException | IllegalArgumentException | NoSuchMethodException e) {
+            assumeTrue("unix domain socket channels", false);
+            throw e;
+        }
+        return server.bind(address);
+    }
+
+    /**
+     * Accepts connections until the server is closed, and answers every request of them with {@code OK}.
+     */
+    private static void serveOk(ServerSocketChannel server, AtomicInteger connections) {
+        byte[] response = "HTTP/1.1 200 OK\r\nContent-Length: 2\r\n\r\nOK".getBytes(StandardCharsets.US_ASCII);
+        while (server.isOpen()) {
+            SocketChannel channel;
+            try {
+                channel = server.accept();
+            } catch (IOException e) {
+                return;
+            }
+            connections.incrementAndGet();
+
+            Thread connection = new Thread(() -> {
+                try (
+                    SocketChannel ignored = channel;
+                    InputStream in = Channels.newInputStream(channel);
+                    OutputStream out = Channels.newOutputStream(channel)
+                ) {
+                    // requests without body end with an empty line
+                    int matched = 0;
+                    int read;
+                    while ((read = in.read()) != -1) {
+                        matched = (read == "\r\n\r\n".charAt(matched)) ? matched + 1 : (read == '\r' ? 1 : 0);
+                        if (matched == 4) {
+                            out.write(response);
+                            out.flush();
+                            matched = 0;
+                        }
+                    }
+                } catch (IOException ignored) {
+                    // connection closed by the client
+                }
+            }, "docker-java-tck-unix-connection");
+            connection.setDaemon(true);
+            connection.start();
+        }
+    }
+
     private static class AttachContainerTestCallback extends ResultCallback.Adapter<Frame> {
 
         private final StringBuffer log = new StringBuffer();
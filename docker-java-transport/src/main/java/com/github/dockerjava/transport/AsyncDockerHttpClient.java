@@ -0,0 +1,17 @@
+package com.github.dockerjava.transport;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link DockerHttpClient} that can send requests without blocking the calling thread.
+ */
+public interface AsyncDockerHttpClient extends DockerHttpClient {
+
+    /**
+     * Sends the request and completes the returned future on an I/O thread once the whole response was received, so the body
+     * of the response is read from memory. It should not be used for responses that are streamed, like logs or events.
+     * <p>
+     * Requests with a streamed body or hijacked input may be executed on another thread, as reading their input blocks.
+     */
+    CompletableFuture<Response> executeAsync(Request request);
+}
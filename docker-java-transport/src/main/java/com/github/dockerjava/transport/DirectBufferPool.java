@@ -0,0 +1,49 @@
+package com.github.dockerjava.transport;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Direct buffers shared by the streams of all domain sockets. Native reads and writes of direct buffers do not go through a
+ * temporary copy, and pooling them avoids allocating direct memory for every connection.
+ */
+final class DirectBufferPool {
+
+    static final int BUFFER_SIZE = 32 * 1024;
+
+    private static final int MAX_POOLED_BUFFERS = 64;
+
+    private static final Queue<ByteBuffer> BUFFERS = new ConcurrentLinkedQueue<>();
+
+    private static final AtomicInteger POOLED_BUFFERS = new AtomicInteger();
+
+    private DirectBufferPool() {
+    }
+
+    /**
+     * @return a cleared buffer of {@link #BUFFER_SIZE} bytes
+     */
+    static ByteBuffer acquire() {
+        ByteBuffer buffer = BUFFERS.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+        POOLED_BUFFERS.decrementAndGet();
+        ((Buffer) buffer).clear();
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer to the pool, it must not be used by the caller anymore.
+     */
+    static void release(ByteBuffer buffer) {
+        if (POOLED_BUFFERS.incrementAndGet() <= MAX_POOLED_BUFFERS) {
+            BUFFERS.offer(buffer);
+        } else {
+            POOLED_BUFFERS.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.github.dockerjava.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link InputStream} of a socket that reads into a pooled direct buffer, so that small reads are served without a system
+ * call. The buffer goes back to the pool once all of its bytes were read, so an idle connection holds none. Reads are guarded by
+ * their own lock and never wait for writes.
+ */
+abstract class DirectBufferedInputStream extends InputStream {
+
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * Flipped buffer holding the bytes that were not read yet, only set while a read is in progress or bytes are left.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * Reads from the socket into <code>buffer</code>, blocking until at least one byte was read.
+     *
+     * @return number of bytes read, -1 at the end of the stream
+     */
+    protected abstract int readFromSocket(ByteBuffer buffer) throws IOException;
+
+    protected abstract boolean isSocketClosed();
+
+    @Override
+    public int read() throws IOException {
+        lock.lock();
+        try {
+            return fill() ? buffer.get() & 0xFF : -1;
+        } finally {
+            releaseIfClosedOrDrained();
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+
+        lock.lock();
+        try {
+            if (!fill()) {
+                return -1;
+            }
+            int count = Math.min(len, buffer.remaining());
+            buffer.get(b, off, count);
+            return count;
+        } finally {
+            releaseIfClosedOrDrained();
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int available() {
+        lock.lock();
+        try {
+            return buffer == null ? 0 : buffer.remaining();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the buffer to the pool, unless a read is in progress that will do it once it returns.
+     */
+    void releaseBuffer() {
+        if (lock.tryLock()) {
+            try {
+                release();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private boolean fill() throws IOException {
+        if (buffer != null && buffer.hasRemaining()) {
+            return true;
+        }
+        if (isSocketClosed()) {
+            throw new SocketException("Socket is closed");
+        }
+        if (buffer == null) {
+            buffer = DirectBufferPool.acquire();
+        }
+
+        ((Buffer) buffer).clear();
+        try {
+            return readFromSocket(buffer) > 0;
+        } finally {
+            ((Buffer) buffer).flip();
+        }
+    }
+
+    private void releaseIfClosedOrDrained() {
+        if (isSocketClosed() || buffer != null && !buffer.hasRemaining()) {
+            release();
+        }
+    }
+
+    private void release() {
+        if (buffer != null) {
+            DirectBufferPool.release(buffer);
+            buffer = null;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.github.dockerjava.transport;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.SocketException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link OutputStream} of a socket that copies the written bytes into a pooled direct buffer before they are written to the
+ * socket. Single bytes are kept in the buffer until it is full, {@link #flush()} is called or an array is written, arrays are
+ * written right away. The buffer is only taken from the pool while bytes are written or kept, so an idle connection holds
+ * none. Writes are guarded by their own lock and never wait for reads.
+ */
+abstract class DirectBufferedOutputStream extends OutputStream {
+
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * Buffer in write mode holding the single bytes that were not written yet, only set while bytes are written or kept.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * Writes all remaining bytes of <code>buffer</code> to the socket.
+     */
+    protected abstract void writeToSocket(ByteBuffer buffer) throws IOException;
+
+    protected abstract boolean isSocketClosed();
+
+    @Override
+    public void write(int b) throws IOException {
+        lock.lock();
+        try {
+            ByteBuffer pending = buffer();
+            pending.put((byte) b);
+            if (!pending.hasRemaining()) {
+                writePending();
+            }
+        } finally {
+            releaseIfClosed();
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > b.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+
+        lock.lock();
+        try {
+            // the kept single bytes are sent together with the first chunk
+            while (len > 0) {
+                ByteBuffer chunk = buffer();
+                int count = Math.min(len, chunk.remaining());
+                chunk.put(b, off, count);
+                writePending();
+                off += count;
+                len -= count;
+            }
+        } finally {
+            releaseIfClosedOrEmpty();
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        lock.lock();
+        try {
+            if (buffer != null) {
+                if (isSocketClosed()) {
+                    throw new SocketException("Socket is closed");
+                }
+                writePending();
+            }
+        } finally {
+            releaseIfClosedOrEmpty();
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns the buffer to the pool, unless a write is in progress that will do it once it returns. Bytes that were kept are
+     * dropped.
+     */
+    void releaseBuffer() {
+        if (lock.tryLock()) {
+            try {
+                release();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private ByteBuffer buffer() throws IOException {
+        if (isSocketClosed()) {
+            throw new SocketException("Socket is closed");
+        }
+        if (buffer == null) {
+            buffer = DirectBufferPool.acquire();
+        }
+        return buffer;
+    }
+
+    private void writePending() throws IOException {
+        ((Buffer) buffer).flip();
+        try {
+            writeToSocket(buffer);
+        } finally {
+            ((Buffer) buffer).clear();
+        }
+    }
+
+    private void releaseIfClosed() {
+        if (isSocketClosed()) {
+            release();
+        }
+    }
+
+    private void releaseIfClosedOrEmpty() {
+        if (isSocketClosed() || buffer != null && buffer.position() == 0) {
+            release();
+        }
+    }
+
+    private void release() {
+        if (buffer != null) {
+            DirectBufferPool.release(buffer);
+            buffer = null;
+        }
+    }
+}
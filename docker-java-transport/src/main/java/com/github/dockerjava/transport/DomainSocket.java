@@ -20,12 +20,19 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import com.github.dockerjava.transport.FileDescriptor.Handle;
 import com.sun.jna.LastErrorException;
 import com.sun.jna.Native;
 import com.sun.jna.Platform;
+import com.sun.jna.Structure;
 
 /**
  * A {@link Socket} implementation for Linux of BSD domain sockets.
@@ -44,11 +51,24 @@ public abstract class DomainSocket extends AbstractSocket {
 
     protected static final int SOCK_STREAM = 1;
 
+    private static final short POLLIN = 1;
+
+    private static final int EINTR = 4;
+
     private final FileDescriptor fileDescriptor;
 
-    private final InputStream inputStream;
+    private final DomainSocketInputStream inputStream;
+
+    private final DomainSocketOutputStream outputStream;
+
+    private volatile int soTimeout;
 
-    private final OutputStream outputStream;
+    /**
+     * Reused by every read that waits for {@link #soTimeout}, as reads are not concurrent
+     */
+    private final Pollfd readPollfd = new Pollfd();
+
+    private volatile boolean closed;
 
     static {
         Native.register(Platform.C_LIBRARY_NAME);
@@ -70,19 +90,76 @@ public abstract class DomainSocket extends AbstractSocket {
         return new FileDescriptor(handle, this::close);
     }
 
+    /**
+     * Reads into a direct buffer, starting at its position.
+     */
     private int read(ByteBuffer buffer) throws IOException {
         try (Handle handle = this.fileDescriptor.acquire()) {
             if (handle.isClosed()) {
                 return -1;
             }
+            ByteBuffer target = (buffer.position() == 0) ? buffer : buffer.slice();
+            int timeout = this.soTimeout;
+            if (timeout > 0) {
+                awaitReadable(handle.intValue(), timeout);
+            }
             try {
-                return read(handle.intValue(), buffer, buffer.remaining());
+                int amountRead = read(handle.intValue(), target, target.remaining());
+                if (amountRead > 0) {
+                    ((Buffer) buffer).position(buffer.position() + amountRead);
+                }
+                return amountRead;
             } catch (LastErrorException ex) {
                 throw new IOException(ex);
             }
         }
     }
 
+    /**
+     * Waits with {@code poll} until the socket is readable, which is the same on every platform, unlike the values of
+     * {@code SO_RCVTIMEO}.
+     */
+    private void awaitReadable(int fd, int timeout) throws IOException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+        while (true) {
+            this.readPollfd.fd = fd;
+            this.readPollfd.events = POLLIN;
+            this.readPollfd.revents = 0;
+            int remaining = (int) Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+            try {
+                if (poll(this.readPollfd, 1, remaining) > 0) {
+                    // readable, or closed or failed, which the read reports
+                    return;
+                }
+                throw new SocketTimeoutException("Read timed out");
+            } catch (LastErrorException ex) {
+                if (ex.getErrorCode() != EINTR) {
+                    throw new IOException(ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes all remaining bytes of a direct buffer.
+     */
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        try (Handle handle = this.fileDescriptor.acquire()) {
+            if (handle.isClosed()) {
+                throw new SocketException("Socket is closed");
+            }
+            while (buffer.hasRemaining()) {
+                ByteBuffer source = (buffer.position() == 0) ? buffer : buffer.slice();
+                try {
+                    int written = write(handle.intValue(), source, source.remaining());
+                    ((Buffer) buffer).position(buffer.position() + written);
+                } catch (LastErrorException ex) {
+                    throw new IOException(ex);
+                }
+            }
+        }
+    }
+
     public void write(ByteBuffer buffer) throws IOException {
         try (Handle handle = this.fileDescriptor.acquire()) {
             if (!handle.isClosed()) {
@@ -105,13 +182,33 @@ public abstract class DomainSocket extends AbstractSocket {
         return this.outputStream;
     }
 
+    /**
+     * Sets the timeout of reads, which fail with a {@link SocketTimeoutException} once it elapsed.
+     */
+    @Override
+    public void setSoTimeout(int timeout) throws SocketException {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("timeout can't be negative");
+        }
+        this.soTimeout = timeout;
+    }
+
+    @Override
+    public int getSoTimeout() {
+        return this.soTimeout;
+    }
+
     @Override
     public void close() throws IOException {
+        this.closed = true;
         super.close();
         try {
             this.fileDescriptor.close();
         } catch (LastErrorException ex) {
             throw new IOException(ex);
+        } finally {
+            this.inputStream.releaseBuffer();
+            this.outputStream.releaseBuffer();
         }
     }
 
@@ -125,6 +222,8 @@ public abstract class DomainSocket extends AbstractSocket {
 
     private native int close(int fd) throws LastErrorException;
 
+    private native int poll(Pollfd fds, int nfds, int timeout) throws LastErrorException;
+
     /**
      * Return a new {@link DomainSocket} for the given path.
      * @param path the path to the domain socket
@@ -144,25 +243,38 @@ public abstract class DomainSocket extends AbstractSocket {
         return Platform.isFreeBSD() || Platform.iskFreeBSD() || Platform.isNetBSD() || Platform.isOpenBSD();
     }
 
+    /**
+     * Native {@code pollfd} structure as defined in {@code poll.h}.
+     */
+    public static class Pollfd extends Structure implements Structure.ByReference {
+
+        public int fd;
+
+        public short events;
+
+        public short revents;
+
+        @Override
+        protected List<String> getFieldOrder() {
+            return Arrays.asList("fd", "events", "revents");
+        }
+
+    }
+
     /**
      * {@link InputStream} returned from the {@link DomainSocket}.
      */
-    private class DomainSocketInputStream extends InputStream {
+    private class DomainSocketInputStream extends DirectBufferedInputStream {
 
         @Override
-        public int read() throws IOException {
-            ByteBuffer buffer = ByteBuffer.allocate(1);
+        protected int readFromSocket(ByteBuffer buffer) throws IOException {
             int amountRead = DomainSocket.this.read(buffer);
-            return (amountRead != 1) ? -1 : buffer.get() & 0xFF;
+            return (amountRead > 0) ? amountRead : -1;
         }
 
         @Override
-        public int read(byte[] b, int off, int len) throws IOException {
-            if (len == 0) {
-                return 0;
-            }
-            int amountRead = DomainSocket.this.read(ByteBuffer.wrap(b, off, len));
-            return (amountRead > 0) ? amountRead : -1;
+        protected boolean isSocketClosed() {
+            return DomainSocket.this.closed;
         }
 
     }
@@ -170,20 +282,16 @@ public abstract class DomainSocket extends AbstractSocket {
     /**
      * {@link OutputStream} returned from the {@link DomainSocket}.
      */
-    private class DomainSocketOutputStream extends OutputStream {
+    private class DomainSocketOutputStream extends DirectBufferedOutputStream {
 
         @Override
-        public void write(int b) throws IOException {
-            ByteBuffer buffer = ByteBuffer.allocate(1);
-            buffer.put(0, (byte) (b & 0xFF));
-            DomainSocket.this.write(buffer);
+        protected void writeToSocket(ByteBuffer buffer) throws IOException {
+            DomainSocket.this.writeFully(buffer);
         }
 
         @Override
-        public void write(byte[] b, int off, int len) throws IOException {
-            if (len != 0) {
-                DomainSocket.this.write(ByteBuffer.wrap(b, off, len));
-            }
+        protected boolean isSocketClosed() {
+            return DomainSocket.this.closed;
         }
 
     }
@@ -18,6 +18,7 @@ package com.github.dockerjava.transport;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.IntConsumer;
 
 /**
@@ -28,15 +29,27 @@ import java.util.function.IntConsumer;
  */
 class FileDescriptor {
 
+    /**
+     * Bit of {@link #state} that is set once the descriptor should be closed.
+     */
+    private static final int CLOSE_REQUESTED = 1;
+
+    /**
+     * Increment of {@link #state} for every acquired handle.
+     */
+    private static final int REFERENCE = 2;
+
     private final Handle openHandle;
 
     private final Handle closedHandler;
 
     private final IntConsumer closer;
 
-    private Status status = Status.OPEN;
-
-    private int referenceCount;
+    /**
+     * Number of acquired handles times {@link #REFERENCE}, plus {@link #CLOSE_REQUESTED}. Reads and writes acquire a handle for
+     * every call, so this is updated without taking a lock.
+     */
+    private final AtomicInteger state = new AtomicInteger();
 
     FileDescriptor(int handle, IntConsumer closer) {
         this.openHandle = new Handle(handle);
@@ -54,42 +67,34 @@ class FileDescriptor {
      * {@link Handle#close() close} the resulting handle when done.
      * @return the handle
      */
-    synchronized Handle acquire() {
-        this.referenceCount++;
-        return (this.status != Status.OPEN) ? this.closedHandler : this.openHandle;
+    Handle acquire() {
+        while (true) {
+            int current = this.state.get();
+            if ((current & CLOSE_REQUESTED) != 0) {
+                return this.closedHandler;
+            }
+            if (this.state.compareAndSet(current, current + REFERENCE)) {
+                return this.openHandle;
+            }
+        }
     }
 
-    private synchronized void release() {
-        this.referenceCount--;
-        if (this.referenceCount == 0 && this.status == Status.CLOSE_PENDING) {
+    private void release() {
+        // only the release of the last handle after a close was requested sees exactly this state
+        if (this.state.addAndGet(-REFERENCE) == CLOSE_REQUESTED) {
             this.closer.accept(this.openHandle.value);
-            this.status = Status.CLOSED;
         }
     }
 
     /**
      * Close the underlying file when all handles have been released.
      */
-    synchronized void close() {
-        if (this.status == Status.OPEN) {
-            if (this.referenceCount == 0) {
-                this.closer.accept(this.openHandle.value);
-                this.status = Status.CLOSED;
-            } else {
-                this.status = Status.CLOSE_PENDING;
-            }
+    void close() {
+        if (this.state.getAndUpdate(current -> current | CLOSE_REQUESTED) == 0) {
+            this.closer.accept(this.openHandle.value);
         }
     }
 
-    /**
-     * The status of the file descriptor.
-     */
-    private enum Status {
-
-        OPEN, CLOSE_PENDING, CLOSED
-
-    }
-
     /**
      * Provides access to the actual file descriptor handle.
      */
@@ -6,10 +6,14 @@ import java.io.OutputStream;
 import java.net.Socket;
 import java.net.SocketAddress;
 import java.net.SocketException;
+import java.net.SocketTimeoutException;
 import java.nio.ByteBuffer;
-import java.nio.channels.Channels;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
-import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.TimeUnit;
 
 public class UnixSocket extends AbstractSocket {
 
@@ -34,12 +38,35 @@ public class UnixSocket extends AbstractSocket {
 
     private final SocketChannel socketChannel;
 
+    private final Selector readSelector;
+
+    private final Selector writeSelector;
+
+    private final UnixSocketInputStream inputStream = new UnixSocketInputStream();
+
+    private final UnixSocketOutputStream outputStream = new UnixSocketOutputStream();
+
+    private volatile int soTimeout;
+
+    private volatile boolean closed;
+
     private UnixSocket(String path) throws Exception {
         Class<?> unixDomainSocketAddress = Class.forName("java.net.UnixDomainSocketAddress");
         this.socketAddress =
             (SocketAddress) unixDomainSocketAddress.getMethod("of", String.class)
                 .invoke(null, path);
         this.socketChannel = SocketChannel.open(this.socketAddress);
+        try {
+            // non-blocking, so that reads can wait for at most SO_TIMEOUT
+            this.socketChannel.configureBlocking(false);
+            this.readSelector = Selector.open();
+            this.writeSelector = Selector.open();
+            this.socketChannel.register(this.readSelector, SelectionKey.OP_READ);
+            this.socketChannel.register(this.writeSelector, SelectionKey.OP_WRITE);
+        } catch (IOException e) {
+            this.socketChannel.close();
+            throw e;
+        }
     }
 
     @Override
@@ -54,7 +81,7 @@ public class UnixSocket extends AbstractSocket {
             throw new SocketException("Socket input is shutdown");
         }
 
-        return Channels.newInputStream(socketChannel);
+        return inputStream;
     }
 
     @Override
@@ -69,7 +96,7 @@ public class UnixSocket extends AbstractSocket {
             throw new SocketException("Socket output is shutdown");
         }
 
-        return Channels.newOutputStream(new WrappedWritableByteChannel());
+        return outputStream;
     }
 
     @Override
@@ -82,27 +109,108 @@ public class UnixSocket extends AbstractSocket {
         return socketAddress;
     }
 
+    @Override
+    public void setSoTimeout(int timeout) throws SocketException {
+        if (timeout < 0) {
+            throw new IllegalArgumentException("timeout can't be negative");
+        }
+        this.soTimeout = timeout;
+    }
+
+    @Override
+    public int getSoTimeout() {
+        return soTimeout;
+    }
+
     @Override
     public void close() throws IOException {
+        this.closed = true;
         super.close();
-        this.socketChannel.close();
+        try {
+            this.socketChannel.close();
+        } finally {
+            this.readSelector.close();
+            this.writeSelector.close();
+            this.inputStream.releaseBuffer();
+            this.outputStream.releaseBuffer();
+        }
+    }
+
+    /**
+     * Waits until the channel is ready, the timeout elapsed or the socket was closed.
+     */
+    private void await(Selector selector, long timeout) throws IOException {
+        try {
+            selector.select(timeout);
+            selector.selectedKeys().clear();
+        } catch (ClosedSelectorException e) {
+            throw new SocketException("Socket is closed");
+        }
+
+        // non-blocking channels are not closed on interrupt
+        if (Thread.currentThread().isInterrupted()) {
+            close();
+            throw new ClosedByInterruptException();
+        }
+    }
+
+    /**
+     * Reads and writes use separate selectors and locks, so that a reader waiting for the daemon never blocks a writer.
+     */
+    private class UnixSocketInputStream extends DirectBufferedInputStream {
+
+        @Override
+        protected int readFromSocket(ByteBuffer buffer) throws IOException {
+            int timeout = UnixSocket.this.soTimeout;
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+            while (true) {
+                int read = UnixSocket.this.socketChannel.read(buffer);
+                if (read != 0) {
+                    return read;
+                }
+
+                long wait = 0;
+                if (timeout > 0) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new SocketTimeoutException("Read timed out");
+                    }
+                    wait = Math.max(1, TimeUnit.NANOSECONDS.toMillis(remaining));
+                }
+                await(UnixSocket.this.readSelector, wait);
+            }
+        }
+
+        @Override
+        protected boolean isSocketClosed() {
+            return UnixSocket.this.closed;
+        }
+
+        @Override
+        public void close() throws IOException {
+            UnixSocket.this.close();
+        }
     }
 
-    private class WrappedWritableByteChannel implements WritableByteChannel {
+    private class UnixSocketOutputStream extends DirectBufferedOutputStream {
 
         @Override
-        public int write(ByteBuffer src) throws IOException {
-            return UnixSocket.this.socketChannel.write(src);
+        protected void writeToSocket(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                if (UnixSocket.this.socketChannel.write(buffer) == 0) {
+                    await(UnixSocket.this.writeSelector, 0);
+                }
+            }
         }
 
         @Override
-        public boolean isOpen() {
-            return UnixSocket.this.socketChannel.isOpen();
+        protected boolean isSocketClosed() {
+            return UnixSocket.this.closed;
         }
 
         @Override
         public void close() throws IOException {
-            UnixSocket.this.socketChannel.close();
+            UnixSocket.this.close();
         }
     }
 }
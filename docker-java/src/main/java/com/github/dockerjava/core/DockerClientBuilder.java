@@ -8,6 +8,8 @@ import com.github.dockerjava.transport.DockerHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.Executor;
+
 public class DockerClientBuilder {
 
     private final DockerClientConfig dockerClientConfig;
@@ -16,6 +18,8 @@ public class DockerClientBuilder {
 
     private DockerHttpClient dockerHttpClient = null;
 
+    private Executor streamExecutor = null;
+
     private DockerClientBuilder(DockerClientConfig dockerClientConfig) {
         this.dockerClientConfig = dockerClientConfig;
     }
@@ -82,8 +86,24 @@ public class DockerClientBuilder {
         return this;
     }
 
+    /**
+     * Configures the executor used to consume streaming responses (logs, stats, events, attach, ...).
+     * Only applies when a {@link DockerHttpClient} is used.
+     */
+    public DockerClientBuilder withStreamExecutor(Executor streamExecutor) {
+        this.streamExecutor = streamExecutor;
+        return this;
+    }
+
     public DockerClient build() {
         if (dockerHttpClient != null) {
+            if (streamExecutor != null) {
+                return DockerClientImpl.getInstance(
+                    dockerClientConfig,
+                    dockerHttpClient,
+                    streamExecutor
+                );
+            }
             return DockerClientImpl.getInstance(
                 dockerClientConfig,
                 dockerHttpClient
@@ -0,0 +1,163 @@
+package com.github.dockerjava.core;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.transport.AsyncDockerHttpClient;
+import com.github.dockerjava.transport.DockerHttpClient;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class AsyncExecutionTest {
+
+    private final List<DockerHttpClient.Request> requests = new ArrayList<>();
+
+    private final List<CompletableFuture<DockerHttpClient.Response>> pendingResponses = new ArrayList<>();
+
+    private AsyncDockerHttpClient httpClient;
+
+    private DockerClient dockerClient;
+
+    @Before
+    public void setUp() {
+        DefaultDockerClientConfig config = DefaultDockerClientConfig.createDefaultConfigBuilder()
+            .withDockerHost("tcp://localhost:2375")
+            .build();
+        httpClient = new AsyncDockerHttpClient() {
+            @Override
+            public CompletableFuture<DockerHttpClient.Response> executeAsync(DockerHttpClient.Request request) {
+                CompletableFuture<DockerHttpClient.Response> response = new CompletableFuture<>();
+                requests.add(request);
+                pendingResponses.add(response);
+                return response;
+            }
+
+            @Override
+            public DockerHttpClient.Response execute(DockerHttpClient.Request request) {
+                throw new AssertionError("blocking request " + request.path());
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        dockerClient = DockerClientImpl.getInstance(config, httpClient);
+    }
+
+    @Test
+    public void completesOnceTheResponseWasReceived() throws Exception {
+        CompletableFuture<InspectContainerResponse> result = dockerClient.inspectContainerCmd("foo").execAsync();
+
+        assertFalse(result.isDone());
+        assertEquals(1, requests.size());
+        assertEquals("/containers/foo/json", requests.get(0).path());
+
+        pendingResponses.get(0).complete(response(200, "{\"Id\":\"foo\",\"Name\":\"/bar\"}"));
+
+        assertEquals("/bar", result.get().getName());
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    public void failsWithTheMappedException() throws Exception {
+        CompletableFuture<InspectContainerResponse> result = dockerClient.inspectContainerCmd("foo").execAsync();
+
+        pendingResponses.get(0).complete(response(404, "No such container: foo"));
+
+        try {
+            result.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(NotFoundException.class));
+        }
+    }
+
+    @Test
+    public void continuesOnTheExecutorInsteadOfTheThreadReceivingTheResponse() throws Exception {
+        CompletableFuture<InspectContainerResponse> result = dockerClient.inspectContainerCmd("foo").execAsync();
+        CompletableFuture<String> completingThread = result.handle((response, e) -> Thread.currentThread().getName());
+
+        Thread reactor = new Thread(() -> pendingResponses.get(0).complete(response(200, "{\"Id\":\"foo\"}")), "reactor");
+        reactor.start();
+
+        // waiting for the result itself would let this thread run the continuation once the result is complete
+        assertThat(completingThread.get(10, TimeUnit.SECONDS), startsWith("docker-java-async-"));
+        assertEquals("foo", result.get().getId());
+    }
+
+    @Test
+    public void rejectsResponsesReturnedAsStreams() throws Exception {
+        CompletableFuture<InputStream> result = dockerClient.saveImageCmd("busybox").execAsync();
+
+        try {
+            result.get(10, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(UnsupportedOperationException.class));
+        }
+        assertTrue(requests.isEmpty());
+    }
+
+    @Test
+    public void continuesExecutionThatCatchesRuntimeExceptions() throws Exception {
+        DockerHttpClient.Request request = DockerHttpClient.Request.builder()
+            .method(DockerHttpClient.Request.Method.GET)
+            .path("/_ping")
+            .build();
+        CompletableFuture<Integer> result = AsyncExecution.start(httpClient, () -> {
+            try (DockerHttpClient.Response response = AsyncExecution.execute(httpClient, request)) {
+                return response.getStatusCode();
+            } catch (RuntimeException e) {
+                return -1;
+            }
+        }, Runnable::run);
+
+        assertFalse(result.isDone());
+        pendingResponses.get(0).complete(response(200, "OK"));
+
+        assertEquals(200, (int) result.get());
+        assertEquals(1, requests.size());
+    }
+
+    private static DockerHttpClient.Response response(int statusCode, String body) {
+        return new DockerHttpClient.Response() {
+            @Override
+            public int getStatusCode() {
+                return statusCode;
+            }
+
+            @Override
+            public Map<String, List<String>> getHeaders() {
+                return Collections.emptyMap();
+            }
+
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+}
@@ -0,0 +1,232 @@
+package com.github.dockerjava.core;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.command.InspectContainerCmd;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.command.ListContainersCmd;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.dockerjava.core.TestDockerHttpClient.response;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CachingDockerCmdExecFactoryTest {
+
+    private volatile CountDownLatch blockInspect = new CountDownLatch(0);
+
+    private volatile CountDownLatch inspecting = new CountDownLatch(1);
+
+    private final TestDockerHttpClient httpClient = new TestDockerHttpClient(request -> {
+        if (request.path().startsWith("/containers/web/json")) {
+            inspecting.countDown();
+            blockInspect.await();
+            return response("{\"Id\":\"c1abc\",\"Name\":\"/web\"}");
+        } else if (request.path().startsWith("/containers/broken/json")) {
+            inspecting.countDown();
+            blockInspect.await();
+            // parsed to a null response, which has no subjects
+            return response("null");
+        } else if (request.path().startsWith("/containers/web-2/json")) {
+            return response("{\"Id\":\"c3\",\"Name\":\"/web-2\"}");
+        } else if (request.path().endsWith("/json")) {
+            return response("{\"Id\":\"c2\",\"Name\":\"/other\"}");
+        }
+        return response(request.path().startsWith("/info") ? 200 : 204, "{}");
+    });
+
+    private final List<String> paths = httpClient.getPaths();
+
+    @Test
+    public void cachesEnabledCommands() {
+        CachingDockerCmdExecFactory factory = CachingDockerCmdExecFactory.builder(defaultFactory())
+            .withCachedCommands(InspectContainerCmd.class)
+            .build();
+        DockerClient dockerClient = dockerClient(factory);
+
+        InspectContainerResponse first = dockerClient.inspectContainerCmd("web").exec();
+        assertSame(first, dockerClient.inspectContainerCmd("web").exec());
+        dockerClient.inspectContainerCmd("web").withSize(true).exec();
+        dockerClient.infoCmd().exec();
+        dockerClient.infoCmd().exec();
+
+        assertEquals(4, paths.size());
+        assertEquals(1, factory.getHits());
+        assertEquals(2, factory.getMisses());
+    }
+
+    @Test
+    public void expiresAfterTtl() throws Exception {
+        CachingDockerCmdExecFactory factory = CachingDockerCmdExecFactory.builder(defaultFactory())
+            .withCachedCommands(InspectContainerCmd.class)
+            .withTtl(10, TimeUnit.MILLISECONDS)
+            .build();
+        DockerClient dockerClient = dockerClient(factory);
+
+        dockerClient.inspectContainerCmd("web").exec();
+        Thread.sleep(20);
+        dockerClient.inspectContainerCmd("web").exec();
+
+        assertEquals(2, paths.size());
+    }
+
+    @Test
+    public void coalescesConcurrentExecutions() throws Exception {
+        CachingDockerCmdExecFactory factory = CachingDockerCmdExecFactory.builder(defaultFactory())
+            .withCachedCommands(InspectContainerCmd.class)
+            .build();
+        DockerClient dockerClient = dockerClient(factory);
+        blockInspect = new CountDownLatch(1);
+
+        CompletableFuture<InspectContainerResponse> first = CompletableFuture.supplyAsync(
+            () -> dockerClient.inspectContainerCmd("web").exec());
+        assertTrue(inspecting.await(10, TimeUnit.SECONDS));
+        CompletableFuture<InspectContainerResponse> second = CompletableFuture.supplyAsync(
+            () -> dockerClient.inspectContainerCmd("web").exec());
+        while (factory.getCoalesced() == 0) {
+            Thread.sleep(1);
+        }
+        blockInspect.countDown();
+
+        assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+        assertEquals(1, paths.size());
+        assertEquals(1, factory.getMisses());
+    }
+
+    @Test
+    public void asyncExecutionsShareTheRequestInFlight() throws Exception {
+        CachingDockerCmdExecFactory factory = CachingDockerCmdExecFactory.builder(defaultFactory())
+            .withCachedCommands(InspectContainerCmd.class)
+            .build();
+        DockerClient dockerClient = dockerClient(factory);
+        blockInspect = new CountDownLatch(1);
+
+        CompletableFuture<InspectContainerResponse> first = dockerClient.inspectContainerCmd("web").execAsync();
+        assertTrue(inspecting.await(10, TimeUnit.SECONDS));
+        CompletableFuture<InspectContainerResponse> second = dockerClient.inspectContainerCmd("web").execAsync();
+        assertEquals(1, factory.getCoalesced());
+        blockInspect.countDown();
+
+        assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+        dockerClient.stopContainerCmd("web").execAsync().get(10, TimeUnit.SECONDS);
+        assertEquals(0, factory.size());
+        assertEquals(2, paths.size());
+    }
+
+    @Test
+    public void mutatingCommandsInvalidateById() {
+        CachingDockerCmdExecFactory factory = CachingDockerCmdExecFactory.builder(defaultFactory())
+            .withCachedCommands(InspectContainerCmd.class)
+            .build();
+        DockerClient dockerClient = dockerClient(factory);
+
+        dockerClient.inspectContainerCmd("web").exec();
+        dockerClient.inspectContainerCmd("other").exec();
+        dockerClient.stopContainerCmd("c1a").exec();
+        dockerClient.inspectContainerCmd("web").exec();
+
+        assertEquals("/containers/web/json", paths.get(3));
+        assertEquals(4, paths.size());
+        assertEquals(2, factory.size());
+    }
+
+    @Test
+    public void mutatingCommandsInvalidateNamesExactly() {
+        CachingDockerCmdExecFactory factory = CachingDockerCmdExecFactory.builder(defaultFactory())
+            .withCachedCommands(InspectContainerCmd.class)
+            .build();
+        DockerClient dockerClient = dockerClient(factory);
+
+        dockerClient.inspectContainerCmd("web").exec();
+        dockerClient.inspectContainerCmd("web-2").exec();
+        dockerClient.stopContainerCmd("web").exec();
+        dockerClient.inspectContainerCmd("web-2").exec();
+
+        assertEquals(3, paths.size());
+        assertEquals(1, factory.size());
+    }
+
+    @Test
+    public void failedSubjectsCompleteCoalescedExecutions() throws Exception {
+        CachingDockerCmdExecFactory factory = CachingDockerCmdExecFactory.builder(defaultFactory())
+            .withCachedCommands(InspectContainerCmd.class)
+            .build();
+        DockerClient dockerClient = dockerClient(factory);
+        blockInspect = new CountDownLatch(1);
+
+        CompletableFuture<InspectContainerResponse> first = CompletableFuture.supplyAsync(
+            () -> dockerClient.inspectContainerCmd("broken").exec());
+        assertTrue(inspecting.await(10, TimeUnit.SECONDS));
+        CompletableFuture<InspectContainerResponse> second = CompletableFuture.supplyAsync(
+            () -> dockerClient.inspectContainerCmd("broken").exec());
+        await().atMost(10, TimeUnit.SECONDS).until(() -> factory.getCoalesced() == 1);
+        blockInspect.countDown();
+
+        assertFailsWith(NullPointerException.class, first);
+        assertFailsWith(NullPointerException.class, second);
+        assertEquals(0, factory.size());
+
+        // the failure is not cached
+        try {
+            dockerClient.inspectContainerCmd("broken").exec();
+            fail();
+        } catch (NullPointerException expected) {
+            assertEquals(2, paths.size());
+        }
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsed() {
+        CachingDockerCmdExecFactory factory = CachingDockerCmdExecFactory.builder(defaultFactory())
+            .withCachedCommands(InspectContainerCmd.class)
+            .withMaxEntries(2)
+            .build();
+        DockerClient dockerClient = dockerClient(factory);
+
+        dockerClient.inspectContainerCmd("a").exec();
+        dockerClient.inspectContainerCmd("b").exec();
+        dockerClient.inspectContainerCmd("a").exec();
+        dockerClient.inspectContainerCmd("c").exec();
+        dockerClient.inspectContainerCmd("a").exec();
+        dockerClient.inspectContainerCmd("b").exec();
+
+        assertEquals(4, paths.size());
+        assertEquals(2, factory.getHits());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUncacheableCommands() {
+        CachingDockerCmdExecFactory.builder(defaultFactory()).withCachedCommands(ListContainersCmd.class);
+    }
+
+    private static void assertFailsWith(Class<? extends Throwable> type, CompletableFuture<?> future) throws Exception {
+        try {
+            future.get(10, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(type));
+        }
+    }
+
+    private DefaultDockerCmdExecFactory defaultFactory() {
+        return new DefaultDockerCmdExecFactory(httpClient, DefaultDockerClientConfig.createDefaultConfigBuilder().build().getObjectMapper());
+    }
+
+    @SuppressWarnings("deprecation")
+    private static DockerClient dockerClient(CachingDockerCmdExecFactory factory) {
+        DefaultDockerClientConfig config = DefaultDockerClientConfig.createDefaultConfigBuilder()
+            .withDockerHost("tcp://localhost:2375")
+            .build();
+        return DockerClientImpl.getInstance(config).withDockerCmdExecFactory(factory);
+    }
+}
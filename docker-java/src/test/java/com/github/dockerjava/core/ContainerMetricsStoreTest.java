@@ -0,0 +1,146 @@
+package com.github.dockerjava.core;
+
+import com.github.dockerjava.api.model.StatsSample;
+import com.github.dockerjava.core.ContainerMetricsStore.Aggregate;
+import com.github.dockerjava.core.ContainerMetricsStore.Metric;
+import com.github.dockerjava.core.ContainerMetricsStore.Resolution;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+
+public class ContainerMetricsStoreTest {
+
+    private static final long START_MILLIS = 1_600_000_000_000L;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void recordsMemoryWithoutInactiveFileCache() {
+        ContainerMetricsStore store = ContainerMetricsStore.builder().build();
+        store.record(new StatsSample()
+            .withId("foo")
+            .withReadNanos(TimeUnit.MILLISECONDS.toNanos(START_MILLIS))
+            .withMemoryUsage(5000)
+            .withMemoryCache(1000)
+            .withMemoryInactiveFile(1500));
+
+        Aggregate memory = store.aggregate("foo", Metric.MEMORY_USAGE, START_MILLIS, START_MILLIS);
+        assertThat(memory.getMax(), closeTo(3500, 1e-9));
+    }
+
+    @Test
+    public void aggregatesRecentWindowPerSecond() {
+        ContainerMetricsStore store = ContainerMetricsStore.builder().build();
+        for (int i = 0; i < 100; i++) {
+            store.record("foo", START_MILLIS + i * 1000L, i, 1000L * i);
+        }
+
+        // the last 20 seconds, values 80 to 99
+        Aggregate cpu = store.aggregate("foo", Metric.CPU_PERCENT, START_MILLIS + 80_000, START_MILLIS + 99_000);
+        assertThat(cpu.getResolution(), is(Resolution.SECOND));
+        assertThat(cpu.getSamples(), is(20L));
+        assertThat(cpu.getAverage(), closeTo(89.5, 1e-9));
+        assertThat(cpu.getP95(), closeTo(98, 1e-9));
+        assertThat(cpu.getMax(), closeTo(99, 1e-9));
+
+        Aggregate memory = store.aggregate("foo", Metric.MEMORY_USAGE, START_MILLIS + 80_000, START_MILLIS + 99_000);
+        assertThat(memory.getMax(), closeTo(99_000, 1e-9));
+
+        assertThat(store.aggregate("bar", Metric.CPU_PERCENT, START_MILLIS, START_MILLIS + 99_000), nullValue());
+        assertThat(store.getOffHeapBytes(), is(32L + 450 * 56));
+    }
+
+    @Test
+    public void downsamplesOlderHistory() {
+        ContainerMetricsStore store = ContainerMetricsStore.builder().build();
+        // 20 minutes, more than the 5 minutes kept per second
+        for (int i = 0; i < 1200; i++) {
+            store.record("foo", START_MILLIS + i * 1000L, i % 10 == 0 ? Double.NaN : 50, 100);
+        }
+
+        long end = START_MILLIS + 1199_000;
+        // the 10 second buckets go back to 300 seconds after the start
+        Aggregate cpu = store.aggregate("foo", Metric.CPU_PERCENT, end - 890_000, end);
+        assertThat(cpu.getResolution(), is(Resolution.TEN_SECONDS));
+        assertThat(cpu.getSamples(), is(810L));
+        assertThat(cpu.getAverage(), closeTo(50, 1e-9));
+        assertThat(cpu.getMax(), closeTo(50, 1e-9));
+
+        Aggregate memory = store.aggregate("foo", Metric.MEMORY_USAGE, START_MILLIS, end);
+        assertThat(memory.getResolution(), is(Resolution.MINUTE));
+        assertThat(memory.getSamples(), is(1200L));
+
+        // older than the second and 10 second buckets that are kept, three minute buckets overlap the range as it starts 40 seconds
+        // into a minute
+        Aggregate older = store.aggregate("foo", Metric.MEMORY_USAGE, START_MILLIS, START_MILLIS + 100_000);
+        assertThat(older.getResolution(), is(Resolution.MINUTE));
+        assertThat(older.getSamples(), is(140L));
+        assertThat(older.getAverage(), closeTo(100, 1e-9));
+    }
+
+    @Test
+    public void rejectsCapacitiesBeyondBufferSize() {
+        ContainerMetricsStore.Builder builder = ContainerMetricsStore.builder().withCapacity(Resolution.SECOND, Integer.MAX_VALUE / 2);
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    public void dropsHistoryOfGoneContainers() {
+        ContainerMetricsStore store = ContainerMetricsStore.builder().build();
+        store.record("foo", START_MILLIS, 1, 1);
+        store.record("bar", START_MILLIS, 1, 1);
+
+        store.retainAll(Collections.singleton("bar"));
+        assertThat(store.getContainerIds(), contains("bar"));
+
+        store.remove("bar");
+        assertThat(store.getContainerIds(), empty());
+        assertThat(store.getOffHeapBytes(), is(0L));
+    }
+
+    @Test
+    public void keepsHistoryInFiles() throws Exception {
+        Path directory = temporaryFolder.getRoot().toPath().resolve("metrics");
+        try (ContainerMetricsStore store = ContainerMetricsStore.builder().withDirectory(directory).build()) {
+            for (int i = 0; i < 10; i++) {
+                store.record("foo", START_MILLIS + i * 1000L, 10 * i, 100);
+            }
+        }
+
+        ContainerMetricsStore reopened = ContainerMetricsStore.builder().withDirectory(directory).build();
+        assertThat(reopened.getContainerIds(), contains("foo"));
+        Aggregate cpu = reopened.aggregate("foo", Metric.CPU_PERCENT, START_MILLIS, START_MILLIS + 9_000);
+        assertThat(cpu.getSamples(), is(10L));
+        assertThat(cpu.getMax(), closeTo(90, 1e-9));
+
+        reopened.remove("foo");
+        assertFalse(Files.exists(directory.resolve("foo.metrics")));
+        reopened.close();
+
+        // other capacities start over
+        try (ContainerMetricsStore store = ContainerMetricsStore.builder().withDirectory(directory).build()) {
+            store.record("bar", START_MILLIS, 1, 1);
+        }
+        ContainerMetricsStore resized = ContainerMetricsStore.builder()
+            .withDirectory(directory)
+            .withCapacity(Resolution.SECOND, 10)
+            .build();
+        assertThat(resized.aggregate("bar", Metric.CPU_PERCENT, START_MILLIS, START_MILLIS).getSamples(), is(0L));
+        resized.close();
+    }
+}
@@ -0,0 +1,189 @@
+package com.github.dockerjava.core;
+
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.api.model.WaitResponse;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.dockerjava.core.TestDockerHttpClient.pipe;
+import static com.github.dockerjava.core.TestDockerHttpClient.response;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ContainerWaiterTest {
+
+    private final BlockingQueue<OutputStream> eventStreams = new LinkedBlockingQueue<>();
+
+    private volatile String state = "{\"Running\":true,\"ExitCode\":0}";
+
+    private volatile CountDownLatch inspections = new CountDownLatch(0);
+
+    private final TestDockerHttpClient httpClient = new TestDockerHttpClient(request -> {
+        if (request.path().startsWith("/events")) {
+            return pipe(eventStreams);
+        }
+        inspections.await();
+        return response("{\"Id\":\"c1\",\"Name\":\"/web\",\"State\":" + state + "}");
+    });
+
+    private final List<String> paths = httpClient.getPaths();
+
+    private ContainerWaiter waiter;
+
+    @After
+    public void tearDown() {
+        if (waiter != null) {
+            waiter.close();
+        }
+    }
+
+    @Test
+    public void completesWithExitCodeOfStoppedContainer() throws Exception {
+        state = "{\"Running\":false,\"ExitCode\":3}";
+        waiter = ContainerWaiter.start(httpClient.dockerClient());
+
+        WaitResponse response = waiter.waitContainer("c1").get(10, TimeUnit.SECONDS);
+
+        assertEquals(Integer.valueOf(3), response.getStatusCode());
+        assertEquals(0, waiter.getPendingWaits());
+    }
+
+    @Test
+    public void completesWithExitCodeOfDieEvent() throws Exception {
+        waiter = ContainerWaiter.start(httpClient.dockerClient());
+        OutputStream events = eventStreams.take();
+
+        CompletableFuture<WaitResponse> byId = waiter.waitContainer("c1");
+        CompletableFuture<WaitResponse> byName = waiter.waitContainer("web");
+        await().atMost(10, TimeUnit.SECONDS).until(() -> paths.stream().filter(path -> path.endsWith("/json")).count() == 2);
+        assertFalse(byId.isDone());
+
+        send(events, "die", "\"name\":\"web\",\"exitCode\":\"137\"");
+
+        assertEquals(Integer.valueOf(137), byId.get(10, TimeUnit.SECONDS).getStatusCode());
+        assertEquals(Integer.valueOf(137), byName.get(10, TimeUnit.SECONDS).getStatusCode());
+        assertEquals(0, waiter.getPendingWaits());
+        assertTrue(paths.stream().noneMatch(path -> path.contains("/wait")));
+        assertEquals(1, paths.stream().filter(path -> path.startsWith("/events")).count());
+    }
+
+    @Test
+    public void failsWhenContainerIsRemoved() throws Exception {
+        waiter = ContainerWaiter.start(httpClient.dockerClient());
+        OutputStream events = eventStreams.take();
+
+        CompletableFuture<WaitResponse> wait = waiter.waitContainer("c1");
+        await().atMost(10, TimeUnit.SECONDS).until(() -> waiter.getPendingWaits() == 1 && paths.size() == 2);
+        send(events, "destroy", "\"name\":\"web\"");
+
+        try {
+            wait.get(10, TimeUnit.SECONDS);
+            fail();
+        } catch (ExecutionException e) {
+            assertThat(e.getCause(), instanceOf(NotFoundException.class));
+        }
+    }
+
+    @Test
+    public void matchesNamesExactlyAndHexadecimalIdsByPrefix() throws Exception {
+        waiter = ContainerWaiter.start(httpClient.dockerClient());
+        OutputStream events = eventStreams.take();
+        inspections = new CountDownLatch(1);
+
+        CompletableFuture<WaitResponse> byName = waiter.waitContainer("/web");
+        CompletableFuture<WaitResponse> byPrefix = waiter.waitContainer("c");
+        CompletableFuture<WaitResponse> byNamePrefix = waiter.waitContainer("we");
+        send(events, "die", "\"name\":\"web\",\"exitCode\":\"1\"");
+
+        assertEquals(Integer.valueOf(1), byName.get(10, TimeUnit.SECONDS).getStatusCode());
+        assertEquals(Integer.valueOf(1), byPrefix.get(10, TimeUnit.SECONDS).getStatusCode());
+        assertFalse(byNamePrefix.isDone());
+        assertEquals(1, waiter.getPendingWaits());
+        inspections.countDown();
+    }
+
+    @Test
+    public void inspectsPendingWaitsAgainAfterReconnect() throws Exception {
+        waiter = ContainerWaiter.start(httpClient.dockerClient());
+        OutputStream events = eventStreams.take();
+
+        CompletableFuture<WaitResponse> wait = waiter.waitContainer("c1");
+        await().atMost(10, TimeUnit.SECONDS).until(() -> paths.size() == 2);
+        await().atMost(10, TimeUnit.SECONDS).until(() -> waiter.getPendingWaits() == 1);
+
+        // the container stops while the stream is closed, without its die event being replayed
+        state = "{\"Running\":false,\"ExitCode\":5}";
+        events.close();
+
+        assertEquals(Integer.valueOf(5), wait.get(10, TimeUnit.SECONDS).getStatusCode());
+        assertEquals(0, waiter.getPendingWaits());
+    }
+
+    @Test
+    public void waitsForNextExitOfContainerThatWasNotStarted() throws Exception {
+        state = "{\"Running\":false,\"ExitCode\":0,\"FinishedAt\":\"0001-01-01T00:00:00Z\"}";
+        waiter = ContainerWaiter.start(httpClient.dockerClient());
+        OutputStream events = eventStreams.take();
+
+        CompletableFuture<WaitResponse> notRunning = waiter.waitContainer("web");
+        CompletableFuture<WaitResponse> nextExit = waiter.waitContainer("web", ContainerWaiter.Condition.NEXT_EXIT);
+        assertEquals(Integer.valueOf(0), notRunning.get(10, TimeUnit.SECONDS).getStatusCode());
+        await().atMost(10, TimeUnit.SECONDS).until(() -> paths.size() == 3 && waiter.getPendingWaits() == 1);
+        assertFalse(nextExit.isDone());
+
+        send(events, "die", "\"name\":\"web\",\"exitCode\":\"2\"");
+
+        assertEquals(Integer.valueOf(2), nextExit.get(10, TimeUnit.SECONDS).getStatusCode());
+    }
+
+    @Test
+    public void completesNextExitThatHappenedWhileDisconnected() throws Exception {
+        state = "{\"Running\":false,\"ExitCode\":1,\"FinishedAt\":\"2020-01-01T00:00:00Z\"}";
+        waiter = ContainerWaiter.start(httpClient.dockerClient());
+        OutputStream events = eventStreams.take();
+
+        CompletableFuture<WaitResponse> wait = waiter.waitContainer("c1", ContainerWaiter.Condition.NEXT_EXIT);
+        await().atMost(10, TimeUnit.SECONDS).until(() -> paths.size() == 2 && waiter.getPendingWaits() == 1);
+
+        // started and stopped again while the stream is closed
+        state = "{\"Running\":false,\"ExitCode\":4,\"FinishedAt\":\"2020-01-01T00:01:00Z\"}";
+        events.close();
+
+        assertEquals(Integer.valueOf(4), wait.get(10, TimeUnit.SECONDS).getStatusCode());
+    }
+
+    @Test
+    public void cancelledWaitIsForgotten() throws Exception {
+        waiter = ContainerWaiter.start(httpClient.dockerClient());
+
+        CompletableFuture<WaitResponse> wait = waiter.waitContainer("c1");
+        await().atMost(10, TimeUnit.SECONDS).until(() -> paths.size() == 2);
+        await().atMost(10, TimeUnit.SECONDS).until(() -> waiter.getPendingWaits() == 1);
+        wait.cancel(false);
+
+        assertEquals(0, waiter.getPendingWaits());
+    }
+
+    private static void send(OutputStream events, String action, String attributes) throws IOException {
+        String event = "{\"Type\":\"container\",\"Action\":\"" + action + "\",\"Actor\":{\"ID\":\"c1\",\"Attributes\":{"
+            + attributes + "}},\"time\":1,\"timeNano\":1000000001}\n";
+        events.write(event.getBytes(StandardCharsets.UTF_8));
+        events.flush();
+    }
+}
@@ -20,6 +20,7 @@ import java.util.UUID;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
@@ -280,4 +281,19 @@ public class DefaultDockerClientConfigTest {
         assertThat(authConfig.getPassword(), equalTo("password"));
     }
 
+    @Test
+    public void objectMapperIsShared() {
+        DefaultDockerClientConfig config = DefaultDockerClientConfig.createDefaultConfigBuilder()
+            .withWarmUp(true)
+            .build();
+
+        assertThat(config.getObjectMapper(), sameInstance(config.getObjectMapper()));
+
+        DefaultDockerClientConfig deserialized = (DefaultDockerClientConfig) SerializationUtils.deserialize(
+            SerializationUtils.serialize(config)
+        );
+        assertThat(deserialized.getObjectMapper(), notNullValue());
+        assertThat(deserialized, equalTo(config));
+    }
+
 }
@@ -0,0 +1,50 @@
+package com.github.dockerjava.core;
+
+import com.github.dockerjava.api.DockerClient;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static com.github.dockerjava.core.TestDockerHttpClient.response;
+import static org.junit.Assert.assertEquals;
+
+public class DefaultWebTargetTest {
+
+    private final TestDockerHttpClient httpClient = new TestDockerHttpClient(
+        request -> response(request.path().contains("/containers/json") ? "[]" : "{}")
+    );
+
+    @Test
+    public void resolvesTemplates() {
+        DockerClient dockerClient = httpClient.dockerClient("1.40");
+
+        dockerClient.inspectContainerCmd("foo").exec();
+        dockerClient.inspectContainerCmd("a b/$1").exec();
+
+        assertEquals(Arrays.asList("/v1.40/containers/foo/json", "/v1.40/containers/a%20b%2F$1/json"), httpClient.getPaths());
+    }
+
+    @Test
+    public void appendsQueryParams() {
+        DockerClient dockerClient = httpClient.dockerClient();
+
+        dockerClient.listContainersCmd()
+            .withShowAll(true)
+            .withLabelFilter(Collections.singletonMap("app", "web"))
+            .exec();
+
+        assertEquals(Collections.singletonList("/containers/json?all=true&filters=%7B%22label%22%3A%5B%22app%3Dweb%22%5D%7D"), httpClient.getPaths());
+    }
+
+    @Test
+    public void reusesBaseResource() {
+        DockerClient dockerClient = httpClient.dockerClient();
+
+        dockerClient.infoCmd().exec();
+        dockerClient.inspectContainerCmd("foo").exec();
+        dockerClient.infoCmd().exec();
+
+        assertEquals(Arrays.asList("/info", "/containers/foo/json", "/info"), httpClient.getPaths());
+    }
+}
@@ -0,0 +1,63 @@
+package com.github.dockerjava.core;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.model.Container;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.junit.Assert.assertEquals;
+
+public class DockerObjectDeserializerTest {
+
+    private static final String CONTAINER_JSON = "{\"Id\":\"foo\",\"Name\":\"/bar\",\"NewField\":{\"a\":[1,2]},"
+        + "\"Config\":{\"Image\":\"busybox\",\"NewConfigField\":true}}";
+
+    @Test
+    public void recordsRawValues() throws IOException {
+        InspectContainerResponse response = DockerClientConfig.getDefaultObjectMapper()
+            .readValue(CONTAINER_JSON, InspectContainerResponse.class);
+
+        assertEquals("/bar", response.getName());
+        assertEquals("busybox", response.getConfig().getImage());
+
+        Map<String, Object> rawValues = response.getRawValues();
+        assertThat(rawValues, hasEntry("Id", (Object) "foo"));
+        assertThat(rawValues, hasEntry("NewField", (Object) DockerClientConfig.getDefaultObjectMapper()
+            .readValue("{\"a\":[1,2]}", Map.class)));
+        assertEquals(4, rawValues.size());
+        assertThat(response.getConfig().getRawValues(), anEmptyMap());
+    }
+
+    @Test
+    public void recordsRawValuesOfListElements() throws IOException {
+        List<Container> containers = DockerClientConfig.getDefaultObjectMapper().readValue(
+            "[{\"Id\":\"a\",\"Extra\":1},{\"Id\":\"b\"}]",
+            new TypeReference<List<Container>>() { }
+        );
+
+        assertThat(containers.get(0).getRawValues(), hasEntry("Extra", (Object) 1));
+        assertEquals(2, containers.get(0).getRawValues().size());
+        assertThat(containers.get(1).getRawValues(), hasEntry("Id", (Object) "b"));
+    }
+
+    @Test
+    public void rawValuesCanBeDisabled() throws IOException {
+        ObjectMapper objectMapper = DefaultDockerClientConfig.createDefaultConfigBuilder()
+            .withRawValues(false)
+            .build()
+            .getObjectMapper();
+
+        InspectContainerResponse response = objectMapper.readValue(CONTAINER_JSON, InspectContainerResponse.class);
+
+        assertEquals("/bar", response.getName());
+        assertThat(response.getRawValues(), anEmptyMap());
+    }
+}
@@ -0,0 +1,164 @@
+package com.github.dockerjava.core;
+
+import com.github.dockerjava.api.model.Container;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.dockerjava.core.TestDockerHttpClient.pipe;
+import static com.github.dockerjava.core.TestDockerHttpClient.response;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class DockerStateCacheTest {
+
+    private final BlockingQueue<OutputStream> eventStreams = new LinkedBlockingQueue<>();
+
+    private volatile String containers = container("running");
+
+    // blocks listing containers while set
+    private volatile CountDownLatch containersGate;
+
+    private final TestDockerHttpClient httpClient = new TestDockerHttpClient(request -> {
+        String path = request.path();
+        if (path.startsWith("/events")) {
+            return pipe(eventStreams);
+        } else if (path.startsWith("/containers/json")) {
+            CountDownLatch gate = containersGate;
+            if (gate != null) {
+                gate.await();
+            }
+            return response(containers);
+        } else if (path.startsWith("/networks")) {
+            return response("[{\"Id\":\"n1\",\"Name\":\"bridge\"}]");
+        } else if (path.startsWith("/volumes")) {
+            return response("{\"Volumes\":[{\"Name\":\"data\"}]}");
+        }
+        return response("[]");
+    });
+
+    private final List<String> paths = httpClient.getPaths();
+
+    private DockerStateCache cache;
+
+    @After
+    public void tearDown() {
+        if (cache != null) {
+            cache.close();
+        }
+    }
+
+    @Test
+    public void bootstrapsIndexedView() {
+        cache = DockerStateCache.start(httpClient.dockerClient());
+
+        Container container = cache.containers().get("web");
+        assertEquals("c1", container.getId());
+        assertEquals(container, cache.containers().get("c1"));
+        assertEquals(Collections.singletonList(container), cache.containers().getByLabel("app"));
+        assertEquals(Collections.singletonList(container), cache.containers().getByLabel("app", "web"));
+        assertEquals(Collections.singletonList(container), cache.containers().getByStatus("running"));
+        assertEquals(Collections.emptyList(), cache.containers().getByLabel("app", "db"));
+        assertEquals("bridge", cache.networks().get("n1").getName());
+        assertEquals("data", cache.volumes().get("data").getName());
+        assertEquals(0, cache.images().size());
+        assertTrue(cache.isConnected());
+        assertEquals(0, cache.getStalenessMillis());
+    }
+
+    @Test
+    public void eventsRefreshMentionedObjects() throws Exception {
+        cache = DockerStateCache.start(httpClient.dockerClient());
+        OutputStream events = eventStreams.take();
+        paths.clear();
+
+        containers = container("exited");
+        send(events, "container", "die", "c1", 100_000_000_001L);
+        await().atMost(10, TimeUnit.SECONDS).until(() -> cache.getEvents() == 1 && cache.getPendingRefreshes() == 0);
+
+        assertEquals(Collections.emptyList(), cache.containers().getByStatus("running"));
+        assertEquals("c1", cache.containers().getByStatus("exited").get(0).getId());
+        assertEquals(1, paths.size());
+        assertThat(paths.get(0), containsString("/containers/json"));
+        assertEquals(1, cache.getRefreshes());
+
+        send(events, "container", "destroy", "c1", 100_000_000_002L);
+        send(events, "volume", "destroy", "data", 100_000_000_003L);
+        await().atMost(10, TimeUnit.SECONDS).until(() -> cache.getEvents() == 3 && cache.getPendingRefreshes() == 0);
+
+        assertNull(cache.containers().get("web"));
+        assertEquals(Collections.emptyList(), cache.containers().getByLabel("app"));
+        assertNull(cache.volumes().get("data"));
+        assertEquals(1, paths.size());
+        assertEquals(100_000_000_003L, cache.getLastEventTimeNanos());
+    }
+
+    @Test
+    public void reconnectsSinceLastEvent() throws Exception {
+        cache = DockerStateCache.start(httpClient.dockerClient());
+        OutputStream events = eventStreams.take();
+        send(events, "container", "start", "c1", 100_000_000_001L);
+        await().atMost(10, TimeUnit.SECONDS).until(() -> cache.getEvents() == 1 && cache.getPendingRefreshes() == 0);
+        paths.clear();
+        // changed while disconnected, without an event that the daemon still keeps
+        containers = container("exited");
+
+        events.close();
+        eventStreams.take();
+        await().atMost(10, TimeUnit.SECONDS).until(() -> cache.getReconnects() == 1);
+
+        assertTrue(cache.isConnected());
+        assertThat(paths.get(0), containsString("/events?since=100.000000001"));
+        // all objects are listed again
+        await().atMost(10, TimeUnit.SECONDS).until(() -> "exited".equals(cache.containers().get("web").getState()));
+        await().atMost(10, TimeUnit.SECONDS).until(() -> paths.size() == 5);
+    }
+
+    @Test
+    public void coalescesPendingRefreshesPerObject() throws Exception {
+        cache = DockerStateCache.start(httpClient.dockerClient());
+        OutputStream events = eventStreams.take();
+        paths.clear();
+        containersGate = new CountDownLatch(1);
+
+        send(events, "container", "start", "c1", 100_000_000_001L);
+        await().atMost(10, TimeUnit.SECONDS).until(() -> paths.size() == 1);
+        // the refresh of c1 is in progress, the following events wait for one more refresh of c1 and one of c2
+        for (int i = 0; i < 10; i++) {
+            send(events, "container", "update", "c1", 100_000_000_002L + 2 * i);
+            send(events, "container", "update", "c2", 100_000_000_003L + 2 * i);
+        }
+        await().atMost(10, TimeUnit.SECONDS).until(() -> cache.getEvents() == 21);
+        assertEquals(3, cache.getPendingRefreshes());
+
+        containersGate.countDown();
+        await().atMost(10, TimeUnit.SECONDS).until(() -> cache.getPendingRefreshes() == 0);
+
+        assertEquals(3, paths.size());
+        assertEquals(3, cache.getRefreshes());
+    }
+
+    private static String container(String state) {
+        return "[{\"Id\":\"c1\",\"Names\":[\"/web\"],\"State\":\"" + state + "\",\"Labels\":{\"app\":\"web\"}}]";
+    }
+
+    private static void send(OutputStream events, String type, String action, String id, long timeNano) throws IOException {
+        String event = "{\"Type\":\"" + type + "\",\"Action\":\"" + action + "\",\"Actor\":{\"ID\":\"" + id + "\"},\"time\":"
+            + timeNano / 1_000_000_000 + ",\"timeNano\":" + timeNano + "}\n";
+        events.write(event.getBytes(StandardCharsets.UTF_8));
+        events.flush();
+    }
+}
@@ -0,0 +1,236 @@
+package com.github.dockerjava.core;
+
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.model.Event;
+import com.github.dockerjava.api.model.EventType;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.dockerjava.core.TestDockerHttpClient.pipe;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class EventHubTest {
+
+    private final BlockingQueue<OutputStream> eventStreams = new LinkedBlockingQueue<>();
+
+    private final TestDockerHttpClient httpClient = new TestDockerHttpClient(request -> pipe(eventStreams));
+
+    private final List<String> paths = httpClient.getPaths();
+
+    private EventHub hub;
+
+    @After
+    public void tearDown() {
+        if (hub != null) {
+            hub.close();
+        }
+    }
+
+    @Test
+    public void sharesOneStreamBetweenFilteredSubscribers() throws Exception {
+        hub = EventHub.create(httpClient.dockerClient());
+        Collector dies = new Collector();
+        Collector webImages = new Collector();
+        hub.subscribe(new EventHub.Filter().withEventTypeFilter(EventType.CONTAINER).withEventFilter("die"), dies);
+        hub.subscribe(new EventHub.Filter().withEventTypeFilter(EventType.IMAGE).withLabelFilter("app=web"), webImages);
+        OutputStream events = eventStreams.take();
+
+        send(events, "container", "start", "c1", null, 1_000_000_001L);
+        send(events, "container", "die", "c1", null, 1_000_000_002L);
+        send(events, "image", "pull", "i1", "\"app\":\"db\"", 1_000_000_003L);
+        send(events, "image", "pull", "i2", "\"app\":\"web\"", 1_000_000_004L);
+        await().atMost(10, TimeUnit.SECONDS).until(() -> dies.ids.size() == 1 && webImages.ids.size() == 1);
+
+        assertEquals(Collections.singletonList("c1"), dies.ids);
+        assertEquals(Collections.singletonList("i2"), webImages.ids);
+        assertEquals(4, hub.getEvents());
+        assertEquals(1, paths.size());
+    }
+
+    @Test
+    public void matchesActionsWithArguments() throws Exception {
+        hub = EventHub.create(httpClient.dockerClient());
+        Collector execStarts = new Collector();
+        Collector shellStarts = new Collector();
+        hub.subscribe(new EventHub.Filter().withEventFilter("exec_start"), execStarts);
+        hub.subscribe(new EventHub.Filter().withEventFilter("exec_start: sh"), shellStarts);
+        OutputStream events = eventStreams.take();
+
+        send(events, "container", "exec_start: sh", "c1", null, 1_000_000_001L);
+        send(events, "container", "exec_start: bash -l", "c2", null, 1_000_000_002L);
+        send(events, "container", "exec_create: sh", "c3", null, 1_000_000_003L);
+        await().atMost(10, TimeUnit.SECONDS).until(() -> hub.getEvents() == 3 && execStarts.ids.size() == 2);
+
+        assertEquals(Arrays.asList("c1", "c2"), execStarts.ids);
+        assertEquals(Collections.singletonList("c1"), shellStarts.ids);
+    }
+
+    @Test
+    public void closesStreamWithLastSubscription() throws Exception {
+        hub = EventHub.create(httpClient.dockerClient());
+        EventHub.Subscription first = hub.subscribe(new Collector());
+        EventHub.Subscription second = hub.subscribe(new Collector());
+        eventStreams.take();
+        assertEquals(1, paths.size());
+
+        first.close();
+        assertTrue(hub.isConnected());
+        second.close();
+        await().atMost(10, TimeUnit.SECONDS).until(() -> !hub.isConnected());
+
+        hub.subscribe(new Collector());
+        assertEquals(2, paths.size());
+        assertThat(paths.get(1), containsString("/events"));
+        assertFalse(paths.get(1).contains("since"));
+    }
+
+    @Test
+    public void reconnectsSinceLastEventWithoutDuplicates() throws Exception {
+        hub = EventHub.create(httpClient.dockerClient());
+        Collector collector = new Collector();
+        hub.subscribe(collector);
+        OutputStream events = eventStreams.take();
+        send(events, "container", "start", "c1", null, 100_000_000_001L);
+        await().atMost(10, TimeUnit.SECONDS).until(() -> collector.ids.size() == 1);
+
+        events.close();
+        events = eventStreams.take();
+        await().atMost(10, TimeUnit.SECONDS).until(() -> hub.getReconnects() == 1);
+        assertThat(paths.get(1), containsString("/events?since=100.000000001"));
+
+        send(events, "container", "start", "c1", null, 100_000_000_001L);
+        send(events, "container", "stop", "c2", null, 100_000_000_002L);
+        await().atMost(10, TimeUnit.SECONDS).until(() -> collector.ids.size() == 2);
+        assertEquals(Arrays.asList("c1", "c2"), collector.ids);
+    }
+
+    @Test
+    public void passesEventsSharingTheirTime() throws Exception {
+        hub = EventHub.create(httpClient.dockerClient());
+        Collector collector = new Collector();
+        hub.subscribe(collector);
+        OutputStream events = eventStreams.take();
+        send(events, "container", "start", "c1", null, 100_000_000_001L);
+        send(events, "container", "start", "c2", null, 100_000_000_001L);
+        await().atMost(10, TimeUnit.SECONDS).until(() -> collector.ids.size() == 2);
+
+        events.close();
+        events = eventStreams.take();
+        await().atMost(10, TimeUnit.SECONDS).until(() -> hub.getReconnects() == 1);
+
+        // only the events that were received before are replayed
+        send(events, "container", "start", "c2", null, 100_000_000_001L);
+        send(events, "container", "start", "c1", null, 100_000_000_001L);
+        send(events, "container", "start", "c3", null, 100_000_000_001L);
+        send(events, "container", "start", "c4", null, 100_000_000_002L);
+        await().atMost(10, TimeUnit.SECONDS).until(() -> collector.ids.size() == 4);
+        assertEquals(Arrays.asList("c1", "c2", "c3", "c4"), collector.ids);
+    }
+
+    @Test
+    public void dropsEventsForSlowSubscriber() throws Exception {
+        hub = EventHub.create(httpClient.dockerClient());
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Collector slow = new Collector() {
+            @Override
+            public void onNext(Event event) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.onNext(event);
+            }
+        };
+        Collector fast = new Collector();
+        EventHub.Subscription subscription = hub.subscribe(new EventHub.Filter(), 1, slow);
+        hub.subscribe(fast);
+        OutputStream events = eventStreams.take();
+
+        send(events, "container", "start", "c1", null, 1_000_000_001L);
+        entered.await();
+        send(events, "container", "start", "c2", null, 1_000_000_002L);
+        send(events, "container", "start", "c3", null, 1_000_000_003L);
+        await().atMost(10, TimeUnit.SECONDS).until(() -> fast.ids.size() == 3);
+
+        assertEquals(1, subscription.getDroppedEvents());
+        release.countDown();
+        await().atMost(10, TimeUnit.SECONDS).until(() -> slow.ids.size() == 2);
+        assertEquals(Arrays.asList("c1", "c2"), slow.ids);
+    }
+
+    @Test
+    public void sharesDispatcherThreadsBetweenBusySubscribers() throws Exception {
+        hub = EventHub.create(httpClient.dockerClient(), 1);
+        List<String> received = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        Collector first = new Collector() {
+            @Override
+            public void onNext(Event event) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                received.add("first");
+            }
+        };
+        Collector second = new Collector() {
+            @Override
+            public void onNext(Event event) {
+                received.add("second");
+            }
+        };
+        hub.subscribe(new EventHub.Filter(), Integer.MAX_VALUE, first);
+        hub.subscribe(second);
+        OutputStream events = eventStreams.take();
+
+        for (int i = 1; i <= 100; i++) {
+            send(events, "container", "start", "c" + i, null, 1_000_000_000L + i);
+        }
+        await().atMost(10, TimeUnit.SECONDS).until(() -> hub.getEvents() == 100);
+        release.countDown();
+        await().atMost(10, TimeUnit.SECONDS).until(() -> received.size() == 200);
+
+        // the second subscriber gets the thread after a batch of the first one
+        assertTrue(received.indexOf("second") < received.lastIndexOf("first"));
+    }
+
+    private static class Collector extends ResultCallback.Adapter<Event> {
+
+        final List<String> ids = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onNext(Event event) {
+            ids.add(event.getActor().getId());
+        }
+    }
+
+    private static void send(OutputStream events, String type, String action, String id, String labels, long timeNano)
+            throws IOException {
+        String attributes = labels != null ? ",\"Attributes\":{" + labels + "}" : "";
+        String event = "{\"Type\":\"" + type + "\",\"Action\":\"" + action + "\",\"Actor\":{\"ID\":\"" + id + "\"" + attributes
+            + "},\"time\":" + timeNano / 1_000_000_000 + ",\"timeNano\":" + timeNano + "}\n";
+        events.write(event.getBytes(StandardCharsets.UTF_8));
+        events.flush();
+    }
+}
@@ -0,0 +1,198 @@
+package com.github.dockerjava.core;
+
+import com.github.dockerjava.api.async.FramePayloadCallback;
+import com.github.dockerjava.api.async.FrameSinkCallback;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.model.Frame;
+import com.github.dockerjava.api.model.StreamType;
+import com.github.dockerjava.transport.DockerHttpClient;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+public class FramedInputStreamConsumerTest {
+
+    @Test
+    public void multiplexedFrames() {
+        List<Frame> frames = consume(concat(
+            frame(1, "stdout"),
+            frame(2, "stderr")
+        ));
+
+        assertEquals(Arrays.asList(
+            new Frame(StreamType.STDOUT, bytes("stdout")),
+            new Frame(StreamType.STDERR, bytes("stderr"))
+        ), frames);
+    }
+
+    @Test
+    public void largeFramesAreSplitIntoChunksOwningTheirPayload() {
+        byte[] payload = new byte[2048];
+        Arrays.fill(payload, (byte) 'a');
+
+        List<Frame> frames = consume(frame(1, payload));
+
+        assertEquals(2, frames.size());
+        assertEquals(1024, frames.get(0).getPayload().length);
+        assertEquals(1024, frames.get(1).getPayload().length);
+        assertNotSame(frames.get(0).getPayload(), frames.get(1).getPayload());
+    }
+
+    @Test
+    public void rawStream() {
+        List<Frame> frames = consume(bytes("raw output"));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        for (Frame frame : frames) {
+            assertEquals(StreamType.RAW, frame.getStreamType());
+            output.write(frame.getPayload(), 0, frame.getPayload().length);
+        }
+        assertEquals("raw output", new String(output.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void truncatedHeaderEndsStream() {
+        List<Frame> frames = consume(concat(frame(1, "stdout"), new byte[]{1, 0, 0}));
+
+        assertEquals(Collections.singletonList(new Frame(StreamType.STDOUT, bytes("stdout"))), frames);
+    }
+
+    @Test
+    public void payloadCallbackReceivesSlices() {
+        List<String> payloads = new ArrayList<>();
+        FramePayloadCallback callback = new FramePayloadCallback.Adapter() {
+            @Override
+            public void onFrame(StreamType streamType, ByteBuffer payload) {
+                byte[] bytes = new byte[payload.remaining()];
+                payload.get(bytes);
+                payloads.add(streamType + ":" + new String(bytes, StandardCharsets.UTF_8));
+            }
+        };
+
+        new FramedInputStreamConsumer(callback).accept(response(concat(
+            frame(1, "out"),
+            frame(2, "err"),
+            frame(1, "")
+        )));
+
+        assertEquals(Arrays.asList("STDOUT:out", "STDERR:err"), payloads);
+    }
+
+    @Test
+    public void payloadCallbackReceivesRawStream() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        FramePayloadCallback callback = new FramePayloadCallback.Adapter() {
+            @Override
+            public void onFrame(StreamType streamType, ByteBuffer payload) {
+                assertEquals(StreamType.RAW, streamType);
+                output.write(payload.array(), payload.arrayOffset() + payload.position(), payload.remaining());
+            }
+        };
+
+        new FramedInputStreamConsumer(callback).accept(response(bytes("raw output")));
+
+        assertArrayEquals(bytes("raw output"), output.toByteArray());
+    }
+
+    @Test
+    public void sinkDemultiplexesIntoChannels() {
+        ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+        ByteArrayOutputStream stderr = new ByteArrayOutputStream();
+
+        new FramedInputStreamConsumer(new FrameSinkCallback(Channels.newChannel(stdout), Channels.newChannel(stderr)))
+            .accept(response(concat(
+                frame(1, "out1 "),
+                frame(2, "err"),
+                frame(1, "out2")
+            )));
+
+        assertEquals("out1 out2", new String(stdout.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals("err", new String(stderr.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void sinkDiscardsStderrWithoutStream() {
+        ByteArrayOutputStream stdout = new ByteArrayOutputStream();
+
+        new FramedInputStreamConsumer(FrameSinkCallback.toStreams(stdout, null))
+            .accept(response(concat(
+                frame(2, "err"),
+                frame(1, "out")
+            )));
+
+        assertEquals("out", new String(stdout.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    private static List<Frame> consume(byte[] body) {
+        List<Frame> frames = new ArrayList<>();
+        ResultCallback<Frame> callback = new ResultCallback.Adapter<Frame>() {
+            @Override
+            public void onNext(Frame frame) {
+                frames.add(frame);
+            }
+        };
+
+        new FramedInputStreamConsumer(callback).accept(response(body));
+        return frames;
+    }
+
+    private static DockerHttpClient.Response response(byte[] body) {
+        InputStream inputStream = new ByteArrayInputStream(body);
+        return new DockerHttpClient.Response() {
+            @Override
+            public int getStatusCode() {
+                return 200;
+            }
+
+            @Override
+            public Map<String, List<String>> getHeaders() {
+                return Collections.emptyMap();
+            }
+
+            @Override
+            public InputStream getBody() {
+                return inputStream;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+    }
+
+    private static byte[] frame(int streamType, String payload) {
+        return frame(streamType, bytes(payload));
+    }
+
+    private static byte[] frame(int streamType, byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.allocate(8 + payload.length);
+        buffer.put((byte) streamType).put(new byte[3]).putInt(payload.length).put(payload);
+        return buffer.array();
+    }
+
+    private static byte[] concat(byte[]... arrays) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        for (byte[] array : arrays) {
+            output.write(array, 0, array.length);
+        }
+        return output.toByteArray();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
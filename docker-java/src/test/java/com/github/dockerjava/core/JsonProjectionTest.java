@@ -0,0 +1,70 @@
+package com.github.dockerjava.core;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.model.Container;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class JsonProjectionTest {
+
+    private final JsonCodecCache jsonCodecs = new JsonCodecCache(DockerClientConfig.getDefaultObjectMapper());
+
+    @Test
+    public void bindsSelectedNestedFields() throws Exception {
+        JsonProjection projection = JsonProjection.of(Arrays.asList("Id", "State.Status", "NetworkSettings.IPAddress"));
+
+        InspectContainerResponse response = projection.readValue(
+            jsonCodecs.readerFor(new TypeReference<InspectContainerResponse>() {
+            }),
+            json("{\"Id\":\"c1\",\"Name\":\"/web\",\"State\":{\"Status\":\"running\",\"Pid\":42},"
+                + "\"HostConfig\":{\"Binds\":[\"/a:/b\"],\"LogConfig\":{\"Type\":\"json-file\"}},"
+                + "\"NetworkSettings\":{\"IPAddress\":\"172.17.0.2\",\"Ports\":{\"80/tcp\":null}}}")
+        );
+
+        assertEquals("c1", response.getId());
+        assertEquals("running", response.getState().getStatus());
+        assertEquals("172.17.0.2", response.getNetworkSettings().getIpAddress());
+        assertNull(response.getName());
+        assertNull(response.getState().getPidLong());
+        assertNull(response.getHostConfig());
+        assertNull(response.getNetworkSettings().getPorts());
+    }
+
+    @Test
+    public void appliesToEachElement() throws Exception {
+        JsonProjection projection = JsonProjection.of(Arrays.asList("Id", "Labels", "Labels.ignored"));
+        String body = "[{\"Id\":\"c1\",\"Command\":\"sh\",\"Labels\":{\"app\":\"web\"},\"Mounts\":[{\"Name\":\"data\"}]},"
+            + "{\"Id\":\"c2\",\"Labels\":{}}]";
+
+        List<Container> containers = projection.readValue(jsonCodecs.readerFor(new TypeReference<List<Container>>() {
+        }), json(body));
+        Iterator<Container> iterator = projection.readValues(jsonCodecs.elementReaderFor(new TypeReference<List<Container>>() {
+        }), json(body));
+
+        assertEquals(2, containers.size());
+        for (Container container : Arrays.asList(containers.get(0), iterator.next())) {
+            assertEquals("c1", container.getId());
+            assertEquals(Collections.singletonMap("app", "web"), container.getLabels());
+            assertNull(container.getCommand());
+            assertNull(container.getMounts());
+        }
+        assertEquals("c2", iterator.next().getId());
+        assertFalse(iterator.hasNext());
+    }
+
+    private static InputStream json(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
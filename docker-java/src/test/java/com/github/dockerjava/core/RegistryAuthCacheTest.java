@@ -0,0 +1,81 @@
+package com.github.dockerjava.core;
+
+import com.github.dockerjava.api.model.AuthConfig;
+import com.github.dockerjava.api.model.AuthConfigurations;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class RegistryAuthCacheTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void headersAreKeyedByCredentials() {
+        RegistryAuthCache cache = new RegistryAuthCache();
+        AtomicInteger encoded = new AtomicInteger();
+
+        assertEquals("1", cache.getRegistryAuth(authConfig("user"), authConfig -> "" + encoded.incrementAndGet()));
+        assertEquals("1", cache.getRegistryAuth(authConfig("user"), authConfig -> "" + encoded.incrementAndGet()));
+        assertEquals("2", cache.getRegistryAuth(authConfig("other"), authConfig -> "" + encoded.incrementAndGet()));
+
+        AuthConfigurations authConfigs = new AuthConfigurations();
+        authConfigs.addConfig(authConfig("user"));
+        assertEquals("3", cache.getRegistryConfigs(authConfigs, RemoteApiVersion.VERSION_1_19, c -> "" + encoded.incrementAndGet()));
+        assertEquals("3", cache.getRegistryConfigs(authConfigs, RemoteApiVersion.VERSION_1_19, c -> "" + encoded.incrementAndGet()));
+        assertEquals("4", cache.getRegistryConfigs(authConfigs, RemoteApiVersion.UNKNOWN_VERSION, c -> "" + encoded.incrementAndGet()));
+
+        assertEquals(2, cache.getHits());
+        assertEquals(4, cache.getMisses());
+        assertEquals(4, cache.size());
+    }
+
+    @Test
+    public void changedConfigFileInvalidatesHeaders() throws Exception {
+        File configDir = tempFolder.newFolder();
+        writeConfig(configDir, "user:password", 60);
+
+        DefaultDockerClientConfig config = new DefaultDockerClientConfig(URI.create("tcp://foo"), configDir.getAbsolutePath(), null,
+            null, null, null, null, null);
+        // the file is checked for changes on every access
+        config.setDockerConfigCheckIntervalMillis(0);
+        RegistryAuthCache cache = config.getRegistryAuthCache();
+
+        assertEquals("user", config.getAuthConfigurations().getConfigs().get("https://test.docker.io/v2/").getUsername());
+        cache.getRegistryAuth(authConfig("user"), authConfig -> "header");
+        assertEquals(1, cache.size());
+
+        writeConfig(configDir, "other:password", 30);
+
+        assertEquals("other", config.getAuthConfigurations().getConfigs().get("https://test.docker.io/v2/").getUsername());
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getInvalidations());
+    }
+
+    private static AuthConfig authConfig(String username) {
+        return new AuthConfig()
+            .withRegistryAddress("https://test.docker.io/v2/")
+            .withUsername(username)
+            .withPassword("password");
+    }
+
+    private static void writeConfig(File configDir, String credentials, int secondsAgo) throws IOException {
+        String auth = Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+        File configFile = new File(configDir, "config.json");
+        Files.write(configFile.toPath(),
+            ("{\"auths\":{\"https://test.docker.io/v2/\":{\"auth\":\"" + auth + "\"}}}").getBytes(StandardCharsets.UTF_8));
+        configFile.setLastModified(System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(secondsAgo));
+    }
+}
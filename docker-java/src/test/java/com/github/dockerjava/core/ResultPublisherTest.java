@@ -0,0 +1,222 @@
+package com.github.dockerjava.core;
+
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.async.ResultPublisher;
+import com.github.dockerjava.api.command.AsyncDockerCmd;
+import com.github.dockerjava.api.model.Event;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.dockerjava.core.TestDockerHttpClient.pipe;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ResultPublisherTest {
+
+    private final BlockingQueue<OutputStream> eventStreams = new LinkedBlockingQueue<>();
+
+    private final TestDockerHttpClient httpClient = new TestDockerHttpClient(request -> pipe(eventStreams));
+
+    @Test
+    public void passesOnlyRequestedItems() throws Exception {
+        EventSubscriber subscriber = new EventSubscriber();
+        httpClient.dockerClient().eventsCmd().toPublisher().subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        OutputStream events = eventStreams.take();
+        writeEvents(events, 3);
+        events.close();
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> subscriber.items.get() == 1);
+        // the end of the stream is only passed once the buffered items were requested
+        assertFalse(subscriber.completed.await(100, TimeUnit.MILLISECONDS));
+        assertEquals(1, subscriber.items.get());
+
+        subscriber.subscription.request(2);
+        assertTrue(subscriber.completed.await(10, TimeUnit.SECONDS));
+        assertEquals(3, subscriber.items.get());
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    public void stopsReadingUntilItemsAreRequested() throws Exception {
+        EventSubscriber subscriber = new EventSubscriber();
+        httpClient.dockerClient().eventsCmd().toPublisher().subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        OutputStream events = eventStreams.take();
+        CountDownLatch written = new CountDownLatch(1);
+        Thread writer = new Thread(() -> {
+            try {
+                writeEvents(events, 1000);
+                events.close();
+                written.countDown();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.start();
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> subscriber.items.get() == 1);
+        // the pipe and the parser only buffer a few KiB, so the writer is blocked by the reader
+        assertFalse(written.await(300, TimeUnit.MILLISECONDS));
+        assertEquals(1, subscriber.items.get());
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertTrue(written.await(10, TimeUnit.SECONDS));
+        assertTrue(subscriber.completed.await(10, TimeUnit.SECONDS));
+        assertEquals(1000, subscriber.items.get());
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    public void suspendsStreamsOfOtherImplementations() throws Exception {
+        ForeignEventsCmd eventsCmd = new ForeignEventsCmd(3);
+        EventSubscriber subscriber = new EventSubscriber();
+        eventsCmd.toPublisher().subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        // the items passed after suspending are kept until requested
+        assertTrue(eventsCmd.finished.await(10, TimeUnit.SECONDS));
+        assertEquals(1, subscriber.items.get());
+        assertTrue(eventsCmd.suspended);
+        assertFalse(subscriber.completed.await(100, TimeUnit.MILLISECONDS));
+
+        subscriber.subscription.request(2);
+        assertTrue(subscriber.completed.await(10, TimeUnit.SECONDS));
+        assertEquals(3, subscriber.items.get());
+        assertFalse(eventsCmd.suspended);
+    }
+
+    @Test
+    public void rejectsSecondSubscriber() throws Exception {
+        ResultPublisher<Event> publisher = httpClient.dockerClient().eventsCmd().toPublisher();
+        publisher.subscribe(new EventSubscriber());
+        EventSubscriber second = new EventSubscriber();
+
+        publisher.subscribe(second);
+
+        assertTrue(second.completed.await(10, TimeUnit.SECONDS));
+        assertThat(second.error, instanceOf(IllegalStateException.class));
+        // only the first subscriber executed the command
+        eventStreams.take();
+        assertNull(eventStreams.poll(100, TimeUnit.MILLISECONDS));
+        assertEquals(1, httpClient.getPaths().size());
+    }
+
+    @Test
+    public void cancelClosesStream() throws Exception {
+        EventSubscriber subscriber = new EventSubscriber();
+        httpClient.dockerClient().eventsCmd().toPublisher().subscribe(subscriber);
+
+        OutputStream events = eventStreams.take();
+        events.write("{\"Type\":\"container\",\"Action\":\"start\"}\n".getBytes(StandardCharsets.UTF_8));
+        events.flush();
+        Thread.sleep(100);
+        subscriber.subscription.cancel();
+
+        assertTrue(httpClient.getClosedResponses() > 0);
+        assertEquals(0, subscriber.items.get());
+        assertFalse(subscriber.completed.await(100, TimeUnit.MILLISECONDS));
+    }
+
+    private static void writeEvents(OutputStream events, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            events.write(("{\"Type\":\"container\",\"Action\":\"start\",\"id\":\"" + i + "\"}\n").getBytes(StandardCharsets.UTF_8));
+            events.flush();
+        }
+    }
+
+    /**
+     * Command of another implementation, which passes its items on a thread it does not own, like an event loop.
+     */
+    private static final class ForeignEventsCmd implements AsyncDockerCmd<ForeignEventsCmd, Event> {
+
+        final CountDownLatch finished = new CountDownLatch(1);
+
+        volatile boolean suspended;
+
+        private final int count;
+
+        ForeignEventsCmd(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public <T extends ResultCallback<Event>> T exec(T resultCallback) {
+            new Thread(() -> {
+                resultCallback.onStart(new ResultPublisher.SuspendableStream() {
+                    @Override
+                    public void suspendReading() {
+                        suspended = true;
+                    }
+
+                    @Override
+                    public void resumeReading() {
+                        suspended = false;
+                    }
+
+                    @Override
+                    public void close() {
+                    }
+                });
+                for (int i = 0; i < count; i++) {
+                    resultCallback.onNext(new Event("start", String.valueOf(i), null, 0L));
+                }
+                resultCallback.onComplete();
+                finished.countDown();
+            }).start();
+            return resultCallback;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class EventSubscriber implements ResultPublisher.Subscriber<Event> {
+
+        final AtomicInteger items = new AtomicInteger();
+
+        final CountDownLatch completed = new CountDownLatch(1);
+
+        volatile ResultPublisher.Subscription subscription;
+
+        volatile Throwable error;
+
+        @Override
+        public void onSubscribe(ResultPublisher.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Event item) {
+            items.incrementAndGet();
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            completed.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed.countDown();
+        }
+    }
+}
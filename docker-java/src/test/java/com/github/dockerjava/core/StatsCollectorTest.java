@@ -0,0 +1,109 @@
+package com.github.dockerjava.core;
+
+import com.github.dockerjava.api.exception.NotFoundException;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static com.github.dockerjava.core.TestDockerHttpClient.response;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class StatsCollectorTest {
+
+    private final Map<String, AtomicInteger> samples = new ConcurrentHashMap<>();
+
+    private final TestDockerHttpClient httpClient = new TestDockerHttpClient(request -> {
+        String path = request.path();
+        if (path.startsWith("/containers/json")) {
+            return response("[{\"Id\":\"c1\"},{\"Id\":\"c2\"}]");
+        } else if (path.startsWith("/containers/gone/")) {
+            return response(404, "No such container: gone");
+        }
+        String id = path.split("/")[2];
+        return response(statistics(samples.computeIfAbsent(id, key -> new AtomicInteger()).incrementAndGet()));
+    });
+
+    private final List<String> paths = httpClient.getPaths();
+
+    private final BlockingQueue<StatsCollector.Snapshot> snapshots = new LinkedBlockingQueue<>();
+
+    private StatsCollector collector;
+
+    @After
+    public void tearDown() {
+        if (collector != null) {
+            collector.close();
+        }
+    }
+
+    @Test
+    public void publishesStatsOfRunningContainers() throws Exception {
+        collector = StatsCollector.builder(httpClient.dockerClient())
+            .withInterval(200, TimeUnit.MILLISECONDS)
+            .withConcurrency(2)
+            .withJitter(50, TimeUnit.MILLISECONDS)
+            .start(snapshots::add);
+
+        StatsCollector.Snapshot first = snapshots.poll(10, TimeUnit.SECONDS);
+        assertEquals(Arrays.asList("c1", "c2"), sorted(first.getStats().keySet()));
+        StatsCollector.ContainerStats stats = first.getStats().get("c1");
+        assertEquals(20.0, stats.getCpuPercent(), 0.001);
+        assertEquals(3500, stats.getMemoryUsageBytes());
+        assertEquals(10000, stats.getMemoryLimitBytes());
+        assertEquals(1000, stats.getNetworkRxBytes());
+        assertEquals(200, stats.getBlockWriteBytes());
+        assertTrue(Double.isNaN(stats.getNetworkRxBytesPerSecond()));
+
+        stats = snapshots.poll(10, TimeUnit.SECONDS).getStats().get("c1");
+        assertEquals(1000.0, stats.getNetworkRxBytesPerSecond(), 0.001);
+        assertEquals(500.0, stats.getNetworkTxBytesPerSecond(), 0.001);
+        assertEquals(100.0, stats.getBlockReadBytesPerSecond(), 0.001);
+        assertEquals(200.0, stats.getBlockWriteBytesPerSecond(), 0.001);
+
+        assertTrue(paths.stream().filter(path -> path.contains("/stats")).allMatch(path -> path.endsWith("?stream=0")));
+    }
+
+    @Test
+    public void reportsContainersWithoutStats() throws Exception {
+        collector = StatsCollector.builder(httpClient.dockerClient())
+            .withInterval(200, TimeUnit.MILLISECONDS)
+            .withContainerIds(Arrays.asList("c1", "gone"))
+            .start(snapshots::add);
+
+        StatsCollector.Snapshot snapshot = snapshots.poll(10, TimeUnit.SECONDS);
+
+        assertEquals(Collections.singleton("c1"), snapshot.getStats().keySet());
+        assertThat(snapshot.getErrors().get("gone"), instanceOf(NotFoundException.class));
+        assertTrue(paths.stream().noneMatch(path -> path.startsWith("/containers/json")));
+        assertTrue(collector.getFailures() >= 1);
+    }
+
+    private static List<String> sorted(Collection<String> ids) {
+        return ids.stream().sorted().collect(Collectors.toList());
+    }
+
+    private static String statistics(int n) {
+        return "{\"read\":\"2020-01-01T00:00:0" + n + "Z\","
+            + "\"cpu_stats\":{\"cpu_usage\":{\"total_usage\":" + 1100 * n + "},\"system_cpu_usage\":" + 11000 * n + ",\"online_cpus\":2},"
+            + "\"precpu_stats\":{\"cpu_usage\":{\"total_usage\":" + (1100 * n - 100) + "},\"system_cpu_usage\":" + (11000 * n - 1000)
+            + ",\"online_cpus\":2},"
+            + "\"memory_stats\":{\"usage\":5000,\"limit\":10000,\"stats\":{\"cache\":1000,\"total_inactive_file\":1500}},"
+            + "\"networks\":{\"eth0\":{\"rx_bytes\":" + 1000 * n + ",\"tx_bytes\":" + 500 * n + "}},"
+            + "\"blkio_stats\":{\"io_service_bytes_recursive\":[{\"op\":\"Read\",\"value\":" + 100 * n + "},"
+            + "{\"op\":\"Write\",\"value\":" + 200 * n + "}]}}";
+    }
+}
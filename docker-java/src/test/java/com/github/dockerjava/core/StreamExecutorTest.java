@@ -0,0 +1,165 @@
+package com.github.dockerjava.core;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.model.Event;
+import com.github.dockerjava.core.command.BuildImageCmdImpl;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.dockerjava.core.TestDockerHttpClient.pipe;
+import static com.github.dockerjava.core.TestDockerHttpClient.response;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class StreamExecutorTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final ExecutorService pool = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "pooled"));
+
+    @After
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void countsActiveAndQueuedStreams() throws Exception {
+        StreamExecutor executor = new StreamExecutor(pool);
+        CountDownLatch release = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        executor.execute(() -> {
+        });
+        await().atMost(10, TimeUnit.SECONDS).until(() -> executor.getActiveStreams() == 1);
+        assertEquals(1, executor.getQueuedStreams());
+
+        release.countDown();
+        await().atMost(10, TimeUnit.SECONDS).until(() -> executor.getActiveStreams() == 0 && executor.getQueuedStreams() == 0);
+    }
+
+    @Test
+    public void rejectedStreamIsNotCounted() {
+        StreamExecutor executor = new StreamExecutor(command -> {
+            throw new RejectedExecutionException();
+        });
+
+        try {
+            executor.execute(() -> {
+            });
+            fail();
+        } catch (RejectedExecutionException expected) {
+            assertEquals(0, executor.getQueuedStreams());
+            assertEquals(0, executor.getActiveStreams());
+        }
+    }
+
+    @Test
+    public void namesThreadWhileStreaming() {
+        StreamExecutor executor = new StreamExecutor(pool);
+        List<String> names = new CopyOnWriteArrayList<>();
+
+        executor.execute("docker-java-stream-1 GET /events", () -> names.add(Thread.currentThread().getName()));
+        executor.execute(() -> names.add(Thread.currentThread().getName()));
+
+        await().atMost(10, TimeUnit.SECONDS).until(() -> names.size() == 2);
+        assertEquals(Arrays.asList("docker-java-stream-1 GET /events", "pooled"), names);
+    }
+
+    @Test
+    public void defaultExecutorRunsDaemonThreads() throws Exception {
+        CompletableFuture<Boolean> daemon = new CompletableFuture<>();
+
+        StreamExecutor.defaultExecutor().execute(() -> daemon.complete(Thread.currentThread().isDaemon()));
+
+        assertTrue(daemon.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void archivesStreamedBuildContextOnClientExecutor() throws Exception {
+        File context = temporaryFolder.getRoot();
+        Files.write(context.toPath().resolve("Dockerfile"), "FROM busybox\n".getBytes(StandardCharsets.UTF_8));
+        List<String> tasks = new CopyOnWriteArrayList<>();
+        DefaultDockerClientConfig config = DefaultDockerClientConfig.createDefaultConfigBuilder()
+            .withDockerHost("tcp://localhost:2375")
+            .build();
+        DockerClient dockerClient = DockerClientImpl.getInstance(config, new TestDockerHttpClient(request -> response("")), command -> {
+            tasks.add("context");
+            pool.execute(command);
+        });
+
+        BuildImageCmdImpl command = (BuildImageCmdImpl) dockerClient.buildImageCmd(context).withContextStreaming(true);
+        try (InputStream tarInputStream = command.getTarInputStream()) {
+            assertNotEquals(-1, tarInputStream.read());
+        }
+
+        assertEquals(Collections.singletonList("context"), tasks);
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void closingStreamDoesNotInterruptNextTaskOfThread() throws Exception {
+        BlockingQueue<OutputStream> streams = new LinkedBlockingQueue<>();
+        List<String> names = new CopyOnWriteArrayList<>();
+        TestDockerHttpClient httpClient = new TestDockerHttpClient(request -> {
+            names.add(Thread.currentThread().getName());
+            return pipe(streams);
+        });
+        DefaultDockerClientConfig config = DefaultDockerClientConfig.createDefaultConfigBuilder()
+            .withDockerHost("tcp://localhost:2375")
+            .build();
+        DefaultDockerCmdExecFactory factory = new DefaultDockerCmdExecFactory(httpClient, config.getObjectMapper(), pool);
+        DockerClient dockerClient = DockerClientImpl.getInstance(config).withDockerCmdExecFactory(factory);
+
+        ResultCallback.Adapter<Event> callback = dockerClient.eventsCmd().exec(new ResultCallback.Adapter<>());
+        streams.take();
+        callback.awaitStarted();
+        callback.close();
+        await().atMost(10, TimeUnit.SECONDS).until(() -> factory.getActiveStreams() == 0);
+
+        // the single pooled thread that was interrupted by close() runs the next task
+        CompletableFuture<Boolean> interrupted = new CompletableFuture<>();
+        pool.execute(() -> {
+            names.add(Thread.currentThread().getName());
+            interrupted.complete(Thread.currentThread().isInterrupted());
+        });
+
+        assertFalse(interrupted.get(10, TimeUnit.SECONDS));
+        assertThat(names.get(0), startsWith("docker-java-stream-"));
+        assertTrue(names.get(0).endsWith("GET /events"));
+        assertEquals("pooled", names.get(1));
+    }
+}
@@ -0,0 +1,157 @@
+package com.github.dockerjava.core;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.transport.DockerHttpClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link DockerHttpClient} that answers requests with a handler instead of a daemon, and records the requested paths and
+ * the closed responses.
+ */
+public final class TestDockerHttpClient implements DockerHttpClient {
+
+    @FunctionalInterface
+    public interface Handler {
+        Response handle(Request request) throws Exception;
+    }
+
+    private final Handler handler;
+
+    private final List<String> paths = new CopyOnWriteArrayList<>();
+
+    private final AtomicInteger closedResponses = new AtomicInteger();
+
+    public TestDockerHttpClient(Handler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * @return client sending its requests to this client
+     */
+    public DockerClient dockerClient() {
+        return dockerClient(null);
+    }
+
+    public DockerClient dockerClient(String apiVersion) {
+        DefaultDockerClientConfig config = DefaultDockerClientConfig.createDefaultConfigBuilder()
+            .withDockerHost("tcp://localhost:2375")
+            .withApiVersion(apiVersion)
+            .build();
+        return DockerClientImpl.getInstance(config, this);
+    }
+
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    public int getClosedResponses() {
+        return closedResponses.get();
+    }
+
+    @Override
+    public Response execute(Request request) {
+        paths.add(request.path());
+        Response response;
+        try {
+            response = handler.handle(request);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+
+        return new Response() {
+            @Override
+            public int getStatusCode() {
+                return response.getStatusCode();
+            }
+
+            @Override
+            public Map<String, List<String>> getHeaders() {
+                return response.getHeaders();
+            }
+
+            @Override
+            public InputStream getBody() {
+                return response.getBody();
+            }
+
+            @Override
+            public void close() {
+                closedResponses.incrementAndGet();
+                response.close();
+            }
+        };
+    }
+
+    @Override
+    public void close() {
+    }
+
+    public static Response response(String body) {
+        return response(200, body);
+    }
+
+    public static Response response(int statusCode, String body) {
+        return response(statusCode, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    public static Response response(InputStream body) {
+        return response(200, body);
+    }
+
+    /**
+     * @return response with the given body, which is closed with the response
+     */
+    public static Response response(int statusCode, InputStream body) {
+        return new Response() {
+            @Override
+            public int getStatusCode() {
+                return statusCode;
+            }
+
+            @Override
+            public Map<String, List<String>> getHeaders() {
+                return Collections.emptyMap();
+            }
+
+            @Override
+            public InputStream getBody() {
+                return body;
+            }
+
+            @Override
+            public void close() {
+                try {
+                    body.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+    }
+
+    /**
+     * @param streams queue the stream is added to, which writes the body of the response. The pipe buffers 1 KiB.
+     * @return streaming response
+     */
+    public static Response pipe(Queue<OutputStream> streams) throws IOException {
+        PipedInputStream body = new PipedInputStream();
+        streams.add(new PipedOutputStream(body));
+        return response(body);
+    }
+}
@@ -0,0 +1,122 @@
+package com.github.dockerjava.core.command;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.InspectBatchItem;
+import com.github.dockerjava.api.command.InspectBatchResponse;
+import com.github.dockerjava.api.command.InspectContainerResponse;
+import com.github.dockerjava.api.exception.NotFoundException;
+import com.github.dockerjava.core.TestDockerHttpClient;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.github.dockerjava.core.TestDockerHttpClient.response;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class InspectBatchCmdImplTest {
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private final TestDockerHttpClient httpClient = new TestDockerHttpClient(request -> {
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(5);
+            String id = request.path().split("/")[2];
+            if ("missing".equals(id)) {
+                return response(404, "{\"message\":\"No such container: missing\"}");
+            }
+            return response("{\"Id\":\"" + id + "\"}");
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    });
+
+    private final DockerClient dockerClient = httpClient.dockerClient();
+
+    @Test
+    public void reportsErrorsPerId() {
+        InspectBatchResponse<InspectContainerResponse> response = dockerClient
+            .inspectContainersCmd(Arrays.asList("c3", "missing", "c1", "c2", "c1"))
+            .exec();
+
+        assertEquals(Arrays.asList("c3", "c1", "c2"), new ArrayList<>(response.getResults().keySet()));
+        assertEquals("c1", response.getResults().get("c1").getId());
+        assertEquals(Collections.singleton("missing"), response.getErrors().keySet());
+        assertThat(response.getErrors().get("missing"), instanceOf(NotFoundException.class));
+        assertTrue(response.hasErrors());
+    }
+
+    @Test
+    public void boundsParallelism() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            ids.add("c" + i);
+        }
+
+        InspectBatchResponse<InspectContainerResponse> response = dockerClient.inspectContainersCmd(ids)
+            .withParallelism(4)
+            .exec();
+
+        assertEquals(50, response.getResults().size());
+        assertThat(maxInFlight.get(), lessThanOrEqualTo(4));
+        assertTrue(maxInFlight.get() > 1);
+    }
+
+    @Test
+    public void streamsResults() throws Exception {
+        List<String> ids = Collections.synchronizedList(new ArrayList<>());
+
+        dockerClient.inspectContainersCmd(Arrays.asList("c1", "missing", "c2"))
+            .exec(new ResultCallback.Adapter<InspectBatchItem<InspectContainerResponse>>() {
+                @Override
+                public void onNext(InspectBatchItem<InspectContainerResponse> item) {
+                    ids.add(item.getId() + (item.getError() != null ? "!" : ""));
+                }
+            })
+            .awaitCompletion();
+
+        assertThat(ids, containsInAnyOrder("c1", "missing!", "c2"));
+    }
+
+    @Test
+    public void slowConsumerDoesNotBlockRequests() throws Exception {
+        List<String> ids = Collections.synchronizedList(new ArrayList<>());
+
+        dockerClient.inspectContainersCmd(Arrays.asList("c1", "c2", "c3", "c4"))
+            .withParallelism(2)
+            .exec(new ResultCallback.Adapter<InspectBatchItem<InspectContainerResponse>>() {
+                @Override
+                public void onNext(InspectBatchItem<InspectContainerResponse> item) {
+                    if (ids.isEmpty()) {
+                        // the other requests complete and the remaining ones are sent meanwhile
+                        await().atMost(10, TimeUnit.SECONDS).until(() -> httpClient.getPaths().size() == 4);
+                    }
+                    ids.add(item.getId());
+                }
+            })
+            .awaitCompletion();
+
+        assertThat(ids, containsInAnyOrder("c1", "c2", "c3", "c4"));
+    }
+
+    @Test
+    public void emptyBatch() {
+        InspectBatchResponse<InspectContainerResponse> response = dockerClient.inspectContainersCmd(Collections.emptyList()).exec();
+
+        assertEquals(Collections.emptyMap(), response.getResults());
+    }
+}
@@ -0,0 +1,117 @@
+package com.github.dockerjava.core.command;
+
+import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.model.Container;
+import com.github.dockerjava.core.TestDockerHttpClient;
+import com.github.dockerjava.core.async.ResultCallbackTemplate;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.github.dockerjava.core.TestDockerHttpClient.response;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ListContainersCmdImplTest {
+
+    private TestDockerHttpClient httpClient;
+
+    @Test
+    public void streamParsesOneContainerAtATime() throws Exception {
+        PipedInputStream body = new PipedInputStream();
+        OutputStream output = new PipedOutputStream(body);
+        DockerClient dockerClient = dockerClient(body);
+
+        write(output, "[{\"Id\":\"c1\"}");
+        try (Stream<Container> containers = dockerClient.listContainersCmd().execStream()) {
+            Iterator<Container> iterator = containers.iterator();
+            // the rest of the array was not sent yet
+            assertEquals("c1", iterator.next().getId());
+
+            write(output, ",{\"Id\":\"c2\"}]");
+            output.close();
+            assertEquals("c2", iterator.next().getId());
+            assertFalse(iterator.hasNext());
+        }
+        assertTrue(httpClient.getClosedResponses() > 0);
+    }
+
+    @Test
+    public void closingStreamEarlyClosesResponse() {
+        DockerClient dockerClient = dockerClient(json("[{\"Id\":\"c1\"},{\"Id\":\"c2\"}]"));
+
+        try (Stream<Container> containers = dockerClient.listContainersCmd().execStream()) {
+            assertEquals("c1", containers.findFirst().get().getId());
+        }
+        assertTrue(httpClient.getClosedResponses() > 0);
+    }
+
+    @Test
+    public void fieldsRestrictBoundProperties() {
+        String body = "[{\"Id\":\"c1\",\"State\":\"running\",\"HostConfig\":{\"NetworkMode\":\"host\"}}]";
+
+        List<Container> containers = dockerClient(json(body)).listContainersCmd().withFields("Id", "State").exec();
+        try (Stream<Container> stream = dockerClient(json(body)).listContainersCmd().withFields("Id", "State").execStream()) {
+            containers.add(stream.findFirst().get());
+        }
+
+        for (Container container : containers) {
+            assertEquals("c1", container.getId());
+            assertEquals("running", container.getState());
+            assertNull(container.getHostConfig());
+        }
+    }
+
+    @Test
+    public void callbackReceivesEachContainer() throws Exception {
+        DockerClient dockerClient = dockerClient(json("[{\"Id\":\"c1\"},{\"Id\":\"c2\"}]"));
+        List<String> ids = new ArrayList<>();
+
+        dockerClient.listContainersCmd().exec(new ResultCallbackTemplate<ResultCallbackTemplate<?, Container>, Container>() {
+            @Override
+            public void onNext(Container container) {
+                ids.add(container.getId());
+            }
+        }).awaitCompletion();
+
+        assertEquals(Arrays.asList("c1", "c2"), ids);
+        assertTrue(httpClient.getClosedResponses() > 0);
+    }
+
+    @Test
+    public void execReadsWholeList() {
+        DockerClient dockerClient = dockerClient(json("[{\"Id\":\"c1\"},{\"Id\":\"c2\"}]"));
+
+        List<Container> containers = dockerClient.listContainersCmd().exec();
+
+        assertEquals(Arrays.asList("c1", "c2"), containers.stream().map(Container::getId).collect(Collectors.toList()));
+    }
+
+    private static InputStream json(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void write(OutputStream output, String json) throws IOException {
+        output.write(json.getBytes(StandardCharsets.UTF_8));
+        output.flush();
+    }
+
+    private DockerClient dockerClient(InputStream body) {
+        httpClient = new TestDockerHttpClient(request -> response(body));
+        return httpClient.dockerClient();
+    }
+}
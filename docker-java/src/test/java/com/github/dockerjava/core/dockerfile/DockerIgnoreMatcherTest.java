@@ -0,0 +1,118 @@
+package com.github.dockerjava.core.dockerfile;
+
+import com.github.dockerjava.api.exception.DockerClientException;
+import com.github.dockerjava.core.GoLangFileMatch;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import static com.google.common.collect.Collections2.transform;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeFalse;
+
+public class DockerIgnoreMatcherTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void sameResultAsMatchingPatternsOneByOne() {
+        assumeFalse(GoLangFileMatch.IS_WINDOWS);
+
+        List<String> patterns = Arrays.asList("target", "*.log", "!important.log", "docs/", "**/*.tmp", "!docs/keep.tmp",
+            "build/out", "!build", "node_modules", "src/*/generated");
+        List<String> paths = Arrays.asList("target", "target/classes/A.class", "targets", "a.log", "important.log",
+            "logs/a.log", "docs", "docs/index.md", "docs/keep.tmp", "x/y/z.tmp", "build/out/a", "build/outside",
+            "node_modules/a/b", "src/main/generated/A.java", "src/main/java/A.java", "README.md");
+
+        DockerIgnoreMatcher matcher = new DockerIgnoreMatcher(patterns);
+
+        for (String path : paths) {
+            assertEquals(path, lastMatchingPattern(patterns, path), matcher.effectiveMatchingPattern(path));
+        }
+    }
+
+    @Test
+    public void excludedDirectoryWithoutExceptions() {
+        assumeFalse(GoLangFileMatch.IS_WINDOWS);
+
+        DockerIgnoreMatcher matcher = new DockerIgnoreMatcher(Arrays.asList("!docs/keep.md", "target", "docs", "*/generated"));
+
+        assertTrue(matcher.excludesAllOf("target"));
+        assertTrue(matcher.excludesAllOf("target/classes"));
+        assertTrue(matcher.excludesAllOf("docs"));
+        assertTrue(matcher.excludesAllOf("src/generated"));
+        assertFalse(matcher.excludesAllOf("src"));
+    }
+
+    @Test
+    public void excludedDirectoryWithLaterExceptions() {
+        assumeFalse(GoLangFileMatch.IS_WINDOWS);
+
+        DockerIgnoreMatcher matcher = new DockerIgnoreMatcher(Arrays.asList("*", "!build/libs/*.jar", "target", "!**/keep"));
+
+        assertFalse(matcher.excludesAllOf("build"));
+        assertFalse(matcher.excludesAllOf("build/libs"));
+        assertFalse(matcher.excludesAllOf("target"));
+
+        matcher = new DockerIgnoreMatcher(Arrays.asList("*", "!build/libs/*.jar"));
+
+        assertTrue(matcher.excludesAllOf("src"));
+        assertTrue(matcher.excludesAllOf("build/tmp"));
+        assertFalse(matcher.excludesAllOf("build/libs"));
+    }
+
+    @Test(expected = DockerClientException.class)
+    public void invalidPattern() {
+        new DockerIgnoreMatcher(Arrays.asList("target", "[a-b-c]"));
+    }
+
+    @Test
+    public void scanSkipsExcludedDirectories() throws IOException {
+        assumeFalse(GoLangFileMatch.IS_WINDOWS);
+
+        File baseDir = tempFolder.getRoot();
+        write(baseDir, "Dockerfile", "FROM scratch");
+        write(baseDir, ".dockerignore", "target\nbuild\n!build/libs/app.jar\n**/*.log");
+        write(baseDir, "src/A.java", "");
+        write(baseDir, "target/classes/A.class", "");
+        write(baseDir, "build/libs/app.jar", "");
+        write(baseDir, "build/tmp/state", "");
+        write(baseDir, "src/debug.log", "");
+        new File(baseDir, "empty").mkdir();
+        new File(baseDir, "target/empty").mkdir();
+
+        Dockerfile.ScannedResult result = new Dockerfile(new File(baseDir, "Dockerfile"), baseDir).parse();
+        Collection<String> filesToAdd = transform(result.filesToAdd, file -> baseDir.toPath().relativize(file.toPath()).toString());
+
+        assertThat(filesToAdd, containsInAnyOrder("Dockerfile", ".dockerignore", "src/A.java", "build/libs/app.jar", "empty"));
+    }
+
+    private static String lastMatchingPattern(List<String> patterns, String path) {
+        String lastMatchingPattern = null;
+        for (String pattern : patterns) {
+            if (GoLangFileMatch.match(pattern.startsWith("!") ? pattern.substring(1) : pattern, path)) {
+                lastMatchingPattern = pattern;
+            }
+        }
+        return lastMatchingPattern == null || lastMatchingPattern.startsWith("!") ? null : lastMatchingPattern;
+    }
+
+    private static void write(File baseDir, String path, String content) throws IOException {
+        File file = new File(baseDir, path);
+        file.getParentFile().mkdirs();
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
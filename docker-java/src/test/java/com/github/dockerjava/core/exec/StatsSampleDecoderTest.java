@@ -0,0 +1,148 @@
+package com.github.dockerjava.core.exec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.command.StatsCmd;
+import com.github.dockerjava.api.model.Statistics;
+import com.github.dockerjava.api.model.StatsSample;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+public class StatsSampleDecoderTest {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Test
+    public void decodesSample() throws IOException {
+        StatsSample sample;
+        try (
+            InputStream inputStream = getClass().getResourceAsStream("/samples/1.27/containers/container/stats/stats1.json");
+            JsonParser parser = jsonFactory.createParser(inputStream)
+        ) {
+            parser.nextToken();
+            sample = new StatsSampleDecoder().decode(parser);
+        }
+
+        assertThat(sample.getId(), is("b581d78b03e41d81c9fe941f03f5d35e23733ff96370456b58d2906e002b0deb"));
+        assertThat(sample.getName(), is("/gallant_hamilton"));
+        assertThat(sample.getReadNanos(), is(epochNanos("2017-12-06T00:42:03.8352972Z")));
+        assertThat(sample.getPreReadNanos(), is(epochNanos("2017-12-06T00:42:02.8366736Z")));
+
+        StatsSample.Cpu cpu = sample.getCpu();
+        assertThat(cpu.getTotalUsage(), is(212198028L));
+        assertThat(cpu.getUsageInKernelmode(), is(170000000L));
+        assertThat(cpu.getUsageInUsermode(), is(20000000L));
+        assertThat(cpu.getSystemCpuUsage(), is(545941980000000L));
+        assertThat(cpu.getOnlineCpus(), is(4L));
+        assertThat(cpu.getPercpuCount(), is(4));
+        assertThat(cpu.getPercpuUsage(0), is(71592953L));
+        assertThat(cpu.getPercpuUsage(3), is(38811970L));
+        assertThat(sample.getPreCpu().getTotalUsage(), is(211307214L));
+        assertThat(sample.getPreCpu().getSystemCpuUsage(), is(545937990000000L));
+
+        assertThat(sample.getMemoryUsage(), is(647168L));
+        assertThat(sample.getMemoryMaxUsage(), is(1703936L));
+        assertThat(sample.getMemoryLimit(), is(2095874048L));
+        assertThat(sample.getMemoryCache(), is(0L));
+        assertThat(sample.getPidsCurrent(), is(2L));
+
+        assertThat(sample.getNetworkRxBytes(), is(1230L));
+        assertThat(sample.getNetworkRxPackets(), is(19L));
+        assertThat(sample.getNetworkTxBytes(), is(0L));
+
+        assertThat(sample.getBlkioReadBytes(), is(823296L));
+        assertThat(sample.getBlkioWriteBytes(), is(122880L));
+        assertThat(sample.getBlkioReadOps(), is(145L));
+        assertThat(sample.getBlkioWriteOps(), is(4L));
+    }
+
+    @Test
+    public void reusesSampleOfStream() throws IOException {
+        String stream = "{\"id\":\"abc\",\"networks\":{\"eth0\":{\"rx_bytes\":1},\"eth1\":{\"rx_bytes\":2}},"
+            + "\"cpu_stats\":{\"cpu_usage\":{\"percpu_usage\":[1,2,3]}},\"memory_stats\":{\"usage\":10}}\n"
+            + "{\"id\":\"abc\",\"networks\":{\"eth0\":{\"rx_bytes\":5}},\"cpu_stats\":{\"cpu_usage\":{\"percpu_usage\":[4]}},"
+            + "\"memory_stats\":null,\"unknown\":{\"nested\":[1,{\"rx_bytes\":100}]}}";
+        StatsSampleDecoder decoder = new StatsSampleDecoder();
+        try (JsonParser parser = jsonFactory.createParser(stream)) {
+            parser.nextToken();
+            StatsSample first = decoder.decode(parser);
+            String id = first.getId();
+            assertThat(first.getNetworkRxBytes(), is(3L));
+            assertThat(first.getCpu().getPercpuCount(), is(3));
+            assertThat(first.getMemoryUsage(), is(10L));
+
+            parser.nextToken();
+            StatsSample second = decoder.decode(parser);
+            assertThat(second, sameInstance(first));
+            assertThat(second.getId(), sameInstance(id));
+            assertThat(second.getNetworkRxBytes(), is(5L));
+            assertThat(second.getCpu().getPercpuCount(), is(1));
+            assertThat(second.getCpu().getOnlineCpus(), is(1L));
+            assertThat(second.getMemoryUsage(), is(0L));
+        }
+    }
+
+    @Test
+    public void copiesStatisticsOfExecutionsWithoutDecoder() throws IOException {
+        Statistics statistics;
+        try (InputStream inputStream = getClass().getResourceAsStream("/samples/1.27/containers/container/stats/stats1.json")) {
+            statistics = new ObjectMapper().disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readValue(inputStream, Statistics.class);
+        }
+        StatsCmd.Exec exec = (command, resultCallback) -> {
+            resultCallback.onNext(statistics);
+            resultCallback.onComplete();
+            return null;
+        };
+        List<String> samples = new ArrayList<>();
+
+        exec.execSamples(null, new ResultCallback.Adapter<StatsSample>() {
+            @Override
+            public void onNext(StatsSample sample) {
+                samples.add(sample.getReadNanos() + " " + sample.getCpu().getTotalUsage() + " " + sample.getCpu().getPercpuUsage(3)
+                    + " " + sample.getPreCpu().getTotalUsage() + " " + sample.getMemoryUsage() + " " + sample.getPidsCurrent() + " "
+                    + sample.getNetworkRxBytes() + " " + sample.getBlkioReadBytes() + " " + sample.getBlkioWriteOps());
+            }
+        });
+
+        assertThat(samples, contains(
+            epochNanos("2017-12-06T00:42:03.8352972Z") + " 212198028 38811970 211307214 647168 2 1230 823296 4"));
+    }
+
+    @Test
+    public void parsesTimes() {
+        assertThat(parse("2017-12-06T00:42:03.8352972Z"), is(epochNanos("2017-12-06T00:42:03.8352972Z")));
+        assertThat(parse("2020-02-29T23:59:60Z"), is(epochNanos("2020-03-01T00:00:00Z")));
+        assertThat(parse("1969-12-31T23:59:59.999999999Z"), is(-1L));
+        assertThat(parse("2017-12-06T02:42:03.5+02:00"), is(epochNanos("2017-12-06T00:42:03.5Z")));
+        assertThat(parse("2017-12-05T22:42:03-02:00"), is(epochNanos("2017-12-06T00:42:03Z")));
+        assertThat(parse("0001-01-01T00:00:00Z"), is(0L));
+        assertThat(parse("2017-12-06 00:42:03Z"), is(0L));
+        assertThat(parse("2017-13-06T00:42:03Z"), is(0L));
+        assertThat(parse("2017-12-06T00:42:03"), is(0L));
+    }
+
+    private static long parse(String time) {
+        char[] text = ("[" + time + "]").toCharArray();
+        return StatsSampleDecoder.epochNanos(text, 1, time.length());
+    }
+
+    private static long epochNanos(String time) {
+        Instant instant = Instant.parse(time);
+        return TimeUnit.SECONDS.toNanos(instant.getEpochSecond()) + instant.getNano();
+    }
+}
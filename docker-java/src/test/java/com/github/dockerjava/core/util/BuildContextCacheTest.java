@@ -0,0 +1,158 @@
+package com.github.dockerjava.core.util;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.io.IOUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class BuildContextCacheTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File context;
+
+    private BuildContextCache cache;
+
+    @Before
+    public void setUp() throws IOException {
+        context = tempFolder.newFolder("context");
+        cache = BuildContextCache.forDirectory(tempFolder.getRoot().toPath().resolve("cache"));
+    }
+
+    @Test
+    public void unchangedFilesAreTakenFromTheCache() throws IOException {
+        List<File> files = Arrays.asList(
+            write("Dockerfile", "FROM scratch", 60),
+            write("src/A.java", "class A {}", 60),
+            write("src/B.java", "class B {}", 60)
+        );
+
+        Map<String, String> first = entries(CompressArchiveUtil.archiveTARFiles(context, files, "first", Deflater.BEST_SPEED, cache));
+        assertEquals(0, cache.getHits());
+        assertEquals(3, cache.getMisses());
+
+        write("src/B.java", "class B { }", 30);
+        Map<String, String> second = entries(CompressArchiveUtil.archiveTARFiles(context, files, "second", Deflater.BEST_SPEED, cache));
+        assertEquals(2, cache.getHits());
+        assertEquals(4, cache.getMisses());
+
+        assertEquals("class A {}", first.get("src/A.java"));
+        assertEquals("class B {}", first.get("src/B.java"));
+        assertEquals(first.keySet(), second.keySet());
+        assertEquals("class B { }", second.get("src/B.java"));
+        assertEquals(entries(CompressArchiveUtil.archiveTARFiles(context, files, "plain", Deflater.BEST_SPEED)), second);
+    }
+
+    @Test
+    public void uncompressedArchiveTransfersContent() throws IOException {
+        List<File> files = Arrays.asList(
+            write("Dockerfile", "FROM scratch", 60),
+            write("empty", "", 60),
+            Files.createDirectory(context.toPath().resolve("emptyDir")).toFile()
+        );
+        files.get(2).setLastModified(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(1));
+
+        for (int i = 0; i < 2; i++) {
+            try (InputStream inputStream = CompressArchiveUtil.streamTARFiles(context, files, Deflater.NO_COMPRESSION, cache)) {
+                Map<String, String> entries = entries(new TarArchiveInputStream(inputStream));
+                assertEquals("FROM scratch", entries.get("Dockerfile"));
+                assertEquals("", entries.get("empty"));
+                assertEquals("", entries.get("emptyDir/"));
+                assertEquals(3, entries.size());
+            }
+        }
+        assertEquals(3, cache.getHits());
+        assertEquals(3, cache.getMisses());
+    }
+
+    @Test
+    public void recentlyModifiedFilesAreNotCached() throws IOException {
+        List<File> files = Arrays.asList(write("Dockerfile", "FROM scratch", 0));
+
+        CompressArchiveUtil.archiveTARFiles(context, files, "first", Deflater.BEST_SPEED, cache);
+        CompressArchiveUtil.archiveTARFiles(context, files, "second", Deflater.BEST_SPEED, cache);
+
+        assertEquals(0, cache.getHits());
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedSegments() throws IOException {
+        Path directory = tempFolder.getRoot().toPath().resolve("small-cache");
+        // room for two header segments of uncompressed archives
+        BuildContextCache smallCache = BuildContextCache.forDirectory(directory, 2 * 512);
+        Files.createDirectories(directory);
+        Path staleTempFile = Files.createFile(directory.resolve("segment1.tmp"));
+        Files.setLastModifiedTime(staleTempFile, FileTime.from(1, TimeUnit.DAYS));
+        List<File> files = Arrays.asList(
+            write("a", "a", 60),
+            write("b", "b", 60),
+            write("c", "c", 60)
+        );
+
+        CompressArchiveUtil.archiveTARFiles(context, files, "first", Deflater.NO_COMPRESSION, smallCache);
+        assertEquals(1, smallCache.getEvictions());
+        assertEquals(2, segments(directory));
+        assertFalse(Files.exists(staleTempFile));
+
+        CompressArchiveUtil.archiveTARFiles(context, files, "second", Deflater.NO_COMPRESSION, smallCache);
+        assertEquals(2, smallCache.getHits());
+        assertEquals(4, smallCache.getMisses());
+        assertEquals(2, smallCache.getEvictions());
+        assertEquals(2, segments(directory));
+    }
+
+    private static long segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+
+    private File write(String name, String content, int secondsAgo) throws IOException {
+        Path file = context.toPath().resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.from(System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(secondsAgo),
+            TimeUnit.MILLISECONDS));
+        return file.toFile();
+    }
+
+    private static Map<String, String> entries(File archive) throws IOException {
+        try (TarArchiveInputStream tarInputStream = new TarArchiveInputStream(new GZIPInputStream(new FileInputStream(archive)))) {
+            return entries(tarInputStream);
+        }
+    }
+
+    private static Map<String, String> entries(TarArchiveInputStream tarInputStream) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        TarArchiveEntry entry;
+        while ((entry = tarInputStream.getNextTarEntry()) != null) {
+            entries.put(entry.getName(), IOUtils.toString(tarInputStream, StandardCharsets.UTF_8));
+        }
+        return entries;
+    }
+}
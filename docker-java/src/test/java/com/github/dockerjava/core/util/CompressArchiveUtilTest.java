@@ -2,26 +2,38 @@ package com.github.dockerjava.core.util;
 
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.io.IOUtils;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
 import java.util.zip.GZIPInputStream;
 
 import static java.util.Arrays.asList;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class CompressArchiveUtilTest {
 
@@ -224,6 +236,84 @@ public class CompressArchiveUtilTest {
         assertTarArchiveEntryIsSymlink(archive, "symlinkFile", linkTargetDir.toString());
     }
 
+    @Test
+    public void streamTARFilesWithFolderAndFiles() throws Exception {
+        List<File> files = createFoldersAndSubFolderWithFiles(tempFolder.getRoot().toPath());
+
+        File archive = tempFolder.newFile("archive.tar.gz");
+        try (InputStream tarInputStream = CompressArchiveUtil.streamTARFiles(tempFolder.getRoot(), files, Deflater.BEST_SPEED)) {
+            Files.copy(tarInputStream, archive.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        assertEquals(6, getNumberOfEntryInArchive(archive));
+        assertTarArchiveEntryIsDirectory(archive, "folderB");
+        assertTarArchiveEntryIsNonEmptyFile(archive, "subFileB");
+    }
+
+    @Test
+    public void streamTARFilesWithoutCompression() throws Exception {
+        // larger than what the producer may buffer ahead of the reader
+        byte[] content = new byte[4 * 1024 * 1024];
+        new Random(42).nextBytes(content);
+        Path largeFile = tempFolder.getRoot().toPath().resolve("largeFile");
+        Files.write(largeFile, content);
+
+        try (TarArchiveInputStream tarInputStream = new TarArchiveInputStream(CompressArchiveUtil.streamTARFiles(
+                tempFolder.getRoot(), asList(largeFile.toFile()), Deflater.NO_COMPRESSION))) {
+            TarArchiveEntry entry = tarInputStream.getNextTarEntry();
+            assertEquals("largeFile", entry.getName());
+            assertArrayEquals(content, IOUtils.toByteArray(tarInputStream));
+            assertNull(tarInputStream.getNextTarEntry());
+        }
+    }
+
+    @Test
+    public void streamTARFilesOnGivenExecutor() throws Exception {
+        List<File> files = createFoldersAndSubFolderWithFiles(tempFolder.getRoot().toPath());
+        AtomicInteger producers = new AtomicInteger();
+        Executor executor = command -> new Thread(() -> {
+            producers.incrementAndGet();
+            command.run();
+        }).start();
+
+        try (TarArchiveInputStream tarInputStream = new TarArchiveInputStream(CompressArchiveUtil.streamTARFiles(
+                tempFolder.getRoot(), files, Deflater.NO_COMPRESSION, null, executor))) {
+            assertNotNull(tarInputStream.getNextTarEntry());
+        }
+        assertEquals(1, producers.get());
+    }
+
+    @Test
+    public void archiveTARFilesNamesArchiveAfterCompression() throws Exception {
+        File file = tempFolder.newFile("file");
+
+        assertTrue(CompressArchiveUtil.archiveTARFiles(tempFolder.getRoot(), asList(file), "archive").getName().endsWith(".tar.gz"));
+        assertTrue(CompressArchiveUtil.archiveTARFiles(tempFolder.getRoot(), asList(file), "plain", Deflater.NO_COMPRESSION)
+            .getName().endsWith("plain.tar"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void streamTARFilesRejectsInvalidCompressionLevel() {
+        CompressArchiveUtil.streamTARFiles(tempFolder.getRoot(), new ArrayList<>(), Deflater.BEST_COMPRESSION + 1);
+    }
+
+    @Test
+    public void archiveTARFilesClosesOutputStreamOnInvalidCompressionLevel() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+        OutputStream outputStream = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        try {
+            CompressArchiveUtil.archiveTARFiles(tempFolder.getRoot(), new ArrayList<>(), outputStream, -2);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            assertTrue(closed.get());
+        }
+    }
+
     private static void assertTarArchiveEntryIsDirectory(File archive, String directoryName) throws IOException {
         TarArchiveEntry tarArchiveEntry = getTarArchiveEntry(archive, directoryName);
         assertNotNull(tarArchiveEntry);
@@ -1,6 +1,8 @@
 package com.github.dockerjava.netty;
 
 import com.github.dockerjava.api.DockerClient;
+import com.github.dockerjava.api.async.ResultCallback;
+import com.github.dockerjava.api.model.Event;
 import com.github.dockerjava.core.DefaultDockerClientConfig;
 import com.github.dockerjava.core.DefaultDockerClientConfig.Builder;
 import com.github.dockerjava.core.DockerClientBuilder;
@@ -15,9 +17,11 @@ import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.DefaultHttpResponse;
 import io.netty.handler.codec.http.FullHttpResponse;
 import io.netty.handler.codec.http.HttpContent;
 import io.netty.handler.codec.http.HttpRequest;
+import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpServerCodec;
 import io.netty.util.CharsetUtil;
 import org.junit.Test;
@@ -26,9 +30,13 @@ import java.io.IOException;
 import java.net.ServerSocket;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_LENGTH;
 import static io.netty.handler.codec.http.HttpHeaderNames.CONTENT_TYPE;
+import static io.netty.handler.codec.http.HttpHeaderNames.TRANSFER_ENCODING;
+import static io.netty.handler.codec.http.HttpHeaderValues.CHUNKED;
 import static io.netty.handler.codec.http.HttpResponseStatus.OK;
 import static io.netty.handler.codec.http.HttpVersion.HTTP_1_1;
 import static org.junit.Assert.assertEquals;
@@ -90,6 +98,72 @@ public class NettyDockerCmdExecFactoryConfigTest {
         }
     }
 
+    @Test
+    public void testNettyDockerCmdExecFactoryReusesConnections() throws Exception {
+        int dockerPort = getFreePort();
+
+        NettyDockerCmdExecFactory factory = new NettyDockerCmdExecFactory();
+        Builder configBuilder = new DefaultDockerClientConfig.Builder()
+            .withDockerTlsVerify(false)
+            .withDockerHost("tcp://localhost:" + dockerPort);
+
+        DockerClient client = DockerClientBuilder.getInstance(configBuilder)
+            .withDockerCmdExecFactory(factory)
+            .build();
+
+        FakeDockerServer server = new FakeDockerServer(dockerPort);
+        server.start();
+        try {
+            for (int i = 0; i < 3; i++) {
+                client.versionCmd().exec();
+            }
+
+            assertEquals(3, server.getRequests().size());
+            assertEquals(1, server.getConnections());
+        } finally {
+            factory.close();
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testNettyDockerCmdExecFactoryStreamsDoNotBlockPooledConnections() throws Exception {
+        int dockerPort = getFreePort();
+
+        NettyDockerCmdExecFactory factory = new NettyDockerCmdExecFactory()
+            .withMaxConnections(2)
+            .withConnectionAcquireTimeout(5000);
+        Builder configBuilder = new DefaultDockerClientConfig.Builder()
+            .withDockerTlsVerify(false)
+            .withDockerHost("tcp://localhost:" + dockerPort);
+
+        DockerClient client = DockerClientBuilder.getInstance(configBuilder)
+            .withDockerCmdExecFactory(factory)
+            .build();
+
+        FakeDockerServer server = new FakeDockerServer(dockerPort);
+        server.start();
+        List<ResultCallback.Adapter<Event>> streams = new ArrayList<>();
+        try {
+            for (int i = 0; i < 3; i++) {
+                ResultCallback.Adapter<Event> stream = client.eventsCmd().exec(new ResultCallback.Adapter<>());
+                stream.awaitStarted();
+                streams.add(stream);
+            }
+
+            client.versionCmd().exec();
+
+            assertEquals(4, server.getRequests().size());
+            assertEquals(4, server.getConnections());
+        } finally {
+            for (ResultCallback.Adapter<Event> stream : streams) {
+                stream.close();
+            }
+            factory.close();
+            server.stop();
+        }
+    }
+
     private int getFreePort() throws IOException {
         ServerSocket socket = new ServerSocket(0);
         int freePort = socket.getLocalPort();
@@ -101,7 +175,8 @@ public class NettyDockerCmdExecFactoryConfigTest {
         private final int port;
         private final NioEventLoopGroup parent;
         private final NioEventLoopGroup child;
-        private final List<HttpRequest> requests = new ArrayList<>();
+        private final List<HttpRequest> requests = new CopyOnWriteArrayList<>();
+        private final AtomicInteger connections = new AtomicInteger();
         private Channel channel;
 
         private FakeDockerServer(int port) {
@@ -117,18 +192,26 @@ public class NettyDockerCmdExecFactoryConfigTest {
                 .childHandler(new ChannelInitializer<SocketChannel>() {
                     @Override
                     protected void initChannel(SocketChannel socketChannel) throws Exception {
+                        connections.incrementAndGet();
                         ChannelPipeline pipeline = socketChannel.pipeline();
                         pipeline.addLast("codec", new HttpServerCodec());
                         pipeline.addLast("httpHandler", new SimpleChannelInboundHandler<Object>() {
+                            private HttpRequest request;
+
                             @Override
                             protected void channelRead0(ChannelHandlerContext context, Object message) throws Exception {
                                 if (message instanceof HttpRequest) {
                                     // Keep track of processed requests
-                                    HttpRequest request = (HttpRequest) message;
+                                    request = (HttpRequest) message;
                                     requests.add(request);
                                 }
 
-                                if (message instanceof HttpContent) {
+                                if (message instanceof HttpContent && request.uri().endsWith("/events")) {
+                                    // Start a stream that is never finished
+                                    HttpResponse response = new DefaultHttpResponse(HTTP_1_1, OK);
+                                    response.headers().set(TRANSFER_ENCODING, CHUNKED);
+                                    context.writeAndFlush(response);
+                                } else if (message instanceof HttpContent) {
                                     // Write an empty JSON response back to the client
                                     FullHttpResponse response = new DefaultFullHttpResponse(HTTP_1_1, OK, Unpooled.copiedBuffer("{}", CharsetUtil.UTF_8));
                                     response.headers().set(CONTENT_TYPE, "application/json; charset=UTF-8");
@@ -152,5 +235,9 @@ public class NettyDockerCmdExecFactoryConfigTest {
         private List<HttpRequest> getRequests() {
             return requests;
         }
+
+        private int getConnections() {
+            return connections.get();
+        }
     }
 }
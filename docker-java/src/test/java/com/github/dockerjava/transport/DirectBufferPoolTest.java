@@ -0,0 +1,67 @@
+package com.github.dockerjava.transport;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DirectBufferPoolTest {
+
+    @Test
+    public void acquiresClearedDirectBuffers() {
+        ByteBuffer buffer = DirectBufferPool.acquire();
+        buffer.put(new byte[100]);
+        DirectBufferPool.release(buffer);
+
+        assertTrue(isPooled(buffer));
+
+        ByteBuffer acquired = DirectBufferPool.acquire();
+        assertTrue(acquired.isDirect());
+        assertEquals(0, acquired.position());
+        assertEquals(DirectBufferPool.BUFFER_SIZE, acquired.limit());
+        assertEquals(DirectBufferPool.BUFFER_SIZE, acquired.capacity());
+        DirectBufferPool.release(acquired);
+    }
+
+    @Test
+    public void keepsLimitedNumberOfBuffers() {
+        Set<ByteBuffer> released = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (int i = 0; i < 100; i++) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(DirectBufferPool.BUFFER_SIZE);
+            released.add(buffer);
+            DirectBufferPool.release(buffer);
+        }
+
+        List<ByteBuffer> acquired = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            acquired.add(DirectBufferPool.acquire());
+        }
+        acquired.removeIf(buffer -> !released.contains(buffer));
+        assertThat(acquired.size(), lessThanOrEqualTo(64));
+    }
+
+    /**
+     * @return whether the buffer is one of the buffers in the pool, which are all put back
+     */
+    static boolean isPooled(ByteBuffer buffer) {
+        List<ByteBuffer> acquired = new ArrayList<>();
+        boolean pooled = false;
+        // the pool keeps at most 64 buffers, all of them are acquired before a new one is allocated
+        for (int i = 0; i <= 64 && !pooled; i++) {
+            ByteBuffer candidate = DirectBufferPool.acquire();
+            acquired.add(candidate);
+            pooled = candidate == buffer;
+        }
+        acquired.forEach(DirectBufferPool::release);
+        return pooled;
+    }
+}
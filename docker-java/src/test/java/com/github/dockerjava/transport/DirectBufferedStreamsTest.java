@@ -0,0 +1,225 @@
+package com.github.dockerjava.transport;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.github.dockerjava.transport.DirectBufferPoolTest.isPooled;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class DirectBufferedStreamsTest {
+
+    private static final int SIZE = 2 * DirectBufferPool.BUFFER_SIZE + 1000;
+
+    @Test
+    public void readsAcrossBufferBoundaries() throws IOException {
+        byte[] data = randomBytes(SIZE);
+        ArrayInputStream in = new ArrayInputStream(data);
+
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        byte[] chunk = new byte[1000];
+        int count;
+        while ((count = in.read(chunk, 0, chunk.length)) != -1) {
+            read.write(chunk, 0, count);
+            // single bytes are served from the same buffer
+            int b = in.read();
+            if (b == -1) {
+                break;
+            }
+            read.write(b);
+        }
+
+        assertArrayEquals(data, read.toByteArray());
+        // three filled buffers and the end of the stream
+        assertEquals(4, in.socketReads);
+    }
+
+    @Test
+    public void releasesReadBufferOnClose() throws IOException {
+        ArrayInputStream in = new ArrayInputStream(randomBytes(100));
+        assertEquals(data(in, 0), in.read());
+        assertEquals(99, in.available());
+
+        in.closed = true;
+        in.releaseBuffer();
+
+        assertEquals(0, in.available());
+        assertTrue(isPooled(in.buffers.get(0)));
+        try {
+            in.read();
+            fail();
+        } catch (SocketException expected) {
+            // the socket is closed
+        }
+    }
+
+    @Test
+    public void releasesReadBufferOnceReadOfClosedSocketReturns() throws IOException {
+        ArrayInputStream in = new ArrayInputStream(randomBytes(100)) {
+            @Override
+            protected int readFromSocket(ByteBuffer buffer) throws IOException {
+                int count = super.readFromSocket(buffer);
+                // closed by another thread while reading
+                closed = true;
+                return count;
+            }
+        };
+
+        assertEquals(data(in, 0), in.read());
+
+        assertEquals(0, in.available());
+        assertTrue(isPooled(in.buffers.get(0)));
+    }
+
+    @Test
+    public void writesInChunksOfTheBuffer() throws IOException {
+        byte[] data = randomBytes(SIZE);
+        ArrayOutputStream out = new ArrayOutputStream();
+
+        out.write(data[0]);
+        out.write(data, 1, data.length - 1);
+
+        assertArrayEquals(data, out.written.toByteArray());
+        // the single byte is written with the first of three chunks of at most one buffer, all through the same buffer
+        assertEquals(3, out.chunks.size());
+        for (int chunk : out.chunks) {
+            assertTrue(chunk <= DirectBufferPool.BUFFER_SIZE);
+        }
+        assertEquals(1, out.buffers.size());
+        assertTrue(isPooled(out.buffers.get(0)));
+    }
+
+    @Test
+    public void keepsSingleBytesUntilFlushed() throws IOException {
+        ArrayOutputStream out = new ArrayOutputStream();
+        out.write(1);
+        out.write(2);
+        out.write(3);
+
+        assertTrue(out.chunks.isEmpty());
+
+        out.flush();
+
+        assertArrayEquals(new byte[] {1, 2, 3}, out.written.toByteArray());
+        assertEquals(1, out.chunks.size());
+        assertTrue(isPooled(out.buffers.get(0)));
+    }
+
+    @Test
+    public void writesSingleBytesOnceBufferIsFull() throws IOException {
+        ArrayOutputStream out = new ArrayOutputStream();
+        for (int i = 0; i <= DirectBufferPool.BUFFER_SIZE; i++) {
+            out.write(i);
+        }
+
+        assertEquals(1, out.chunks.size());
+        assertEquals(DirectBufferPool.BUFFER_SIZE, (int) out.chunks.get(0));
+    }
+
+    @Test
+    public void releasesWriteBufferOnClose() throws IOException {
+        ArrayOutputStream out = new ArrayOutputStream();
+        out.write(1);
+
+        out.closed = true;
+        out.releaseBuffer();
+
+        // the kept byte was dropped together with the buffer
+        out.flush();
+        assertTrue(out.chunks.isEmpty());
+        try {
+            out.write(2);
+            fail();
+        } catch (SocketException expected) {
+            // the socket is closed
+        }
+    }
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+
+    /**
+     * Buffers are compared by identity, {@link ByteBuffer#equals(Object)} compares their remaining bytes.
+     */
+    private static void addIfAbsent(List<ByteBuffer> buffers, ByteBuffer buffer) {
+        if (buffers.stream().noneMatch(candidate -> candidate == buffer)) {
+            buffers.add(buffer);
+        }
+    }
+
+    private static int data(ArrayInputStream in, int index) {
+        return in.data[index] & 0xFF;
+    }
+
+    private static class ArrayInputStream extends DirectBufferedInputStream {
+
+        final byte[] data;
+
+        final List<ByteBuffer> buffers = new ArrayList<>();
+
+        int position;
+
+        int socketReads;
+
+        volatile boolean closed;
+
+        ArrayInputStream(byte[] data) {
+            this.data = data;
+        }
+
+        @Override
+        protected int readFromSocket(ByteBuffer buffer) throws IOException {
+            socketReads++;
+            addIfAbsent(buffers, buffer);
+            int count = Math.min(buffer.remaining(), data.length - position);
+            if (count == 0) {
+                return -1;
+            }
+            buffer.put(data, position, count);
+            position += count;
+            return count;
+        }
+
+        @Override
+        protected boolean isSocketClosed() {
+            return closed;
+        }
+    }
+
+    private static class ArrayOutputStream extends DirectBufferedOutputStream {
+
+        final ByteArrayOutputStream written = new ByteArrayOutputStream();
+
+        final List<Integer> chunks = new ArrayList<>();
+
+        final List<ByteBuffer> buffers = new ArrayList<>();
+
+        volatile boolean closed;
+
+        @Override
+        protected void writeToSocket(ByteBuffer buffer) {
+            addIfAbsent(buffers, buffer);
+            chunks.add(buffer.remaining());
+            while (buffer.hasRemaining()) {
+                written.write(buffer.get());
+            }
+        }
+
+        @Override
+        protected boolean isSocketClosed() {
+            return closed;
+        }
+    }
+}